@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs all benchmarks of this package via {@code mvn test -P benchmark}. The
+ * results are written to {@code target/jmh-result.json}.
+ * <p>
+ * The system property {@code benchmark.include} restricts the benchmarks to
+ * run by a regular expression, {@code benchmark.sizes} restricts the dataset
+ * sizes by a comma-separated list, e.g.
+ * {@code -Dbenchmark.include=ParserBenchmark -Dbenchmark.sizes=1000,10000}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class BenchmarkRunner {
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        final var options = new OptionsBuilder()
+                .include(Optional.ofNullable(System.getProperty("benchmark.include")).orElse(BenchmarkRunner.class.getPackageName() + "\\..*Benchmark"))
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .forks(1)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json");
+        Optional.ofNullable(System.getProperty("benchmark.sizes")).ifPresent(sizes -> options.param("size", sizes.split(",")));
+        assertThat(new Runner(options.build()).run()).isNotEmpty();
+    }
+}
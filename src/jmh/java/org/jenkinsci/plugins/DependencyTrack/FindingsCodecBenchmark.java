@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.util.XStream2;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingParser;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingsCodec;
+import org.jenkinsci.plugins.DependencyTrack.simulator.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the binary format of {@link FindingsCodec} with the XML of XStream
+ * for storing the findings with the build. The sizes of both are printed
+ * during the setup.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FindingsCodecBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private final XStream2 xstream = new XStream2();
+    private List<Finding> findings;
+    private byte[] encoded;
+    private String xml;
+
+    @Setup
+    public void setup() {
+        findings = FindingParser.parse(new SyntheticData(size).findings(size).toString());
+        encoded = FindingsCodec.encode(findings);
+        xml = xstream.toXML(findings);
+        System.out.printf("%n%d findings: %d bytes encoded, %d chars of XML%n", size, encoded.length, xml.length());
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return FindingsCodec.encode(findings);
+    }
+
+    @Benchmark
+    public List<Finding> decode() throws IOException {
+        return FindingsCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public String marshal() {
+        return xstream.toXML(findings);
+    }
+
+    @Benchmark
+    public Object unmarshal() {
+        return xstream.fromXML(xml);
+    }
+}
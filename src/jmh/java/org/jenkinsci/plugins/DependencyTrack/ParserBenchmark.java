@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingParser;
+import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectParser;
+import org.jenkinsci.plugins.DependencyTrack.model.Violation;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationParser;
+import org.jenkinsci.plugins.DependencyTrack.simulator.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the parsing of the responses of Dependency-Track.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParserBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private String findings;
+    private String violations;
+    private List<JSONObject> projects;
+
+    @Setup
+    public void setup() {
+        final var data = new SyntheticData(size);
+        findings = data.findings(size).toString();
+        violations = data.violations(size).toString();
+        projects = data.projects(size);
+    }
+
+    @Benchmark
+    public List<Finding> parseFindings() {
+        return FindingParser.parse(findings);
+    }
+
+    @Benchmark
+    public List<Violation> parseViolations() {
+        return ViolationParser.parse(violations);
+    }
+
+    @Benchmark
+    public List<Project> parseProjects() {
+        return projects.stream().map(ProjectParser::parse).toList();
+    }
+}
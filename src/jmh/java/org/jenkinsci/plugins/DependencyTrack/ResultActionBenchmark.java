@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.util.XStream2;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.sf.json.JSONArray;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingParser;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.jenkinsci.plugins.DependencyTrack.simulator.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the serialization of the findings for the UI and the persistence of
+ * the {@link ResultAction} with the build.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultActionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private final XStream2 xstream = new XStream2();
+    private List<Finding> findings;
+    private ResultAction action;
+    private String xml;
+
+    @Setup
+    public void setup() {
+        ResultConverters.register(xstream);
+        findings = FindingParser.parse(new SyntheticData(size).findings(size).toString());
+        final var distribution = new SeverityDistribution(1);
+        findings.stream().map(Finding::getVulnerability).map(Vulnerability::getSeverity).forEach(distribution::add);
+        action = new ResultAction(findings, distribution);
+        xml = xstream.toXML(action);
+    }
+
+    @Benchmark
+    public ResultAction createAction() {
+        return new ResultAction(findings, action.getSeverityDistribution());
+    }
+
+    @Benchmark
+    public JSONArray findingsJson() {
+        return action.toFindingsJson(action.getFindings());
+    }
+
+    @Benchmark
+    public String marshal() {
+        return xstream.toXML(action);
+    }
+
+    @Benchmark
+    public Object unmarshal() {
+        return xstream.fromXML(xml);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.util.XStream2;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingParser;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationParser;
+import org.jenkinsci.plugins.DependencyTrack.simulator.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares loading the policy violations of a build and the findings of a
+ * build recorded by older versions with the reflection based converter of
+ * XStream and with {@link ResultConverters}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultConvertersBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private final XStream2 reflection = new XStream2();
+    private final XStream2 converters = new XStream2();
+    private ViolationsRunAction violations;
+    private String violationsXml;
+    private String violationsXmlWithConverters;
+    private String findingsXml;
+
+    @Setup
+    public void setup() {
+        ResultConverters.register(converters);
+        final var data = new SyntheticData(size);
+        violations = new ViolationsRunAction(ViolationParser.parse(data.violations(size).toString()));
+        violationsXml = reflection.toXML(violations);
+        violationsXmlWithConverters = converters.toXML(violations);
+        final List<Finding> findings = new ArrayList<>(FindingParser.parse(data.findings(size).toString()));
+        findingsXml = reflection.toXML(findings);
+    }
+
+    @Benchmark
+    public String marshalViolationsByReflection() {
+        return reflection.toXML(violations);
+    }
+
+    @Benchmark
+    public String marshalViolationsByConverters() {
+        return converters.toXML(violations);
+    }
+
+    @Benchmark
+    public Object unmarshalViolationsByReflection() {
+        return reflection.fromXML(violationsXml);
+    }
+
+    @Benchmark
+    public Object unmarshalViolationsByConverters() {
+        return converters.fromXML(violationsXmlWithConverters);
+    }
+
+    @Benchmark
+    public Object unmarshalLegacyFindingsByReflection() {
+        return reflection.fromXML(findingsXml);
+    }
+
+    @Benchmark
+    public Object unmarshalLegacyFindingsByConverters() {
+        return converters.fromXML(findingsXml);
+    }
+}
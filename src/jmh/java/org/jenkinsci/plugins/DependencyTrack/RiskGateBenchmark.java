@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.model.Result;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.jenkinsci.plugins.DependencyTrack.model.CompiledGate;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingParser;
+import org.jenkinsci.plugins.DependencyTrack.model.MatrixIndex;
+import org.jenkinsci.plugins.DependencyTrack.model.RiskGate;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Thresholds;
+import org.jenkinsci.plugins.DependencyTrack.model.Violation;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationParser;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.jenkinsci.plugins.DependencyTrack.simulator.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the evaluation of the risk gate, both on the severity distribution
+ * and on the individual findings and violations.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RiskGateBenchmark {
+
+    private static final String RULES = """
+            FAILURE total findings >= 1 severity=CRITICAL,HIGH cvss=9.0 analysis=NOT_SET,EXPLOITABLE
+            UNSTABLE total findings >= 1 epss=0.5
+            UNSTABLE new findings >= 1 severity=CRITICAL,HIGH
+            FAILURE total violations >= 1 type=LICENSE state=FAIL
+            """;
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private List<Finding> findings;
+    private List<Violation> violations;
+    private SeverityDistribution current;
+    private SeverityDistribution previous;
+    private MatrixIndex baseline;
+    private RiskGate riskGate;
+    private CompiledGate compiledGate;
+
+    @Setup
+    public void setup() {
+        final var data = new SyntheticData(size);
+        findings = FindingParser.parse(data.findings(size).toString());
+        violations = ViolationParser.parse(data.violations(size).toString());
+        current = distribution(2, findings);
+        // the baseline misses every fifth finding, so that these are new
+        final List<Finding> previousFindings = IntStream.range(0, findings.size()).filter(i -> i % 5 != 0).mapToObj(findings::get).toList();
+        previous = distribution(1, previousFindings);
+        baseline = MatrixIndex.of(previousFindings);
+        final var thresholds = new Thresholds();
+        thresholds.totalFindings.unstableHigh = size / 4;
+        thresholds.totalFindings.failedCritical = size / 5;
+        thresholds.newFindings.unstableCritical = 1;
+        riskGate = new RiskGate(thresholds);
+        compiledGate = CompiledGate.compile(thresholds, RULES);
+    }
+
+    @Benchmark
+    public Result evaluateDistribution() {
+        return riskGate.evaluate(current, previous);
+    }
+
+    @Benchmark
+    public CompiledGate.Outcome evaluateRules() {
+        return compiledGate.evaluate(findings, violations, previous, baseline);
+    }
+
+    private static SeverityDistribution distribution(final int buildNumber, final List<Finding> findings) {
+        final var distribution = new SeverityDistribution(buildNumber);
+        findings.stream().map(Finding::getVulnerability).map(Vulnerability::getSeverity).forEach(distribution::add);
+        return distribution;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import jenkins.MasterToSlaveFileCallable;
+import lombok.Builder;
+import org.jenkinsci.plugins.DependencyTrack.TimingAction.Phase;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
+import org.jenkinsci.plugins.DependencyTrack.api.PageSizing;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.api.UploadResult;
+import org.jenkinsci.plugins.DependencyTrack.model.CompiledGate;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetrics;
+import org.jenkinsci.plugins.DependencyTrack.model.Violation;
+
+/**
+ * Runs the phases of publishing that communicate with Dependency-Track on the
+ * agent that holds the workspace: reading the BOM, uploading it and the VEX,
+ * waiting for their processing and retrieving the findings or metrics and
+ * the policy violations. Only the parsed results are returned, so that
+ * neither the BOM nor the HTTP traffic and the parsing of the responses burden
+ * the controller. Recording the results and evaluating the risk gates remain
+ * on the controller.
+ * <p>
+ * The work is split into {@link Step steps}, each run by its own call, so
+ * that the controller records the token of an upload as soon as it is issued
+ * and before the processing is awaited.
+ * <p>
+ * The API key is handed to the agent. Notifications of Dependency-Track are
+ * received by the controller and are therefore not used to end the wait for
+ * processing early.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Builder
+final class AgentPublisher extends MasterToSlaveFileCallable<AgentPublisher.Outcome> {
+
+    private static final long serialVersionUID = 1L;
+
+    enum Step {
+        /**
+         * reads the BOM and uploads it unless {@link #recorded} shows that it
+         * was uploaded already
+         */
+        UPLOAD_BOM,
+        /**
+         * uploads the VEX once the BOM of {@link #state} was processed
+         */
+        UPLOAD_VEX,
+        /**
+         * updates the properties of the project and, if synchronous, waits
+         * for the processing of {@link #state} and retrieves the results
+         */
+        RETRIEVE
+    }
+
+    @Nonnull
+    private final Step step;
+
+    @Nonnull
+    private final TaskListener listener;
+
+    @Nonnull
+    private final String url;
+
+    @Nonnull
+    private final String apiKey;
+
+    /**
+     * in seconds
+     */
+    private final int connectionTimeout;
+
+    /**
+     * in seconds
+     */
+    private final int readTimeout;
+
+    @Nonnull
+    private final PageSizing pageSizing;
+
+    /**
+     * in minutes
+     */
+    private final int pollingTimeout;
+
+    /**
+     * in seconds
+     */
+    private final int pollingInterval;
+
+    @Nonnull
+    private final String artifact;
+
+    private final boolean validateBom;
+
+    @Nullable
+    private final String vex;
+
+    @Nonnull
+    private final ProjectData projectData;
+
+    /**
+     * whether properties other than the parent project are set after the
+     * upload
+     */
+    private final boolean updateProperties;
+
+    /**
+     * the states recorded with the build by earlier attempts, only used by
+     * {@link Step#UPLOAD_BOM}
+     */
+    @Nullable
+    private final List<UploadState> recorded;
+
+    /**
+     * the state returned by the previous step
+     */
+    @Nullable
+    private final UploadState state;
+
+    private final boolean synchronous;
+
+    /**
+     * whether only the metrics are retrieved instead of the findings
+     */
+    private final boolean metricsOnly;
+
+    @Nonnull
+    private final FindingsQuery query;
+
+    /**
+     * evaluated while the findings are retrieved to stop as soon as the build
+     * will fail anyway, {@code null} if not failing fast
+     */
+    @Nullable
+    private final CompiledGate failFastGate;
+
+    @Nullable
+    private final Baseline baseline;
+
+    /**
+     * only kept if the callable runs on the controller, i.e. in tests
+     */
+    private transient ApiClientFactory clientFactory;
+
+    /**
+     * what is returned to the controller
+     *
+     * @param state the progress of the upload
+     * @param findings the findings, {@code null} if the metrics were retrieved
+     * or publishing is not synchronous
+     * @param metrics the metrics, {@code null} unless only the metrics were
+     * retrieved
+     * @param violations the policy violations, {@code null} if they were not
+     * retrieved
+     * @param timer the time spent in each phase on the agent
+     */
+    record Outcome(@Nonnull UploadState state,
+            @Nullable DependencyTrackPublisher.RetrievedFindings findings,
+            @Nullable ProjectMetrics metrics,
+            @Nullable List<Violation> violations,
+            @Nonnull PhaseTimer timer) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Override
+    public Outcome invoke(final File workspace, final VirtualChannel channel) throws IOException, InterruptedException {
+        final var logger = new ConsoleLogger(listener.getLogger());
+        final var timer = new PhaseTimer();
+        final var ws = new FilePath(workspace);
+        final ApiClientFactory factory = clientFactory != null ? clientFactory : ApiClient::new;
+        final ApiClient apiClient = factory.create(url, apiKey, logger, PluginUtil.newAgentHttpClient(connectionTimeout, readTimeout));
+        apiClient.setPageSizing(pageSizing);
+        return switch (step) {
+            case UPLOAD_BOM ->
+                uploadBom(logger, apiClient, timer, ws);
+            case UPLOAD_VEX ->
+                uploadVex(logger, apiClient, timer, ws, Objects.requireNonNull(state));
+            case RETRIEVE ->
+                retrieve(logger, apiClient, timer, Objects.requireNonNull(state));
+        };
+    }
+
+    private Outcome uploadBom(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final FilePath ws) throws IOException, InterruptedException {
+        final String bom;
+        try (var split = timer.start(Phase.READ_ARTIFACT)) {
+            bom = DependencyTrackPublisher.readBom(logger, ws, artifact, validateBom);
+        }
+        final var uploadState = UploadState.resume(recorded != null ? recorded : List.of(), url, projectData, bom);
+        if (uploadState.isResumed()) {
+            logger.log(Messages.Builder_Upload_Resumed(artifact, uploadState.getToken()));
+        } else {
+            logger.log(Messages.Builder_Publishing(url, artifact));
+            final UploadResult uploadResult;
+            try (var split = timer.start(Phase.UPLOAD_BOM)) {
+                uploadResult = apiClient.uploadBom(projectData, bom);
+            }
+            if (!uploadResult.success()) {
+                throw new AbortException(Messages.Builder_Upload_Failed());
+            }
+            uploadState.uploaded(UploadState.Progress.BOM_UPLOADED, uploadResult.token());
+        }
+        return new Outcome(uploadState, null, null, null, timer);
+    }
+
+    private Outcome uploadVex(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final FilePath ws, final UploadState uploadState) throws IOException, InterruptedException {
+        final String vexData;
+        try (var split = timer.start(Phase.READ_ARTIFACT)) {
+            vexData = DependencyTrackPublisher.readArtifact(logger, ws, vex);
+        }
+        // must wait for bom proccesing to finish before uploading vex
+        DependencyTrackPublisher.awaitProcessing(logger, apiClient, timer, uploadState.getToken(), pollingTimeout, pollingInterval, null, 0);
+        logger.log(Messages.Builder_Publishing(url, vex));
+        final UploadResult uploadResult;
+        try (var split = timer.start(Phase.UPLOAD_VEX)) {
+            uploadResult = apiClient.uploadVex(projectData, vexData);
+        }
+        if (!uploadResult.success()) {
+            throw new AbortException(Messages.Builder_Upload_Failed());
+        }
+        uploadState.uploaded(UploadState.Progress.VEX_UPLOADED, uploadResult.token());
+        return new Outcome(uploadState, null, null, null, timer);
+    }
+
+    private Outcome retrieve(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final UploadState uploadState) throws IOException, InterruptedException {
+        String projectUuid = null;
+        if (updateProperties) {
+            logger.log(Messages.Builder_Project_Update());
+            projectUuid = lookupProjectId(logger, apiClient, timer);
+            apiClient.updateProjectProperties(projectUuid, projectData.properties());
+        }
+
+        if (!synchronous || uploadState.getToken() == null) {
+            return new Outcome(uploadState, null, null, null, timer);
+        }
+        if (!uploadState.hasReached(UploadState.Progress.PROCESSED)) {
+            DependencyTrackPublisher.awaitProcessing(logger, apiClient, timer, uploadState.getToken(), pollingTimeout, pollingInterval, null, 0);
+            uploadState.processed(projectUuid != null ? projectUuid : lookupProjectId(logger, apiClient, timer));
+        }
+        DependencyTrackPublisher.RetrievedFindings findings = null;
+        ProjectMetrics metrics = null;
+        try (var split = timer.start(Phase.GET_FINDINGS)) {
+            if (metricsOnly) {
+                metrics = DependencyTrackPublisher.awaitMetrics(logger, apiClient, uploadState.getProjectUuid(), pollingTimeout, pollingInterval);
+            } else {
+                findings = DependencyTrackPublisher.retrieveFindings(logger, apiClient, uploadState.getProjectUuid(), query, failFastGate, baseline != null ? baseline.forProject(uploadState.getProjectUuid()) : null);
+            }
+        }
+        List<Violation> violations = null;
+        if (findings == null || !findings.partial()) {
+            try (var split = timer.start(Phase.GET_VIOLATIONS)) {
+                violations = DependencyTrackPublisher.retrieveViolations(logger, apiClient, uploadState.getProjectUuid());
+            }
+        }
+        return new Outcome(uploadState, findings, metrics, violations, timer);
+    }
+
+    private String lookupProjectId(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer) throws ApiClientException {
+        if (!PluginUtil.isBlank(projectData.id())) {
+            return projectData.id();
+        }
+        logger.log(Messages.Builder_Project_Lookup(projectData.name(), projectData.version()));
+        try (var split = timer.start(Phase.LOOKUP_PROJECT_ID)) {
+            return apiClient.lookupProject(projectData.name(), projectData.version()).getUuid();
+        }
+    }
+}
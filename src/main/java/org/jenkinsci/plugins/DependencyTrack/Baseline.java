@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.MatrixIndex;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+
+/**
+ * What needs to be known about the baseline build to compare a build to it:
+ * its severity distribution as well as the matrix hash and severity of each
+ * finding. The hashes are packed into a byte array so that they are stored
+ * compactly as Base64.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class Baseline implements Serializable {
+
+    private static final long serialVersionUID = 3842015534141141270L;
+
+    @Getter
+    @Nonnull
+    private final SeverityDistribution severityDistribution;
+
+    /**
+     * the UUID of the project the findings were retrieved from. the matrix of
+     * a finding contains the UUID of the project, so the findings of another
+     * project, e.g. another version, can not be compared to them. may be
+     * {@code null} for indexes written by older versions.
+     */
+    @Nullable
+    private final String projectId;
+
+    /**
+     * the matrix hashes of the findings, 8 bytes each
+     */
+    @Nullable
+    private final byte[] matrixHashes;
+
+    /**
+     * the severity ordinals of the findings, -1 if unknown
+     */
+    @Nullable
+    private final byte[] severities;
+
+    private transient MatrixIndex index;
+
+    Baseline(@Nonnull final SeverityDistribution severityDistribution, @Nullable final String projectId, @Nullable final byte[] matrixHashes, @Nullable final byte[] severities) {
+        this.severityDistribution = severityDistribution;
+        this.projectId = projectId;
+        this.matrixHashes = matrixHashes;
+        this.severities = severities;
+    }
+
+    /**
+     * extracts the baseline from the results of a build
+     *
+     * @param action the results
+     * @return the baseline
+     */
+    @Nonnull
+    static Baseline of(@Nonnull final ResultAction action) {
+        if (action.isCountsOnly()) {
+            // the findings are unknown, so new findings can only be estimated from the severity distribution
+            return new Baseline(action.getSeverityDistribution(), action.getProjectId(), null, null);
+        }
+        final List<Finding> findings = Optional.ofNullable(action.getFindings()).orElseGet(List::of);
+        final ByteBuffer hashes = ByteBuffer.allocate(findings.size() * Long.BYTES);
+        final byte[] severities = new byte[findings.size()];
+        for (int i = 0; i < findings.size(); i++) {
+            final Finding finding = findings.get(i);
+            hashes.putLong(MatrixIndex.hash(finding));
+            severities[i] = (byte) (finding.getVulnerability() != null && finding.getVulnerability().getSeverity() != null ? finding.getVulnerability().getSeverity().ordinal() : -1);
+        }
+        return new Baseline(action.getSeverityDistribution(), action.getProjectId(), hashes.array(), severities);
+    }
+
+    /**
+     * returns the baseline to compare the findings of the given project to.
+     * if the findings of the baseline were retrieved from another project or
+     * it is unknown from which, only the severity distribution can be
+     * compared.
+     *
+     * @param currentProjectId the UUID of the project of the current build
+     * @return this baseline or one without findings
+     */
+    @Nonnull
+    Baseline forProject(@Nullable final String currentProjectId) {
+        if (!hasFindings() || (currentProjectId != null && currentProjectId.equals(projectId))) {
+            return this;
+        }
+        return new Baseline(severityDistribution, projectId, null, null);
+    }
+
+    int getBuildNumber() {
+        return severityDistribution.getBuildNumber();
+    }
+
+    /**
+     * @return whether the findings are known, which is not the case for
+     * indexes written by older versions
+     */
+    boolean hasFindings() {
+        return matrixHashes != null && severities != null;
+    }
+
+    /**
+     * @return the index of the findings or {@code null} if they are not known
+     */
+    @Nullable
+    synchronized MatrixIndex getIndex() {
+        if (index == null && hasFindings()) {
+            final long[] hashes = new long[matrixHashes.length / Long.BYTES];
+            ByteBuffer.wrap(matrixHashes).asLongBuffer().get(hashes);
+            index = new MatrixIndex(hashes);
+        }
+        return index;
+    }
+
+    @Nonnull
+    byte[] getSeverities() {
+        return severities != null ? severities : new byte[0];
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+
+/**
+ * Remembers per job the {@link Baseline} of the last build that new findings
+ * are compared to, i.e. the last successful or unstable build with a
+ * {@link ResultAction}. The pointer is stored in the job's directory
+ * and kept up to date when builds complete or get deleted, so that looking up
+ * the baseline does not need to load all the builds in between.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Slf4j
+final class BaselineIndex {
+
+    static final String FILE_NAME = "dependency-track-baseline.xml";
+
+    private static final Baseline NONE = new Baseline(new SeverityDistribution(0), null, null, null);
+    private static final Map<Job<?, ?>, Baseline> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private BaselineIndex() {
+    }
+
+    /**
+     * returns the baseline of the build that the given build is compared to
+     *
+     * @param run the build from where to start (the one running now)
+     * @return the baseline of the last build that was actually built and has
+     * an analysis result, or {@code null} if there is none
+     */
+    @Nullable
+    static Baseline getBaseline(@Nonnull final Run<?, ?> run) {
+        final Job<?, ?> job = run.getParent();
+        final Baseline indexed = load(job);
+        if (indexed != null && indexed.getBuildNumber() < run.getNumber()) {
+            return indexed;
+        }
+        // not indexed yet or a concurrent build that completed after this one was started
+        final Baseline found = Optional.ofNullable(findPreviousBuildWithAnalysisResult(run))
+                .map(r -> r.getAction(ResultAction.class))
+                .map(Baseline::of)
+                .orElse(null);
+        if (indexed == null && found != null) {
+            update(job, found);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the last build that was actually built and has an analysis
+     * result ({@link ResultAction})
+     *
+     * @param run the build from where to start (the one running now)
+     * @return the last build that was actually built and has an analysis
+     * result, or {@code null} if none was found
+     */
+    @Nullable
+    private static Run<?, ?> findPreviousBuildWithAnalysisResult(@Nonnull final Run<?, ?> run) {
+        Run<?, ?> r = run.getPreviousSuccessfulBuild();
+        while (r != null && !isBaseline(r)) {
+            r = r.getPreviousSuccessfulBuild();
+        }
+        return r;
+    }
+
+    private static boolean isBaseline(@Nonnull final Run<?, ?> run) {
+        final Result result = run.getResult();
+        final ResultAction action = run.getAction(ResultAction.class);
+        return result != null && result.isBetterOrEqualTo(Result.UNSTABLE) && action != null && !action.isAggregated();
+    }
+
+    @Nullable
+    private static Baseline load(@Nonnull final Job<?, ?> job) {
+        final Baseline cached = CACHE.get(job);
+        if (cached != null) {
+            return cached == NONE ? null : cached;
+        }
+        final XmlFile file = getFile(job);
+        if (file == null) {
+            return null;
+        }
+        Baseline loaded = null;
+        if (file.exists()) {
+            try {
+                // older versions only stored the severity distribution. such an index is replaced on the next lookup.
+                if (file.read() instanceof Baseline baseline) {
+                    loaded = baseline;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read {}", file, e);
+            }
+        }
+        CACHE.put(job, Optional.ofNullable(loaded).orElse(NONE));
+        return loaded;
+    }
+
+    /**
+     * makes the given baseline the one of the job unless the job has a newer
+     * baseline already
+     */
+    private static void update(@Nonnull final Job<?, ?> job, @Nonnull final Baseline baseline) {
+        final XmlFile file = getFile(job);
+        if (file == null) {
+            return;
+        }
+        synchronized (CACHE) {
+            final Baseline current = load(job);
+            if (current != null && current.getBuildNumber() >= baseline.getBuildNumber()) {
+                return;
+            }
+            try {
+                file.write(baseline);
+                CACHE.put(job, baseline);
+            } catch (IOException e) {
+                log.warn("Failed to write {}", file, e);
+            }
+        }
+    }
+
+    private static void remove(@Nonnull final Job<?, ?> job, final int buildNumber) {
+        synchronized (CACHE) {
+            final Baseline current = load(job);
+            if (current == null || current.getBuildNumber() != buildNumber) {
+                return;
+            }
+            // the next lookup has to walk the builds once and indexes the new baseline
+            CACHE.put(job, NONE);
+            Optional.ofNullable(getFile(job)).ifPresent(file -> {
+                try {
+                    file.delete();
+                } catch (IOException e) {
+                    log.warn("Failed to delete {}", file, e);
+                }
+            });
+        }
+    }
+
+    @Nullable
+    private static XmlFile getFile(@Nonnull final Job<?, ?> job) {
+        final File rootDir = job.getRootDir();
+        return rootDir != null ? new XmlFile(new File(rootDir, FILE_NAME)) : null;
+    }
+
+    @Extension
+    public static final class Listener extends RunListener<Run<?, ?>> {
+
+        @Override
+        public void onCompleted(final Run<?, ?> run, @Nonnull final TaskListener listener) {
+            if (isBaseline(run)) {
+                update(run.getParent(), Baseline.of(run.getAction(ResultAction.class)));
+            }
+        }
+
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            remove(run.getParent(), run.getNumber());
+        }
+    }
+}
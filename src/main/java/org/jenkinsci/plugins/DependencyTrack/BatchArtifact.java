@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import java.io.Serializable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+/**
+ * a BOM that is published by the {@link DependencyTrackBatchPublisher} and
+ * the project to which it belongs
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+public final class BatchArtifact extends AbstractDescribableImpl<BatchArtifact> implements Serializable {
+
+    private static final long serialVersionUID = 2876411835271925460L;
+
+    /**
+     * the path and filename of the BOM, relative to the workspace
+     */
+    private final String artifact;
+
+    /**
+     * the project ID to upload to
+     */
+    private String projectId;
+
+    /**
+     * the project name to upload to
+     */
+    private String projectName;
+
+    /**
+     * the project version to upload to
+     */
+    private String projectVersion;
+
+    @DataBoundConstructor
+    public BatchArtifact(final String artifact) {
+        this.artifact = artifact;
+    }
+
+    @DataBoundSetter
+    public void setProjectId(final String projectId) {
+        this.projectId = PluginUtil.trimToNull(projectId);
+    }
+
+    @DataBoundSetter
+    public void setProjectName(final String projectName) {
+        this.projectName = PluginUtil.trimToNull(projectName);
+    }
+
+    @DataBoundSetter
+    public void setProjectVersion(final String projectVersion) {
+        this.projectVersion = PluginUtil.trimToNull(projectVersion);
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<BatchArtifact> {
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import jenkins.MasterToSlaveFileCallable;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+import net.sf.json.util.JSONUtils;
+
+/**
+ * merges several CycloneDX BOMs into one. the components of all BOMs,
+ * including the component each BOM describes, are written to the merged BOM
+ * in a single pass, one BOM and, for XML, one component at a time.
+ * components are de-duplicated by their package URL or else by their
+ * bom-ref. the dependency graphs are merged as well. other sections of the
+ * BOMs are not taken over.
+ * <p>
+ * the merged BOM has neither a serial number nor a timestamp, so that
+ * merging the same BOMs again gives the same result.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class BomMerger {
+
+    private static final String BOM_REF = "bom-ref";
+    private static final XMLEventFactory EVENTS = XMLEventFactory.newFactory();
+
+    /**
+     * the bom-ref of each kept component, keyed by the package URL or else
+     * the bom-ref of the component
+     */
+    private final Map<String, String> keptRefs = new HashMap<>();
+
+    /**
+     * all bom-refs in the merged BOM
+     */
+    private final Set<String> usedRefs = new HashSet<>();
+
+    /**
+     * the merged dependency graph
+     */
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    /**
+     * the bom-refs of the BOM being merged that were replaced, either by the
+     * bom-ref of a duplicate that was kept or because another component
+     * already uses it
+     */
+    private final Map<String, String> aliases = new HashMap<>();
+
+    private int fileIndex;
+    private int components;
+    private int duplicates;
+
+    /**
+     * the result of merging
+     *
+     * @param bom the merged BOM, {@code null} if no file matched
+     * @param files the number of files merged
+     * @param components the number of components in the merged BOM
+     * @param duplicates the number of duplicate components that were dropped
+     */
+    record Result(@Nullable String bom, int files, int components, int duplicates) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * @param artifact the configured artifact
+     * @return whether the artifact is an Ant-style pattern, possibly
+     * matching several files, rather than the path of a single file
+     */
+    static boolean isPattern(@Nullable final String artifact) {
+        return artifact != null && (artifact.contains("*") || artifact.contains("?") || artifact.contains(","));
+    }
+
+    /**
+     * lists the files matching a pattern within the workspace and merges them
+     * where the workspace is, so that only the merged BOM is transferred
+     */
+    static final class MergeCallable extends MasterToSlaveFileCallable<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String includes;
+
+        /**
+         * whether each BOM is validated before merging and the result is
+         * minified, see {@link BomValidator}
+         */
+        private final boolean validate;
+
+        MergeCallable(@Nonnull final String includes, final boolean validate) {
+            this.includes = includes;
+            this.validate = validate;
+        }
+
+        @Override
+        public Result invoke(final File workspace, final VirtualChannel channel) throws IOException, InterruptedException {
+            final FilePath[] files = new FilePath(workspace).list(includes);
+            Arrays.sort(files, Comparator.comparing(FilePath::getRemote));
+            final List<Path> paths = Arrays.stream(files).map(FilePath::getRemote).map(Path::of).toList();
+            if (paths.isEmpty()) {
+                return new Result(null, 0, 0, 0);
+            }
+            if (paths.size() == 1) {
+                // nothing to merge, so the file is passed on as it is
+                return new Result(validate ? minify(Files.newInputStream(paths.getFirst())) : Files.readString(paths.getFirst(), Charset.defaultCharset()), 1, 0, 0);
+            }
+            if (validate) {
+                for (final Path path : paths) {
+                    // fail before merging and name the invalid file
+                    try (var in = Files.newInputStream(path)) {
+                        BomValidator.validate(in, Writer.nullWriter());
+                    } catch (BomValidator.InvalidBomException e) {
+                        throw new BomValidator.InvalidBomException("%s: %s".formatted(workspace.toPath().relativize(path), e.getMessage()), e);
+                    }
+                }
+            }
+            final var merged = new BomMerger().merge(paths);
+            return validate ? new Result(minify(new ByteArrayInputStream(merged.bom().getBytes(StandardCharsets.UTF_8))), merged.files(), merged.components(), merged.duplicates()) : merged;
+        }
+
+        private static String minify(final InputStream bom) throws IOException {
+            try (bom) {
+                final var out = new StringWriter();
+                BomValidator.validate(bom, out);
+                return out.toString();
+            }
+        }
+    }
+
+    /**
+     * merges the BOMs, which must either all be XML or all be JSON
+     *
+     * @param files the BOMs
+     * @return the merged BOM
+     * @throws IOException if a BOM cannot be read or parsed
+     */
+    @Nonnull
+    Result merge(@Nonnull final List<Path> files) throws IOException {
+        final boolean xml = isXml(files.getFirst());
+        for (final Path file : files) {
+            if (isXml(file) != xml) {
+                throw new IOException(Messages.Builder_Merge_MixedFormats(file.getFileName()));
+            }
+        }
+        final var out = new StringWriter();
+        if (xml) {
+            mergeXml(files, out);
+        } else {
+            mergeJson(files, out);
+        }
+        return new Result(out.toString(), files.size(), components, duplicates);
+    }
+
+    private static boolean isXml(final Path file) throws IOException {
+        try (var in = Files.newInputStream(file)) {
+            int c;
+            do {
+                c = in.read();
+            } while (c != -1 && (Character.isWhitespace(c) || c == 0xEF || c == 0xBB || c == 0xBF));
+            return c == '<';
+        }
+    }
+
+    /**
+     * decides whether a component is kept and which bom-ref it gets
+     *
+     * @param purl the package URL of the component
+     * @param bomRef the bom-ref of the component
+     * @return the bom-ref to write, the bom-ref as it is if it has none, or
+     * {@code null} if the component is a duplicate
+     */
+    @Nullable
+    private String admit(@Nullable final String purl, @Nullable final String bomRef) {
+        final String key = !PluginUtil.isBlank(purl) ? purl : bomRef;
+        if (key != null && keptRefs.containsKey(key)) {
+            duplicates++;
+            final String keptRef = keptRefs.get(key);
+            if (bomRef != null && keptRef != null) {
+                aliases.put(bomRef, keptRef);
+            }
+            return null;
+        }
+        String ref = bomRef;
+        if (ref != null && !usedRefs.add(ref)) {
+            // the same bom-ref for a different component in another BOM
+            int suffix = fileIndex;
+            do {
+                ref = "%s-%d".formatted(bomRef, suffix++);
+            } while (!usedRefs.add(ref));
+            aliases.put(bomRef, ref);
+        }
+        if (key != null) {
+            keptRefs.put(key, ref);
+        }
+        components++;
+        return ref != null ? ref : "";
+    }
+
+    private void addDependency(@Nonnull final String ref, @Nonnull final List<String> dependsOn) {
+        final var merged = dependencies.computeIfAbsent(aliases.getOrDefault(ref, ref), r -> new LinkedHashSet<>());
+        dependsOn.stream().map(d -> aliases.getOrDefault(d, d)).forEach(merged::add);
+    }
+
+    private void mergeJson(final List<Path> files, final Writer out) throws IOException {
+        String specVersion = null;
+        boolean first = true;
+        for (final Path file : files) {
+            fileIndex++;
+            aliases.clear();
+            final JSONObject bom;
+            try {
+                bom = JSONObject.fromObject(Files.readString(file, StandardCharsets.UTF_8));
+            } catch (JSONException e) {
+                throw new IOException(Messages.Builder_Merge_Invalid(file.getFileName(), e.getMessage()), e);
+            }
+            if (specVersion == null) {
+                specVersion = bom.optString("specVersion", "1.4");
+                out.write("{\"bomFormat\":\"CycloneDX\",\"specVersion\":%s,\"version\":1,\"components\":[".formatted(JSONUtils.quote(specVersion)));
+            }
+            final List<JSONObject> candidates = new ArrayList<>();
+            final var metadata = bom.optJSONObject("metadata");
+            if (metadata != null && metadata.optJSONObject("component") != null) {
+                candidates.add(metadata.getJSONObject("component"));
+            }
+            final var bomComponents = bom.optJSONArray("components");
+            if (bomComponents != null) {
+                for (int i = 0; i < bomComponents.size(); i++) {
+                    candidates.add(bomComponents.getJSONObject(i));
+                }
+            }
+            for (final JSONObject component : candidates) {
+                final String ref = admit(component.optString("purl", null), component.optString(BOM_REF, null));
+                if (ref != null) {
+                    if (!ref.isEmpty()) {
+                        component.put(BOM_REF, ref);
+                    }
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    out.write(component.toString());
+                }
+            }
+            final var bomDependencies = bom.optJSONArray("dependencies");
+            if (bomDependencies != null) {
+                for (int i = 0; i < bomDependencies.size(); i++) {
+                    final var dependency = bomDependencies.getJSONObject(i);
+                    final var dependsOn = dependency.optJSONArray("dependsOn");
+                    addDependency(dependency.getString("ref"), dependsOn != null ? dependsOn.stream().map(String::valueOf).toList() : List.of());
+                }
+            }
+        }
+        out.write("],\"dependencies\":");
+        final var merged = new JSONArray();
+        dependencies.forEach((ref, dependsOn) -> merged.add(new JSONObject().element("ref", ref).element("dependsOn", dependsOn)));
+        out.write(merged.toString());
+        out.write('}');
+    }
+
+    private void mergeXml(final List<Path> files, final Writer out) throws IOException {
+        final var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLEventWriter writer = null;
+        String namespace = null;
+        try {
+            for (final Path file : files) {
+                fileIndex++;
+                aliases.clear();
+                try (InputStream in = Files.newInputStream(file)) {
+                    final XMLEventReader reader = inputFactory.createXMLEventReader(in);
+                    final StartElement root = nextStartElement(reader);
+                    if (root == null || !"bom".equals(root.getName().getLocalPart())) {
+                        throw new IOException(Messages.Builder_Merge_Invalid(file.getFileName(), "<bom>"));
+                    }
+                    final String inputNamespace = root.getName().getNamespaceURI();
+                    if (writer == null) {
+                        namespace = inputNamespace;
+                        writer = XMLOutputFactory.newFactory().createXMLEventWriter(out);
+                        writer.setDefaultNamespace(namespace);
+                        writer.add(EVENTS.createStartDocument(StandardCharsets.UTF_8.name(), "1.0"));
+                        writer.add(EVENTS.createStartElement("", namespace, "bom", List.of(EVENTS.createAttribute("version", "1")).iterator(), List.of(EVENTS.createNamespace(namespace)).iterator()));
+                        writer.add(EVENTS.createStartElement("", namespace, "components"));
+                    }
+                    mergeXmlSections(reader, writer, inputNamespace, namespace);
+                    reader.close();
+                }
+            }
+            writer.add(EVENTS.createEndElement("", namespace, "components"));
+            writer.add(EVENTS.createStartElement("", namespace, "dependencies"));
+            for (final var dependency : dependencies.entrySet()) {
+                writer.add(EVENTS.createStartElement("", namespace, "dependency", List.of(EVENTS.createAttribute("ref", dependency.getKey())).iterator(), Collections.emptyIterator()));
+                for (final String dependsOn : dependency.getValue()) {
+                    writer.add(EVENTS.createStartElement("", namespace, "dependency", List.of(EVENTS.createAttribute("ref", dependsOn)).iterator(), Collections.emptyIterator()));
+                    writer.add(EVENTS.createEndElement("", namespace, "dependency"));
+                }
+                writer.add(EVENTS.createEndElement("", namespace, "dependency"));
+            }
+            writer.add(EVENTS.createEndElement("", namespace, "dependencies"));
+            writer.add(EVENTS.createEndElement("", namespace, "bom"));
+            writer.add(EVENTS.createEndDocument());
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(Messages.Builder_Merge_Invalid(files.get(Math.max(fileIndex - 1, 0)).getFileName(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * copies the components of the metadata and of the components section
+     * and collects the dependencies. the reader is positioned after the start
+     * of the root element.
+     */
+    private void mergeXmlSections(final XMLEventReader reader, final XMLEventWriter writer, final String inputNamespace, final String namespace) throws XMLStreamException {
+        StartElement section;
+        while ((section = nextStartElement(reader)) != null) {
+            switch (section.getName().getLocalPart()) {
+                case "metadata", "components" -> {
+                    StartElement child;
+                    while ((child = nextStartElement(reader)) != null) {
+                        final var subtree = readSubtree(reader, child);
+                        if ("component".equals(child.getName().getLocalPart())) {
+                            copyComponent(subtree, writer, inputNamespace, namespace);
+                        }
+                    }
+                }
+                case "dependencies" -> {
+                    StartElement dependency;
+                    while ((dependency = nextStartElement(reader)) != null) {
+                        final String ref = attribute(dependency, "ref");
+                        final List<String> dependsOn = new ArrayList<>();
+                        StartElement child;
+                        while ((child = nextStartElement(reader)) != null) {
+                            dependsOn.add(attribute(child, "ref"));
+                            readSubtree(reader, child);
+                        }
+                        if (ref != null) {
+                            addDependency(ref, dependsOn.stream().filter(d -> d != null).toList());
+                        }
+                    }
+                }
+                default ->
+                    readSubtree(reader, section);
+            }
+        }
+    }
+
+    private void copyComponent(final List<XMLEvent> subtree, final XMLEventWriter writer, final String inputNamespace, final String namespace) throws XMLStreamException {
+        final StartElement start = subtree.getFirst().asStartElement();
+        final String ref = admit(childText(subtree, "purl"), attribute(start, BOM_REF));
+        if (ref == null) {
+            return;
+        }
+        for (int i = 0; i < subtree.size(); i++) {
+            final XMLEvent event = subtree.get(i);
+            if (event.isStartElement()) {
+                final var element = event.asStartElement();
+                final List<Attribute> attributes = new ArrayList<>();
+                for (Iterator<Attribute> it = element.getAttributes(); it.hasNext();) {
+                    final Attribute attribute = it.next();
+                    attributes.add(i == 0 && BOM_REF.equals(attribute.getName().getLocalPart()) ? EVENTS.createAttribute(BOM_REF, ref) : attribute);
+                }
+                final List<Namespace> namespaces = new ArrayList<>();
+                for (Iterator<Namespace> it = element.getNamespaces(); it.hasNext();) {
+                    final Namespace declared = it.next();
+                    if (!declared.isDefaultNamespaceDeclaration()) {
+                        namespaces.add(declared);
+                    }
+                }
+                writer.add(EVENTS.createStartElement(rename(element.getName(), inputNamespace, namespace), attributes.iterator(), namespaces.iterator()));
+            } else if (event.isEndElement()) {
+                writer.add(EVENTS.createEndElement(rename(event.asEndElement().getName(), inputNamespace, namespace), Collections.emptyIterator()));
+            } else {
+                writer.add(event);
+            }
+        }
+    }
+
+    /**
+     * moves an element of the namespace of a BOM to the namespace of the
+     * merged BOM, which may be of another version of the specification
+     */
+    private static QName rename(final QName name, final String inputNamespace, final String namespace) {
+        return name.getNamespaceURI().equals(inputNamespace) ? new QName(namespace, name.getLocalPart()) : name;
+    }
+
+    /**
+     * @return the next start element on the current level or {@code null} if
+     * the current element ends first
+     */
+    @Nullable
+    private static StartElement nextStartElement(final XMLEventReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            final XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                return event.asStartElement();
+            }
+            if (event.isEndElement()) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * reads the events of an element up to and including its end
+     */
+    @Nonnull
+    private static List<XMLEvent> readSubtree(final XMLEventReader reader, final StartElement start) throws XMLStreamException {
+        final List<XMLEvent> events = new ArrayList<>();
+        events.add(start);
+        int depth = 1;
+        while (depth > 0) {
+            final XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * @return the text of a direct child element
+     */
+    @Nullable
+    private static String childText(final List<XMLEvent> subtree, final String localName) {
+        int depth = 0;
+        StringBuilder text = null;
+        for (final XMLEvent event : subtree) {
+            if (event.isStartElement()) {
+                depth++;
+                if (depth == 2 && localName.equals(event.asStartElement().getName().getLocalPart())) {
+                    text = new StringBuilder();
+                }
+            } else if (event.isEndElement()) {
+                if (depth == 2 && text != null) {
+                    return text.toString().trim();
+                }
+                depth--;
+            } else if (event.isCharacters() && text != null) {
+                text.append(event.asCharacters().getData());
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String attribute(final StartElement element, final String localName) {
+        final Attribute attribute = element.getAttributeByName(new QName(localName));
+        return attribute != null ? attribute.getValue() : null;
+    }
+}
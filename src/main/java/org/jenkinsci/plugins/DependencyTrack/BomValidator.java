@@ -0,0 +1,552 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.remoting.VirtualChannel;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * checks that a BOM is well-formed and has the basic structure of a
+ * CycloneDX BOM while writing it without insignificant whitespace and
+ * comments. the BOM is read in a single pass and never held in memory as a
+ * whole, so that invalid BOMs fail the build before anything is
+ * transferred.
+ * <p>
+ * the structural checks cover the root element or object, the version of
+ * the specification and the required type and name of each component. they
+ * are not a complete validation against the schema of the specification.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class BomValidator {
+
+    private static final Pattern XML_NAMESPACE = Pattern.compile("http://cyclonedx\\.org/schema/bom/1\\.\\d+");
+    private static final Pattern SPEC_VERSION = Pattern.compile("1\\.\\d+");
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+    private static final XMLEventFactory EVENTS = XMLEventFactory.newFactory();
+
+    /**
+     * the maximum nesting of JSON values, which also bounds the depth of the
+     * recursion
+     */
+    static final int MAX_DEPTH = 256;
+
+    private BomValidator() {
+    }
+
+    /**
+     * the validated BOM
+     *
+     * @param bom the minified BOM, {@code null} if the file does not exist
+     * @param originalSize the size of the BOM before minification in bytes
+     * @param size the size of the minified BOM in bytes
+     */
+    record Result(@Nullable String bom, long originalSize, long size) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * the BOM is malformed or not a CycloneDX BOM
+     */
+    static final class InvalidBomException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidBomException(final String message) {
+            super(message);
+        }
+
+        InvalidBomException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * validates and minifies a file within the workspace where the workspace
+     * is, so that only the minified BOM is transferred
+     */
+    static final class ValidateCallable extends MasterToSlaveFileCallable<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String artifact;
+
+        ValidateCallable(@Nonnull final String artifact) {
+            this.artifact = artifact;
+        }
+
+        @Override
+        public Result invoke(final File workspace, final VirtualChannel channel) throws IOException {
+            final Path file = workspace.toPath().resolve(artifact);
+            if (!Files.isRegularFile(file)) {
+                return new Result(null, 0, 0);
+            }
+            try (var in = Files.newInputStream(file)) {
+                return validate(in, Files.size(file));
+            }
+        }
+    }
+
+    /**
+     * validates and minifies a BOM in XML or JSON format
+     *
+     * @param bom the BOM
+     * @param originalSize the size of the BOM in bytes
+     * @return the minified BOM
+     * @throws InvalidBomException if the BOM is malformed or not a CycloneDX
+     * BOM
+     * @throws IOException if the BOM cannot be read
+     */
+    @Nonnull
+    static Result validate(@Nonnull final InputStream bom, final long originalSize) throws IOException {
+        final var out = new StringWriter();
+        validate(bom, out);
+        final String minified = out.toString();
+        return new Result(minified, originalSize, minified.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * validates a BOM in XML or JSON format and writes it minified
+     *
+     * @param bom the BOM
+     * @param out receives the minified BOM
+     * @throws InvalidBomException if the BOM is malformed or not a CycloneDX
+     * BOM
+     * @throws IOException if the BOM cannot be read
+     */
+    static void validate(@Nonnull final InputStream bom, @Nonnull final Writer out) throws IOException {
+        final var in = new BufferedInputStream(bom);
+        in.mark(64 * 1024);
+        int c;
+        do {
+            c = in.read();
+            // skip whitespace and a byte order mark
+        } while (c != -1 && (Character.isWhitespace(c) || c == 0xEF || c == 0xBB || c == 0xBF));
+        in.reset();
+        switch (c) {
+            case '<' ->
+                minifyXml(in, out);
+            case '{' ->
+                new JsonMinifier(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), out).run();
+            default ->
+                throw new InvalidBomException(Messages.BomValidator_UnknownFormat());
+        }
+    }
+
+    private static void minifyXml(final InputStream in, final Writer out) throws IOException {
+        final var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        try {
+            final XMLEventReader reader = inputFactory.createXMLEventReader(in);
+            final XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+            // the depth of each open component and whether it has a name
+            final Deque<int[]> components = new ArrayDeque<>();
+            // written once it is known whether the element is empty
+            StartElement pending = null;
+            int depth = 0;
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                switch (event.getEventType()) {
+                    case XMLStreamConstants.DTD ->
+                        throw new InvalidBomException(Messages.BomValidator_Doctype());
+                    case XMLStreamConstants.COMMENT, XMLStreamConstants.PROCESSING_INSTRUCTION, XMLStreamConstants.SPACE -> {
+                        continue;
+                    }
+                    case XMLStreamConstants.CHARACTERS -> {
+                        if (!event.asCharacters().isCData() && event.asCharacters().isWhiteSpace()) {
+                            continue;
+                        }
+                    }
+                    default -> {
+                        // validated and written below
+                    }
+                }
+                if (pending != null) {
+                    writeStartElement(writer, pending, event.isEndElement());
+                    pending = null;
+                    if (event.isEndElement()) {
+                        checkComponentEnd(components, depth--, event);
+                        continue;
+                    }
+                }
+                switch (event.getEventType()) {
+                    case XMLStreamConstants.START_DOCUMENT ->
+                        // the BOM is uploaded as UTF-8, whatever its original encoding was
+                        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                    case XMLStreamConstants.END_DOCUMENT ->
+                        writer.writeEndDocument();
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        depth++;
+                        pending = event.asStartElement();
+                        checkComponentStart(components, depth, pending);
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        checkComponentEnd(components, depth--, event);
+                        writer.writeEndElement();
+                    }
+                    case XMLStreamConstants.CHARACTERS -> {
+                        if (event.asCharacters().isCData()) {
+                            writer.writeCData(event.asCharacters().getData());
+                        } else {
+                            writer.writeCharacters(event.asCharacters().getData());
+                        }
+                    }
+                    default -> {
+                        // nothing else occurs without a document type declaration
+                    }
+                }
+            }
+            writer.close();
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new InvalidBomException(Messages.BomValidator_Malformed(location(e), e.getMessage()), e);
+        }
+    }
+
+    private static void checkComponentStart(final Deque<int[]> components, final int depth, final StartElement element) throws InvalidBomException {
+        final String name = element.getName().getLocalPart();
+        final boolean cycloneDx = XML_NAMESPACE.matcher(element.getName().getNamespaceURI()).matches();
+        if (depth == 1 && (!"bom".equals(name) || !cycloneDx)) {
+            throw new InvalidBomException(Messages.BomValidator_NotCycloneDx());
+        }
+        if (cycloneDx && "component".equals(name)) {
+            if (element.getAttributeByName(new QName("type")) == null) {
+                throw new InvalidBomException(Messages.BomValidator_IncompleteComponent(location(element)));
+            }
+            components.push(new int[]{depth, 0});
+        } else if (cycloneDx && "name".equals(name) && !components.isEmpty() && components.peek()[0] == depth - 1) {
+            components.peek()[1] = 1;
+        }
+    }
+
+    private static void checkComponentEnd(final Deque<int[]> components, final int depth, final XMLEvent event) throws InvalidBomException {
+        if (!components.isEmpty() && components.peek()[0] == depth && components.pop()[1] == 0) {
+            throw new InvalidBomException(Messages.BomValidator_IncompleteComponent(location(event)));
+        }
+    }
+
+    private static void writeStartElement(final XMLStreamWriter writer, final StartElement element, final boolean empty) throws XMLStreamException {
+        final QName name = element.getName();
+        if (empty) {
+            writer.writeEmptyElement(name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+        } else {
+            writer.writeStartElement(name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+        }
+        for (final Iterator<Namespace> it = element.getNamespaces(); it.hasNext();) {
+            final Namespace namespace = it.next();
+            if (namespace.isDefaultNamespaceDeclaration()) {
+                writer.writeDefaultNamespace(namespace.getNamespaceURI());
+            } else {
+                writer.writeNamespace(namespace.getPrefix(), namespace.getNamespaceURI());
+            }
+        }
+        for (final Iterator<Attribute> it = element.getAttributes(); it.hasNext();) {
+            final Attribute attribute = it.next();
+            final QName attributeName = attribute.getName();
+            if (attributeName.getNamespaceURI().isEmpty()) {
+                writer.writeAttribute(attributeName.getLocalPart(), attribute.getValue());
+            } else {
+                writer.writeAttribute(attributeName.getPrefix(), attributeName.getNamespaceURI(), attributeName.getLocalPart(), attribute.getValue());
+            }
+        }
+    }
+
+    private static String location(final XMLEvent event) {
+        return event.getLocation() != null ? "%d:%d".formatted(event.getLocation().getLineNumber(), event.getLocation().getColumnNumber()) : "?";
+    }
+
+    private static String location(final XMLStreamException e) {
+        return e.getLocation() != null ? "%d:%d".formatted(e.getLocation().getLineNumber(), e.getLocation().getColumnNumber()) : "?";
+    }
+
+    /**
+     * a recursive descent parser of JSON that writes each token as soon as it
+     * was read, without any whitespace between them
+     */
+    private static final class JsonMinifier {
+
+        private static final int NONE = -2;
+
+        /**
+         * strings longer than this are copied but not remembered, only keys
+         * and short values are needed
+         */
+        private static final int MAX_REMEMBERED = 256;
+
+        private final Reader in;
+        private final Writer out;
+        private long line = 1;
+        private int peeked = NONE;
+        private String bomFormat;
+        private String specVersion;
+
+        JsonMinifier(final Reader in, final Writer out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        void run() throws IOException {
+            if (peekNonWhitespace() == '\uFEFF') {
+                read();
+            }
+            if (peekNonWhitespace() != '{') {
+                throw new InvalidBomException(Messages.BomValidator_NotCycloneDx());
+            }
+            value(0, null, null);
+            if (nextNonWhitespace() != -1) {
+                throw malformed("trailing content");
+            }
+            if (!"CycloneDX".equals(bomFormat) || specVersion == null || !SPEC_VERSION.matcher(specVersion).matches()) {
+                throw new InvalidBomException(Messages.BomValidator_NotCycloneDx());
+            }
+        }
+
+        private int read() throws IOException {
+            final int c;
+            if (peeked != NONE) {
+                c = peeked;
+                peeked = NONE;
+            } else {
+                c = in.read();
+                if (c == '\n') {
+                    line++;
+                }
+            }
+            return c;
+        }
+
+        private int peekNonWhitespace() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+            peeked = c;
+            return c;
+        }
+
+        private int nextNonWhitespace() throws IOException {
+            final int c = peekNonWhitespace();
+            peeked = NONE;
+            return c;
+        }
+
+        private InvalidBomException malformed(final String detail) {
+            return new InvalidBomException(Messages.BomValidator_Malformed(Long.toString(line), detail));
+        }
+
+        /**
+         * copies a value
+         *
+         * @param depth the nesting of the value
+         * @param key the key of the value if it is a member of an object
+         * @param arrayKey the key of the array if the value is an element of
+         * an array
+         * @return the value if it is a short string, otherwise {@code null}
+         */
+        @Nullable
+        private String value(final int depth, @Nullable final String key, @Nullable final String arrayKey) throws IOException {
+            if (depth > MAX_DEPTH) {
+                throw malformed("nested too deeply");
+            }
+            final int c = nextNonWhitespace();
+            switch (c) {
+                case '{' ->
+                    object(depth + 1, "component".equals(key) || "components".equals(arrayKey));
+                case '[' ->
+                    array(depth + 1, key);
+                case '"' -> {
+                    return string();
+                }
+                case 't' ->
+                    literal("true");
+                case 'f' ->
+                    literal("false");
+                case 'n' ->
+                    literal("null");
+                default -> {
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        number(c);
+                    } else {
+                        throw malformed(c == -1 ? "unexpected end" : "unexpected character '%c'".formatted(c));
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void object(final int depth, final boolean component) throws IOException {
+            out.write('{');
+            final Set<String> keys = component ? new HashSet<>() : null;
+            int c = nextNonWhitespace();
+            if (c != '}') {
+                while (true) {
+                    if (c != '"') {
+                        throw malformed("expected a key");
+                    }
+                    final String key = string();
+                    if (keys != null) {
+                        keys.add(key);
+                    }
+                    if (nextNonWhitespace() != ':') {
+                        throw malformed("expected ':'");
+                    }
+                    out.write(':');
+                    final String value = value(depth, key, null);
+                    if (depth == 1 && "bomFormat".equals(key)) {
+                        bomFormat = value;
+                    } else if (depth == 1 && "specVersion".equals(key)) {
+                        specVersion = value;
+                    }
+                    c = nextNonWhitespace();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw malformed("expected ',' or '}'");
+                    }
+                    out.write(',');
+                    c = nextNonWhitespace();
+                }
+            }
+            out.write('}');
+            if (keys != null && (!keys.contains("type") || !keys.contains("name"))) {
+                throw new InvalidBomException(Messages.BomValidator_IncompleteComponent(Long.toString(line)));
+            }
+        }
+
+        private void array(final int depth, @Nullable final String key) throws IOException {
+            out.write('[');
+            if (peekNonWhitespace() == ']') {
+                read();
+            } else {
+                while (true) {
+                    value(depth, null, key);
+                    final int c = nextNonWhitespace();
+                    if (c == ']') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw malformed("expected ',' or ']'");
+                    }
+                    out.write(',');
+                }
+            }
+            out.write(']');
+        }
+
+        /**
+         * copies a string, the opening quote was already read
+         *
+         * @return the string as it is written, including escapes, or
+         * {@code null} if it is too long to be remembered
+         */
+        @Nullable
+        private String string() throws IOException {
+            out.write('"');
+            final var remembered = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c == -1 || c < 0x20) {
+                    throw malformed("unterminated string");
+                }
+                out.write(c);
+                if (c == '"') {
+                    return remembered.length() <= MAX_REMEMBERED ? remembered.toString() : null;
+                }
+                if (remembered.length() <= MAX_REMEMBERED) {
+                    remembered.append((char) c);
+                }
+                if (c == '\\') {
+                    c = read();
+                    if (c == 'u') {
+                        out.write(c);
+                        for (int i = 0; i < 4; i++) {
+                            c = read();
+                            if (Character.digit(c, 16) < 0) {
+                                throw malformed("invalid escape");
+                            }
+                            out.write(c);
+                        }
+                    } else if (c != -1 && "\"\\/bfnrt".indexOf(c) >= 0) {
+                        out.write(c);
+                    } else {
+                        throw malformed("invalid escape");
+                    }
+                    // escaped strings are not compared with any key
+                    remembered.setLength(MAX_REMEMBERED + 1);
+                }
+            }
+        }
+
+        private void number(final int first) throws IOException {
+            final var number = new StringBuilder().append((char) first);
+            int c;
+            while ((c = read()) != -1 && (Character.isDigit(c) || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-')) {
+                number.append((char) c);
+            }
+            peeked = c;
+            if (!NUMBER.matcher(number).matches()) {
+                throw malformed("invalid number " + number);
+            }
+            out.write(number.toString());
+        }
+
+        private void literal(final String literal) throws IOException {
+            for (int i = 1; i < literal.length(); i++) {
+                if (read() != literal.charAt(i)) {
+                    throw malformed("expected " + literal);
+                }
+            }
+            out.write(literal);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.model.Computer;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import jenkins.util.SystemProperties;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.model.Team;
+
+/**
+ * Runs the probes of the connection test concurrently and remembers their
+ * results per server and api key for {@link #TTL}. Only results that passed
+ * the connection test should be remembered, so that a fix on the server side
+ * is picked up with the next test.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class ConnectionProbes {
+
+    static final Duration TTL = Duration.ofSeconds(SystemProperties.getLong(ConnectionProbes.class.getName() + ".ttlSeconds", 30L));
+
+    private final ConcurrentMap<String, Result> results = new ConcurrentHashMap<>();
+
+    /**
+     * returns the remembered result for the server and api key, if it is not
+     * older than {@link #TTL}
+     *
+     * @param baseUrl the base URL of the server
+     * @param apiKey the api key used to access the server
+     * @return the remembered result
+     */
+    @Nonnull
+    Optional<Result> remembered(@Nonnull final String baseUrl, @Nonnull final String apiKey) {
+        final String key = cacheKey(baseUrl, apiKey);
+        final Result result = results.get(key);
+        if (result != null && result.isExpired()) {
+            results.remove(key, result);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * remembers the result for the server and api key
+     *
+     * @param baseUrl the base URL of the server
+     * @param apiKey the api key used to access the server
+     * @param result the result to remember
+     */
+    void remember(@Nonnull final String baseUrl, @Nonnull final String apiKey, @Nonnull final Result result) {
+        results.put(cacheKey(baseUrl, apiKey), result);
+    }
+
+    /**
+     * calls {@link ApiClient#testConnection()}, {@link ApiClient#getVersion()}
+     * and {@link ApiClient#getTeamPermissions()} concurrently and waits for all
+     * of them to complete
+     *
+     * @param client the client to use
+     * @return the results of all probes
+     */
+    @Nonnull
+    static Result probe(@Nonnull final ApiClient client) {
+        final var poweredBy = timed(client::testConnection);
+        final var version = timed(client::getVersion);
+        final var team = timed(client::getTeamPermissions);
+        return new Result(join(poweredBy), join(version), join(team), System.nanoTime());
+    }
+
+    private static <T> Timed<T> join(final CompletableFuture<Timed<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> CompletableFuture<Timed<T>> timed(final Probe<T> probe) {
+        return CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            try {
+                final T value = probe.call();
+                return new Timed<>(value, null, Duration.ofNanos(System.nanoTime() - start).toMillis());
+            } catch (ApiClientException e) {
+                return new Timed<>(null, e, Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+        }, Computer.threadPoolForRemoting);
+    }
+
+    private static String cacheKey(final String baseUrl, final String apiKey) {
+        // do not keep the api key itself as part of the key
+        return baseUrl + '\n' + DigestUtils.sha256Hex(apiKey);
+    }
+
+    @FunctionalInterface
+    private interface Probe<T> {
+
+        T call() throws ApiClientException;
+    }
+
+    /**
+     * the outcome of a single probe
+     *
+     * @param <T> the type of the value returned by the probe
+     * @param value the value returned by the probe
+     * @param failure the exception thrown by the probe
+     * @param millis the time the probe took in milliseconds
+     */
+    static record Timed<T>(T value, ApiClientException failure, long millis) {
+
+        /**
+         * returns the value of the probe or throws its failure
+         *
+         * @return the value of the probe
+         * @throws ApiClientException if the probe failed
+         */
+        T get() throws ApiClientException {
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+
+        boolean isSuccessful() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * the outcome of all probes
+     *
+     * @param poweredBy outcome of {@link ApiClient#testConnection()}
+     * @param version outcome of {@link ApiClient#getVersion()}
+     * @param team outcome of {@link ApiClient#getTeamPermissions()}
+     * @param probedAt {@link System#nanoTime()} when the probes completed
+     */
+    static record Result(Timed<String> poweredBy, Timed<String> version, Timed<Team> team, long probedAt) {
+
+        boolean isSuccessful() {
+            return poweredBy.isSuccessful() && version.isSuccessful() && team.isSuccessful();
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - probedAt > TTL.toNanos();
+        }
+
+        /**
+         * returns the age of the result in seconds
+         *
+         * @return the age in seconds
+         */
+        long ageSeconds() {
+            return Duration.ofNanos(System.nanoTime() - probedAt).toSeconds();
+        }
+    }
+}
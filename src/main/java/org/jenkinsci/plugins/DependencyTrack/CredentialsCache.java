@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import hudson.util.Secret;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import jenkins.util.SystemProperties;
+
+/**
+ * Caches the resolution of credential IDs to API keys per item. All cached
+ * keys are discarded as soon as anything that may hold credentials is saved,
+ * i.e. the global credentials, a folder or a user. Builds are ignored. As a
+ * safety net for credentials providers that do not save anything in Jenkins,
+ * cached keys also expire after {@link #TTL}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class CredentialsCache {
+
+    private static final String PROPERTY_PREFIX = CredentialsCache.class.getName();
+    static final Duration TTL = Duration.ofMinutes(SystemProperties.getLong(PROPERTY_PREFIX + ".ttlMinutes", 5L));
+    static final int MAX_ENTRIES = SystemProperties.getInteger(PROPERTY_PREFIX + ".maxEntries", 1_000);
+
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * returns the api key for the credential ID in the context of the item.
+     *
+     * @param credentialId the ID of the credential
+     * @param item the item to resolve the credential in, {@code null} for the
+     * global context
+     * @param resolver resolves the credential if it is not cached
+     * @return the api key or an empty string if the credential does not exist
+     */
+    @Nonnull
+    String getApiKey(@Nullable final String credentialId, @Nullable final Item item, @Nonnull final Supplier<Secret> resolver) {
+        final var key = new Key(item != null ? item.getFullName() : "", Optional.ofNullable(credentialId).orElse(""));
+        final long generation = GENERATION.get();
+        final Entry cached = entries.get(key);
+        if (cached != null && cached.isValid(generation)) {
+            return Secret.toString(cached.secret());
+        }
+        final Secret secret = resolver.get();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(secret, generation, System.nanoTime()));
+        return Secret.toString(secret);
+    }
+
+    /**
+     * discards the cached api keys of all instances
+     */
+    static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    private static record Key(String item, String credentialId) {
+    }
+
+    private static record Entry(Secret secret, long generation, long resolvedAt) {
+
+        boolean isValid(final long currentGeneration) {
+            return generation == currentGeneration && System.nanoTime() - resolvedAt <= TTL.toNanos();
+        }
+    }
+
+    @Extension
+    public static final class Invalidator extends SaveableListener {
+
+        @Override
+        public void onChange(final Saveable o, final XmlFile file) {
+            // builds are saved all the time and cannot hold credentials
+            if (!(o instanceof Run)) {
+                invalidateAll();
+            }
+        }
+    }
+}
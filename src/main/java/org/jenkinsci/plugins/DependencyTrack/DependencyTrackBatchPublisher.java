@@ -0,0 +1,537 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.AbstractProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.tasks.BuildStepDescriptor;
+import hudson.tasks.BuildStepMonitor;
+import hudson.tasks.Publisher;
+import hudson.tasks.Recorder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import jenkins.tasks.SimpleBuildStep;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.DependencyTrack.TimingAction.Phase;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Violation;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import static org.jenkinsci.plugins.DependencyTrack.model.Permissions.VIEW_POLICY_VIOLATION;
+
+/**
+ * publishes several BOMs, each to its own project, in a single step. the
+ * uploads and the retrieval of the results run in parallel up to
+ * {@link #getParallelism()} at a time, while the processing of all uploads
+ * is awaited at the same time. reading the BOMs, the health check of the
+ * server and the wait for the processing are shared with
+ * {@link DependencyTrackPublisher}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Getter
+@Setter(onMethod_ = {@DataBoundSetter})
+@EqualsAndHashCode(callSuper = true)
+public final class DependencyTrackBatchPublisher extends Recorder implements SimpleBuildStep, Serializable {
+
+    private static final long serialVersionUID = -6180218869513640151L;
+
+    /**
+     * the placeholder in {@link #projectNameTemplate} for the name of the
+     * directory containing the BOM
+     */
+    static final String DIR_PLACEHOLDER = "{dir}";
+
+    /**
+     * the placeholder in {@link #projectNameTemplate} for the filename of the
+     * BOM without its extension
+     */
+    static final String FILE_PLACEHOLDER = "{file}";
+
+    /**
+     * the BOMs and the projects to which they belong
+     */
+    private List<BatchArtifact> artifacts;
+
+    /**
+     * an Ant-style pattern of further BOMs, relative to the workspace. their
+     * projects are named after {@link #projectNameTemplate}.
+     */
+    private String artifactPattern;
+
+    /**
+     * the name of the projects of the BOMs matched by {@link #artifactPattern}
+     */
+    private String projectNameTemplate;
+
+    /**
+     * the version of the projects of the BOMs matched by
+     * {@link #artifactPattern}
+     */
+    private String projectVersion;
+
+    /**
+     * the maximum number of BOMs that are uploaded or whose results are
+     * retrieved at the same time
+     */
+    private int parallelism;
+
+    /**
+     * validate the BOMs and minify them on the agent before they are
+     * uploaded. see {@link BomValidator}
+     */
+    private boolean validateBom;
+
+    /**
+     * Retrieves whether synchronous mode is enabled or not.
+     */
+    private final boolean synchronous;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient ApiClientFactory clientFactory;
+
+    @DataBoundConstructor
+    public DependencyTrackBatchPublisher(final boolean synchronous) {
+        this(synchronous, ApiClient::new);
+    }
+
+    DependencyTrackBatchPublisher(final boolean synchronous, @lombok.NonNull final ApiClientFactory clientFactory) {
+        this.synchronous = synchronous;
+        this.clientFactory = clientFactory;
+    }
+
+    @Nonnull
+    public List<BatchArtifact> getArtifacts() {
+        return artifacts != null ? artifacts : List.of();
+    }
+
+    @DataBoundSetter
+    public void setArtifacts(final List<BatchArtifact> artifacts) {
+        // list must not be immutable, see ProjectProperties#normalizeTags
+        this.artifacts = artifacts != null ? new ArrayList<>(artifacts) : null;
+    }
+
+    /**
+     * @return the name of the projects of the BOMs matched by
+     * {@link #artifactPattern}, defaults to {@value #DIR_PLACEHOLDER}
+     */
+    @Nonnull
+    public String getProjectNameTemplate() {
+        if (PluginUtil.isBlank(projectNameTemplate)) {
+            return DIR_PLACEHOLDER;
+        }
+        return projectNameTemplate;
+    }
+
+    /**
+     * @return the maximum number of BOMs that are processed at the same time,
+     * defaults to 4
+     */
+    public int getParallelism() {
+        if (parallelism <= 0) {
+            return 4;
+        }
+        return parallelism;
+    }
+
+    /**
+     * This method is called whenever the build step is executed.
+     *
+     * @param run a build this is running as a part of
+     * @param workspace a workspace to use for any file operations
+     * @param env environment variables applicable to this step
+     * @param launcher a way to start processes
+     * @param listener a place to send output
+     * @throws InterruptedException if the step is interrupted
+     * @throws IOException if something goes wrong
+     */
+    @Override
+    public void perform(@Nonnull final Run<?, ?> run, @Nonnull final FilePath workspace, @Nonnull final EnvVars env, @Nonnull final Launcher launcher, @Nonnull final TaskListener listener) throws InterruptedException, IOException {
+        final ConsoleLogger logger = new ConsoleLogger(listener.getLogger());
+        final List<Entry> entries = resolveEntries(workspace, env);
+        if (entries.isEmpty()) {
+            logger.log(Messages.Builder_Batch_NoArtifacts());
+            throw new AbortException(Messages.Builder_Batch_NoArtifacts());
+        }
+        final var projects = new HashSet<String>();
+        for (final Entry entry : entries) {
+            if (PluginUtil.isBlank(entry.projectId()) && (PluginUtil.isBlank(entry.projectName()) || PluginUtil.isBlank(entry.projectVersion()))) {
+                logger.log(Messages.Builder_Result_InvalidArguments());
+                throw new AbortException(Messages.Builder_Result_InvalidArguments());
+            }
+            // the results of two BOMs of the same project could not be told apart
+            if (!projects.add(entry.projectKey())) {
+                logger.log(Messages.Builder_Batch_DuplicateProject(entry.displayName()));
+                throw new AbortException(Messages.Builder_Batch_DuplicateProject(entry.displayName()));
+            }
+        }
+
+        final var timer = new PhaseTimer();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(getParallelism(), entries.size()), new NamingThreadFactory(new DaemonThreadFactory(), DependencyTrackBatchPublisher.class.getSimpleName()));
+        try {
+            publish(run, workspace, logger, timer, executor, entries);
+        } finally {
+            executor.shutdownNow();
+            if (!timer.isEmpty()) {
+                final var timingAction = timer.toAction();
+                logger.log(Messages.Builder_Timing(timingAction.getTotalMillis(), timingAction.getSummary()));
+                run.addOrReplaceAction(timingAction);
+            }
+        }
+    }
+
+    private void publish(final Run<?, ?> run, final FilePath workspace, final ConsoleLogger logger, final PhaseTimer timer, final ExecutorService executor, final List<Entry> entries) throws InterruptedException, IOException {
+        final var descriptor = getPluginDescriptor();
+        final String effectiveUrl = Optional.ofNullable(descriptor.getDependencyTrackUrl()).orElse("");
+        final String effectiveFrontendUrl = Optional.ofNullable(descriptor.getDependencyTrackFrontendUrl()).orElse(effectiveUrl);
+        DependencyTrackPublisher.awaitAvailability(logger, effectiveUrl, descriptor, descriptor.getDependencyTrackPollingTimeout(), descriptor.getDependencyTrackPollingInterval());
+        final ApiClient apiClient = clientFactory.create(effectiveUrl, DependencyTrackPublisher.resolveApiKey(descriptor.getDependencyTrackApiKey(), run), logger, PluginUtil.newHttpClient(descriptor.getDependencyTrackConnectionTimeout(), descriptor.getDependencyTrackReadTimeout()));
+        apiClient.setPageSizing(descriptor.getPageSizing());
+        logger.log(Messages.Builder_Batch_Publishing(entries.size(), effectiveUrl, Math.min(getParallelism(), entries.size())));
+
+        final List<String> tokens;
+        try (var split = timer.start(Phase.UPLOAD_BOM)) {
+            tokens = invokeAll(executor, entries.stream().<Callable<String>>map(entry -> () -> upload(logger, apiClient, workspace, effectiveUrl, entry)).toList());
+        }
+        logger.log(Messages.Builder_Success(String.format("%s/projects", effectiveFrontendUrl)));
+        if (!synchronous) {
+            return;
+        }
+
+        final Map<String, Entry> uploads = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (tokens.get(i) != null) {
+                uploads.put(tokens.get(i), entries.get(i));
+            }
+        }
+        try (var split = timer.start(Phase.WAIT_FOR_PROCESSING)) {
+            waitWhileTokensAreBeingProcessed(logger, apiClient, descriptor, uploads);
+        }
+
+        final var team = apiClient.getTeamPermissions();
+        // for compatibility reasons: the permission may not be present so we check if it is. otherwise an exception would be thrown.
+        final boolean withViolations = team.getPermissions().contains(VIEW_POLICY_VIOLATION.toString());
+        if (!withViolations) {
+            logger.log(Messages.Builder_Violations_Skipped(VIEW_POLICY_VIOLATION, team.getName()));
+        }
+        final List<ProjectResult> results;
+        try (var split = timer.start(Phase.GET_FINDINGS)) {
+            results = invokeAll(executor, entries.stream().<Callable<ProjectResult>>map(entry -> () -> retrieveResult(logger, apiClient, entry, withViolations)).toList());
+        }
+        recordResults(run, logger, effectiveFrontendUrl, results, withViolations);
+    }
+
+    /**
+     * the BOMs listed explicitly, followed by those matched by the pattern in
+     * the order of their path
+     */
+    @Nonnull
+    private List<Entry> resolveEntries(final FilePath workspace, final EnvVars env) throws InterruptedException, IOException {
+        final List<Entry> entries = new ArrayList<>();
+        for (final BatchArtifact batchArtifact : getArtifacts()) {
+            final String artifact = env.expand(batchArtifact.getArtifact());
+            if (PluginUtil.isBlank(artifact)) {
+                throw new AbortException(Messages.Builder_Artifact_Unspecified());
+            }
+            entries.add(new Entry(artifact, env.expand(batchArtifact.getProjectId()), env.expand(batchArtifact.getProjectName()), env.expand(batchArtifact.getProjectVersion())));
+        }
+        final String pattern = env.expand(artifactPattern);
+        if (!PluginUtil.isBlank(pattern)) {
+            final String template = env.expand(getProjectNameTemplate());
+            final String version = env.expand(projectVersion);
+            final FilePath[] files = workspace.list(pattern);
+            Arrays.sort(files, Comparator.comparing(FilePath::getRemote));
+            for (final FilePath file : files) {
+                final String baseName = file.getBaseName();
+                final String dir = Optional.ofNullable(file.getParent()).map(FilePath::getName).orElse(baseName);
+                entries.add(new Entry(relativize(workspace, file), null, template.replace(DIR_PLACEHOLDER, dir).replace(FILE_PLACEHOLDER, baseName), version));
+            }
+        }
+        return entries;
+    }
+
+    @Nonnull
+    private static String relativize(final FilePath workspace, final FilePath file) {
+        final String base = workspace.getRemote();
+        final String path = file.getRemote();
+        return path.startsWith(base) && path.length() > base.length() ? path.substring(base.length() + 1) : path;
+    }
+
+    @Nullable
+    private String upload(final ConsoleLogger logger, final ApiClient apiClient, final FilePath workspace, final String effectiveUrl, final Entry entry) throws InterruptedException, IOException {
+        final String bom = DependencyTrackPublisher.readBom(logger, workspace, entry.artifact(), validateBom);
+        logger.log(Messages.Builder_Publishing(effectiveUrl, entry.artifact()));
+        final var uploadResult = apiClient.uploadBom(new ProjectData(entry.projectId(), entry.projectName(), entry.projectVersion(), true, null), bom);
+        if (!uploadResult.success()) {
+            logger.log(Messages.Builder_Batch_Upload_Failed(entry.artifact()));
+            throw new AbortException(Messages.Builder_Batch_Upload_Failed(entry.artifact()));
+        }
+        return uploadResult.token();
+    }
+
+    /**
+     * waits until all uploads were processed. a single loop polls the tokens
+     * that are still pending in each interval and drops those that are
+     * processed. if notifications are accepted, one about any of the pending
+     * uploads ends the interval early.
+     */
+    private void waitWhileTokensAreBeingProcessed(final ConsoleLogger logger, final ApiClient apiClient, final org.jenkinsci.plugins.DependencyTrack.DescriptorImpl descriptor, final Map<String, Entry> uploads) throws InterruptedException, ApiClientException, AbortException {
+        final var end = LocalDateTime.now().plusMinutes(descriptor.getDependencyTrackPollingTimeout());
+        final var interval = Duration.ofSeconds(descriptor.getDependencyTrackPollingInterval());
+        final var pending = new LinkedHashMap<>(uploads);
+        logger.log(Messages.Builder_Batch_Polling(pending.size()));
+        final var signal = new Semaphore(0);
+        final Map<String, NotificationReceiver.Waiter> waiters = new HashMap<>();
+        try {
+            if (descriptor.getWebhookSecret() != null) {
+                final var receiver = NotificationReceiver.get();
+                pending.forEach((token, entry) -> waiters.put(token, receiver.register(token, entry.projectId(), entry.projectName(), entry.projectVersion(), signal)));
+                final int gracePeriod = descriptor.getDependencyTrackWebhookGracePeriod();
+                if (await(signal, Duration.ofSeconds(gracePeriod))) {
+                    logger.log(Messages.Builder_Notification_Received());
+                } else {
+                    logger.log(Messages.Builder_Notification_Missing(gracePeriod));
+                }
+            } else {
+                Thread.sleep(interval);
+            }
+            while (true) {
+                final var iterator = pending.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final var upload = iterator.next();
+                    if (!apiClient.isTokenBeingProcessed(upload.getKey())) {
+                        logger.log(Messages.Builder_Batch_Processed(upload.getValue().artifact(), pending.size() - 1));
+                        iterator.remove();
+                        Optional.ofNullable(waiters.remove(upload.getKey())).ifPresent(NotificationReceiver.Waiter::close);
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                if (LocalDateTime.now().isAfter(end)) {
+                    logger.log(Messages.Builder_Polling_Timeout_Exceeded());
+                    throw new AbortException(Messages.Builder_Polling_Timeout_Exceeded());
+                }
+                if (waiters.isEmpty()) {
+                    Thread.sleep(interval);
+                } else {
+                    // a notification about any pending upload ends the interval early
+                    await(signal, interval);
+                }
+            }
+        } finally {
+            waiters.values().forEach(NotificationReceiver.Waiter::close);
+        }
+    }
+
+    private static boolean await(final Semaphore signal, final Duration timeout) throws InterruptedException {
+        final boolean notified = signal.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        signal.drainPermits();
+        return notified;
+    }
+
+    @Nonnull
+    private ProjectResult retrieveResult(final ConsoleLogger logger, final ApiClient apiClient, final Entry entry, final boolean withViolations) throws ApiClientException {
+        final String projectUuid;
+        if (PluginUtil.isBlank(entry.projectId())) {
+            logger.log(Messages.Builder_Project_Lookup(entry.projectName(), entry.projectVersion()));
+            projectUuid = apiClient.lookupProject(entry.projectName(), entry.projectVersion()).getUuid();
+        } else {
+            projectUuid = entry.projectId();
+        }
+        logger.log(Messages.Builder_Batch_Retrieving(entry.displayName()));
+        final var findings = apiClient.getFindings(projectUuid, FindingsQuery.DEFAULT);
+        final var violations = withViolations ? apiClient.getViolations(projectUuid) : List.<Violation>of();
+        return new ProjectResult(entry, projectUuid, findings, violations);
+    }
+
+    /**
+     * records a link to each project and one result with the findings and
+     * violations of all projects
+     */
+    private void recordResults(final Run<?, ?> run, final ConsoleLogger logger, final String effectiveFrontendUrl, final List<ProjectResult> results, final boolean withViolations) {
+        final var total = new SeverityDistribution(run.getNumber());
+        final List<Finding> allFindings = new ArrayList<>();
+        final List<Violation> allViolations = new ArrayList<>();
+        for (final ProjectResult result : results) {
+            final var distribution = new SeverityDistribution(run.getNumber());
+            result.findings().stream().map(Finding::getVulnerability).map(Vulnerability::getSeverity).forEach(severity -> {
+                distribution.add(severity);
+                total.add(severity);
+            });
+            logger.log(Messages.Builder_Batch_Result(result.entry().displayName(), distribution.getCritical(), distribution.getHigh(), distribution.getMedium(), distribution.getLow(), distribution.getUnassigned()));
+            allFindings.addAll(result.findings());
+            allViolations.addAll(result.violations());
+
+            run.getActions(ResultLinkAction.class).stream()
+                    .filter(action -> Objects.equals(action.getProjectId(), result.projectUuid()))
+                    .toList()
+                    .forEach(run::removeAction);
+            final var linkAction = new ResultLinkAction(effectiveFrontendUrl, result.projectUuid());
+            linkAction.setProjectName(result.entry().projectName());
+            linkAction.setProjectVersion(result.entry().projectVersion());
+            run.addAction(linkAction);
+        }
+
+        final String name = Messages.Builder_Batch_ProjectName(results.size());
+        final var findingsAction = new ResultAction(allFindings, total);
+        // the findings of several projects are no baseline for any of them
+        findingsAction.setAggregated(true);
+        findingsAction.setDependencyTrackUrl(effectiveFrontendUrl);
+        findingsAction.setProjectName(name);
+        run.addOrReplaceAction(findingsAction);
+        if (withViolations) {
+            final var violationsAction = new ViolationsRunAction(allViolations);
+            violationsAction.setDependencyTrackUrl(effectiveFrontendUrl);
+            violationsAction.setProjectName(name);
+            run.addOrReplaceAction(violationsAction);
+        }
+    }
+
+    /**
+     * runs the tasks on the executor and waits for all of them to complete,
+     * so that a failing task does not leave the others running unobserved
+     *
+     * @return the results in the order of the tasks
+     * @throws IOException the failure of the first task that failed, the
+     * failures of the other tasks are suppressed by it
+     */
+    @Nonnull
+    private static <T> List<T> invokeAll(final ExecutorService executor, final List<Callable<T>> tasks) throws InterruptedException, IOException {
+        final var futures = executor.invokeAll(tasks);
+        final List<T> results = new ArrayList<>(futures.size());
+        IOException failure = null;
+        for (final var future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                final IOException cause = switch (e.getCause()) {
+                    case InterruptedException ie ->
+                        throw ie;
+                    case IOException ioe ->
+                        ioe;
+                    default ->
+                        new IOException(e.getCause());
+                };
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    @Nonnull
+    private static org.jenkinsci.plugins.DependencyTrack.DescriptorImpl getPluginDescriptor() {
+        return jenkins.model.Jenkins.get().getDescriptorByType(org.jenkinsci.plugins.DependencyTrack.DescriptorImpl.class);
+    }
+
+    @Override
+    public BuildStepMonitor getRequiredMonitorService() {
+        return BuildStepMonitor.NONE;
+    }
+
+    /**
+     * restore transient fields after deserialization
+     *
+     * @return this
+     * @throws java.io.ObjectStreamException never
+     */
+    private Object readResolve() throws java.io.ObjectStreamException {
+        if (clientFactory == null) {
+            clientFactory = ApiClient::new;
+        }
+        return this;
+    }
+
+    /**
+     * a BOM with its effective path and project
+     */
+    private record Entry(@Nonnull String artifact, @Nullable String projectId, @Nullable String projectName, @Nullable String projectVersion) {
+
+        String projectKey() {
+            return !PluginUtil.isBlank(projectId) ? projectId : projectName + '@' + projectVersion;
+        }
+
+        String displayName() {
+            return !PluginUtil.isBlank(projectId) ? projectId : "%s %s".formatted(projectName, projectVersion);
+        }
+    }
+
+    private record ProjectResult(@Nonnull Entry entry, @Nonnull String projectUuid, @Nonnull List<Finding> findings, @Nonnull List<Violation> violations) {
+    }
+
+    @Extension
+    @Symbol("dependencyTrackBatchPublisher")
+    public static final class DescriptorImpl extends BuildStepDescriptor<Publisher> {
+
+        @Override
+        public boolean isApplicable(final Class<? extends AbstractProject> jobType) {
+            return true;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return Messages.Publisher_DependencyTrack_BatchName();
+        }
+    }
+}
@@ -29,23 +29,35 @@ import hudson.util.Secret;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import jenkins.tasks.SimpleBuildStep;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.jenkinsci.plugins.DependencyTrack.TimingAction.Phase;
 import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
 import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
+import org.jenkinsci.plugins.DependencyTrack.api.PageSizing;
 import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.api.UploadResult;
+import org.jenkinsci.plugins.DependencyTrack.model.CompiledGate;
 import org.jenkinsci.plugins.DependencyTrack.model.Finding;
-import org.jenkinsci.plugins.DependencyTrack.model.RiskGate;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingDiff;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingsCodec;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetrics;
 import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
 import org.jenkinsci.plugins.DependencyTrack.model.Thresholds;
 import org.jenkinsci.plugins.DependencyTrack.model.Violation;
@@ -135,6 +147,16 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
      */
     private Integer dependencyTrackReadTimeout;
 
+    /**
+     * the number of items per page when retrieving lists from DT
+     */
+    private Integer dependencyTrackPageSize;
+
+    /**
+     * whether the page size is adjusted to the response time of DT
+     */
+    private Boolean dependencyTrackAdaptivePaging;
+
     /**
      * Threshold level for total number of critical findings for job status
      * UNSTABLE
@@ -250,6 +272,31 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
      * fail
      */
     private boolean failOnViolationFail;
+
+    /**
+     * additional risk gate rules, one per line. see
+     * {@link org.jenkinsci.plugins.DependencyTrack.model.GateRuleParser}
+     */
+    private String riskGateRules;
+
+    /**
+     * stop retrieving findings as soon as the risk gates are certain to fail
+     * the build
+     */
+    private boolean failFast;
+
+    /**
+     * only retrieve the number of findings per severity from the metrics of
+     * the project if the risk gates do not need anything else. the findings
+     * are retrieved when the report is opened.
+     */
+    private boolean countsOnly;
+
+    /**
+     * do not store the description and recommendation of the vulnerabilities
+     * with the findings
+     */
+    private boolean compactFindings;
     
     /**
      * Retrieves the path and filename of the VEX-file. This is a per-build
@@ -257,6 +304,18 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
      */
     private String vex;
 
+    /**
+     * validate the BOM and minify it on the agent before it is uploaded. see
+     * {@link BomValidator}
+     */
+    private boolean validateBom;
+
+    /**
+     * communicate with Dependency-Track from the agent that holds the
+     * workspace instead of from the controller. see {@link AgentPublisher}
+     */
+    private boolean runOnAgent;
+
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     private transient ApiClientFactory clientFactory;
@@ -271,6 +330,10 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
     @Setter(AccessLevel.NONE)
     private transient String projectIdCache;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient CompiledGate compiledGate;
+
     // Fields in config.jelly must match the parameter names
     @DataBoundConstructor
     public DependencyTrackPublisher(final String artifact, final boolean synchronous) {
@@ -312,51 +375,253 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
             throw new AbortException(Messages.Builder_Result_InvalidArguments());
         }
 
-        final String bom = readArtifact(logger, workspace, effectiveArtifact);
+        final var timer = new PhaseTimer();
+        try {
+            if (runOnAgent) {
+                publishOnAgent(run, workspace, env, listener, logger, timer, effectiveArtifact, effectiveProjectName, effectiveProjectVersion);
+            } else {
+                publish(run, workspace, env, logger, timer, effectiveArtifact, effectiveProjectName, effectiveProjectVersion);
+            }
+        } finally {
+            if (!timer.isEmpty()) {
+                final var timingAction = timer.toAction();
+                logger.log(Messages.Builder_Timing(timingAction.getTotalMillis(), timingAction.getSummary()));
+                run.addOrReplaceAction(timingAction);
+            }
+        }
+    }
+
+    private void publish(final Run<?, ?> run, final FilePath workspace, final EnvVars env, final ConsoleLogger logger, final PhaseTimer timer, final String effectiveArtifact, final String effectiveProjectName, final String effectiveProjectVersion) throws InterruptedException, IOException {
+        // invalid rules must fail the build before anything is changed on the server
+        final var gate = getCompiledGate(logger);
+        final String bom;
+        try (var split = timer.start(Phase.READ_ARTIFACT)) {
+            bom = readBom(logger, workspace, effectiveArtifact, validateBom);
+        }
         final String effectiveUrl = getEffectiveUrl();
+        awaitAvailability(logger, effectiveUrl);
         final String effectiveApiKey = getEffectiveApiKey(run);
         final var effectiveProjectProperties = expandProjectProperties(env);
         final ApiClient apiClient = clientFactory.create(effectiveUrl, effectiveApiKey, logger, PluginUtil.newHttpClient(getEffectiveConnectionTimeout(), getEffectiveReadTimeout()));
+        apiClient.setPageSizing(getEffectivePageSizing());
         final var projectData = new ProjectData(projectId, effectiveProjectName, effectiveProjectVersion, true, effectiveProjectProperties);
 
-        logger.log(Messages.Builder_Publishing(effectiveUrl, effectiveArtifact));
-        var uploadResult = apiClient.uploadBom(projectData, bom);
-        if (!uploadResult.success()) {
-            throw new AbortException(Messages.Builder_Upload_Failed());
+        final var state = UploadState.resume(run.getActions(UploadState.class), effectiveUrl, projectData, bom);
+        UploadResult uploadResult;
+        if (state.isResumed()) {
+            // an earlier attempt of this build already uploaded the same BOM
+            logger.log(Messages.Builder_Upload_Resumed(effectiveArtifact, state.getToken()));
+            uploadResult = new UploadResult(true, state.getToken());
+        } else {
+            logger.log(Messages.Builder_Publishing(effectiveUrl, effectiveArtifact));
+            try (var split = timer.start(Phase.UPLOAD_BOM)) {
+                uploadResult = apiClient.uploadBom(projectData, bom);
+            }
+            if (!uploadResult.success()) {
+                throw new AbortException(Messages.Builder_Upload_Failed());
+            }
+            state.uploaded(UploadState.Progress.BOM_UPLOADED, uploadResult.token());
+            saveUploadState(run, state);
         }
 
-        if (!PluginUtil.isBlank(vex)) {
+        if (!PluginUtil.isBlank(vex) && !state.hasReached(UploadState.Progress.VEX_UPLOADED)) {
             final String effectiveVex = env.expand(vex);
-            final String vexData = readArtifact(logger, workspace, effectiveVex);
+            final String vexData;
+            try (var split = timer.start(Phase.READ_ARTIFACT)) {
+                vexData = readArtifact(logger, workspace, effectiveVex);
+            }
             // must wait for bom proccesing to finish before uploading vex
-            waitWhileTokenIsBeingProcessed(logger, apiClient, uploadResult.token());
+            waitWhileTokenIsBeingProcessed(logger, apiClient, timer, uploadResult.token(), effectiveProjectName, effectiveProjectVersion);
             logger.log(Messages.Builder_Publishing(effectiveUrl, effectiveVex));
-            uploadResult = apiClient.uploadVex(projectData, vexData);
+            try (var split = timer.start(Phase.UPLOAD_VEX)) {
+                uploadResult = apiClient.uploadVex(projectData, vexData);
+            }
             if (!uploadResult.success()) {
                 throw new AbortException(Messages.Builder_Upload_Failed());
             }
+            state.uploaded(UploadState.Progress.VEX_UPLOADED, uploadResult.token());
+            saveUploadState(run, state);
         }
 
         logger.log(Messages.Builder_Success(String.format("%s/projects/%s", getEffectiveFrontendUrl(), !PluginUtil.isBlank(projectId) ? projectId : "")));
         
-        updateProjectProperties(logger, apiClient, effectiveProjectName, effectiveProjectVersion, effectiveProjectProperties);
+        updateProjectProperties(logger, apiClient, timer, effectiveProjectName, effectiveProjectVersion, effectiveProjectProperties);
 
-        final var thresholds = getThresholds();
         if (synchronous && uploadResult.token() != null) {
-            final var resultActions = publishAnalysisResult(logger, apiClient, uploadResult.token(), run, effectiveProjectName, effectiveProjectVersion);
-            if (thresholds.hasValues()) {
-                evaluateRiskGates(run, logger, resultActions.findingsAction, thresholds);
+            final var resultActions = publishAnalysisResult(logger, apiClient, timer, state, run, effectiveProjectName, effectiveProjectVersion, gate);
+            // the results are recorded, so the upload is complete even if the evaluation aborts the build
+            run.removeAction(state);
+            evaluate(run, logger, timer, resultActions, gate);
+        } else {
+            if (!synchronous && !gate.isEmpty()) {
+                logger.log(Messages.Builder_Threshold_NoSync());
             }
-            if (resultActions.violationsAction != null) {
-                evaluateViolations(run, logger, resultActions.violationsAction.getViolations());
+            run.removeAction(state);
+        }
+    }
+
+    /**
+     * publishes like {@link #publish} but reads the BOM, uploads it and
+     * retrieves the results on the agent. the controller only checks the
+     * health of the server, records the results and evaluates the risk gates.
+     */
+    private void publishOnAgent(final Run<?, ?> run, final FilePath workspace, final EnvVars env, final TaskListener listener, final ConsoleLogger logger, final PhaseTimer timer, final String effectiveArtifact, final String effectiveProjectName, final String effectiveProjectVersion) throws InterruptedException, IOException {
+        final String effectiveUrl = getEffectiveUrl();
+        awaitAvailability(logger, effectiveUrl);
+        final var projectData = new ProjectData(projectId, effectiveProjectName, effectiveProjectVersion, true, expandProjectProperties(env));
+        final var gate = getCompiledGate(logger);
+        final boolean metricsOnly = countsOnly && gate.isSeverityOnly();
+        if (synchronous && countsOnly && !metricsOnly) {
+            logger.log(Messages.Builder_Metrics_NotApplicable());
+        }
+        final var baseline = synchronous ? BaselineIndex.getBaseline(run) : null;
+        final var query = findingsQuery(gate);
+        final String effectiveVex = PluginUtil.isBlank(vex) ? null : env.expand(vex);
+        logger.log(Messages.Builder_Agent_Publishing());
+        final var agentPublisher = AgentPublisher.builder()
+                .listener(listener)
+                .url(effectiveUrl)
+                .apiKey(getEffectiveApiKey(run))
+                .connectionTimeout(getEffectiveConnectionTimeout())
+                .readTimeout(getEffectiveReadTimeout())
+                .pageSizing(getEffectivePageSizing())
+                .pollingTimeout(getEffectivePollingTimeout())
+                .pollingInterval(getEffectivePollingInterval())
+                .artifact(effectiveArtifact)
+                .validateBom(validateBom)
+                .vex(effectiveVex)
+                .projectData(projectData)
+                .updateProperties(hasPropertiesToUpdate())
+                .recorded(List.copyOf(run.getActions(UploadState.class)))
+                .synchronous(synchronous)
+                .metricsOnly(metricsOnly)
+                .query(query)
+                .failFastGate(failFast && !gate.isEmpty() ? gate : null)
+                .baseline(baseline)
+                .clientFactory(clientFactory);
+        // each step returns the state as soon as it changed, so that it is recorded before the agent waits for the processing
+        // and a retry does not upload the BOM again
+        AgentPublisher.Outcome outcome = workspace.act(agentPublisher.step(AgentPublisher.Step.UPLOAD_BOM).build());
+        timer.addAll(outcome.timer());
+        saveUploadState(run, outcome.state());
+        if (effectiveVex != null && !outcome.state().hasReached(UploadState.Progress.VEX_UPLOADED)) {
+            outcome = workspace.act(agentPublisher.step(AgentPublisher.Step.UPLOAD_VEX).state(outcome.state()).build());
+            timer.addAll(outcome.timer());
+            saveUploadState(run, outcome.state());
+        }
+        if (synchronous || hasPropertiesToUpdate()) {
+            outcome = workspace.act(agentPublisher.step(AgentPublisher.Step.RETRIEVE).state(outcome.state()).build());
+            timer.addAll(outcome.timer());
+            saveUploadState(run, outcome.state());
+        }
+        final var state = outcome.state();
+
+        logger.log(Messages.Builder_Success(String.format("%s/projects/%s", getEffectiveFrontendUrl(), !PluginUtil.isBlank(projectId) ? projectId : "")));
+
+        if (synchronous && state.getToken() != null) {
+            final List<Finding> suppressedFindings = new ArrayList<>();
+            final var projectBaseline = baseline != null ? baseline.forProject(state.getProjectUuid()) : null;
+            final ResultAction findingsAction = outcome.metrics() != null
+                    ? toResultAction(run, outcome.metrics())
+                    : toResultAction(run, outcome.findings(), query, projectBaseline, suppressedFindings);
+            final var resultActions = recordAnalysisResult(logger, run, findingsAction, outcome.violations(), state.getProjectUuid(), effectiveProjectName, effectiveProjectVersion, projectBaseline, suppressedFindings);
+            // the results are recorded, so the upload is complete even if the evaluation aborts the build
+            run.removeAction(state);
+            evaluate(run, logger, timer, resultActions, gate);
+        } else {
+            if (!synchronous && !gate.isEmpty()) {
+                logger.log(Messages.Builder_Threshold_NoSync());
+            }
+            run.removeAction(state);
+        }
+    }
+
+    private void evaluate(final Run<?, ?> build, final ConsoleLogger logger, final PhaseTimer timer, final PublishAnalysisResult resultActions, final CompiledGate gate) throws AbortException {
+        if (!gate.isEmpty()) {
+            try (var split = timer.start(Phase.EVALUATE_RISK_GATES)) {
+                evaluateRiskGates(build, logger, resultActions, gate);
             }
         }
-        if (!synchronous && thresholds.hasValues()) {
-            logger.log(Messages.Builder_Threshold_NoSync());
+        if (resultActions.violationsAction != null) {
+            evaluateViolations(build, logger, resultActions.violationsAction.getViolations());
         }
     }
 
-    private String readArtifact(final ConsoleLogger logger, final FilePath workspace, final String artifact) throws InterruptedException, IOException {
+    /**
+     * saves the progress of the upload with the build, so that a retry of the
+     * build can resume it. only the recorded state of the same upload is
+     * replaced, those of other uploads in the build are kept.
+     */
+    private static void saveUploadState(final Run<?, ?> run, final UploadState state) {
+        final var recorded = run.getActions(UploadState.class);
+        if (recorded.stream().noneMatch(r -> r == state)) {
+            recorded.stream().filter(state::isSameUpload).forEach(run::removeAction);
+            run.addAction(state);
+        }
+        try {
+            run.save();
+        } catch (IOException e) {
+            log.warn("Failed to save the state of the upload of {}", run, e);
+        }
+    }
+
+    /**
+     * reads the BOM. if the artifact is a pattern matching several BOMs,
+     * they are merged into one on the agent, so that they are uploaded and
+     * processed as one.
+     */
+    static String readBom(final ConsoleLogger logger, final FilePath workspace, final String artifact, final boolean validateBom) throws InterruptedException, IOException {
+        if (!BomMerger.isPattern(artifact)) {
+            return validateBom ? readValidatedBom(logger, workspace, artifact) : readArtifact(logger, workspace, artifact);
+        }
+        logger.log(Messages.Builder_Artifact_Merging(artifact));
+        final BomMerger.Result merged;
+        try {
+            merged = workspace.act(new BomMerger.MergeCallable(artifact, validateBom));
+        } catch (BomValidator.InvalidBomException e) {
+            logger.log(Messages.Builder_Bom_Invalid(artifact, e.getMessage()));
+            throw new AbortException(Messages.Builder_Bom_Invalid(artifact, e.getMessage()));
+        } catch (IOException e) {
+            var msg = Messages.Builder_Error_Processing(artifact, e.getLocalizedMessage());
+            log.warn(msg, e);
+            throw new AbortException(msg);
+        }
+        if (merged.bom() == null) {
+            logger.log(Messages.Builder_Artifact_NonExist(artifact));
+            throw new AbortException(Messages.Builder_Artifact_NonExist(artifact));
+        }
+        if (merged.files() > 1) {
+            logger.log(Messages.Builder_Artifact_Merged(merged.files(), merged.components(), merged.duplicates()));
+        }
+        return merged.bom();
+    }
+
+    /**
+     * reads the BOM after it was validated and minified on the agent, so that
+     * an invalid BOM is neither transferred nor uploaded
+     */
+    private static String readValidatedBom(final ConsoleLogger logger, final FilePath workspace, final String artifact) throws InterruptedException, IOException {
+        logger.log(Messages.Builder_Artifact_Reading(artifact));
+        final BomValidator.Result validated;
+        try {
+            validated = workspace.act(new BomValidator.ValidateCallable(artifact));
+        } catch (BomValidator.InvalidBomException e) {
+            logger.log(Messages.Builder_Bom_Invalid(artifact, e.getMessage()));
+            throw new AbortException(Messages.Builder_Bom_Invalid(artifact, e.getMessage()));
+        } catch (IOException e) {
+            var msg = Messages.Builder_Error_Processing(artifact, e.getLocalizedMessage());
+            log.warn(msg, e);
+            throw new AbortException(msg);
+        }
+        if (validated.bom() == null) {
+            logger.log(Messages.Builder_Artifact_NonExist(artifact));
+            throw new AbortException(Messages.Builder_Artifact_NonExist(artifact));
+        }
+        logger.log(Messages.Builder_Bom_Minified(validated.originalSize(), validated.size()));
+        return validated.bom();
+    }
+
+    static String readArtifact(final ConsoleLogger logger, final FilePath workspace, final String artifact) throws InterruptedException, IOException {
         final FilePath artifactFilePath = workspace.child(artifact);
         if (!artifactFilePath.exists()) {
             logger.log(Messages.Builder_Artifact_NonExist(artifact));
@@ -375,48 +640,165 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
         }
     }
 
-    private void waitWhileTokenIsBeingProcessed(final ConsoleLogger logger, final ApiClient apiClient, final String token) throws InterruptedException, ApiClientException, AbortException {
-        final var end = LocalDateTime.now().plusMinutes(getEffectivePollingTimeout());
-        final var interval = Duration.ofSeconds(getEffectivePollingInterval());
+    private void awaitAvailability(final ConsoleLogger logger, final String url) throws InterruptedException, AbortException {
+        awaitAvailability(logger, url, descriptor, getEffectivePollingTimeout(), getEffectivePollingInterval());
+    }
+
+    /**
+     * checks the health of the server as reported by the
+     * {@link HealthMonitor} and reacts as configured if it is down
+     *
+     * @param logger the logger
+     * @param url the base URL of the server
+     * @param descriptor the global configuration
+     * @param pollingTimeout the maximum number of minutes to wait
+     * @param pollingInterval the number of seconds between two probes
+     * @throws InterruptedException if waiting was interrupted
+     * @throws AbortException if the build shall not continue
+     */
+    static void awaitAvailability(final ConsoleLogger logger, final String url, final DescriptorImpl descriptor, final int pollingTimeout, final int pollingInterval) throws InterruptedException, AbortException {
+        final var monitor = HealthMonitor.get();
+        monitor.register(url);
+        final var health = monitor.getHealth(url);
+        if (health == null || !health.isDown()) {
+            return;
+        }
+        logger.log(Messages.Builder_Health_Down(url, health.getDownSince(), health.getLastError()));
+        switch (descriptor.getEffectiveUnavailableAction()) {
+            case IGNORE -> {
+                // try anyway
+            }
+            case FAIL ->
+                throw new AbortException(Messages.Builder_Health_Unavailable(url));
+            case WAIT -> {
+                final var end = LocalDateTime.now().plusMinutes(pollingTimeout);
+                final var interval = Duration.ofSeconds(pollingInterval);
+                logger.log(Messages.Builder_Health_Waiting(url));
+                do {
+                    if (LocalDateTime.now().isAfter(end)) {
+                        logger.log(Messages.Builder_Polling_Timeout_Exceeded());
+                        throw new AbortException(Messages.Builder_Health_Unavailable(url));
+                    }
+                    Thread.sleep(interval);
+                } while (monitor.probe(url).isDown());
+            }
+        }
+    }
+
+    /**
+     * waits until the upload was processed. if notifications of
+     * Dependency-Track are accepted, a notification about the upload ends the
+     * wait early and polling starts only if none arrives within the grace
+     * period.
+     */
+    private void waitWhileTokenIsBeingProcessed(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final String token, final String effectiveProjectName, final String effectiveProjectVersion) throws InterruptedException, ApiClientException, AbortException {
+        try (var waiter = descriptor.getWebhookSecret() != null ? NotificationReceiver.get().register(token, projectId, effectiveProjectName, effectiveProjectVersion) : null) {
+            awaitProcessing(logger, apiClient, timer, token, getEffectivePollingTimeout(), getEffectivePollingInterval(), waiter, descriptor.getDependencyTrackWebhookGracePeriod());
+        }
+    }
+
+    /**
+     * polls until the upload was processed
+     *
+     * @param logger the logger
+     * @param apiClient the client
+     * @param timer the timer
+     * @param token the token of the upload
+     * @param pollingTimeout the maximum number of minutes to wait
+     * @param pollingInterval the number of seconds between two polls
+     * @param waiter receives notifications about the upload, {@code null} if
+     * notifications are not accepted
+     * @param gracePeriod the number of seconds to wait for a notification
+     * before polling starts
+     * @throws InterruptedException if waiting was interrupted
+     * @throws ApiClientException if polling failed
+     * @throws AbortException if the timeout was exceeded
+     */
+    static void awaitProcessing(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final String token, final int pollingTimeout, final int pollingInterval, @Nullable final NotificationReceiver.Waiter waiter, final int gracePeriod) throws InterruptedException, ApiClientException, AbortException {
+        final var end = LocalDateTime.now().plusMinutes(pollingTimeout);
+        final var interval = Duration.ofSeconds(pollingInterval);
         logger.log(Messages.Builder_Polling());
-        Thread.sleep(interval);
-        while (apiClient.isTokenBeingProcessed(token)) {
-            if (LocalDateTime.now().isAfter(end)) {
-                logger.log(Messages.Builder_Polling_Timeout_Exceeded());
-                // XXX this seems like a fatal error
-                throw new AbortException(Messages.Builder_Polling_Timeout_Exceeded());
+        try (var split = timer.start(Phase.WAIT_FOR_PROCESSING)) {
+            if (waiter == null) {
+                Thread.sleep(interval);
+            } else if (waiter.await(Duration.ofSeconds(gracePeriod))) {
+                logger.log(Messages.Builder_Notification_Received());
+            } else {
+                logger.log(Messages.Builder_Notification_Missing(gracePeriod));
+            }
+            while (apiClient.isTokenBeingProcessed(token)) {
+                if (LocalDateTime.now().isAfter(end)) {
+                    logger.log(Messages.Builder_Polling_Timeout_Exceeded());
+                    // XXX this seems like a fatal error
+                    throw new AbortException(Messages.Builder_Polling_Timeout_Exceeded());
+                }
+                if (waiter == null) {
+                    Thread.sleep(interval);
+                } else {
+                    // a later notification, e.g. that the analysis is complete, ends the interval early
+                    waiter.await(interval);
+                }
             }
-            Thread.sleep(interval);
         }
     }
     
-    private PublishAnalysisResult publishAnalysisResult(final ConsoleLogger logger, final ApiClient apiClient, final String token, final Run<?, ?> build, final String effectiveProjectName, final String effectiveProjectVersion) throws InterruptedException, ApiClientException, AbortException {
-        waitWhileTokenIsBeingProcessed(logger, apiClient, token);
+    private PublishAnalysisResult publishAnalysisResult(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final UploadState state, final Run<?, ?> build, final String effectiveProjectName, final String effectiveProjectVersion, final CompiledGate gate) throws InterruptedException, ApiClientException, AbortException {
+        final String effectiveProjectId;
+        if (state.hasReached(UploadState.Progress.PROCESSED)) {
+            effectiveProjectId = state.getProjectUuid();
+        } else {
+            waitWhileTokenIsBeingProcessed(logger, apiClient, timer, state.getToken(), effectiveProjectName, effectiveProjectVersion);
+            effectiveProjectId = lookupProjectId(logger, apiClient, timer, effectiveProjectName, effectiveProjectVersion);
+            state.processed(effectiveProjectId);
+            saveUploadState(build, state);
+        }
+        final var baseline = Optional.ofNullable(BaselineIndex.getBaseline(build)).map(b -> b.forProject(effectiveProjectId)).orElse(null);
+        final ResultAction findingsAction;
+        final List<Finding> suppressedFindings = new ArrayList<>();
+        try (var split = timer.start(Phase.GET_FINDINGS)) {
+            if (countsOnly && gate.isSeverityOnly()) {
+                findingsAction = toResultAction(build, awaitMetrics(logger, apiClient, effectiveProjectId, getEffectivePollingTimeout(), getEffectivePollingInterval()));
+            } else {
+                if (countsOnly) {
+                    logger.log(Messages.Builder_Metrics_NotApplicable());
+                }
+                final var query = findingsQuery(gate);
+                final var findings = retrieveFindings(logger, apiClient, effectiveProjectId, query, failFast && !gate.isEmpty() ? gate : null, baseline);
+                findingsAction = toResultAction(build, findings, query, baseline, suppressedFindings);
+            }
+        }
 
-        final String effectiveProjectId = lookupProjectId(logger, apiClient, effectiveProjectName, effectiveProjectVersion);
-        logger.log(Messages.Builder_Findings_Processing());
-        final List<Finding> findings = apiClient.getFindings(effectiveProjectId);
-        final SeverityDistribution severityDistribution = new SeverityDistribution(build.getNumber());
-        findings.stream().map(Finding::getVulnerability).map(Vulnerability::getSeverity).forEach(severityDistribution::add);
-        final var findingsAction = new ResultAction(findings, severityDistribution);
+        List<Violation> violations = null;
+        if (!findingsAction.isPartial()) {
+            try (var split = timer.start(Phase.GET_VIOLATIONS)) {
+                violations = retrieveViolations(logger, apiClient, effectiveProjectId);
+            }
+        }
+        return recordAnalysisResult(logger, build, findingsAction, violations, effectiveProjectId, effectiveProjectName, effectiveProjectVersion, baseline, suppressedFindings);
+    }
+
+    /**
+     * adds the results to the build
+     *
+     * @param violations the policy violations, {@code null} if they were not
+     * retrieved
+     */
+    private PublishAnalysisResult recordAnalysisResult(final ConsoleLogger logger, final Run<?, ?> build, final ResultAction findingsAction, @Nullable final List<Violation> violations, final String effectiveProjectId, final String effectiveProjectName, final String effectiveProjectVersion, @Nullable final Baseline baseline, final List<Finding> suppressedFindings) {
         findingsAction.setDependencyTrackUrl(getEffectiveFrontendUrl());
         findingsAction.setProjectId(effectiveProjectId);
         findingsAction.setProjectName(effectiveProjectName);
         build.addOrReplaceAction(findingsAction);
 
-        final var team = apiClient.getTeamPermissions();
         ViolationsRunAction violationsAction = null;
-        // for compatibility reasons: the permission may not be present so we check if it is. otherwise an exception would be thrown.
-        if (team.getPermissions().contains(VIEW_POLICY_VIOLATION.toString())) {
-            logger.log(Messages.Builder_Violations_Processing());
-            final var violations = apiClient.getViolations(effectiveProjectId);
+        if (findingsAction.isPartial()) {
+            // the build fails anyway, so there is no need to retrieve the violations
+            logger.log(Messages.Builder_Findings_Partial(findingsAction.getFindings().size()));
+        } else if (violations != null) {
             violationsAction = new ViolationsRunAction(violations);
             violationsAction.setDependencyTrackUrl(getEffectiveFrontendUrl());
             violationsAction.setProjectId(effectiveProjectId);
             violationsAction.setProjectName(effectiveProjectName);
             build.addOrReplaceAction(violationsAction);
-        } else {
-            logger.log(Messages.Builder_Violations_Skipped(VIEW_POLICY_VIOLATION, team.getName()));
         }
 
         // add ResultLinkAction with one that surely contains a projectId
@@ -425,22 +807,159 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
         linkAction.setProjectVersion(effectiveProjectVersion);
         build.addOrReplaceAction(linkAction);
 
-        return new PublishAnalysisResult(findingsAction, violationsAction);
+        return new PublishAnalysisResult(findingsAction, violationsAction, baseline, suppressedFindings);
+    }
+
+    private FindingsQuery findingsQuery(final CompiledGate gate) {
+        return new FindingsQuery(gate.needsSuppressedFindings(), !compactFindings);
     }
 
-    private void evaluateRiskGates(final Run<?, ?> build, final ConsoleLogger logger, final ResultAction currentResult, final Thresholds thresholds) throws AbortException {
-        // Get previous results and evaluate to thresholds
-        final SeverityDistribution previousDistribution = Optional.ofNullable(getPreviousBuildWithAnalysisResult(build))
-                .map(previousBuild -> previousBuild.getAction(ResultAction.class))
-                .map(ResultAction::getSeverityDistribution)
-                .orElse(null);
-        if (previousDistribution != null) {
+    /**
+     * retrieves the findings. if a gate is given, it is evaluated while the
+     * pages arrive and retrieving stops as soon as the build will fail anyway.
+     *
+     * @param logger the logger
+     * @param apiClient the client
+     * @param effectiveProjectId the UUID of the project
+     * @param query what to retrieve
+     * @param failFastGate the gate to evaluate while retrieving or
+     * {@code null}
+     * @param baseline the baseline to compare to
+     * @return the findings
+     * @throws ApiClientException if retrieving failed
+     */
+    @Nonnull
+    static RetrievedFindings retrieveFindings(final ConsoleLogger logger, final ApiClient apiClient, final String effectiveProjectId, final FindingsQuery query, @Nullable final CompiledGate failFastGate, @Nullable final Baseline baseline) throws ApiClientException {
+        logger.log(Messages.Builder_Findings_Processing());
+        if (failFastGate != null) {
+            // evaluate the gates while the pages arrive and stop as soon as the build will fail anyway
+            final var evaluation = failFastGate.newEvaluation(baseline != null ? baseline.getIndex() : null);
+            final var previous = baseline != null ? baseline.getSeverityDistribution() : null;
+            final var failureCertain = new boolean[1];
+            final var findings = apiClient.getFindings(effectiveProjectId, query, added -> {
+                added.forEach(evaluation::add);
+                failureCertain[0] = evaluation.isFailureCertain(previous);
+                return !failureCertain[0];
+            });
+            return new RetrievedFindings(findings, failureCertain[0]);
+        }
+        return new RetrievedFindings(apiClient.getFindings(effectiveProjectId, query), false);
+    }
+
+    /**
+     * creates the results from the findings. suppressed findings are not
+     * recorded but added to {@code suppressedFindings} for the evaluation of
+     * the risk gates.
+     */
+    @Nonnull
+    private ResultAction toResultAction(final Run<?, ?> build, final RetrievedFindings retrieved, final FindingsQuery query, @Nullable final Baseline baseline, final List<Finding> suppressedFindings) {
+        List<Finding> findings = retrieved.findings();
+        if (query.suppressed()) {
+            final var bySuppression = findings.stream().collect(Collectors.partitioningBy(f -> f.getAnalysis() != null && f.getAnalysis().isSuppressed()));
+            suppressedFindings.addAll(bySuppression.get(true));
+            findings = bySuppression.get(false);
+        }
+        final SeverityDistribution severityDistribution = new SeverityDistribution(build.getNumber());
+        findings.stream().map(Finding::getVulnerability).map(Vulnerability::getSeverity).forEach(severityDistribution::add);
+        final var findingsAction = new ResultAction(findings, severityDistribution);
+        findingsAction.setPartial(retrieved.partial());
+        final var baselineFindings = baseline != null ? baseline.getIndex() : null;
+        if (baselineFindings != null && !retrieved.partial()) {
+            findingsAction.setDiff(FindingDiff.compute(build.getNumber(), findingsAction.getFindings(), baseline.getBuildNumber(), baselineFindings, baseline.getSeverities()));
+        }
+        return findingsAction;
+    }
+
+    /**
+     * retrieves the number of findings per severity from the metrics of the
+     * project instead of retrieving all findings. the metrics are calculated
+     * asynchronously, so this waits until they were calculated after the
+     * upload was processed.
+     *
+     * @param logger the logger
+     * @param apiClient the client
+     * @param effectiveProjectId the UUID of the project
+     * @param pollingTimeout the maximum number of minutes to wait
+     * @param pollingInterval the number of seconds between two polls
+     * @return the metrics
+     * @throws InterruptedException if waiting was interrupted
+     * @throws ApiClientException if retrieving failed
+     * @throws AbortException if the timeout was exceeded
+     */
+    @Nonnull
+    static ProjectMetrics awaitMetrics(final ConsoleLogger logger, final ApiClient apiClient, final String effectiveProjectId, final int pollingTimeout, final int pollingInterval) throws InterruptedException, ApiClientException, AbortException {
+        logger.log(Messages.Builder_Metrics_Processing());
+        final var before = apiClient.getCurrentMetrics(effectiveProjectId);
+        final long calculatedBefore = before != null ? before.getLastOccurrence() : 0;
+        apiClient.refreshMetrics(effectiveProjectId);
+        final var end = LocalDateTime.now().plusMinutes(pollingTimeout);
+        final var interval = Duration.ofSeconds(pollingInterval);
+        var metrics = apiClient.getCurrentMetrics(effectiveProjectId);
+        while (metrics == null || metrics.getLastOccurrence() <= calculatedBefore) {
+            if (LocalDateTime.now().isAfter(end)) {
+                logger.log(Messages.Builder_Polling_Timeout_Exceeded());
+                throw new AbortException(Messages.Builder_Polling_Timeout_Exceeded());
+            }
+            Thread.sleep(interval);
+            metrics = apiClient.getCurrentMetrics(effectiveProjectId);
+        }
+        return metrics;
+    }
+
+    @Nonnull
+    private ResultAction toResultAction(final Run<?, ?> build, final ProjectMetrics metrics) {
+        final var findingsAction = new ResultAction(null, metrics.toSeverityDistribution(build.getNumber()));
+        findingsAction.setCountsOnly(true);
+        findingsAction.setApiUrl(getEffectiveUrl());
+        findingsAction.setApiKeyCredentialsId(getApiKeyCredentialsId(build));
+        return findingsAction;
+    }
+
+    /**
+     * retrieves the policy violations if the team may view them
+     *
+     * @param logger the logger
+     * @param apiClient the client
+     * @param effectiveProjectId the UUID of the project
+     * @return the violations or {@code null} if the team lacks the permission
+     * @throws ApiClientException if retrieving failed
+     */
+    @Nullable
+    static List<Violation> retrieveViolations(final ConsoleLogger logger, final ApiClient apiClient, final String effectiveProjectId) throws ApiClientException {
+        final var team = apiClient.getTeamPermissions();
+        // for compatibility reasons: the permission may not be present so we check if it is. otherwise an exception would be thrown.
+        if (team.getPermissions().contains(VIEW_POLICY_VIOLATION.toString())) {
+            logger.log(Messages.Builder_Violations_Processing());
+            return apiClient.getViolations(effectiveProjectId);
+        }
+        logger.log(Messages.Builder_Violations_Skipped(VIEW_POLICY_VIOLATION, team.getName()));
+        return null;
+    }
+
+    private void evaluateRiskGates(final Run<?, ?> build, final ConsoleLogger logger, final PublishAnalysisResult currentResult, final CompiledGate gate) throws AbortException {
+        // evaluate to thresholds, comparing to the previous results
+        final var baseline = currentResult.baseline;
+        final SeverityDistribution previousDistribution = baseline != null ? baseline.getSeverityDistribution() : null;
+        final var diff = currentResult.findingsAction.getDiff();
+        if (diff != null) {
+            logger.log(Messages.Builder_Threshold_ComparingToFindings(diff.getBaselineBuildNumber(), diff.getAddedCount(), diff.getFixedCount()));
+        } else if (previousDistribution != null) {
             logger.log(Messages.Builder_Threshold_ComparingTo(previousDistribution.getBuildNumber()));
         } else {
             logger.log(Messages.Builder_Threshold_NoComparison());
         }
-        final RiskGate riskGate = new RiskGate(thresholds);
-        final Result result = riskGate.evaluate(currentResult.getSeverityDistribution(), previousDistribution);
+        final CompiledGate.Outcome outcome;
+        if (currentResult.findingsAction.isCountsOnly()) {
+            outcome = gate.evaluate(currentResult.findingsAction.getSeverityDistribution(), previousDistribution);
+        } else {
+            final var violations = currentResult.violationsAction != null ? currentResult.violationsAction.getViolations() : null;
+            final var baselineFindings = diff != null ? baseline.getIndex() : null;
+            final var findings = new ArrayList<>(Objects.requireNonNullElse(currentResult.findingsAction.getFindings(), List.of()));
+            findings.addAll(currentResult.suppressedFindings);
+            outcome = gate.evaluate(findings, violations, previousDistribution, baselineFindings);
+        }
+        outcome.fired().forEach(fired -> logger.log(Messages.Builder_Threshold_RuleFired(fired.count(), fired.rule())));
+        final Result result = outcome.result();
         if (result.isWorseOrEqualTo(Result.UNSTABLE) && result.isCompleteBuild()) {
             logger.log(Messages.Builder_Threshold_Exceed());
             // allow build to proceed, but mark overall build unstable
@@ -509,6 +1028,8 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
             dependencyTrackPollingInterval = null;
             dependencyTrackConnectionTimeout = null;
             dependencyTrackReadTimeout = null;
+            dependencyTrackPageSize = null;
+            dependencyTrackAdaptivePaging = null;
         }
         return this;
     }
@@ -539,7 +1060,18 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
      */
     @Nonnull
     private String getEffectiveApiKey(final @Nonnull Run<?, ?> run) {
-        final String credId = Optional.ofNullable(PluginUtil.trimToNull(dependencyTrackApiKey)).orElseGet(descriptor::getDependencyTrackApiKey);
+        return resolveApiKey(Optional.ofNullable(PluginUtil.trimToNull(dependencyTrackApiKey)).orElseGet(descriptor::getDependencyTrackApiKey), run);
+    }
+
+    /**
+     * resolves credential-id to actual api-key
+     *
+     * @param credId the credential-id, may be {@code null}
+     * @param run needed for credential retrieval
+     * @return the api-key or an empty string if there is no credential-id
+     */
+    @Nonnull
+    static String resolveApiKey(final @Nullable String credId, final @Nonnull Run<?, ?> run) {
         if (credId != null) {
             StringCredentials cred = CredentialsProvider.findCredentialById(credId, StringCredentials.class, run);
             // for compatibility reasons when updating from v2.x to 3.0: return original value as is because it may be the api-key itself.
@@ -549,6 +1081,21 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
         }
     }
 
+    /**
+     * the ID of the credentials holding the effective api-key. unlike
+     * {@link #getEffectiveApiKey(Run)} this never returns an api-key that was
+     * configured directly instead of a credential-id, so that it can be stored
+     * with the results of a build.
+     *
+     * @param run needed for credential retrieval
+     * @return the credential-id or {@code null} if there is no such credential
+     */
+    @Nullable
+    private String getApiKeyCredentialsId(final @Nonnull Run<?, ?> run) {
+        final String credId = Optional.ofNullable(PluginUtil.trimToNull(dependencyTrackApiKey)).orElseGet(descriptor::getDependencyTrackApiKey);
+        return credId != null && CredentialsProvider.findCredentialById(credId, StringCredentials.class, run) != null ? credId : null;
+    }
+
     /**
      * the effective maximum number of minutes to wait for synchronous jobs to
      * complete.
@@ -600,17 +1147,38 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
     }
 
     /**
-     * Returns the last build that was actually built and has an analysis result ({@link ResultAction}) 
-     * @param run the build from where to start (the one running now)
-     * @return the last build that was actually built and has an analysis result, or {@code null} if none was found
+     * effective number of items per page and whether it is adjusted to the
+     * response time of DT
+     *
+     * @return effective page sizing
+     * @see #dependencyTrackPageSize
+     * @see #dependencyTrackAdaptivePaging
+     * @see DescriptorImpl#getPageSizing()
      */
-    @Nullable
-    private Run<?, ?> getPreviousBuildWithAnalysisResult(final @Nonnull Run<?, ?> run) {
-        Run<?, ?> r = run.getPreviousSuccessfulBuild();
-        while (r != null && (r.getResult() == null || r.getResult() == Result.NOT_BUILT || r.getAction(ResultAction.class) == null)) {
-            r = r.getPreviousSuccessfulBuild();
+    @Nonnull
+    private PageSizing getEffectivePageSizing() {
+        final var global = descriptor.getPageSizing();
+        final int size = Optional.ofNullable(dependencyTrackPageSize).filter(v -> v > 0).orElseGet(global::size);
+        final boolean adaptive = Optional.ofNullable(dependencyTrackAdaptivePaging).orElseGet(global::adaptive);
+        return new PageSizing(size, adaptive);
+    }
+
+    /**
+     * returns the gate compiled from the thresholds and rules. it is only
+     * compiled again if the configuration has changed.
+     */
+    @Nonnull
+    private CompiledGate getCompiledGate(final ConsoleLogger logger) throws AbortException {
+        final var thresholds = getThresholds();
+        if (compiledGate == null || !compiledGate.isCompiledFrom(thresholds, riskGateRules)) {
+            try {
+                compiledGate = CompiledGate.compile(thresholds, riskGateRules);
+            } catch (IllegalArgumentException e) {
+                logger.log(Messages.Builder_Threshold_InvalidRules(e.getMessage()));
+                throw new AbortException(Messages.Builder_Threshold_InvalidRules(e.getMessage()));
+            }
         }
-        return r;
+        return compiledGate;
     }
 
     @Nonnull
@@ -640,28 +1208,34 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
         return thresholds;
     }
     
-    private void updateProjectProperties(final ConsoleLogger logger, final ApiClient apiClient, final String effectiveProjectName, final String effectiveProjectVersion, final ProjectData.Properties effectiveProjectProperties) throws ApiClientException {
-        // check whether there are settings other than those of the parent project.
-        // the parent project is set during upload.
-        boolean doUpdateProject = projectProperties != null && ( // noformat
+    private void updateProjectProperties(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final String effectiveProjectName, final String effectiveProjectVersion, final ProjectData.Properties effectiveProjectProperties) throws ApiClientException {
+        if (hasPropertiesToUpdate()) {
+            logger.log(Messages.Builder_Project_Update());
+            final String id = lookupProjectId(logger, apiClient, timer, effectiveProjectName, effectiveProjectVersion);
+            apiClient.updateProjectProperties(id, effectiveProjectProperties);
+        }
+    }
+    
+    /**
+     * checks whether there are settings other than those of the parent
+     * project. the parent project is set during upload.
+     */
+    private boolean hasPropertiesToUpdate() {
+        return projectProperties != null && ( // noformat
                 projectProperties.getDescription() != null
                 || projectProperties.getGroup() != null
                 || projectProperties.getSwidTagId() != null
                 || projectProperties.getIsLatest() != null
                 || !projectProperties.getTags().isEmpty());
-
-        if (doUpdateProject) {
-            logger.log(Messages.Builder_Project_Update());
-            final String id = lookupProjectId(logger, apiClient, effectiveProjectName, effectiveProjectVersion);
-            apiClient.updateProjectProperties(id, effectiveProjectProperties);
-        }
     }
-    
-    private String lookupProjectId(final ConsoleLogger logger, final ApiClient apiClient, final String effectiveProjectName, final String effectiveProjectVersion) throws ApiClientException {
+
+    private String lookupProjectId(final ConsoleLogger logger, final ApiClient apiClient, final PhaseTimer timer, final String effectiveProjectName, final String effectiveProjectVersion) throws ApiClientException {
         if (PluginUtil.isBlank(projectId)) {
             if (PluginUtil.isBlank(projectIdCache)) {
                 logger.log(Messages.Builder_Project_Lookup(effectiveProjectName, effectiveProjectVersion));
-                projectIdCache = apiClient.lookupProject(effectiveProjectName, effectiveProjectVersion).getUuid();
+                try (var split = timer.start(Phase.LOOKUP_PROJECT_ID)) {
+                    projectIdCache = apiClient.lookupProject(effectiveProjectName, effectiveProjectVersion).getUuid();
+                }
             }
         } else {
             projectIdCache = projectId;
@@ -693,5 +1267,34 @@ public final class DependencyTrackPublisher extends Recorder implements SimpleBu
         return null;
     }
 
-    private static record PublishAnalysisResult(@Nonnull ResultAction findingsAction, @Nullable ViolationsRunAction violationsAction) {} 
+    /**
+     * the findings as retrieved
+     *
+     * @param findings the findings
+     * @param partial whether retrieving stopped early because the build fails
+     * anyway
+     */
+    static record RetrievedFindings(@Nonnull List<Finding> findings, boolean partial) implements Serializable {
+
+        /**
+         * transfers the findings from the agent in the format of
+         * {@link FindingsCodec} instead of as a graph of objects
+         */
+        private Object writeReplace() {
+            return new EncodedFindings(FindingsCodec.encode(findings), partial);
+        }
+    }
+
+    private static record EncodedFindings(@Nonnull byte[] findings, boolean partial) implements Serializable {
+
+        private Object readResolve() throws ObjectStreamException {
+            try {
+                return new RetrievedFindings(FindingsCodec.decode(findings), partial);
+            } catch (IOException e) {
+                throw (ObjectStreamException) new InvalidObjectException(e.getMessage()).initCause(e);
+            }
+        }
+    }
+
+    private static record PublishAnalysisResult(@Nonnull ResultAction findingsAction, @Nullable ViolationsRunAction violationsAction, @Nullable Baseline baseline, @Nonnull List<Finding> suppressedFindings) {} 
 }
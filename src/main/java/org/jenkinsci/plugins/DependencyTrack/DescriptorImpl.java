@@ -20,6 +20,7 @@ import com.cloudbees.plugins.credentials.common.StandardListBoxModel;
 import hudson.Extension;
 import hudson.Util;
 import hudson.model.AbstractProject;
+import hudson.model.AutoCompletionCandidates;
 import hudson.model.Descriptor;
 import hudson.model.Item;
 import hudson.security.ACL;
@@ -27,11 +28,9 @@ import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Publisher;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
-import hudson.util.Secret;
 import hudson.util.VersionNumber;
 import jakarta.annotation.Nullable;
 import java.io.Serializable;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -41,10 +40,15 @@ import jenkins.model.Jenkins;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import net.sf.json.JSONObject;
 import org.jenkinsci.Symbol;
 import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
 import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.PageSizing;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.GateRuleParser;
+import org.jenkinsci.plugins.DependencyTrack.model.Project;
 import org.jenkinsci.plugins.DependencyTrack.model.Team;
 import org.jenkinsci.plugins.plaincredentials.StringCredentials;
 import org.kohsuke.stapler.AncestorInPath;
@@ -64,12 +68,19 @@ import org.kohsuke.stapler.verb.POST;
  */
 @Extension
 @Symbol("dependencyTrackPublisher") // This indicates to Jenkins that this is an implementation of an extension point.
+@Slf4j
 public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Serializable {
 
     private static final long serialVersionUID = -2018722914973282748L;
 
     private final transient ApiClientFactory clientFactory;
 
+    private final transient ProjectCatalogue projectCatalogue = new ProjectCatalogue();
+
+    private final transient CredentialsCache credentialsCache = new CredentialsCache();
+
+    private final transient ConnectionProbes connectionProbes = new ConnectionProbes();
+
     /**
      * Specifies the base URL to Dependency-Track.
      */
@@ -117,6 +128,43 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
     @Setter(onMethod_ = {@DataBoundSetter})
     private int dependencyTrackReadTimeout;
 
+    /**
+     * the number of items per page when retrieving lists from DT, {@code 0}
+     * for the default of each list
+     */
+    @Getter
+    @Setter(onMethod_ = {@DataBoundSetter})
+    private int dependencyTrackPageSize;
+
+    /**
+     * whether the page size is adjusted to the response time of DT
+     */
+    @Getter
+    @Setter(onMethod_ = {@DataBoundSetter})
+    private boolean dependencyTrackAdaptivePaging;
+
+    /**
+     * the credential-id of the secret that notifications of Dependency-Track
+     * must be signed with. notifications are only accepted if it is set.
+     */
+    @Getter(onMethod_ = {@Nullable})
+    @Setter(onMethod_ = {@DataBoundSetter})
+    private String dependencyTrackWebhookSecret;
+
+    /**
+     * the number of seconds to wait for a notification before falling back to
+     * polling
+     */
+    @Setter(onMethod_ = {@DataBoundSetter})
+    private int dependencyTrackWebhookGracePeriod;
+
+    /**
+     * what builds do if the Dependency-Track server is known to be down
+     */
+    @Getter(onMethod_ = {@Nullable})
+    @Setter(onMethod_ = {@DataBoundSetter})
+    private UnavailableAction dependencyTrackUnavailableAction;
+
     /**
      * Default constructor. Obtains the Descriptor used in
      * DependencyCheckBuilder as this contains the global Dependency-Check
@@ -160,9 +208,8 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
             // api-key may come from instance-config. if empty, then take it from global config (this)
             final String apiKey = lookupApiKey(Optional.ofNullable(PluginUtil.trimToNull(dependencyTrackApiKey)).orElseGet(this::getDependencyTrackApiKey), item);
             final ApiClient apiClient = createClient(url, apiKey);
-            final List<ListBoxModel.Option> options = apiClient.getProjects().stream()
-                    .map(p -> new ListBoxModel.Option(p.getName().concat(" ").concat(Optional.ofNullable(p.getVersion()).orElse("")).trim(), p.getUuid()))
-                    .sorted(Comparator.comparing(o -> o.name))
+            final List<ListBoxModel.Option> options = projectCatalogue.getProjects(Optional.ofNullable(url).orElse(""), apiKey, apiClient).stream()
+                    .map(p -> new ListBoxModel.Option(p.displayName(), p.uuid()))
                     .toList();
             projects.add(new ListBoxModel.Option(Messages.Publisher_ProjectList_Placeholder(), ""));
             projects.addAll(options);
@@ -172,6 +219,49 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
         return projects;
     }
 
+    /**
+     * Suggests names of existing projects while typing the project name. Only
+     * the projects matching the typed text are fetched from Dependency-Track.
+     * Jenkins only sends the typed text, so if the URL or the API key are not
+     * given, those overridden in the saved configuration of the job are used
+     * before those of the global configuration.
+     *
+     * @param value the text typed so far
+     * @param dependencyTrackUrl the base URL to Dependency-Track
+     * @param dependencyTrackApiKey the API key to use for authentication
+     * @param item used to lookup credentials and the overrides in job config.
+     * ignored in global
+     * @return the names of the matching projects
+     */
+    public AutoCompletionCandidates doAutoCompleteProjectName(@QueryParameter final String value, @QueryParameter final String dependencyTrackUrl, @QueryParameter final String dependencyTrackApiKey, @AncestorInPath @Nullable final Item item) {
+        if (item == null) {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        } else {
+            item.checkPermission(Item.CONFIGURE);
+        }
+        final var candidates = new AutoCompletionCandidates();
+        final String searchText = PluginUtil.trimToNull(value);
+        if (searchText == null || searchText.length() < 2) {
+            return candidates;
+        }
+        final var configured = item instanceof AbstractProject<?, ?> project ? project.getPublishersList().get(DependencyTrackPublisher.class) : null;
+        final String url = Optional.ofNullable(PluginUtil.parseBaseUrl(dependencyTrackUrl))
+                .or(() -> Optional.ofNullable(configured).map(DependencyTrackPublisher::getDependencyTrackUrl).map(PluginUtil::parseBaseUrl))
+                .orElseGet(this::getDependencyTrackUrl);
+        final String apiKey = lookupApiKey(Optional.ofNullable(PluginUtil.trimToNull(dependencyTrackApiKey))
+                .or(() -> Optional.ofNullable(configured).map(DependencyTrackPublisher::getDependencyTrackApiKey).map(PluginUtil::trimToNull))
+                .orElseGet(this::getDependencyTrackApiKey), item);
+        try {
+            createClient(url, apiKey).searchProjects(searchText, 20).stream()
+                    .map(Project::getName)
+                    .distinct()
+                    .forEach(candidates::add);
+        } catch (ApiClientException e) {
+            log.debug("Searching projects failed", e);
+        }
+        return candidates;
+    }
+
     /**
      * Retrieve the credentials to populate the dropdown of possible api keys.
      *
@@ -197,6 +287,41 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
                 .includeCurrentValue(credentialsId);
     }
 
+    /**
+     * Retrieve the credentials to populate the dropdown of possible secrets for
+     * notifications.
+     *
+     * @param credentialsId the current credential value of secret
+     * @return ListBoxModel of credentials
+     */
+    @POST
+    public ListBoxModel doFillDependencyTrackWebhookSecretItems(@QueryParameter final String credentialsId) {
+        final StandardListBoxModel result = new StandardListBoxModel();
+        if (!Jenkins.get().hasPermission(Jenkins.ADMINISTER)) {
+            return result.includeCurrentValue(credentialsId);
+        }
+        return result
+                .includeEmptyValue()
+                .includeAs(ACL.SYSTEM2, Jenkins.get(), StringCredentials.class, List.of())
+                .includeCurrentValue(credentialsId);
+    }
+
+    /**
+     * Populates the dropdown of possible actions if the Dependency-Track server
+     * is down.
+     *
+     * @return ListBoxModel of actions
+     */
+    @POST
+    public ListBoxModel doFillDependencyTrackUnavailableActionItems() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        final ListBoxModel items = new ListBoxModel();
+        for (final UnavailableAction action : UnavailableAction.values()) {
+            items.add(action.getDisplayName(), action.name());
+        }
+        return items;
+    }
+
     /**
      * Performs input validation when submitting the global or job config
      *
@@ -226,6 +351,29 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
         return doCheckDependencyTrackUrl(value, item);
     }
 
+    /**
+     * Performs input validation of the risk gate rules when submitting the job
+     * config
+     *
+     * @param value the rules, one per line
+     * @param item used to check permissions
+     * @return a FormValidation object
+     */
+    @POST
+    public FormValidation doCheckRiskGateRules(@QueryParameter final String value, @AncestorInPath @Nullable final Item item) {
+        if (item != null) {
+            item.checkPermission(Item.CONFIGURE);
+        } else {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        }
+        try {
+            GateRuleParser.parse(value);
+            return FormValidation.ok();
+        } catch (IllegalArgumentException e) {
+            return FormValidation.error(Messages.Builder_Threshold_InvalidRules(e.getMessage()));
+        }
+    }
+
     /**
      * performs the connection including permission check for the global
      * configuration
@@ -284,30 +432,50 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
         // api-key may come from instance-config. if empty, then take it from global config (this)
         final String apiKey = lookupApiKey(Optional.ofNullable(PluginUtil.trimToNull(dependencyTrackApiKey)).orElseGet(this::getDependencyTrackApiKey), item);
         if (doCheckDependencyTrackUrl(url, item).kind == FormValidation.Kind.OK && !apiKey.isBlank()) {
+            ConnectionProbes.Result probes = null;
             try {
-                final ApiClient apiClient = createClient(url, apiKey);
-                final var poweredBy = apiClient.testConnection();
+                final var remembered = connectionProbes.remembered(url, apiKey);
+                probes = remembered.orElseGet(() -> ConnectionProbes.probe(createClient(url, apiKey)));
+                final var poweredBy = probes.poweredBy().get();
                 if (!poweredBy.startsWith("Dependency-Track v")) {
-                    return FormValidation.error(Messages.Publisher_ConnectionTest_Error(poweredBy));
+                    return FormValidation.error(withLatency(Messages.Publisher_ConnectionTest_Error(poweredBy), probes, remembered.isPresent()));
                 }
-                final var actualVersion = new VersionNumber(apiClient.getVersion());
+                final var actualVersion = new VersionNumber(probes.version().get());
                 final var requiredVersion = new VersionNumber("4.12.0");
                 if (actualVersion.isOlderThan(requiredVersion)) {
-                    return FormValidation.error(Messages.Publisher_ConnectionTest_VersionWarning(actualVersion, requiredVersion));
+                    return FormValidation.error(withLatency(Messages.Publisher_ConnectionTest_VersionWarning(actualVersion, requiredVersion), probes, remembered.isPresent()));
                 }
-                return checkTeamPermissions(apiClient, poweredBy, synchronous, updateProjectProperties);
+                final var result = checkTeamPermissions(probes.team().get(), poweredBy, synchronous, updateProjectProperties, probes, remembered.isPresent());
+                if (remembered.isEmpty() && probes.isSuccessful()) {
+                    connectionProbes.remember(url, apiKey, probes);
+                }
+                return result;
             } catch (ApiClientException e) {
-                return FormValidation.error(e, Messages.Publisher_ConnectionTest_Error(e.getMessage()));
+                // only successful results are remembered, so a failed one has just been probed
+                return FormValidation.error(e, withLatency(Messages.Publisher_ConnectionTest_Error(e.getMessage()), probes, false));
             }
         }
         return FormValidation.error(Messages.Publisher_ConnectionTest_InputError());
     }
 
-    private FormValidation checkTeamPermissions(final ApiClient apiClient, final String poweredBy, final boolean synchronous, final boolean projectProperties) throws ApiClientException {
+    /**
+     * appends the response times of the probes to the message of the
+     * connection test, so that they are also shown for slow or failed
+     * connections
+     */
+    private static String withLatency(final String message, @Nullable final ConnectionProbes.Result probes, final boolean remembered) {
+        return probes != null ? message + ' ' + latency(probes, remembered) : message;
+    }
+
+    private static String latency(final ConnectionProbes.Result probes, final boolean remembered) {
+        final var latency = Messages.Publisher_ConnectionTest_Latency(probes.poweredBy().millis(), probes.version().millis(), probes.team().millis());
+        return remembered ? latency + ' ' + Messages.Publisher_ConnectionTest_Remembered(probes.ageSeconds()) : latency;
+    }
+
+    private FormValidation checkTeamPermissions(final Team team, final String poweredBy, final boolean synchronous, final boolean projectProperties, final ConnectionProbes.Result probes, final boolean remembered) {
         final Set<String> requiredPermissions = PluginUtil.buildRequiredPermissions(synchronous, projectProperties);
         final Set<String> optionalPermissions = PluginUtil.buildOptionalPermissions(synchronous, projectProperties);
 
-        final Team team = apiClient.getTeamPermissions();
         final Set<String> allPermissions = new TreeSet<>(team.getPermissions());
         allPermissions.addAll(requiredPermissions);
         allPermissions.addAll(optionalPermissions);
@@ -337,6 +505,9 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
             }
         }
         sb.append("</ul>");
+        sb.append("<p class=\"latency\">");
+        sb.append(latency(probes, remembered));
+        sb.append("</p>");
         switch (worst) {
             case OK -> sb.insert(0, Messages.Publisher_ConnectionTest_Success(poweredBy));
             case WARNING -> sb.insert(0, Messages.Publisher_ConnectionTest_Warning(poweredBy));
@@ -406,19 +577,74 @@ public class DescriptorImpl extends BuildStepDescriptor<Publisher> implements Se
         return dependencyTrackPollingInterval;
     }
 
+    /**
+     * @return global configuration for dependencyTrackWebhookGracePeriod.
+     */
+    public int getDependencyTrackWebhookGracePeriod() {
+        if (dependencyTrackWebhookGracePeriod <= 0) {
+            return 60;
+        }
+        return dependencyTrackWebhookGracePeriod;
+    }
+
+    /**
+     * @return the secret that notifications must be signed with or
+     * {@code null} if notifications are not accepted
+     */
+    @Nullable
+    String getWebhookSecret() {
+        final String credentialId = PluginUtil.trimToNull(dependencyTrackWebhookSecret);
+        return credentialId != null ? PluginUtil.trimToNull(lookupApiKey(credentialId, null)) : null;
+    }
+
+    /**
+     * @return global configuration for dependencyTrackUnavailableAction,
+     * defaults to {@link UnavailableAction#IGNORE}
+     */
+    @NonNull
+    UnavailableAction getEffectiveUnavailableAction() {
+        return Optional.ofNullable(dependencyTrackUnavailableAction).orElse(UnavailableAction.IGNORE);
+    }
+
+    /**
+     * @return global configuration for dependencyTrackPageSize and
+     * dependencyTrackAdaptivePaging
+     */
+    @NonNull
+    PageSizing getPageSizing() {
+        return new PageSizing(dependencyTrackPageSize, dependencyTrackAdaptivePaging);
+    }
+
+    /**
+     * retrieves the current findings of a project for the results of a build
+     * that only recorded the number of findings per severity
+     *
+     * @param url the base URL to Dependency-Track
+     * @param credentialId the ID of the credentials holding the API key
+     * @param item used to lookup the credentials
+     * @param projectId the UUID of the project
+     * @return the findings
+     * @throws ApiClientException if the findings could not be retrieved
+     */
+    @NonNull
+    List<Finding> getFindings(@NonNull final String url, @NonNull final String credentialId, @NonNull final Item item, @NonNull final String projectId) throws ApiClientException {
+        return createClient(url, lookupApiKey(credentialId, item)).getFindings(projectId);
+    }
+
     private ApiClient createClient(final String baseUrl, final String apiKey) {
         final int connectionTimeout = Math.max(dependencyTrackConnectionTimeout, 0);
         final int readTimeout = Math.max(dependencyTrackReadTimeout, 0);
         final var httpClient = PluginUtil.newHttpClient(connectionTimeout, readTimeout);
-        return clientFactory.create(baseUrl, apiKey, new ConsoleLogger(), httpClient);
+        final var client = clientFactory.create(baseUrl, apiKey, new ConsoleLogger(), httpClient);
+        client.setPageSizing(getPageSizing());
+        return client;
     }
 
     @NonNull
     private String lookupApiKey(final String credentialId, final Item item) {
-        return CredentialsProvider.lookupCredentialsInItem(StringCredentials.class, item, ACL.SYSTEM2, List.of()).stream()
+        return credentialsCache.getApiKey(credentialId, item, () -> CredentialsProvider.lookupCredentialsInItem(StringCredentials.class, item, ACL.SYSTEM2, List.of()).stream()
                 .filter(c -> c.getId().equals(credentialId))
                 .map(StringCredentials::getSecret)
-                .map(Secret::getPlainText)
-                .findFirst().orElse("");
+                .findFirst().orElse(null));
     }
 }
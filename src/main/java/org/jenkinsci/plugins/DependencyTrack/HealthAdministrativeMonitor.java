@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.model.AdministrativeMonitor;
+import jakarta.annotation.Nonnull;
+import java.util.Collection;
+
+/**
+ * Informs administrators about Dependency-Track servers that are not
+ * available.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Extension
+public final class HealthAdministrativeMonitor extends AdministrativeMonitor {
+
+    @Override
+    public String getDisplayName() {
+        return Messages.HealthMonitor_DisplayName();
+    }
+
+    @Override
+    public boolean isActivated() {
+        return !getServersDown().isEmpty();
+    }
+
+    @Override
+    public boolean isSecurity() {
+        return false;
+    }
+
+    /**
+     * @return the servers that are currently down
+     */
+    @Nonnull
+    public Collection<ServerHealth> getServersDown() {
+        return HealthMonitor.get().getServersDown();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import jenkins.util.SystemProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+
+/**
+ * Periodically probes every known Dependency-Track server, i.e. the server of
+ * the global configuration and every server a build has published to, so
+ * that builds can tell whether a server is available before they wait for
+ * timeouts on their own.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Extension
+@Slf4j
+public final class HealthMonitor extends AsyncPeriodicWork {
+
+    private static final String PROPERTY_PREFIX = HealthMonitor.class.getName();
+    static final Duration RECURRENCE = Duration.ofSeconds(SystemProperties.getLong(PROPERTY_PREFIX + ".recurrenceSeconds", 60L));
+    static final int TIMEOUT_SECONDS = SystemProperties.getInteger(PROPERTY_PREFIX + ".timeoutSeconds", 10);
+    static final int MAX_SERVERS = SystemProperties.getInteger(PROPERTY_PREFIX + ".maxServers", 20);
+    static final Duration EXPIRY = Duration.ofSeconds(SystemProperties.getLong(PROPERTY_PREFIX + ".expirySeconds", Duration.ofDays(1).toSeconds()));
+
+    private final ConcurrentMap<String, ServerHealth> servers = new ConcurrentHashMap<>();
+    private final ApiClientFactory clientFactory;
+
+    public HealthMonitor() {
+        this(ApiClient::new);
+    }
+
+    HealthMonitor(@Nonnull final ApiClientFactory clientFactory) {
+        super("Dependency-Track health monitor");
+        this.clientFactory = clientFactory;
+    }
+
+    @Nonnull
+    static HealthMonitor get() {
+        return ExtensionList.lookupSingleton(HealthMonitor.class);
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return RECURRENCE.toMillis();
+    }
+
+    @Override
+    protected void execute(@Nonnull final TaskListener listener) {
+        register(ExtensionList.lookupSingleton(DescriptorImpl.class).getDependencyTrackUrl());
+        evictUnrequested(System.nanoTime());
+        servers.keySet().forEach(this::probe);
+    }
+
+    /**
+     * adds the server to the servers to probe or marks it as still in use
+     *
+     * @param url the base URL of the server
+     */
+    void register(@Nullable final String url) {
+        if (PluginUtil.isBlank(url)) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final ServerHealth known = servers.get(url);
+        if (known != null) {
+            known.requested(now);
+            return;
+        }
+        if (servers.size() >= MAX_SERVERS) {
+            evictUnrequested(now);
+        }
+        if (servers.size() < MAX_SERVERS) {
+            servers.computeIfAbsent(url, ServerHealth::new).requested(now);
+        }
+    }
+
+    /**
+     * forgets the servers that have not been registered for {@link #EXPIRY},
+     * i.e. servers that are no longer the one of the global configuration and
+     * that no build has published to recently
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    void evictUnrequested(final long now) {
+        servers.values().removeIf(health -> health.isUnrequestedSince(now - EXPIRY.toNanos()));
+    }
+
+    /**
+     * returns the health of the server
+     *
+     * @param url the base URL of the server
+     * @return the health of the server or {@code null} if it is unknown
+     */
+    @Nullable
+    ServerHealth getHealth(@Nonnull final String url) {
+        return servers.get(url);
+    }
+
+    /**
+     * @return the health of all known servers, ordered by URL
+     */
+    @Nonnull
+    public List<ServerHealth> getServers() {
+        return servers.values().stream().sorted(Comparator.comparing(ServerHealth::getUrl)).toList();
+    }
+
+    /**
+     * @return the servers that are currently down
+     */
+    @Nonnull
+    Collection<ServerHealth> getServersDown() {
+        return servers.values().stream().filter(ServerHealth::isDown).toList();
+    }
+
+    /**
+     * probes the server immediately
+     *
+     * @param url the base URL of the server
+     * @return the updated health of the server
+     */
+    @Nonnull
+    ServerHealth probe(@Nonnull final String url) {
+        final ServerHealth health = servers.computeIfAbsent(url, ServerHealth::new);
+        final long start = System.nanoTime();
+        try {
+            clientFactory.create(url, "", log::debug, PluginUtil.newHttpClient(TIMEOUT_SECONDS, TIMEOUT_SECONDS)).checkAvailability();
+            health.recordSuccess(Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (ApiClientException | IllegalArgumentException e) {
+            // IllegalArgumentException is thrown for malformed URLs
+            log.debug("Dependency-Track at {} is not available", url, e);
+            health.recordFailure(e.getLocalizedMessage(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+        return health;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * lock-free histogram with fixed buckets. recording only increments atomic
+ * counters, so it may be called concurrently without any locking. readers may
+ * see a count that does not exactly match the sum of the buckets while values
+ * are being recorded.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class Histogram {
+
+    /**
+     * upper bounds in microseconds for durations
+     */
+    static final long[] DURATION_BOUNDS = {100, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000, 30_000_000, 60_000_000};
+
+    /**
+     * upper bounds in bytes for body sizes
+     */
+    static final long[] SIZE_BOUNDS = {256, 1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216, 67108864};
+
+    /**
+     * the inclusive upper bound of each bucket in ascending order
+     */
+    private final long[] bounds;
+
+    /**
+     * the number of values per bucket, the last one counts the values above
+     * the last bound
+     */
+    private final AtomicLongArray buckets;
+
+    private final LongAdder sum = new LongAdder();
+
+    Histogram(final long[] bounds) {
+        this.bounds = bounds;
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    void record(final long value) {
+        int i = 0;
+        while (i < bounds.length && value > bounds[i]) {
+            i++;
+        }
+        buckets.incrementAndGet(i);
+        sum.add(value);
+    }
+
+    long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * appends the histogram in the Prometheus text format
+     *
+     * @param sb where to append to
+     * @param name the name of the metric
+     * @param labels the labels of this histogram without braces
+     * @param scale the divisor to convert the recorded values to the base unit
+     * of the metric
+     */
+    void appendPrometheus(final StringBuilder sb, final String name, final String labels, final double scale) {
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += buckets.get(i);
+            sb.append(String.format(Locale.ENGLISH, "%s_bucket{%s,le=\"%s\"} %d\n", name, labels, formatDouble(bounds[i] / scale), cumulative));
+        }
+        cumulative += buckets.get(bounds.length);
+        sb.append(String.format(Locale.ENGLISH, "%s_bucket{%s,le=\"+Inf\"} %d\n", name, labels, cumulative));
+        sb.append(String.format(Locale.ENGLISH, "%s_sum{%s} %s\n", name, labels, formatDouble(getSum() / scale)));
+        sb.append(String.format(Locale.ENGLISH, "%s_count{%s} %d\n", name, labels, cumulative));
+    }
+
+    private static String formatDouble(final double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.RootAction;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import jenkins.model.Jenkins;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+
+/**
+ * Records DNS, connect, TLS and time to first byte, body sizes, failures and
+ * retries of every call to Dependency-Track per endpoint and exposes them in
+ * the Prometheus text format at {@code /dependency-track-metrics/}, which
+ * requires the permission to read the system configuration.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Extension
+public final class HttpMetrics implements RootAction {
+
+    private static final Pattern UUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final double MICROS_PER_SECOND = 1_000_000d;
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * the requests that were executed before. ApiClient executes the same
+     * request again when it retries, so a known request is a retry.
+     */
+    private final Map<Request, Boolean> executed = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Nonnull
+    static HttpMetrics get() {
+        return ExtensionList.lookupSingleton(HttpMetrics.class);
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return "dependency-track-metrics";
+    }
+
+    /**
+     * @return creates a listener for each call that records its metrics
+     */
+    @Nonnull
+    EventListener.Factory getEventListenerFactory() {
+        return call -> {
+            final var endpoint = endpoints.computeIfAbsent(normalize(call.request().url()), name -> new Endpoint());
+            if (executed.put(call.request(), Boolean.TRUE) != null) {
+                endpoint.retries.increment();
+            }
+            return new CallListener(endpoint);
+        };
+    }
+
+    public void doIndex(final StaplerRequest2 req, final StaplerResponse2 rsp) throws IOException {
+        Jenkins.get().checkPermission(Jenkins.SYSTEM_READ);
+        rsp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        try (PrintWriter writer = rsp.getWriter()) {
+            writer.write(toPrometheus());
+        }
+    }
+
+    /**
+     * @return all metrics in the Prometheus text format
+     */
+    @Nonnull
+    String toPrometheus() {
+        final var sb = new StringBuilder();
+        final var sorted = new TreeMap<>(endpoints);
+        sb.append("# HELP dependency_track_http_duration_seconds duration of the phases of calls to Dependency-Track\n");
+        sb.append("# TYPE dependency_track_http_duration_seconds histogram\n");
+        sorted.forEach((name, endpoint) -> {
+            endpoint.dns.appendPrometheus(sb, "dependency_track_http_duration_seconds", labels(name, "phase", "dns"), MICROS_PER_SECOND);
+            endpoint.connect.appendPrometheus(sb, "dependency_track_http_duration_seconds", labels(name, "phase", "connect"), MICROS_PER_SECOND);
+            endpoint.tls.appendPrometheus(sb, "dependency_track_http_duration_seconds", labels(name, "phase", "tls"), MICROS_PER_SECOND);
+            endpoint.firstByte.appendPrometheus(sb, "dependency_track_http_duration_seconds", labels(name, "phase", "ttfb"), MICROS_PER_SECOND);
+            endpoint.total.appendPrometheus(sb, "dependency_track_http_duration_seconds", labels(name, "phase", "total"), MICROS_PER_SECOND);
+        });
+        sb.append("# HELP dependency_track_http_body_bytes size of the bodies of calls to Dependency-Track\n");
+        sb.append("# TYPE dependency_track_http_body_bytes histogram\n");
+        sorted.forEach((name, endpoint) -> {
+            endpoint.requestBody.appendPrometheus(sb, "dependency_track_http_body_bytes", labels(name, "direction", "request"), 1);
+            endpoint.responseBody.appendPrometheus(sb, "dependency_track_http_body_bytes", labels(name, "direction", "response"), 1);
+        });
+        appendCounter(sb, sorted, "dependency_track_http_calls_total", "calls to Dependency-Track", endpoint -> endpoint.calls);
+        appendCounter(sb, sorted, "dependency_track_http_failures_total", "calls to Dependency-Track that failed without a response", endpoint -> endpoint.failures);
+        appendCounter(sb, sorted, "dependency_track_http_retries_total", "calls to Dependency-Track and connection attempts that were repeated", endpoint -> endpoint.retries);
+        return sb.toString();
+    }
+
+    private static void appendCounter(final StringBuilder sb, final Map<String, Endpoint> endpoints, final String name, final String help, final Function<Endpoint, LongAdder> counter) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        endpoints.forEach((endpoint, metrics) -> sb.append(name).append("{endpoint=\"").append(endpoint).append("\"} ").append(counter.apply(metrics).sum()).append('\n'));
+    }
+
+    private static String labels(final String endpoint, final String name, final String value) {
+        return "endpoint=\"%s\",%s=\"%s\"".formatted(endpoint, name, value);
+    }
+
+    /**
+     * reduces the URL to the endpoint of the API so that the number of
+     * endpoints is bounded, e.g. {@code /api/v1/finding/project/<uuid>}
+     * becomes {@code /finding/project/{uuid}}
+     *
+     * @param url the URL of the request
+     * @return the endpoint
+     */
+    @Nonnull
+    static String normalize(@Nonnull final HttpUrl url) {
+        var path = url.encodedPath();
+        // the base URL may contain a context path
+        final int api = path.indexOf("/api/");
+        if (api >= 0) {
+            path = path.substring(api + "/api".length());
+        }
+        if (path.startsWith("/v1/")) {
+            path = path.substring("/v1".length());
+        }
+        return UUID.matcher(path).replaceAll("{uuid}");
+    }
+
+    /**
+     * the metrics of a single endpoint
+     */
+    private static final class Endpoint {
+
+        private final Histogram dns = new Histogram(Histogram.DURATION_BOUNDS);
+        private final Histogram connect = new Histogram(Histogram.DURATION_BOUNDS);
+        private final Histogram tls = new Histogram(Histogram.DURATION_BOUNDS);
+        private final Histogram firstByte = new Histogram(Histogram.DURATION_BOUNDS);
+        private final Histogram total = new Histogram(Histogram.DURATION_BOUNDS);
+        private final Histogram requestBody = new Histogram(Histogram.SIZE_BOUNDS);
+        private final Histogram responseBody = new Histogram(Histogram.SIZE_BOUNDS);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+    }
+
+    /**
+     * listens to the events of a single call. OkHttp delivers the events of a
+     * call one after another, so the fields need no synchronization.
+     */
+    private static final class CallListener extends EventListener {
+
+        private final Endpoint endpoint;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private int connectAttempts;
+        private boolean firstByteRecorded;
+
+        CallListener(final Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private static long microsSince(final long start) {
+            return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        }
+
+        @Override
+        public void callStart(final Call call) {
+            callStart = System.nanoTime();
+            endpoint.calls.increment();
+        }
+
+        @Override
+        public void dnsStart(final Call call, final String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(final Call call, final String domainName, final List<InetAddress> inetAddressList) {
+            endpoint.dns.record(microsSince(dnsStart));
+        }
+
+        @Override
+        public void connectStart(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy) {
+            connectStart = System.nanoTime();
+            if (connectAttempts++ > 0) {
+                // OkHttp tries again, e.g. the next route after a failed attempt
+                endpoint.retries.increment();
+            }
+        }
+
+        @Override
+        public void secureConnectStart(final Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(final Call call, final Handshake handshake) {
+            endpoint.tls.record(microsSince(secureConnectStart));
+        }
+
+        @Override
+        public void connectEnd(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy, final Protocol protocol) {
+            endpoint.connect.record(microsSince(connectStart));
+        }
+
+        @Override
+        public void connectFailed(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy, final Protocol protocol, final IOException ioe) {
+            endpoint.connect.record(microsSince(connectStart));
+        }
+
+        @Override
+        public void requestBodyEnd(final Call call, final long byteCount) {
+            endpoint.requestBody.record(byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(final Call call) {
+            if (!firstByteRecorded) {
+                firstByteRecorded = true;
+                endpoint.firstByte.record(microsSince(callStart));
+            }
+        }
+
+        @Override
+        public void responseBodyEnd(final Call call, final long byteCount) {
+            endpoint.responseBody.record(byteCount);
+        }
+
+        @Override
+        public void callEnd(final Call call) {
+            endpoint.total.record(microsSince(callStart));
+        }
+
+        @Override
+        public void callFailed(final Call call, final IOException ioe) {
+            endpoint.total.record(microsSince(callStart));
+            endpoint.failures.increment();
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.UnprotectedRootAction;
+import hudson.security.csrf.CrumbExclusion;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import jenkins.model.Jenkins;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Receives the notifications of Dependency-Track that a BOM was processed or
+ * the analysis of a project is complete and wakes the builds that wait for
+ * them, so that they do not have to poll until the next interval.
+ * <p>
+ * The endpoint {@code /dependency-track-webhook/} is only available if a
+ * secret is configured. A notification must either be signed with it (HMAC
+ * SHA-256 of the body in the header {@value #SIGNATURE_HEADER} as
+ * {@code sha256=<hex>}) or carry it as bearer token.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Extension
+@Slf4j
+public final class NotificationReceiver implements UnprotectedRootAction {
+
+    static final String URL_NAME = "dependency-track-webhook";
+    static final String SIGNATURE_HEADER = "X-Dependency-Track-Signature";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String BEARER_PREFIX = "Bearer ";
+    /**
+     * notifications are small JSON documents, anything larger is not one
+     */
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+    private static final int MAX_RECENT = 1000;
+    private static final Duration RECENT = Duration.ofMinutes(10);
+    private static final Set<String> GROUPS = Set.of("BOM_PROCESSED", "BOM_PROCESSING_FAILED", "PROJECT_VULN_ANALYSIS_COMPLETE");
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    /**
+     * notifications received recently, newest first. a notification may
+     * arrive before the build starts to wait for it.
+     */
+    private final Deque<Notification> recent = new ConcurrentLinkedDeque<>();
+
+    @Nonnull
+    public static NotificationReceiver get() {
+        return ExtensionList.lookupSingleton(NotificationReceiver.class);
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+
+    @POST
+    public void doIndex(final StaplerRequest2 req, final StaplerResponse2 rsp) throws IOException {
+        final String secret = Jenkins.get().getDescriptorByType(DescriptorImpl.class).getWebhookSecret();
+        if (secret == null) {
+            rsp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        final String signature = req.getHeader(SIGNATURE_HEADER);
+        // a bearer token is checked before the body is read, so that unauthenticated requests cost nothing
+        if (signature == null && !isValidBearer(secret, req.getHeader("Authorization"))) {
+            reject(req, rsp);
+            return;
+        }
+        if (req.getContentLengthLong() > MAX_BODY_SIZE) {
+            rsp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        final Mac mac = signature != null ? newMac(secret) : null;
+        final byte[] body;
+        try (InputStream in = req.getInputStream()) {
+            body = readBody(in, mac);
+        }
+        if (body == null) {
+            rsp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        if (mac != null && !isValidSignature(mac.doFinal(), signature)) {
+            reject(req, rsp);
+            return;
+        }
+        try {
+            final Notification notification = Notification.parse(JSONObject.fromObject(new String(body, StandardCharsets.UTF_8)), Instant.now());
+            if (notification != null) {
+                accept(notification);
+            }
+        } catch (JSONException e) {
+            rsp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        rsp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+    /**
+     * registers a build that waits for the processing of an upload
+     *
+     * @param token the token of the upload
+     * @param projectId the UUID of the project, if known
+     * @param projectName the name of the project, if known
+     * @param projectVersion the version of the project, if known
+     * @return the waiter which must be closed when the build stops waiting
+     */
+    @Nonnull
+    public Waiter register(@Nonnull final String token, @Nullable final String projectId, @Nullable final String projectName, @Nullable final String projectVersion) {
+        return register(token, projectId, projectName, projectVersion, new Semaphore(0));
+    }
+
+    /**
+     * registers a build that waits for the processing of an upload and shares
+     * the signal with the waiters of its other uploads, so that a single wait
+     * ends on a notification about any of them
+     *
+     * @param token the token of the upload
+     * @param projectId the UUID of the project, if known
+     * @param projectName the name of the project, if known
+     * @param projectVersion the version of the project, if known
+     * @param signal released by every notification about the upload
+     * @return the waiter which must be closed when the build stops waiting
+     */
+    @Nonnull
+    Waiter register(@Nonnull final String token, @Nullable final String projectId, @Nullable final String projectName, @Nullable final String projectVersion, @Nonnull final Semaphore signal) {
+        final var waiter = new Waiter(token, projectId, projectName, projectVersion, Instant.now(), signal);
+        waiters.add(waiter);
+        if (recent.stream().anyMatch(waiter::matches)) {
+            waiter.wake();
+        }
+        return waiter;
+    }
+
+    void accept(@Nonnull final Notification notification) {
+        recent.addFirst(notification);
+        final var expired = notification.received().minus(RECENT);
+        while (recent.size() > MAX_RECENT || (!recent.isEmpty() && recent.peekLast().received().isBefore(expired))) {
+            recent.pollLast();
+        }
+        waiters.stream().filter(waiter -> waiter.matches(notification)).forEach(Waiter::wake);
+    }
+
+    private static void reject(final StaplerRequest2 req, final StaplerResponse2 rsp) throws IOException {
+        log.warn("Rejected notification from {} with missing or invalid signature", req.getRemoteAddr());
+        rsp.sendError(HttpServletResponse.SC_FORBIDDEN);
+    }
+
+    /**
+     * reads the body up to {@link #MAX_BODY_SIZE} and feeds it to the MAC
+     * while reading
+     *
+     * @param in the body
+     * @param mac the MAC to update, may be {@code null}
+     * @return the body or {@code null} if it is too large
+     */
+    @Nullable
+    static byte[] readBody(@Nonnull final InputStream in, @Nullable final Mac mac) throws IOException {
+        final var body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (body.size() + read > MAX_BODY_SIZE) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+            if (mac != null) {
+                mac.update(buffer, 0, read);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    static boolean isValidSignature(@Nonnull final byte[] mac, @Nonnull final String signature) {
+        final String expected = SIGNATURE_PREFIX + HexFormat.of().formatHex(mac);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), signature.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static boolean isValidBearer(@Nonnull final String secret, @Nullable final String authorization) {
+        return authorization != null && authorization.startsWith(BEARER_PREFIX)
+                && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), authorization.substring(BEARER_PREFIX.length()).trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static byte[] sign(@Nonnull final String secret, @Nonnull final byte[] body) {
+        return newMac(secret).doFinal(body);
+    }
+
+    @Nonnull
+    private static Mac newMac(@Nonnull final String secret) {
+        try {
+            final var mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * the relevant parts of a notification of Dependency-Track
+     *
+     * @param group the group, e.g. {@code BOM_PROCESSED}
+     * @param token the token of the upload, only present for notifications
+     * about the processing of a BOM
+     * @param projectId the UUID of the project
+     * @param projectName the name of the project
+     * @param projectVersion the version of the project
+     * @param received when the notification was received
+     */
+    record Notification(@Nonnull String group, @Nullable String token, @Nullable String projectId, @Nullable String projectName, @Nullable String projectVersion, @Nonnull Instant received) {
+
+        /**
+         * @param json the notification as sent by Dependency-Track
+         * @param received when the notification was received
+         * @return the notification or {@code null} if it is not of interest
+         */
+        @Nullable
+        static Notification parse(@Nonnull final JSONObject json, @Nonnull final Instant received) {
+            final var notification = json.optJSONObject("notification");
+            if (notification == null || !GROUPS.contains(notification.optString("group"))) {
+                return null;
+            }
+            final var subject = notification.optJSONObject("subject");
+            final var project = subject != null ? subject.optJSONObject("project") : null;
+            return new Notification(notification.getString("group"),
+                    subject != null ? PluginUtil.trimToNull(subject.optString("token")) : null,
+                    project != null ? PluginUtil.trimToNull(project.optString("uuid")) : null,
+                    project != null ? PluginUtil.trimToNull(project.optString("name")) : null,
+                    project != null ? PluginUtil.trimToNull(project.optString("version")) : null,
+                    received);
+        }
+    }
+
+    /**
+     * a build that waits for the processing of an upload. it is woken by a
+     * notification with the token of the upload or, if the notification does
+     * not name a token, by one about the project that was received after the
+     * build started to wait.
+     */
+    public final class Waiter implements AutoCloseable {
+
+        private final String token;
+        private final String projectId;
+        private final String projectName;
+        private final String projectVersion;
+        private final Instant since;
+        private final Semaphore signal;
+
+        private Waiter(final String token, final String projectId, final String projectName, final String projectVersion, final Instant since, final Semaphore signal) {
+            this.token = token;
+            this.projectId = PluginUtil.trimToNull(projectId);
+            this.projectName = projectName;
+            this.projectVersion = projectVersion;
+            this.since = since;
+            this.signal = signal;
+        }
+
+        boolean matches(@Nonnull final Notification notification) {
+            if (notification.token() != null) {
+                return notification.token().equals(token);
+            }
+            if (notification.received().isBefore(since)) {
+                return false;
+            }
+            if (projectId != null && notification.projectId() != null) {
+                return projectId.equals(notification.projectId());
+            }
+            return projectName != null && projectName.equals(notification.projectName()) && Objects.equals(projectVersion, notification.projectVersion());
+        }
+
+        private void wake() {
+            signal.release();
+        }
+
+        /**
+         * waits for a notification
+         *
+         * @param timeout the maximum time to wait
+         * @return {@code true} if a notification arrived since the last call
+         * @throws InterruptedException if the thread was interrupted while
+         * waiting
+         */
+        public boolean await(@Nonnull final Duration timeout) throws InterruptedException {
+            final boolean notified = signal.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            signal.drainPermits();
+            return notified;
+        }
+
+        @Override
+        public void close() {
+            waiters.remove(this);
+        }
+    }
+
+    /**
+     * notifications are sent by Dependency-Track, not by a browser, so they
+     * cannot provide a crumb
+     */
+    @Extension
+    public static final class CrumbExclusionImpl extends CrumbExclusion {
+
+        @Override
+        public boolean process(final HttpServletRequest req, final HttpServletResponse resp, final FilterChain chain) throws IOException, ServletException {
+            final String pathInfo = req.getPathInfo();
+            if (pathInfo != null && (pathInfo.equals("/" + URL_NAME) || pathInfo.startsWith("/" + URL_NAME + "/"))) {
+                chain.doFilter(req, resp);
+                return true;
+            }
+            return false;
+        }
+    }
+}
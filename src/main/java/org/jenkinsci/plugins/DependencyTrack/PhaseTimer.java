@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jenkinsci.plugins.DependencyTrack.TimingAction.Phase;
+
+/**
+ * measures the time spent in each phase of a single execution of the
+ * publisher using the monotonic clock
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+final class PhaseTimer implements Serializable {
+
+    private static final long serialVersionUID = 2870364129934406811L;
+
+    private final long started = System.nanoTime();
+
+    /**
+     * elapsed nanos and count per phase, in the order in which the phases were
+     * entered first
+     */
+    private final Map<Phase, long[]> phases = new LinkedHashMap<>();
+
+    /**
+     * starts measuring a phase. a phase may be entered several times, the
+     * times are summed up.
+     *
+     * @param phase the phase
+     * @return stops measuring when closed
+     */
+    Split start(final Phase phase) {
+        final long start = System.nanoTime();
+        return () -> {
+            final long[] elapsed = phases.computeIfAbsent(phase, p -> new long[2]);
+            elapsed[0] += System.nanoTime() - start;
+            elapsed[1]++;
+        };
+    }
+
+    /**
+     * adds the times measured by another timer, e.g. on an agent
+     *
+     * @param other the other timer
+     */
+    void addAll(final PhaseTimer other) {
+        other.phases.forEach((phase, elapsed) -> {
+            final long[] sum = phases.computeIfAbsent(phase, p -> new long[2]);
+            sum[0] += elapsed[0];
+            sum[1] += elapsed[1];
+        });
+    }
+
+    boolean isEmpty() {
+        return phases.isEmpty();
+    }
+
+    /**
+     * @return the times measured so far
+     */
+    TimingAction toAction() {
+        final var timings = phases.entrySet().stream()
+                .map(e -> new TimingAction.PhaseTiming(e.getKey().getId(), TimeUnit.NANOSECONDS.toMillis(e.getValue()[0]), (int) e.getValue()[1]))
+                .toList();
+        return new TimingAction(timings, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * the measurement of a phase. closing it does not throw.
+     */
+    @FunctionalInterface
+    interface Split extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -80,6 +80,24 @@ class PluginUtil {
     @Nonnull
     static OkHttpClient newHttpClient(final int connectionTimeout, final int readTimeout) {
         return JenkinsOkHttpClient.newClientBuilder(new OkHttpClient())
+                .connectTimeout(Duration.ofSeconds(connectionTimeout))
+                .readTimeout(Duration.ofSeconds(readTimeout))
+                .eventListenerFactory(HttpMetrics.get().getEventListenerFactory())
+                .build();
+    }
+
+    /**
+     * creates a client for use on an agent, where neither the proxy
+     * configuration of Jenkins nor the metrics of the controller are
+     * available. the proxy of the agent JVM is used instead.
+     *
+     * @param connectionTimeout the connection timeout in seconds
+     * @param readTimeout the read timeout in seconds
+     * @return the client
+     */
+    @Nonnull
+    static OkHttpClient newAgentHttpClient(final int connectionTimeout, final int readTimeout) {
+        return new OkHttpClient.Builder()
                 .connectTimeout(Duration.ofSeconds(connectionTimeout))
                 .readTimeout(Duration.ofSeconds(readTimeout))
                 .build();
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.model.Computer;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jenkins.util.SystemProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.model.Project;
+
+/**
+ * Caches the list of projects per Dependency-Track server. The first request
+ * for a server loads the list synchronously, later requests are answered from
+ * the cache. Once the cached list is older than {@link #TTL}, it is still
+ * returned but refreshed in the background.
+ * <p>
+ * A refresh only fetches the projects that got a BOM imported since the last
+ * refresh. The complete list is only reloaded after {@link #FULL_RELOAD} or
+ * if the number of projects reported by the server does not match the
+ * catalogue anymore, e.g. because projects were deleted.
+ * <p>
+ * Only uuid, name and version are kept per project. The number of servers and
+ * the number of projects per server are bounded.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Slf4j
+final class ProjectCatalogue {
+
+    private static final String PROPERTY_PREFIX = ProjectCatalogue.class.getName();
+    static final Duration TTL = Duration.ofMinutes(SystemProperties.getLong(PROPERTY_PREFIX + ".ttlMinutes", 10L));
+    static final Duration FULL_RELOAD = Duration.ofMinutes(SystemProperties.getLong(PROPERTY_PREFIX + ".fullReloadMinutes", 360L));
+    static final int MAX_SERVERS = SystemProperties.getInteger(PROPERTY_PREFIX + ".maxServers", 10);
+    static final int MAX_PROJECTS = SystemProperties.getInteger(PROPERTY_PREFIX + ".maxProjects", 100_000);
+
+    private static final Comparator<ProjectRef> ORDER = Comparator.comparing(ProjectRef::displayName).thenComparing(ProjectRef::uuid);
+
+    private final Map<String, Snapshot> snapshots;
+    private final int maxProjects;
+
+    ProjectCatalogue() {
+        this(MAX_SERVERS, MAX_PROJECTS);
+    }
+
+    ProjectCatalogue(final int maxServers, final int maxProjects) {
+        this.maxProjects = maxProjects;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Snapshot> eldest) {
+                return size() > maxServers;
+            }
+        });
+    }
+
+    /**
+     * returns the active projects of the server, sorted by name and version
+     *
+     * @param baseUrl the base URL of the server
+     * @param apiKey the api key used to access the server
+     * @param client the client to use if the projects must be loaded
+     * @return the cached projects
+     * @throws ApiClientException if the projects had to be loaded and that
+     * failed
+     */
+    @Nonnull
+    List<ProjectRef> getProjects(@Nonnull final String baseUrl, @Nonnull final String apiKey, @Nonnull final ApiClient client) throws ApiClientException {
+        final String key = cacheKey(baseUrl, apiKey);
+        final Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            final var loaded = load(client);
+            snapshots.put(key, loaded);
+            return loaded.projects();
+        }
+        if (snapshot.isExpired() && snapshot.refreshing().compareAndSet(false, true)) {
+            try {
+                Computer.threadPoolForRemoting.submit(() -> refresh(key, snapshot, client));
+            } catch (RejectedExecutionException e) {
+                log.warn("Refreshing projects of {} could not be scheduled", key.substring(0, key.indexOf('\n')), e);
+                snapshot.refreshing().set(false);
+            }
+        }
+        return snapshot.projects();
+    }
+
+    /**
+     * removes all cached projects
+     */
+    void invalidateAll() {
+        snapshots.clear();
+    }
+
+    /**
+     * refreshes the cached projects of the server immediately, regardless of
+     * their age
+     *
+     * @param baseUrl the base URL of the server
+     * @param apiKey the api key used to access the server
+     * @param client the client to use
+     */
+    void refresh(@Nonnull final String baseUrl, @Nonnull final String apiKey, @Nonnull final ApiClient client) {
+        final String key = cacheKey(baseUrl, apiKey);
+        final Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.refreshing().compareAndSet(false, true)) {
+            refresh(key, snapshot, client);
+        }
+    }
+
+    private void refresh(final String key, final Snapshot snapshot, final ApiClient client) {
+        try {
+            final Snapshot refreshed = snapshot.needsFullReload() ? load(client) : update(snapshot, client);
+            synchronized (snapshots) {
+                if (snapshots.get(key) == snapshot) {
+                    snapshots.put(key, refreshed);
+                }
+            }
+        } catch (ApiClientException | RuntimeException e) {
+            log.warn("Refreshing projects of {} failed", key.substring(0, key.indexOf('\n')), e);
+        } finally {
+            // a replaced snapshot is not used any more. otherwise keep the stale projects and try again with the next request
+            snapshot.refreshing().set(false);
+        }
+    }
+
+    private Snapshot load(final ApiClient client) throws ApiClientException {
+        final List<Project> projects = client.getProjects();
+        final long now = System.nanoTime();
+        return new Snapshot(bounded(projects.stream().map(ProjectRef::of)), latestImport(projects, null), projects.size(), now, now, new AtomicBoolean());
+    }
+
+    private Snapshot update(final Snapshot snapshot, final ApiClient client) throws ApiClientException {
+        final var changes = client.getProjectsImportedAfter(snapshot.watermark());
+        final Map<String, ProjectRef> changed = changes.result().stream()
+                .map(ProjectRef::of)
+                .collect(Collectors.toMap(ProjectRef::uuid, Function.identity(), (a, b) -> a));
+        final long known = snapshot.projects().stream().map(ProjectRef::uuid).filter(changed::containsKey).count();
+        final int expectedSize = snapshot.projects().size() + changed.size() - (int) known;
+        if (expectedSize != changes.totalSize() && snapshot.totalSize() <= maxProjects) {
+            // projects were added without a BOM, deleted or deactivated
+            log.debug("Number of projects changed from {} to {}, reloading all projects", expectedSize, changes.totalSize());
+            return load(client);
+        }
+        final var merged = Stream.concat(
+                snapshot.projects().stream().filter(p -> !changed.containsKey(p.uuid())),
+                changed.values().stream()
+        );
+        return new Snapshot(bounded(merged), latestImport(changes.result(), snapshot.watermark()), changes.totalSize(), System.nanoTime(), snapshot.fullyLoadedAt(), new AtomicBoolean());
+    }
+
+    private List<ProjectRef> bounded(final Stream<ProjectRef> projects) {
+        final List<ProjectRef> sorted = projects.sorted(ORDER).toList();
+        if (sorted.size() > maxProjects) {
+            log.warn("Only the first {} of {} projects are offered for selection", maxProjects, sorted.size());
+            return sorted.subList(0, maxProjects);
+        }
+        return sorted;
+    }
+
+    private static LocalDateTime latestImport(final List<Project> projects, final LocalDateTime previous) {
+        return Stream.concat(Stream.ofNullable(previous), projects.stream().map(Project::getLastBomImport).filter(Objects::nonNull))
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MIN);
+    }
+
+    private static String cacheKey(final String baseUrl, final String apiKey) {
+        // do not keep the api key itself as part of the key
+        return baseUrl + '\n' + DigestUtils.sha256Hex(apiKey);
+    }
+
+    /**
+     * compact representation of a project in the catalogue
+     *
+     * @param uuid the uuid of the project
+     * @param name the name of the project
+     * @param version the version of the project, may be {@code null}
+     */
+    static record ProjectRef(String uuid, String name, String version) {
+
+        static ProjectRef of(final Project project) {
+            return new ProjectRef(project.getUuid(), project.getName(), project.getVersion());
+        }
+
+        /**
+         * returns name and version of the project
+         *
+         * @return name and version, separated by a blank
+         */
+        @Nonnull
+        String displayName() {
+            return name.concat(" ").concat(Optional.ofNullable(version).orElse("")).trim();
+        }
+    }
+
+    private static record Snapshot(List<ProjectRef> projects, LocalDateTime watermark, int totalSize, long loadedAt, long fullyLoadedAt, AtomicBoolean refreshing) {
+
+        boolean isExpired() {
+            return System.nanoTime() - loadedAt > TTL.toNanos();
+        }
+
+        boolean needsFullReload() {
+            return System.nanoTime() - fullyLoadedAt > FULL_RELOAD.toNanos();
+        }
+    }
+}
@@ -16,15 +16,35 @@
 package org.jenkinsci.plugins.DependencyTrack;
 
 import hudson.model.Action;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import net.sf.json.JsonConfig;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
 import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingDiff;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingsCodec;
 import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.jenkinsci.plugins.DependencyTrack.model.VulnerabilityDetails;
 import org.kohsuke.stapler.bind.JavaScriptMethod;
 
 /**
@@ -32,16 +52,135 @@ import org.kohsuke.stapler.bind.JavaScriptMethod;
  *
  * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
  */
+@Slf4j
 @Getter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
-@RequiredArgsConstructor
 public final class ResultAction extends AbstractRunAction {
 
     private static final long serialVersionUID = 9144544646132489130L;
 
-    private final List<Finding> findings;
+    private static final String PROPERTY_PREFIX = ResultAction.class.getName();
+    static final Duration FETCHED_TTL = Duration.ofMinutes(SystemProperties.getLong(PROPERTY_PREFIX + ".fetchedTtlMinutes", 5L));
+    static final Duration FETCH_FAILURE_TTL = Duration.ofSeconds(SystemProperties.getLong(PROPERTY_PREFIX + ".fetchFailureTtlSeconds", 30L));
+
+    /**
+     * the findings of results recorded by older versions. moved to
+     * {@link #encodedFindings} when such a result is loaded.
+     */
+    @Getter(AccessLevel.NONE)
+    private List<Finding> findings;
+
+    /**
+     * the findings in the format of {@link FindingsCodec}, which is stored as
+     * base64 and is far smaller than the XML of each finding
+     */
+    @Getter(AccessLevel.NONE)
+    private byte[] encodedFindings;
+
     private final SeverityDistribution severityDistribution;
 
+    /**
+     * the long text fields of the vulnerabilities referenced by
+     * {@link #getFindings()}, keyed by the UUID of the vulnerability. may be
+     * {@code null} for results recorded by older versions, which kept them
+     * inline in each finding.
+     */
+    private final Map<String, VulnerabilityDetails> vulnerabilityDetails;
+
+    /**
+     * whether the retrieval of findings was stopped early because the risk
+     * gates were already certain to fail the build. the findings and the
+     * severity distribution are incomplete then.
+     */
+    @Setter
+    private boolean partial;
+
+    /**
+     * the exact difference to the findings of the baseline build. may be
+     * {@code null} if there was no baseline or the results were recorded by
+     * older versions.
+     */
+    @Setter
+    private FindingDiff diff;
+
+    /**
+     * whether only the number of findings per severity was retrieved during
+     * the build. the findings are then retrieved from Dependency-Track when
+     * the report is opened.
+     */
+    @Setter
+    private boolean countsOnly;
+
+    /**
+     * whether the findings of several projects were recorded together, see
+     * {@link DependencyTrackBatchPublisher}. such a result is no baseline for
+     * the findings of a single project.
+     */
+    @Setter
+    private boolean aggregated;
+
+    /**
+     * the URL of the API of the Dependency-Track Server from which the
+     * findings are retrieved if only their counts were recorded
+     */
+    @Setter
+    private String apiUrl;
+
+    /**
+     * the ID of the credentials holding the API key to retrieve the findings
+     * if only their counts were recorded
+     */
+    @Setter
+    private String apiKeyCredentialsId;
+
+    /**
+     * the findings retrieved from Dependency-Track if only their counts were
+     * recorded
+     */
+    @Getter(AccessLevel.NONE)
+    private transient volatile Fetched fetched;
+
+    /**
+     * the decoded {@link #encodedFindings}. may be released under memory
+     * pressure as they can be decoded again.
+     */
+    @Getter(AccessLevel.NONE)
+    private transient volatile SoftReference<List<Finding>> decodedFindings;
+
+    public ResultAction(final List<Finding> findings, final SeverityDistribution severityDistribution) {
+        this.severityDistribution = severityDistribution;
+        if (findings != null) {
+            // store description and recommendation once per vulnerability instead of once per finding
+            final Map<String, VulnerabilityDetails> details = new HashMap<>();
+            final List<Finding> strippedFindings = new ArrayList<>(findings.size());
+            for (final Finding finding : findings) {
+                final Vulnerability vulnerability = finding.getVulnerability();
+                if (vulnerability != null && vulnerability.getUuid() != null) {
+                    final VulnerabilityDetails vulnerabilityDetail = vulnerability.toDetails();
+                    if (!vulnerabilityDetail.isEmpty()) {
+                        details.putIfAbsent(vulnerability.getUuid(), vulnerabilityDetail);
+                    }
+                    strippedFindings.add(finding.withoutVulnerabilityDetails());
+                } else {
+                    strippedFindings.add(finding);
+                }
+            }
+            this.encodedFindings = FindingsCodec.encode(strippedFindings);
+            this.decodedFindings = new SoftReference<>(Collections.unmodifiableList(strippedFindings));
+            this.vulnerabilityDetails = details;
+        } else {
+            this.vulnerabilityDetails = null;
+        }
+    }
+
+    private Object readResolve() {
+        if (findings != null) {
+            encodedFindings = FindingsCodec.encode(findings);
+            findings = null;
+        }
+        return this;
+    }
+
     @Override
     public String getDisplayName() {
         return Messages.Result_DT_Report(getNameOrId());
@@ -57,8 +196,77 @@ public final class ResultAction extends AbstractRunAction {
         return Set.of(new JobAction(run.getParent()));
     }
 
+    /**
+     * @return the recorded findings, {@code null} if only their counts were
+     * recorded
+     */
+    public List<Finding> getFindings() {
+        if (encodedFindings == null) {
+            return findings;
+        }
+        var decoded = decodedFindings != null ? decodedFindings.get() : null;
+        if (decoded == null) {
+            try {
+                decoded = Collections.unmodifiableList(FindingsCodec.decode(encodedFindings));
+            } catch (IOException e) {
+                log.warn("Failed to decode the recorded findings", e);
+                decoded = List.of();
+            }
+            decodedFindings = new SoftReference<>(decoded);
+        }
+        return decoded;
+    }
+
     public boolean hasFindings() {
-        return findings != null && !findings.isEmpty();
+        final var recorded = getFindings();
+        return recorded != null && !recorded.isEmpty();
+    }
+
+    /**
+     * @return whether the findings can be retrieved from Dependency-Track
+     * because only their counts were recorded during the build
+     */
+    public boolean canFetchFindings() {
+        return countsOnly && apiUrl != null && apiKeyCredentialsId != null && getProjectId() != null;
+    }
+
+    /**
+     * returns the recorded findings or, if only their counts were recorded,
+     * the current findings of the project. these are kept in memory for
+     * {@link #FETCHED_TTL} but are not stored with the build. a failed
+     * retrieval is remembered for {@link #FETCH_FAILURE_TTL}, so that an
+     * unavailable server is not asked again on every request of the report.
+     */
+    private List<Finding> getEffectiveFindings() {
+        if (!canFetchFindings()) {
+            return getFindings();
+        }
+        final long now = System.nanoTime();
+        Fetched current = fetched;
+        if (current == null || current.isExpired(now)) {
+            try {
+                current = new Fetched(Jenkins.get().getDescriptorByType(DescriptorImpl.class).getFindings(apiUrl, apiKeyCredentialsId, run.getParent(), getProjectId()), now, false);
+            } catch (ApiClientException e) {
+                log.warn("Failed to retrieve findings of project {} from {}", getProjectId(), apiUrl, e);
+                current = new Fetched(List.of(), now, true);
+            }
+            fetched = current;
+        }
+        return current.findings();
+    }
+
+    /**
+     * findings retrieved from Dependency-Track
+     *
+     * @param findings the findings, empty if the retrieval failed
+     * @param fetchedAt when they were retrieved, see {@link System#nanoTime()}
+     * @param failed whether the retrieval failed
+     */
+    static record Fetched(List<Finding> findings, long fetchedAt, boolean failed) {
+
+        boolean isExpired(final long now) {
+            return now - fetchedAt > (failed ? FETCH_FAILURE_TTL : FETCHED_TTL).toNanos();
+        }
     }
 
     /**
@@ -69,7 +277,50 @@ public final class ResultAction extends AbstractRunAction {
     @JavaScriptMethod
     public JSONArray getFindingsJson() {
         run.checkPermission(hudson.model.Item.READ);
-        return JSONArray.fromObject(findings);
+        return toFindingsJson(getEffectiveFindings());
+    }
+
+    /**
+     * Serializes the findings for the UI and marks those that are new.
+     *
+     * @param findings the findings to serialize
+     * @return the findings as JSON
+     */
+    JSONArray toFindingsJson(final List<Finding> findings) {
+        // the long text fields are fetched on demand via getVulnerabilityDetailsJson
+        final var jsonConfig = new JsonConfig();
+        jsonConfig.setExcludes(new String[]{"description", "recommendation"});
+        final var json = JSONArray.fromObject(findings, jsonConfig);
+        if (diff != null) {
+            diff.getAdded().stream().filter(i -> i < json.size()).forEach(i -> json.getJSONObject(i).element("isNew", true));
+        }
+        return json;
+    }
+
+    /**
+     * Returns the description and recommendation of a single vulnerability.
+     * Used to populate the details of a finding when it gets expanded.
+     *
+     * @param vulnerabilityUuid the UUID of the vulnerability
+     * @return the details as JSON, empty if the vulnerability is unknown
+     */
+    @JavaScriptMethod
+    public JSONObject getVulnerabilityDetailsJson(final String vulnerabilityUuid) {
+        run.checkPermission(hudson.model.Item.READ);
+        final var details = Optional.ofNullable(vulnerabilityDetails)
+                .map(d -> d.get(vulnerabilityUuid))
+                // results recorded by older versions and fetched findings keep the details inline
+                .or(() -> Optional.ofNullable(getEffectiveFindings()).flatMap(f -> f.stream()
+                        .map(Finding::getVulnerability)
+                        .filter(Objects::nonNull)
+                        .filter(v -> v.getUuid() != null && v.getUuid().equals(vulnerabilityUuid))
+                        .map(Vulnerability::toDetails)
+                        .findFirst()));
+        final var json = new JSONObject();
+        details.ifPresent(d -> json
+                .elementOpt("description", d.getDescription())
+                .elementOpt("recommendation", d.getRecommendation()));
+        return json;
     }
 
 }
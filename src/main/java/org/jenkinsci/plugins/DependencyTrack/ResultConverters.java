@@ -0,0 +1,374 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Run;
+import hudson.util.XStream2;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.jenkinsci.plugins.DependencyTrack.model.Analysis;
+import org.jenkinsci.plugins.DependencyTrack.model.Component;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.Severity;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Violation;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationState;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationType;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+
+/**
+ * XStream converters for the model classes stored with the results of a build.
+ * Scalar values are written as attributes of a single element and read without
+ * reflection. Long texts and lists remain child elements. The element per field
+ * written by the reflection based converter of older versions is still read.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public final class ResultConverters {
+
+    private ResultConverters() {
+    }
+
+    /**
+     * registers the converters for the persistence of builds before any build
+     * is loaded
+     */
+    @Initializer(before = InitMilestone.PLUGINS_STARTED)
+    public static void registerConverters() {
+        register(Run.XSTREAM2);
+    }
+
+    static void register(@Nonnull final XStream2 xstream) {
+        xstream.registerConverter(new ComponentConverter());
+        xstream.registerConverter(new VulnerabilityConverter());
+        xstream.registerConverter(new AnalysisConverter());
+        xstream.registerConverter(new FindingConverter());
+        xstream.registerConverter(new ViolationConverter());
+        xstream.registerConverter(new SeverityDistributionConverter());
+    }
+
+    /**
+     * the values of an element, either from its attributes or, if written by
+     * older versions, from its child elements
+     */
+    private static final class Values {
+
+        private final Map<String, String> values = new HashMap<>();
+
+        /**
+         * reads the attributes and child elements of the current element
+         *
+         * @param reader the reader positioned at the element
+         * @param nested reads the child element of the given name itself and
+         * returns {@code true} or returns {@code false} if it is a scalar
+         * value
+         */
+        Values(@Nonnull final HierarchicalStreamReader reader, @Nonnull final Predicate<String> nested) {
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                values.put(reader.getAttributeName(i), reader.getAttribute(i));
+            }
+            while (reader.hasMoreChildren()) {
+                reader.moveDown();
+                final String name = reader.getNodeName();
+                if (!nested.test(name)) {
+                    values.put(name, reader.getValue());
+                }
+                reader.moveUp();
+            }
+        }
+
+        Values(@Nonnull final HierarchicalStreamReader reader) {
+            this(reader, name -> false);
+        }
+
+        @Nullable
+        String get(@Nonnull final String name) {
+            return values.get(name);
+        }
+
+        @Nullable
+        <T> T get(@Nonnull final String name, @Nonnull final Function<String, T> parser) {
+            return Optional.ofNullable(values.get(name)).map(String::trim).filter(v -> !v.isEmpty()).map(parser).orElse(null);
+        }
+
+        int getInt(@Nonnull final String name) {
+            return Optional.ofNullable(get(name, Integer::valueOf)).orElse(0);
+        }
+    }
+
+    private static void attribute(@Nonnull final HierarchicalStreamWriter writer, @Nonnull final String name, @Nullable final Object value) {
+        if (value != null) {
+            writer.addAttribute(name, value.toString());
+        }
+    }
+
+    private static void element(@Nonnull final HierarchicalStreamWriter writer, @Nonnull final String name, @Nullable final String value) {
+        if (value != null) {
+            writer.startNode(name);
+            writer.setValue(value);
+            writer.endNode();
+        }
+    }
+
+    private static void element(@Nonnull final HierarchicalStreamWriter writer, @Nonnull final MarshallingContext context, @Nonnull final String name, @Nullable final Object value) {
+        if (value != null) {
+            writer.startNode(name);
+            context.convertAnother(value);
+            writer.endNode();
+        }
+    }
+
+    /**
+     * collects the values of all leaf elements below the current element,
+     * regardless of the type of list older versions have written
+     */
+    private static void readStrings(@Nonnull final HierarchicalStreamReader reader, @Nonnull final List<String> strings) {
+        while (reader.hasMoreChildren()) {
+            reader.moveDown();
+            if (reader.hasMoreChildren()) {
+                readStrings(reader, strings);
+            } else {
+                strings.add(reader.getValue());
+            }
+            reader.moveUp();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private abstract static class ModelConverter<T> implements Converter {
+
+        private final Class<T> type;
+
+        @Override
+        public boolean canConvert(final Class type) {
+            return this.type == type;
+        }
+
+        @Override
+        public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            write(type.cast(source), writer, context);
+        }
+
+        abstract void write(@Nonnull T source, @Nonnull HierarchicalStreamWriter writer, @Nonnull MarshallingContext context);
+    }
+
+    static final class ComponentConverter extends ModelConverter<Component> {
+
+        ComponentConverter() {
+            super(Component.class);
+        }
+
+        @Override
+        void write(final Component source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            attribute(writer, "uuid", source.getUuid());
+            attribute(writer, "name", source.getName());
+            attribute(writer, "group", source.getGroup());
+            attribute(writer, "version", source.getVersion());
+            attribute(writer, "purl", source.getPurl());
+        }
+
+        @Override
+        public Component unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            final var values = new Values(reader);
+            return new Component(values.get("uuid"), values.get("name"), values.get("group"), values.get("version"), values.get("purl"));
+        }
+    }
+
+    static final class VulnerabilityConverter extends ModelConverter<Vulnerability> {
+
+        VulnerabilityConverter() {
+            super(Vulnerability.class);
+        }
+
+        @Override
+        void write(final Vulnerability source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            attribute(writer, "uuid", source.getUuid());
+            attribute(writer, "source", source.getSource());
+            attribute(writer, "vulnId", source.getVulnId());
+            attribute(writer, "title", source.getTitle());
+            attribute(writer, "subtitle", source.getSubtitle());
+            attribute(writer, "severity", source.getSeverity());
+            attribute(writer, "severityRank", source.getSeverityRank());
+            attribute(writer, "cweId", source.getCweId());
+            attribute(writer, "cweName", source.getCweName());
+            attribute(writer, "cvssScore", source.getCvssScore());
+            attribute(writer, "epssScore", source.getEpssScore());
+            element(writer, "description", source.getDescription());
+            element(writer, "recommendation", source.getRecommendation());
+            if (source.getAliases() != null) {
+                writer.startNode("aliases");
+                source.getAliases().forEach(alias -> element(writer, "string", alias));
+                writer.endNode();
+            }
+        }
+
+        @Override
+        public Vulnerability unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            final List<List<String>> aliases = new ArrayList<>(1);
+            final var values = new Values(reader, name -> {
+                if (!"aliases".equals(name)) {
+                    return false;
+                }
+                final List<String> strings = new ArrayList<>();
+                readStrings(reader, strings);
+                aliases.add(strings);
+                return true;
+            });
+            return new Vulnerability(values.get("uuid"), values.get("source"), values.get("vulnId"), values.get("title"), values.get("subtitle"),
+                    values.get("description"), values.get("recommendation"), values.get("severity", Severity::valueOf),
+                    values.get("severityRank", Integer::valueOf), values.get("cweId", Integer::valueOf), values.get("cweName"),
+                    values.get("cvssScore", Double::valueOf), values.get("epssScore", Double::valueOf), aliases.isEmpty() ? null : aliases.getFirst());
+        }
+    }
+
+    static final class AnalysisConverter extends ModelConverter<Analysis> {
+
+        AnalysisConverter() {
+            super(Analysis.class);
+        }
+
+        @Override
+        void write(final Analysis source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            attribute(writer, "state", source.getState());
+            attribute(writer, "isSuppressed", source.isSuppressed());
+        }
+
+        @Override
+        public Analysis unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            final var values = new Values(reader);
+            return new Analysis(values.get("state"), Boolean.parseBoolean(values.get("isSuppressed")));
+        }
+    }
+
+    static final class FindingConverter extends ModelConverter<Finding> {
+
+        FindingConverter() {
+            super(Finding.class);
+        }
+
+        @Override
+        void write(final Finding source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            attribute(writer, "matrix", source.getMatrix());
+            element(writer, context, "component", source.getComponent());
+            element(writer, context, "vulnerability", source.getVulnerability());
+            element(writer, context, "analysis", source.getAnalysis());
+        }
+
+        @Override
+        public Finding unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            final var nested = new HashMap<String, Object>();
+            final var values = new Values(reader, name -> switch (name) {
+                case "component" -> {
+                    nested.put(name, context.convertAnother(null, Component.class));
+                    yield true;
+                }
+                case "vulnerability" -> {
+                    nested.put(name, context.convertAnother(null, Vulnerability.class));
+                    yield true;
+                }
+                case "analysis" -> {
+                    nested.put(name, context.convertAnother(null, Analysis.class));
+                    yield true;
+                }
+                default ->
+                    false;
+            });
+            return new Finding((Component) nested.get("component"), (Vulnerability) nested.get("vulnerability"), (Analysis) nested.get("analysis"), values.get("matrix"));
+        }
+    }
+
+    static final class ViolationConverter extends ModelConverter<Violation> {
+
+        ViolationConverter() {
+            super(Violation.class);
+        }
+
+        @Override
+        void write(final Violation source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            attribute(writer, "uuid", source.getUuid());
+            attribute(writer, "type", source.getType());
+            attribute(writer, "state", source.getState());
+            attribute(writer, "policyName", source.getPolicyName());
+            element(writer, context, "component", source.getComponent());
+        }
+
+        @Override
+        public Violation unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            final List<Component> component = new ArrayList<>(1);
+            final var values = new Values(reader, name -> {
+                if (!"component".equals(name)) {
+                    return false;
+                }
+                component.add((Component) context.convertAnother(null, Component.class));
+                return true;
+            });
+            return new Violation(values.get("uuid"), values.get("type", ViolationType::valueOf), values.get("state", ViolationState::valueOf),
+                    values.get("policyName"), component.isEmpty() ? null : component.getFirst());
+        }
+    }
+
+    static final class SeverityDistributionConverter extends ModelConverter<SeverityDistribution> {
+
+        SeverityDistributionConverter() {
+            super(SeverityDistribution.class);
+        }
+
+        @Override
+        void write(final SeverityDistribution source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+            writer.addAttribute("buildNumber", Integer.toString(source.getBuildNumber()));
+            count(writer, "critical", source.getCritical());
+            count(writer, "high", source.getHigh());
+            count(writer, "medium", source.getMedium());
+            count(writer, "low", source.getLow());
+            count(writer, "info", source.getInfo());
+            count(writer, "unassigned", source.getUnassigned());
+        }
+
+        private static void count(final HierarchicalStreamWriter writer, final String name, final int count) {
+            if (count != 0) {
+                writer.addAttribute(name, Integer.toString(count));
+            }
+        }
+
+        @Override
+        public SeverityDistribution unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            final var values = new Values(reader);
+            final var distribution = new SeverityDistribution(values.getInt("buildNumber"));
+            distribution.add(Severity.CRITICAL, values.getInt("critical"));
+            distribution.add(Severity.HIGH, values.getInt("high"));
+            distribution.add(Severity.MEDIUM, values.getInt("medium"));
+            distribution.add(Severity.LOW, values.getInt("low"));
+            distribution.add(Severity.INFO, values.getInt("info"));
+            distribution.add(Severity.UNASSIGNED, values.getInt("unassigned"));
+            return distribution;
+        }
+    }
+}
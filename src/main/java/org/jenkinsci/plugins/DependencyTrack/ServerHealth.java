@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Date;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Availability and response times of a Dependency-Track server as seen by the
+ * {@link HealthMonitor}. A server is considered down after
+ * {@link #FAILURE_THRESHOLD} failed probes in a row and up again after the
+ * first successful probe.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@RequiredArgsConstructor
+public final class ServerHealth {
+
+    static final int FAILURE_THRESHOLD = 2;
+    private static final int SAMPLES = 60;
+
+    /**
+     * the base URL of the server
+     */
+    @Getter
+    @Nonnull
+    private final String url;
+
+    private final long[] latencies = new long[SAMPLES];
+    private int samples;
+    private int next;
+    private int consecutiveFailures;
+    private long lastCheck;
+    private long downSince;
+    private String lastError;
+
+    /**
+     * {@link System#nanoTime()} when the server was last registered with the
+     * {@link HealthMonitor}
+     */
+    private volatile long lastRequested = System.nanoTime();
+
+    void requested(final long nanoTime) {
+        lastRequested = nanoTime;
+    }
+
+    boolean isUnrequestedSince(final long nanoTime) {
+        return lastRequested - nanoTime < 0;
+    }
+
+    synchronized void recordSuccess(final long millis) {
+        addSample(millis);
+        consecutiveFailures = 0;
+        downSince = 0;
+        lastError = null;
+        lastCheck = System.currentTimeMillis();
+    }
+
+    synchronized void recordFailure(@Nonnull final String error, final long millis) {
+        addSample(millis);
+        lastError = error;
+        lastCheck = System.currentTimeMillis();
+        if (++consecutiveFailures == FAILURE_THRESHOLD) {
+            downSince = lastCheck;
+        }
+    }
+
+    private void addSample(final long millis) {
+        latencies[next] = millis;
+        next = (next + 1) % SAMPLES;
+        samples = Math.min(samples + 1, SAMPLES);
+    }
+
+    /**
+     * @return {@code true} if the server did not respond to the last
+     * {@link #FAILURE_THRESHOLD} probes
+     */
+    public synchronized boolean isDown() {
+        return consecutiveFailures >= FAILURE_THRESHOLD;
+    }
+
+    /**
+     * @return the point in time the server went down or {@code null} if it is
+     * not down
+     */
+    @Nullable
+    public synchronized Date getDownSince() {
+        return isDown() ? new Date(downSince) : null;
+    }
+
+    /**
+     * @return the point in time of the last probe or {@code null} if the
+     * server was not probed yet
+     */
+    @Nullable
+    public synchronized Date getLastCheck() {
+        return lastCheck > 0 ? new Date(lastCheck) : null;
+    }
+
+    /**
+     * @return the error of the last probe or {@code null} if it was successful
+     */
+    @Nullable
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * returns the response time that the given percentage of the recent probes
+     * did not exceed.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the response time in milliseconds or {@code -1} if there are no
+     * probes yet
+     */
+    public synchronized long getLatencyPercentile(final int percentile) {
+        if (samples == 0) {
+            return -1;
+        }
+        final long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(percentile / 100.0 * samples) - 1;
+        return sorted[Math.clamp(index, 0, samples - 1)];
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.model.InvisibleAction;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Action for storing how long each phase of publishing to Dependency-Track
+ * took. It has no UI but is exposed via the remote API of the build, e.g.
+ * {@code job/foo/42/api/json?tree=actions[phases[*],totalMillis]}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Getter(onMethod_ = {@Exported})
+@RequiredArgsConstructor
+@ExportedBean
+public final class TimingAction extends InvisibleAction implements Serializable {
+
+    private static final long serialVersionUID = -2964419622063040817L;
+
+    /**
+     * the time spent in each phase in the order in which they were entered
+     */
+    private final List<PhaseTiming> phases;
+
+    /**
+     * the time from reading the artifact until the end of publishing,
+     * including the time outside of the recorded phases
+     */
+    private final long totalMillis;
+
+    /**
+     * @return one line listing the time spent in each phase
+     */
+    String getSummary() {
+        return phases.stream()
+                .map(p -> String.format(Locale.ENGLISH, "%s %d ms", p.getPhase(), p.getMillis()))
+                .collect(Collectors.joining(", "));
+    }
+
+    @Value
+    @Getter(onMethod_ = {@Exported})
+    @ExportedBean(defaultVisibility = 2)
+    public static class PhaseTiming implements Serializable {
+
+        private static final long serialVersionUID = 1405339716553744251L;
+
+        /**
+         * the ID of the phase
+         */
+        String phase;
+
+        /**
+         * the total time spent in this phase
+         */
+        long millis;
+
+        /**
+         * how often this phase was entered
+         */
+        int count;
+    }
+
+    /**
+     * the phases of publishing to Dependency-Track
+     */
+    @RequiredArgsConstructor
+    public enum Phase {
+        READ_ARTIFACT("readArtifact"),
+        UPLOAD_BOM("uploadBom"),
+        UPLOAD_VEX("uploadVex"),
+        WAIT_FOR_PROCESSING("waitWhileTokenIsBeingProcessed"),
+        LOOKUP_PROJECT_ID("lookupProjectId"),
+        GET_FINDINGS("getFindings"),
+        GET_VIOLATIONS("getViolations"),
+        EVALUATE_RISK_GATES("evaluateRiskGates");
+
+        @Getter
+        private final String id;
+    }
+}
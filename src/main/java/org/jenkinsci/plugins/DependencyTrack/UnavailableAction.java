@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import org.jvnet.localizer.Localizable;
+
+/**
+ * What a build does if the {@link HealthMonitor} reports the Dependency-Track
+ * server to be down.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public enum UnavailableAction {
+    /**
+     * try to publish anyway
+     */
+    IGNORE(Messages._UnavailableAction_IGNORE()),
+    /**
+     * abort the build immediately
+     */
+    FAIL(Messages._UnavailableAction_FAIL()),
+    /**
+     * wait until the server is available again, at most for the polling
+     * timeout
+     */
+    WAIT(Messages._UnavailableAction_WAIT());
+
+    private final Localizable displayName;
+
+    UnavailableAction(final Localizable displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName.toString();
+    }
+}
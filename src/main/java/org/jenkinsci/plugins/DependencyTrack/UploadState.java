@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.model.InvisibleAction;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+
+/**
+ * Action for storing how far the upload to Dependency-Track has progressed. It
+ * is saved with the build, so that the publisher continues where it left off
+ * if it is run again in the same build by {@code retry}, instead of uploading
+ * the BOM again and waiting for its processing once more. A build that
+ * publishes several BOMs records one action per upload, identified by the
+ * server, the project and the digest of the BOM. It is removed once the
+ * results are recorded, even if their evaluation then fails the build.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class UploadState extends InvisibleAction implements Serializable {
+
+    private static final long serialVersionUID = 6079520916624870178L;
+
+    enum Progress {
+        /**
+         * the BOM was uploaded, its token is known
+         */
+        BOM_UPLOADED,
+        /**
+         * the VEX was uploaded after the BOM was processed, its token is known
+         */
+        VEX_UPLOADED,
+        /**
+         * the uploads were processed and the UUID of the project is known
+         */
+        PROCESSED
+    }
+
+    /**
+     * the base URL of the server the BOM was uploaded to
+     */
+    private final String url;
+
+    /**
+     * the UUID of the project or its name and version as given for the upload
+     */
+    private final String project;
+
+    /**
+     * the SHA-256 of the BOM
+     */
+    private final String bomDigest;
+
+    /**
+     * the token of the most recent upload
+     */
+    private String token;
+
+    /**
+     * how far the upload has progressed, {@code null} if nothing was uploaded
+     * yet
+     */
+    private Progress progress;
+
+    /**
+     * the UUID of the project as looked up after processing
+     */
+    private String projectUuid;
+
+    /**
+     * returns the state of the upload of the BOM to the project, either the
+     * one recorded by an earlier attempt of the build or a new one
+     *
+     * @param recorded the states recorded with the build
+     * @param url the base URL of the server
+     * @param projectData the project to upload to
+     * @param bom the BOM
+     * @return the state
+     */
+    @Nonnull
+    static UploadState resume(@Nonnull final Collection<UploadState> recorded, @Nonnull final String url, @Nonnull final ProjectData projectData, @Nonnull final String bom) {
+        final String project = !PluginUtil.isBlank(projectData.id()) ? projectData.id() : projectData.name() + '@' + projectData.version();
+        final var state = new UploadState(url, project, digest(bom));
+        return recorded.stream()
+                .filter(r -> r.progress != null && r.isSameUpload(state))
+                .findFirst()
+                .orElse(state);
+    }
+
+    /**
+     * @param other another state
+     * @return whether both states are about the upload of the same BOM to the
+     * same project
+     */
+    boolean isSameUpload(@Nonnull final UploadState other) {
+        return url.equals(other.url) && project.equals(other.project) && bomDigest.equals(other.bomDigest);
+    }
+
+    /**
+     * @return whether this state was recorded by an earlier attempt
+     */
+    boolean isResumed() {
+        return progress != null;
+    }
+
+    /**
+     * @param expected the progress to check
+     * @return whether the upload has progressed at least that far
+     */
+    boolean hasReached(@Nonnull final Progress expected) {
+        return progress != null && progress.compareTo(expected) >= 0;
+    }
+
+    void uploaded(@Nonnull final Progress progress, @Nullable final String token) {
+        this.progress = progress;
+        this.token = token;
+    }
+
+    void processed(@Nonnull final String projectUuid) {
+        this.progress = Progress.PROCESSED;
+        this.projectUuid = Objects.requireNonNull(projectUuid);
+    }
+
+    static String digest(@Nonnull final String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
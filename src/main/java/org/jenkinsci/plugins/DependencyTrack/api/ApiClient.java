@@ -16,14 +16,21 @@
 package org.jenkinsci.plugins.DependencyTrack.api;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import okhttp3.MediaType;
@@ -35,6 +42,8 @@ import okhttp3.Response;
 import org.jenkinsci.plugins.DependencyTrack.model.Finding;
 import org.jenkinsci.plugins.DependencyTrack.model.FindingParser;
 import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetrics;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetricsParser;
 import org.jenkinsci.plugins.DependencyTrack.model.ProjectParser;
 import org.jenkinsci.plugins.DependencyTrack.model.Team;
 import org.jenkinsci.plugins.DependencyTrack.model.TeamParser;
@@ -65,6 +74,7 @@ public class ApiClient {
     static final String API_KEY_HEADER = "X-Api-Key";
     static final String PROJECT_FINDINGS_URL = API_URL + "/finding/project";
     static final String PROJECT_VIOLATIONS_URL = API_URL + "/violation/project";
+    static final String PROJECT_METRICS_URL = API_URL + "/metrics/project";
     static final String BOM_URL = API_URL + "/bom";
     static final String VEX_URL = API_URL + "/vex";
     static final String TOKEN_URL = API_URL + "/event/token";
@@ -72,9 +82,11 @@ public class ApiClient {
     static final String PROJECT_LOOKUP_URL = PROJECT_URL + "/lookup";
     static final String PROJECT_LOOKUP_NAME_PARAM = "name";
     static final String PROJECT_LOOKUP_VERSION_PARAM = "version";
+    static final String PROJECT_SEARCH_TEXT_PARAM = "searchText";
     static final String PAGINATED_REQ_PAGE_PARAM = "pageNumber";
     static final String PAGINATED_REQ_PAGESIZE_PARAM = "pageSize";
     static final String PAGINATED_RES_TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String FINDINGS_SUPPRESSED_PARAM = "suppressed";
     static final String TEAM_SELF_URL = API_URL + "/team/self";
     static final String VERSION_URL = "/api/version";
 
@@ -97,6 +109,13 @@ public class ApiClient {
     @Nonnull
     private final OkHttpClient httpClient;
 
+    /**
+     * how many items are requested per page
+     */
+    @Setter
+    @Nonnull
+    private PageSizing pageSizing = PageSizing.DEFAULT;
+
     @Nonnull
     public String getVersion() throws ApiClientException {
         final var request = createRequest(URI.create(VERSION_URL));
@@ -118,6 +137,26 @@ public class ApiClient {
         });
     }
 
+    /**
+     * checks whether the server responds to requests for its version. unlike
+     * all other requests, this one is not retried.
+     *
+     * @throws ApiClientException if the server did not respond successfully
+     */
+    public void checkAvailability() throws ApiClientException {
+        final var request = createRequest(URI.create(VERSION_URL));
+        try (var response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                final int status = response.code();
+                throw new ApiClientException(Messages.ApiClient_Error_Connection(status, HttpStatus.valueOf(status).getReasonPhrase()));
+            }
+        } catch (ApiClientException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ApiClientException(Messages.ApiClient_Error_Connection("", ""), e);
+        }
+    }
+
     @Nonnull
     public String testConnection() throws ApiClientException {
         final var request = createRequest(URI.create(PROJECT_URL));
@@ -162,27 +201,85 @@ public class ApiClient {
     @Nonnull
     public List<Project> getProjects() throws ApiClientException {
         final List<Project> projects = new ArrayList<>();
-        int page = 1;
+        final var cursor = pageSizing.cursor(500);
         boolean fetchMore = true;
         while (fetchMore) {
-            final var fetchedProjects = getProjectsPaged(page++);
+            final var fetchedProjects = fetchPage(cursor, (page, pageSize) -> getProjectsPaged(page, pageSize, null, "name", "asc"));
             projects.addAll(fetchedProjects.result());
             // Continue to retrieve further projects if the current result was not empty and the total amount has not yet been reached.
             fetchMore = !fetchedProjects.isEmpty() && projects.size() < fetchedProjects.totalSize();
         }
+        logPageSize(cursor);
         return projects;
     }
 
+    /**
+     * searches for active projects whose name contains the given text
+     *
+     * @param searchText the text to search for
+     * @param limit the maximum number of projects to return
+     * @return the first {@code limit} matching projects ordered by name
+     * @throws ApiClientException if the request failed
+     */
+    @Nonnull
+    public List<Project> searchProjects(@Nonnull final String searchText, final int limit) throws ApiClientException {
+        return getProjectsPaged(1, limit, searchText, "name", "asc").result();
+    }
+
+    /**
+     * retrieves the active projects that got a BOM imported after the given
+     * point in time. projects are fetched most recently imported first and
+     * paging stops at the first project that was imported before.
+     *
+     * @param since the point in time of the last known BOM import
+     * @return the projects imported after {@code since} together with the
+     * total amount of active projects
+     * @throws ApiClientException if a request failed
+     */
+    @Nonnull
+    public PagedResult<Project> getProjectsImportedAfter(@Nonnull final LocalDateTime since) throws ApiClientException {
+        final List<Project> projects = new ArrayList<>();
+        int page = 1;
+        int fetched = 0;
+        int totalSize = 0;
+        boolean fetchMore = true;
+        while (fetchMore) {
+            final var fetchedProjects = getProjectsPaged(page++, 100, null, "lastBomImport", "desc");
+            fetched += fetchedProjects.size();
+            totalSize = fetchedProjects.totalSize();
+            boolean reachedKnownImports = false;
+            for (final var project : fetchedProjects.result()) {
+                // projects without any import may be sorted first or last, depending on the database
+                if (project.getLastBomImport() == null) {
+                    continue;
+                }
+                if (project.getLastBomImport().isAfter(since)) {
+                    projects.add(project);
+                } else {
+                    reachedKnownImports = true;
+                }
+            }
+            fetchMore = !reachedKnownImports && !fetchedProjects.isEmpty() && fetched < totalSize;
+        }
+        return new PagedResult<>(projects, totalSize);
+    }
+
     @Nonnull
     @SuppressWarnings("unchecked")
-    private PagedResult<Project> getProjectsPaged(final int page) throws ApiClientException {
-        final var uri = UriComponentsBuilder.fromUriString(PROJECT_URL)
+    private PagedResult<Project> getProjectsPaged(final int page, final int pageSize, final String searchText, final String sortName, final String sortOrder) throws ApiClientException {
+        final var uriBuilder = UriComponentsBuilder.fromUriString(PROJECT_URL)
                 .queryParam(PAGINATED_REQ_PAGE_PARAM, "{page}")
-                .queryParam(PAGINATED_REQ_PAGESIZE_PARAM, 500)
+                .queryParam(PAGINATED_REQ_PAGESIZE_PARAM, pageSize)
                 .queryParam("excludeInactive", true)
-                .queryParam("sortName", "name")
-                .queryParam("sortOrder", "asc")
-                .build(page);
+                .queryParam("sortName", sortName)
+                .queryParam("sortOrder", sortOrder);
+        final Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("page", page);
+        if (searchText != null) {
+            uriBuilder.queryParam(PROJECT_SEARCH_TEXT_PARAM, "{searchText}");
+            uriVariables.put("searchText", searchText);
+        }
+        final var uri = uriBuilder.build(uriVariables);
         final var request = createRequest(uri);
         return executeWithRetry(() -> {
             try (var response = httpClient.newCall(request).execute()) {
@@ -235,24 +332,49 @@ public class ApiClient {
 
     @Nonnull
     public List<Finding> getFindings(@Nonnull final String projectUuid) throws ApiClientException {
-        final List<JSONObject> findings = new ArrayList<>();
-        int page = 1;
+        return getFindings(projectUuid, FindingsQuery.DEFAULT);
+    }
+
+    @Nonnull
+    public List<Finding> getFindings(@Nonnull final String projectUuid, @Nonnull final FindingsQuery query) throws ApiClientException {
+        return getFindings(projectUuid, query, added -> true);
+    }
+
+    /**
+     * retrieves the findings page by page and passes the findings of each page
+     * to the listener as soon as it has arrived
+     *
+     * @param projectUuid the project
+     * @param query what to retrieve
+     * @param continueFetching called with the findings that were added by the
+     * current page. no further pages are fetched if it returns {@code false}.
+     * @return the findings fetched so far, which are all findings unless
+     * {@code continueFetching} stopped the fetching
+     * @throws ApiClientException if a page could not be retrieved
+     */
+    @Nonnull
+    public List<Finding> getFindings(@Nonnull final String projectUuid, @Nonnull final FindingsQuery query, @Nonnull final Predicate<List<Finding>> continueFetching) throws ApiClientException {
+        final List<Finding> findings = new ArrayList<>();
+        final var cursor = pageSizing.cursor(100);
         boolean fetchMore = true;
         while (fetchMore) {
-            var fetchedFindings = getFindingsPaged(projectUuid, page++);
-            findings.addAll(fetchedFindings.result());
+            var fetchedFindings = fetchPage(cursor, (page, pageSize) -> getFindingsPaged(projectUuid, query.suppressed(), page, pageSize));
+            // the parser eliminates aliases across pages because it checks each finding against those of the previous pages
+            final var added = FindingParser.parseInto(findings, fetchedFindings.result(), query.details());
             // Continue to retrieve further findings if the current result was not empty and the total amount has not yet been reached.
-            fetchMore = !fetchedFindings.isEmpty() && findings.size() < fetchedFindings.totalSize();
+            fetchMore = !fetchedFindings.isEmpty() && cursor.getOffset() < fetchedFindings.totalSize() && continueFetching.test(added);
         }
-        // because the request is paged and the parser eliminates aliases, we must collect the raw results first and parse them at the end
-        return FindingParser.parse(findings);
+        logPageSize(cursor);
+        return findings;
     }
 
     @Nonnull
-    private PagedResult<JSONObject> getFindingsPaged(@Nonnull final String projectUuid, final int page) throws ApiClientException {
+    private PagedResult<JSONObject> getFindingsPaged(@Nonnull final String projectUuid, final boolean suppressed, final int page, final int pageSize) throws ApiClientException {
         final var uri = UriComponentsBuilder.fromUriString(PROJECT_FINDINGS_URL).pathSegment("{uuid}")
                 .queryParam(PAGINATED_REQ_PAGE_PARAM, "{page}")
-                .queryParam(PAGINATED_REQ_PAGESIZE_PARAM, 100)
+                .queryParam(PAGINATED_REQ_PAGESIZE_PARAM, pageSize)
+                // always explicit so that it does not depend on the default of the server
+                .queryParam(FINDINGS_SUPPRESSED_PARAM, suppressed)
                 .build(projectUuid, page);
         final var request = createRequest(uri);
         return executeWithRetry(() -> {
@@ -278,22 +400,23 @@ public class ApiClient {
     @Nonnull
     public List<Violation> getViolations(@Nonnull final String projectUuid) throws ApiClientException {
         final List<Violation> violations = new ArrayList<>();
-        int page = 1;
+        final var cursor = pageSizing.cursor(100);
         boolean fetchMore = true;
         while (fetchMore) {
-            var fetchedViolations = getViolationsPaged(projectUuid, page++);
+            var fetchedViolations = fetchPage(cursor, (page, pageSize) -> getViolationsPaged(projectUuid, page, pageSize));
             violations.addAll(fetchedViolations.result());
             // Continue to retrieve further violations if the current result was not empty and the total amount has not yet been reached.
             fetchMore = !fetchedViolations.isEmpty() && violations.size() < fetchedViolations.totalSize();
         }
+        logPageSize(cursor);
         return violations;
     }
 
     @Nonnull
-    private PagedResult<Violation> getViolationsPaged(@Nonnull final String projectUuid, final int page) throws ApiClientException {
+    private PagedResult<Violation> getViolationsPaged(@Nonnull final String projectUuid, final int page, final int pageSize) throws ApiClientException {
         final var uri = UriComponentsBuilder.fromUriString(PROJECT_VIOLATIONS_URL).pathSegment("{uuid}")
                 .queryParam(PAGINATED_REQ_PAGE_PARAM, "{page}")
-                .queryParam(PAGINATED_REQ_PAGESIZE_PARAM, 100)
+                .queryParam(PAGINATED_REQ_PAGESIZE_PARAM, pageSize)
                 .build(projectUuid, page);
         final var request = createRequest(uri);
         return executeWithRetry(() -> {
@@ -316,6 +439,61 @@ public class ApiClient {
         });
     }
 
+    /**
+     * retrieves the most recent metrics of the project. these are a single
+     * small object and therefore much cheaper than the findings.
+     *
+     * @param projectUuid the project
+     * @return the metrics or {@code null} if they were never calculated
+     * @throws ApiClientException if the metrics could not be retrieved
+     */
+    @Nullable
+    public ProjectMetrics getCurrentMetrics(@Nonnull final String projectUuid) throws ApiClientException {
+        final var uri = UriComponentsBuilder.fromUriString(PROJECT_METRICS_URL).pathSegment("{uuid}", "current").build(projectUuid);
+        final var request = createRequest(uri);
+        return executeWithRetry(() -> {
+            try (var response = httpClient.newCall(request).execute()) {
+                final var body = response.body().string();
+                if (!response.isSuccessful()) {
+                    final int status = response.code();
+                    logger.log(body);
+                    throw new ApiClientException(Messages.ApiClient_Error_RetrieveMetrics(status, HttpStatus.valueOf(status).getReasonPhrase()));
+                }
+                return body.isBlank() ? null : ProjectMetricsParser.parse(JSONObject.fromObject(body));
+            } catch (ApiClientException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new ApiClientException(Messages.ApiClient_Error_Connection("", ""), e);
+            }
+        });
+    }
+
+    /**
+     * requests Dependency-Track to calculate the metrics of the project. the
+     * calculation is done asynchronously.
+     *
+     * @param projectUuid the project
+     * @throws ApiClientException if the request failed
+     */
+    public void refreshMetrics(@Nonnull final String projectUuid) throws ApiClientException {
+        final var uri = UriComponentsBuilder.fromUriString(PROJECT_METRICS_URL).pathSegment("{uuid}", "refresh").build(projectUuid);
+        final var request = createRequest(uri);
+        executeWithRetry(() -> {
+            try (var response = httpClient.newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    final int status = response.code();
+                    logger.log(response.body().string());
+                    throw new ApiClientException(Messages.ApiClient_Error_RetrieveMetrics(status, HttpStatus.valueOf(status).getReasonPhrase()));
+                }
+                return null;
+            } catch (ApiClientException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new ApiClientException(Messages.ApiClient_Error_Connection("", ""), e);
+            }
+        });
+    }
+
     @Nonnull
     public UploadResult uploadVex(@Nonnull final ProjectData project, @Nonnull final String vex) throws ApiClientException {
         final var formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
@@ -465,6 +643,33 @@ public class ApiClient {
                 .build();
     }
 
+    /**
+     * retrieves the next page of the cursor. if adaptive page sizing is
+     * enabled, a page that timed out is requested again with half the size.
+     */
+    @Nonnull
+    private <T> PagedResult<T> fetchPage(final PageCursor cursor, final PageRequest<T> request) throws ApiClientException {
+        while (true) {
+            final long start = System.nanoTime();
+            try {
+                final var result = request.fetch(cursor.page(), cursor.getSize());
+                cursor.advance(result.size(), Duration.ofNanos(System.nanoTime() - start));
+                return result;
+            } catch (ApiClientException e) {
+                if (!(e.getCause() instanceof InterruptedIOException) || !cursor.shrink()) {
+                    throw e;
+                }
+                logger.log(Messages.ApiClient_PageSize_Reduced(cursor.getSize()));
+            }
+        }
+    }
+
+    private void logPageSize(final PageCursor cursor) {
+        if (cursor.isAdaptive()) {
+            logger.log(Messages.ApiClient_PageSize_Chosen(cursor.getSize(), cursor.getOffset()));
+        }
+    }
+
     private static int getTotalCountValue(Response res, int defaultValue) {
         return Optional.ofNullable(res.header(PAGINATED_RES_TOTAL_COUNT_HEADER))
                 .map(Integer::parseInt)
@@ -490,4 +695,10 @@ public class ApiClient {
 
         T doWithRetry() throws E;
     }
+
+    @FunctionalInterface
+    private interface PageRequest<T> {
+
+        PagedResult<T> fetch(int page, int pageSize) throws ApiClientException;
+    }
 }
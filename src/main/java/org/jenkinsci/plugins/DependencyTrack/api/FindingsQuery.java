@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.api;
+
+import java.io.Serializable;
+
+/**
+ * what to retrieve of the findings of a project
+ *
+ * @param suppressed whether suppressed findings are retrieved as well
+ * @param details whether the description and recommendation of the
+ * vulnerabilities are kept
+ */
+public final record FindingsQuery(boolean suppressed, boolean details) implements Serializable {
+
+    /**
+     * only findings that are not suppressed, with all details
+     */
+    public static final FindingsQuery DEFAULT = new FindingsQuery(false, true);
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.api;
+
+import java.time.Duration;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * keeps track of the position within a paged list and of the page size. the
+ * page size may only change at offsets that are a multiple of the new size,
+ * because Dependency-Track addresses pages by number instead of by offset.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Getter(AccessLevel.PACKAGE)
+final class PageCursor {
+
+    /**
+     * the page size is never reduced below this
+     */
+    static final int MIN_SIZE = 10;
+
+    /**
+     * the page size is never grown beyond this
+     */
+    static final int MAX_SIZE = 1000;
+
+    /**
+     * the page size is only grown as long as a page arrives within this time
+     */
+    static final Duration TARGET_LATENCY = Duration.ofSeconds(2);
+
+    private final boolean adaptive;
+
+    /**
+     * the number of items per page
+     */
+    private int size;
+
+    /**
+     * the number of items retrieved so far
+     */
+    private int offset;
+
+    PageCursor(final int size, final boolean adaptive) {
+        this.size = size;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * @return the number of the next page, starting with 1
+     */
+    int page() {
+        return offset / size + 1;
+    }
+
+    /**
+     * moves to the next page and doubles the page size if the current page
+     * arrived in time
+     *
+     * @param count the number of items of the current page
+     * @param latency how long it took to retrieve the current page
+     */
+    void advance(final int count, final Duration latency) {
+        offset += count;
+        final int grown = size * 2;
+        if (adaptive && latency.compareTo(TARGET_LATENCY) < 0 && grown <= MAX_SIZE && offset % grown == 0) {
+            size = grown;
+        }
+    }
+
+    /**
+     * halves the page size after the current page could not be retrieved in
+     * time
+     *
+     * @return {@code true} if the page size was reduced and the page should be
+     * requested again
+     */
+    boolean shrink() {
+        final int shrunk = size / 2;
+        if (!adaptive || shrunk < MIN_SIZE || offset % shrunk != 0) {
+            return false;
+        }
+        size = shrunk;
+        return true;
+    }
+}
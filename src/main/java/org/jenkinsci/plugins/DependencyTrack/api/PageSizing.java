@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.api;
+
+import java.io.Serializable;
+
+/**
+ * how many items are requested per page from Dependency-Track
+ *
+ * @param size the number of items per page or {@code 0} to use the default
+ * of the respective list
+ * @param adaptive whether the page size is adjusted to the response time of
+ * the server while a list is retrieved
+ */
+public final record PageSizing(int size, boolean adaptive) implements Serializable {
+
+    /**
+     * the default of each list, never adjusted
+     */
+    public static final PageSizing DEFAULT = new PageSizing(0, false);
+
+    public PageSizing(int size, boolean adaptive) {
+        this.size = Math.max(size, 0);
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * starts retrieving a new list
+     *
+     * @param defaultSize the page size to use if none is configured
+     * @return the cursor for the first page
+     */
+    PageCursor cursor(final int defaultSize) {
+        return new PageCursor(size > 0 ? size : defaultSize, adaptive);
+    }
+}
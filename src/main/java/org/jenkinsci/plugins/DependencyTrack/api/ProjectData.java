@@ -16,6 +16,7 @@
 package org.jenkinsci.plugins.DependencyTrack.api;
 
 import jakarta.annotation.Nullable;
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -26,7 +27,7 @@ public final record ProjectData(@Nullable String id,
         @Nullable String name,
         @Nullable String version,
         boolean autoCreate,
-        @Nullable Properties properties) {
+        @Nullable Properties properties) implements Serializable {
 
     public static final record Properties(
             @Nullable List<String> tags,
@@ -36,7 +37,7 @@ public final record ProjectData(@Nullable String id,
             @Nullable String parentId,
             @Nullable String parentName,
             @Nullable String parentVersion,
-            @Nullable Boolean isLatest) {
+            @Nullable Boolean isLatest) implements Serializable {
 
     }
 }
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import hudson.model.Result;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A set of {@link GateRule}s compiled into flat primitive arrays. All rules
+ * are evaluated together in a single pass over the findings and violations of
+ * a build. Rules that only filter by severity are not evaluated per finding at
+ * all but computed from the severity histogram. Suppressed findings are only
+ * counted by rules that explicitly ask for them.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public final class CompiledGate implements Serializable {
+
+    private static final long serialVersionUID = 2413076537150869417L;
+
+    private static final int ALL_SEVERITIES = (1 << Severity.values().length) - 1;
+    private static final int ALL_VIOLATION_TYPES = (1 << ViolationType.values().length) - 1;
+    private static final int ALL_VIOLATION_STATES = (1 << ViolationState.values().length) - 1;
+    private static final String ANALYSIS_NOT_SET = "NOT_SET";
+
+    private final Thresholds thresholds;
+    private final String ruleText;
+    private final List<GateRule> rules;
+
+    // per rule
+    private final boolean[] failure;
+    private final boolean[] isNew;
+    private final int[] threshold;
+    private final int[] severityMask;
+    // counted from the severity histogram instead of per finding
+    private final boolean[] fromHistogram;
+
+    // indexes of rules that must be evaluated per finding / per violation
+    private final int[] findingRules;
+    private final int[] violationRules;
+
+    // per rule, only used for findingRules and violationRules
+    private final double[] minCvss;
+    private final double[] minEpss;
+    private final String[] group;
+    private final String[][] analysisStates;
+    private final boolean[] suppressed;
+    private final int[] violationTypeMask;
+    private final int[] violationStateMask;
+
+    private CompiledGate(final Thresholds thresholds, final String ruleText, final List<GateRule> rules) {
+        this.thresholds = thresholds;
+        this.ruleText = ruleText;
+        this.rules = List.copyOf(rules);
+        final int n = rules.size();
+        failure = new boolean[n];
+        isNew = new boolean[n];
+        threshold = new int[n];
+        severityMask = new int[n];
+        fromHistogram = new boolean[n];
+        minCvss = new double[n];
+        minEpss = new double[n];
+        group = new String[n];
+        analysisStates = new String[n][];
+        suppressed = new boolean[n];
+        violationTypeMask = new int[n];
+        violationStateMask = new int[n];
+        final List<Integer> perFinding = new ArrayList<>();
+        final List<Integer> perViolation = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            final GateRule rule = rules.get(i);
+            failure[i] = rule.getResult().isWorseThan(Result.UNSTABLE);
+            isNew[i] = rule.getScope() == GateRule.Scope.NEW;
+            threshold[i] = rule.getThreshold();
+            severityMask[i] = rule.getSeverities() != null ? mask(rule.getSeverities()) : ALL_SEVERITIES;
+            minCvss[i] = rule.getMinCvss() != null ? rule.getMinCvss() : Double.NaN;
+            minEpss[i] = rule.getMinEpss() != null ? rule.getMinEpss() : Double.NaN;
+            group[i] = rule.getComponentGroup();
+            analysisStates[i] = rule.getAnalysisStates() != null ? rule.getAnalysisStates().toArray(String[]::new) : null;
+            suppressed[i] = Boolean.TRUE.equals(rule.getSuppressed());
+            violationTypeMask[i] = rule.getViolationTypes() != null ? mask(rule.getViolationTypes()) : ALL_VIOLATION_TYPES;
+            violationStateMask[i] = rule.getViolationStates() != null ? mask(rule.getViolationStates()) : ALL_VIOLATION_STATES;
+            if (rule.getTarget() == GateRule.Target.VIOLATIONS) {
+                perViolation.add(i);
+            } else if (rule.isSeverityOnly()) {
+                fromHistogram[i] = true;
+            } else {
+                perFinding.add(i);
+            }
+        }
+        findingRules = perFinding.stream().mapToInt(Integer::intValue).toArray();
+        violationRules = perViolation.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * compiles the thresholds and additional rules into a gate
+     *
+     * @param thresholds the classic thresholds
+     * @param ruleText additional rules as understood by {@link GateRuleParser}
+     * @return the compiled gate
+     * @throws IllegalArgumentException if a rule is invalid
+     */
+    @Nonnull
+    public static CompiledGate compile(@Nonnull final Thresholds thresholds, @Nullable final String ruleText) {
+        final List<GateRule> rules = toRules(thresholds);
+        rules.addAll(GateRuleParser.parse(ruleText));
+        return new CompiledGate(thresholds, ruleText, rules);
+    }
+
+    /**
+     * maps the classic thresholds onto equivalent rules
+     *
+     * @param thresholds the thresholds
+     * @return one rule for each threshold that is set
+     */
+    @Nonnull
+    public static List<GateRule> toRules(@Nonnull final Thresholds thresholds) {
+        final List<GateRule> rules = new ArrayList<>();
+        addRules(rules, GateRule.Scope.TOTAL, thresholds.totalFindings);
+        addRules(rules, GateRule.Scope.NEW, thresholds.newFindings);
+        return rules;
+    }
+
+    private static void addRules(final List<GateRule> rules, final GateRule.Scope scope, final Thresholds.ThresholdValues values) {
+        addRule(rules, Result.FAILURE, scope, Severity.CRITICAL, values.failedCritical);
+        addRule(rules, Result.FAILURE, scope, Severity.HIGH, values.failedHigh);
+        addRule(rules, Result.FAILURE, scope, Severity.MEDIUM, values.failedMedium);
+        addRule(rules, Result.FAILURE, scope, Severity.LOW, values.failedLow);
+        addRule(rules, Result.FAILURE, scope, Severity.UNASSIGNED, values.failedUnassigned);
+        addRule(rules, Result.UNSTABLE, scope, Severity.CRITICAL, values.unstableCritical);
+        addRule(rules, Result.UNSTABLE, scope, Severity.HIGH, values.unstableHigh);
+        addRule(rules, Result.UNSTABLE, scope, Severity.MEDIUM, values.unstableMedium);
+        addRule(rules, Result.UNSTABLE, scope, Severity.LOW, values.unstableLow);
+        addRule(rules, Result.UNSTABLE, scope, Severity.UNASSIGNED, values.unstableUnassigned);
+    }
+
+    private static void addRule(final List<GateRule> rules, final Result result, final GateRule.Scope scope, final Severity severity, final Integer value) {
+        if (value != null) {
+            rules.add(GateRule.builder().result(result).scope(scope).threshold(value).severities(Set.of(severity)).build());
+        }
+    }
+
+    /**
+     * checks whether this gate was compiled from the given sources and may be
+     * reused
+     *
+     * @param thresholds the classic thresholds
+     * @param ruleText the additional rules
+     * @return {@code true} if both are equal to the ones this gate was
+     * compiled from
+     */
+    public boolean isCompiledFrom(@Nonnull final Thresholds thresholds, @Nullable final String ruleText) {
+        return this.thresholds.equals(thresholds) && Objects.equals(this.ruleText, ruleText);
+    }
+
+    /**
+     * @return the compiled rules, first those derived from the thresholds
+     */
+    @Nonnull
+    public List<GateRule> getRules() {
+        return rules;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * @return whether all rules can be evaluated from the number of findings
+     * per severity alone, so that neither the findings nor the violations are
+     * needed
+     */
+    public boolean isSeverityOnly() {
+        return findingRules.length == 0 && violationRules.length == 0;
+    }
+
+    /**
+     * @return whether a rule counts suppressed findings, so that they have to
+     * be retrieved as well
+     */
+    public boolean needsSuppressedFindings() {
+        for (final boolean s : suppressed) {
+            if (s) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * evaluates all rules in a single pass over the findings and violations
+     *
+     * @param findings the findings of the current build
+     * @param violations the violations of the current build, may be
+     * {@code null} if they are not available
+     * @param previous the severity distribution of the baseline build, may be
+     * {@code null}
+     * @return the outcome
+     */
+    @Nonnull
+    public Outcome evaluate(@Nonnull final List<Finding> findings, @Nullable final List<Violation> violations, @Nullable final SeverityDistribution previous) {
+        return evaluate(findings, violations, previous, null);
+    }
+
+    /**
+     * evaluates all rules in a single pass over the findings and violations.
+     * if the findings of the baseline build are known, rules on new findings
+     * count the findings that the baseline does not have instead of comparing
+     * the number of findings per severity.
+     *
+     * @param findings the findings of the current build
+     * @param violations the violations of the current build, may be
+     * {@code null} if they are not available
+     * @param previous the severity distribution of the baseline build, may be
+     * {@code null}
+     * @param baseline the findings of the baseline build, may be {@code null}
+     * @return the outcome
+     */
+    @Nonnull
+    public Outcome evaluate(@Nonnull final List<Finding> findings, @Nullable final List<Violation> violations, @Nullable final SeverityDistribution previous, @Nullable final MatrixIndex baseline) {
+        final Evaluation evaluation = newEvaluation(baseline);
+        findings.forEach(evaluation::add);
+        if (violations != null) {
+            violations.forEach(evaluation::add);
+        }
+        return evaluation.outcome(previous);
+    }
+
+    /**
+     * starts an evaluation to which findings and violations can be added
+     * while they arrive
+     *
+     * @param baseline the findings of the baseline build, may be {@code null}
+     * @return a new evaluation
+     */
+    @Nonnull
+    public Evaluation newEvaluation(@Nullable final MatrixIndex baseline) {
+        return new Evaluation(baseline);
+    }
+
+    /**
+     * evaluates the rules that only filter by severity. all other rules are
+     * ignored.
+     *
+     * @param current the severity distribution of the current build
+     * @param previous the severity distribution of the baseline build, may be
+     * {@code null}
+     * @return the outcome
+     */
+    @Nonnull
+    public Outcome evaluate(@Nonnull final SeverityDistribution current, @Nullable final SeverityDistribution previous) {
+        return decide(histogram(current), null, new int[rules.size()], previous);
+    }
+
+    private boolean matches(final int i, final Finding finding, final Vulnerability vulnerability, final int severityBit) {
+        if ((severityMask[i] & severityBit) == 0) {
+            return false;
+        }
+        if (!Double.isNaN(minCvss[i]) && (vulnerability.getCvssScore() == null || vulnerability.getCvssScore() < minCvss[i])) {
+            return false;
+        }
+        if (!Double.isNaN(minEpss[i]) && (vulnerability.getEpssScore() == null || vulnerability.getEpssScore() < minEpss[i])) {
+            return false;
+        }
+        if (group[i] != null && (finding.getComponent() == null || !group[i].equals(finding.getComponent().getGroup()))) {
+            return false;
+        }
+        final Analysis analysis = finding.getAnalysis();
+        if (isSuppressed(finding) != suppressed[i]) {
+            return false;
+        }
+        if (analysisStates[i] != null) {
+            final String state = analysis != null && analysis.getState() != null ? analysis.getState() : ANALYSIS_NOT_SET;
+            for (final String s : analysisStates[i]) {
+                if (s.equals(state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private Outcome decide(final int[] histogram, final int[] newHistogram, final int[] counts, final SeverityDistribution previous) {
+        final int[] previousHistogram = previous != null ? histogram(previous) : null;
+        Result result = Result.SUCCESS;
+        final List<Fired> fired = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            int count = fromHistogram[i] ? sum(histogram, severityMask[i]) : counts[i];
+            final boolean fires;
+            if (isNew[i] && newHistogram != null) {
+                // the exact number of findings that the baseline does not have
+                count = sum(newHistogram, severityMask[i]);
+                fires = count > 0 && count >= threshold[i];
+            } else if (isNew[i]) {
+                fires = previousHistogram != null && count > 0 && count >= sum(previousHistogram, severityMask[i]) + threshold[i];
+            } else {
+                fires = count > 0 && count >= threshold[i];
+            }
+            if (fires) {
+                fired.add(new Fired(rules.get(i), count));
+                if (failure[i]) {
+                    result = Result.FAILURE;
+                } else if (result == Result.SUCCESS) {
+                    result = Result.UNSTABLE;
+                }
+            }
+        }
+        return new Outcome(result, Collections.unmodifiableList(fired));
+    }
+
+    private static boolean isSuppressed(final Finding finding) {
+        return finding.getAnalysis() != null && finding.getAnalysis().isSuppressed();
+    }
+
+    private static int sum(final int[] histogram, final int mask) {
+        int sum = 0;
+        for (int s = 0; s < histogram.length; s++) {
+            if ((mask & (1 << s)) != 0) {
+                sum += histogram[s];
+            }
+        }
+        return sum;
+    }
+
+    private static int[] histogram(final SeverityDistribution distribution) {
+        final int[] histogram = new int[Severity.values().length];
+        histogram[Severity.CRITICAL.ordinal()] = distribution.getCritical();
+        histogram[Severity.HIGH.ordinal()] = distribution.getHigh();
+        histogram[Severity.MEDIUM.ordinal()] = distribution.getMedium();
+        histogram[Severity.LOW.ordinal()] = distribution.getLow();
+        histogram[Severity.INFO.ordinal()] = distribution.getInfo();
+        histogram[Severity.UNASSIGNED.ordinal()] = distribution.getUnassigned();
+        return histogram;
+    }
+
+    private static <E extends Enum<E>> int mask(final Set<E> values) {
+        int mask = 0;
+        for (final E value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * An evaluation in progress. Because counts only ever grow as findings and
+     * violations are added, a rule that fires on a part of the results also
+     * fires on all of them.
+     */
+    public final class Evaluation {
+
+        private final int[] histogram = new int[Severity.values().length];
+        private final int[] counts = new int[rules.size()];
+        private final MatrixIndex baseline;
+        private final int[] newHistogram;
+
+        private Evaluation(final MatrixIndex baseline) {
+            this.baseline = baseline;
+            newHistogram = baseline != null ? new int[Severity.values().length] : null;
+        }
+
+        public void add(@Nonnull final Finding finding) {
+            final Vulnerability vulnerability = finding.getVulnerability();
+            final int severityBit = vulnerability != null && vulnerability.getSeverity() != null ? 1 << vulnerability.getSeverity().ordinal() : 0;
+            if (severityBit != 0 && !isSuppressed(finding)) {
+                histogram[vulnerability.getSeverity().ordinal()]++;
+                if (baseline != null && !baseline.contains(finding)) {
+                    newHistogram[vulnerability.getSeverity().ordinal()]++;
+                }
+            }
+            for (final int i : findingRules) {
+                if (matches(i, finding, vulnerability, severityBit)) {
+                    counts[i]++;
+                }
+            }
+        }
+
+        public void add(@Nonnull final Violation violation) {
+            final int typeBit = violation.getType() != null ? 1 << violation.getType().ordinal() : 0;
+            final int stateBit = violation.getState() != null ? 1 << violation.getState().ordinal() : 0;
+            for (final int i : violationRules) {
+                if ((violationTypeMask[i] & typeBit) != 0 && (violationStateMask[i] & stateBit) != 0) {
+                    counts[i]++;
+                }
+            }
+        }
+
+        /**
+         * checks whether the result is already certain to be
+         * {@link Result#FAILURE}, no matter what is added later
+         *
+         * @param previous the severity distribution of the baseline build, may
+         * be {@code null}
+         * @return {@code true} if a failing rule has already fired
+         */
+        public boolean isFailureCertain(@Nullable final SeverityDistribution previous) {
+            return outcome(previous).result() == Result.FAILURE;
+        }
+
+        /**
+         * @param previous the severity distribution of the baseline build, may
+         * be {@code null}
+         * @return the outcome for everything added so far
+         */
+        @Nonnull
+        public Outcome outcome(@Nullable final SeverityDistribution previous) {
+            return decide(histogram, newHistogram, counts, previous);
+        }
+    }
+
+    /**
+     * a rule that fired
+     *
+     * @param rule the rule
+     * @param count the number of matching findings or violations
+     */
+    public record Fired(@Nonnull GateRule rule, int count) implements Serializable {
+    }
+
+    /**
+     * the outcome of an evaluation
+     *
+     * @param result the worst result of all fired rules or
+     * {@link Result#SUCCESS}
+     * @param fired the rules that fired
+     */
+    public record Outcome(@Nonnull Result result, @Nonnull List<Fired> fired) implements Serializable {
+    }
+}
@@ -58,4 +58,17 @@ public class Finding implements Serializable {
         return vulnerability != null && component.equals(alias.component) && alias.getVulnerability() != null && vulnerability.hasAlias(alias.getVulnerability());
     }
 
+    /**
+     * creates a copy of this finding whose vulnerability has no long text
+     * fields
+     *
+     * @return this finding if there is nothing to strip, else a copy of it
+     * @see Vulnerability#withoutDetails()
+     */
+    @Nonnull
+    public Finding withoutVulnerabilityDetails() {
+        final var stripped = vulnerability != null ? vulnerability.withoutDetails() : null;
+        return stripped == vulnerability ? this : new Finding(component, stripped, analysis, matrix);
+    }
+
 }
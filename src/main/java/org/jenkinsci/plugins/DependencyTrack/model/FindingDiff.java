@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import jakarta.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The exact difference between the findings of a build and those of its
+ * baseline build, matched by the hash of their {@link Finding#getMatrix()
+ * matrix}. Only the ordinals of the findings are kept: findings that are not
+ * {@link #added} are unchanged.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public final class FindingDiff implements Serializable {
+
+    private static final long serialVersionUID = -7000925417637453562L;
+
+    /**
+     * the number of the build that was compared to
+     */
+    private final int baselineBuildNumber;
+
+    /**
+     * ordinals of the findings of the build that the baseline does not have
+     */
+    @Nonnull
+    private final BitSet added;
+
+    /**
+     * ordinals of the findings of the baseline that the build does not have
+     * anymore
+     */
+    @Nonnull
+    private final BitSet fixed;
+
+    /**
+     * the added findings by severity
+     */
+    @Nonnull
+    private final SeverityDistribution addedDistribution;
+
+    /**
+     * the fixed findings by severity
+     */
+    @Nonnull
+    private final SeverityDistribution fixedDistribution;
+
+    public int getAddedCount() {
+        return added.cardinality();
+    }
+
+    public int getFixedCount() {
+        return fixed.cardinality();
+    }
+
+    public boolean isAdded(final int ordinal) {
+        return added.get(ordinal);
+    }
+
+    /**
+     * computes the difference in linear time
+     *
+     * @param buildNumber the number of the current build
+     * @param findings the findings of the current build
+     * @param baselineBuildNumber the number of the baseline build
+     * @param baseline the index of the findings of the baseline build
+     * @param baselineSeverities the {@link Severity#ordinal() severities} of
+     * the findings of the baseline build, -1 if unknown
+     * @return the difference
+     */
+    @Nonnull
+    public static FindingDiff compute(final int buildNumber, @Nonnull final List<Finding> findings, final int baselineBuildNumber, @Nonnull final MatrixIndex baseline, @Nonnull final byte[] baselineSeverities) {
+        final BitSet added = new BitSet(findings.size());
+        final SeverityDistribution addedDistribution = new SeverityDistribution(buildNumber);
+        final long[] hashes = MatrixIndex.hashes(findings);
+        for (int i = 0; i < hashes.length; i++) {
+            if (baseline.indexOf(hashes[i]) < 0) {
+                added.set(i);
+                final Vulnerability vulnerability = findings.get(i).getVulnerability();
+                if (vulnerability != null) {
+                    addedDistribution.add(vulnerability.getSeverity());
+                }
+            }
+        }
+        final MatrixIndex current = new MatrixIndex(hashes);
+        final BitSet fixed = new BitSet(baseline.size());
+        final SeverityDistribution fixedDistribution = new SeverityDistribution(buildNumber);
+        final Severity[] severities = Severity.values();
+        for (int i = 0; i < baseline.size(); i++) {
+            if (current.indexOf(baseline.hashAt(i)) < 0) {
+                fixed.set(i);
+                if (i < baselineSeverities.length && baselineSeverities[i] >= 0) {
+                    fixedDistribution.add(severities[baselineSeverities[i]]);
+                }
+            }
+        }
+        return new FindingDiff(baselineBuildNumber, added, fixed, addedDistribution, fixedDistribution);
+    }
+}
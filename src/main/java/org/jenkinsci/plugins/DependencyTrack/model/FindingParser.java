@@ -51,41 +51,78 @@ public class FindingParser extends ModelParser {
         return parse(jsonObjects.stream());
     }
 
+    /**
+     * parses a page of JSON objects and adds the findings to those of the
+     * previous pages. parsing all pages one after another this way yields the
+     * same result as parsing them at once.
+     *
+     * @param findings the findings of the previous pages
+     * @param jsonObjects the raw JSON objects (findings) of the current page
+     * @return the findings that were added to {@code findings}
+     */
+    @Nonnull
+    public List<Finding> parseInto(final @Nonnull List<Finding> findings, final @Nonnull List<JSONObject> jsonObjects) {
+        return parseInto(findings, jsonObjects, true);
+    }
+
+    /**
+     * like {@link #parseInto(List, List)} but optionally without the long text
+     * fields of the vulnerabilities
+     *
+     * @param findings the findings of the previous pages
+     * @param jsonObjects the raw JSON objects (findings) of the current page
+     * @param details whether to parse the description and recommendation of
+     * the vulnerabilities. they are the largest fields by far.
+     * @return the findings that were added to {@code findings}
+     */
+    @Nonnull
+    public List<Finding> parseInto(final @Nonnull List<Finding> findings, final @Nonnull List<JSONObject> jsonObjects, final boolean details) {
+        final List<Finding> added = new ArrayList<>(jsonObjects.size());
+        jsonObjects.stream().map(json -> parseFinding(json, details)).forEach(finding -> {
+            if (addIfNew(findings, finding)) {
+                added.add(finding);
+            }
+        });
+        return added;
+    }
+
     private List<Finding> parse(final Stream<JSONObject> jsonObjects) {
         return jsonObjects
-                .map(FindingParser::parseFinding)
-                .collect(ArrayList<Finding>::new, (findings, finding) -> {
-                    // filter duplicates based on aliases
-                    // add if is not already included and if it is not an alias of an already present finding/vulnerability
-                    if (!findings.contains(finding) && findings.stream().noneMatch(finding::isAliasOf)) {
-                        findings.add(finding);
-                    }
-                }, List::addAll);
+                .map(json -> parseFinding(json, true))
+                .collect(ArrayList<Finding>::new, FindingParser::addIfNew, List::addAll);
+    }
+
+    private boolean addIfNew(final List<Finding> findings, final Finding finding) {
+        // filter duplicates based on aliases
+        // add if is not already included and if it is not an alias of an already present finding/vulnerability
+        return !findings.contains(finding) && findings.stream().noneMatch(finding::isAliasOf) && findings.add(finding);
     }
 
-    private Finding parseFinding(JSONObject json) {
+    private Finding parseFinding(JSONObject json, boolean details) {
         final Component component = ComponentParser.parseComponent(json.getJSONObject("component"));
-        final Vulnerability vulnerability = parseVulnerability(json.getJSONObject("vulnerability"));
+        final Vulnerability vulnerability = parseVulnerability(json.getJSONObject("vulnerability"), details);
         final Analysis analysis = parseAnalysis(json.optJSONObject("analysis"));
         final String matrix = getKeyOrNull(json, "matrix");
         return new Finding(component, vulnerability, analysis, matrix);
     }
 
-    private Vulnerability parseVulnerability(JSONObject json) {
+    private Vulnerability parseVulnerability(JSONObject json, boolean details) {
         final String uuid = getKeyOrNull(json, "uuid");
         final String source = getKeyOrNull(json, "source");
         final String vulnId = getKeyOrNull(json, "vulnId");
         final String title = getKeyOrNull(json, "title");
         final String subtitle = getKeyOrNull(json, "subtitle");
-        final String description = getKeyOrNull(json, "description");
-        final String recommendation = getKeyOrNull(json, "recommendation");
+        final String description = details ? getKeyOrNull(json, "description") : null;
+        final String recommendation = details ? getKeyOrNull(json, "recommendation") : null;
         final Severity severity = getEnum(json, "severity", Severity.class);
         final Integer severityRank = json.optInt("severityRank");
         final var cwe = Optional.ofNullable(json.optJSONArray("cwes")).map(a -> a.optJSONObject(0)).filter(Predicate.not(JSONNull.class::isInstance));
         final Integer cweId = cwe.map(o -> o.optInt("cweId")).orElse(null);
         final String cweName = cwe.map(o -> getKeyOrNull(o, "name")).orElse(null);
+        final Double cvssScore = Optional.ofNullable(getDoubleOrNull(json, "cvssV3BaseScore")).orElseGet(() -> getDoubleOrNull(json, "cvssV2BaseScore"));
+        final Double epssScore = getDoubleOrNull(json, "epssScore");
         final var aliases = parseAliases(json, vulnId);
-        return new Vulnerability(uuid, source, vulnId, title, subtitle, description, recommendation, severity, severityRank, cweId, cweName, aliases);
+        return new Vulnerability(uuid, source, vulnId, title, subtitle, description, recommendation, severity, severityRank, cweId, cweName, cvssScore, epssScore, aliases);
     }
 
     private Analysis parseAnalysis(JSONObject json) {
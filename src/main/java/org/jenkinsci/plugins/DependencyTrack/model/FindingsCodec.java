@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary format for lists of findings. Each distinct string,
+ * component and vulnerability is written once and referenced by its index, so
+ * that the texts shared by many findings are neither stored nor kept in memory
+ * more than once after decoding.
+ * <p>
+ * Version 1 of the format consists of, all integers being unsigned LEB128
+ * varints unless noted otherwise:
+ * <ol>
+ * <li>the magic bytes {@code DTF} and the version as a single byte</li>
+ * <li>the string table: the number of strings, then the UTF-8 length and bytes
+ * of each string</li>
+ * <li>the component table: the number of components, then the references to
+ * uuid, name, group, version and purl of each component</li>
+ * <li>the vulnerability table: the number of vulnerabilities, then the
+ * references to uuid, source, vulnId, title, subtitle, description,
+ * recommendation and cweName, the ordinal of the severity + 1, a byte of flags
+ * telling which of severityRank, cweId, cvssScore, epssScore and aliases are
+ * present followed by those that are, the integers zigzag encoded, the scores
+ * as 8 byte IEEE 754 doubles and the aliases as their number and
+ * references</li>
+ * <li>the findings: the number of findings, then for each the index + 1 of its
+ * component and vulnerability, the analysis as {@code ((state << 1) |
+ * suppressed) + 1} and the matrix, which is either omitted ({@code 0}), the
+ * reference to the project if it consists of the UUIDs of the project,
+ * component and vulnerability ({@code 1}) or a reference to the string
+ * ({@code 2})</li>
+ * </ol>
+ * A reference is the index of a string + 1, {@code 0} stands for
+ * {@code null}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public final class FindingsCodec {
+
+    private static final byte[] MAGIC = {'D', 'T', 'F'};
+
+    /**
+     * the version that is written
+     */
+    static final int VERSION = 1;
+
+    private static final int SEVERITY_RANK = 1;
+    private static final int CWE_ID = 1 << 1;
+    private static final int CVSS_SCORE = 1 << 2;
+    private static final int EPSS_SCORE = 1 << 3;
+    private static final int ALIASES = 1 << 4;
+
+    private static final int MATRIX_DERIVED = 1;
+    private static final int MATRIX_EXPLICIT = 2;
+
+    private FindingsCodec() {
+    }
+
+    /**
+     * encodes the findings
+     *
+     * @param findings the findings
+     * @return the encoded findings
+     */
+    @Nonnull
+    public static byte[] encode(@Nonnull final List<Finding> findings) {
+        return new Writer().write(findings);
+    }
+
+    /**
+     * decodes findings encoded by {@link #encode(java.util.List)} of this or
+     * an earlier version
+     *
+     * @param data the encoded findings
+     * @return the findings
+     * @throws IOException if the data is not in this format, of an unknown
+     * version or corrupt
+     */
+    @Nonnull
+    public static List<Finding> decode(@Nonnull final byte[] data) throws IOException {
+        final var buffer = ByteBuffer.wrap(data);
+        try {
+            for (final byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("not a list of findings");
+                }
+            }
+            final int version = buffer.get();
+            return switch (version) {
+                case 1 ->
+                    new Reader(buffer).read();
+                default ->
+                    throw new IOException("unsupported version " + version);
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("corrupt list of findings", e);
+        }
+    }
+
+    private static final class Writer {
+
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Output stringTable = new Output();
+        private final Map<List<Object>, Integer> components = new HashMap<>();
+        private final Output componentTable = new Output();
+        private final Map<List<Object>, Integer> vulnerabilities = new HashMap<>();
+        private final Output vulnerabilityTable = new Output();
+
+        byte[] write(final List<Finding> findings) {
+            final var body = new Output();
+            body.varint(findings.size());
+            for (final Finding finding : findings) {
+                final Component component = finding.getComponent();
+                final Vulnerability vulnerability = finding.getVulnerability();
+                body.varint(component != null ? component(component) + 1 : 0);
+                body.varint(vulnerability != null ? vulnerability(vulnerability) + 1 : 0);
+                final Analysis analysis = finding.getAnalysis();
+                body.varint(analysis != null ? ((ref(analysis.getState()) << 1) | (analysis.isSuppressed() ? 1 : 0)) + 1 : 0);
+                final String matrix = finding.getMatrix();
+                final String project = project(matrix, component, vulnerability);
+                if (matrix == null) {
+                    body.varint(0);
+                } else if (project != null) {
+                    body.varint(MATRIX_DERIVED);
+                    body.varint(ref(project));
+                } else {
+                    body.varint(MATRIX_EXPLICIT);
+                    body.varint(ref(matrix));
+                }
+            }
+            final var out = new Output();
+            out.write(MAGIC, MAGIC.length);
+            out.write(VERSION);
+            out.varint(strings.size());
+            out.append(stringTable);
+            out.varint(components.size());
+            out.append(componentTable);
+            out.varint(vulnerabilities.size());
+            out.append(vulnerabilityTable);
+            out.append(body);
+            return out.toByteArray();
+        }
+
+        /**
+         * @return the UUID of the project if the matrix can be derived from
+         * it, else {@code null}
+         */
+        @Nullable
+        private static String project(@Nullable final String matrix, @Nullable final Component component, @Nullable final Vulnerability vulnerability) {
+            if (matrix == null || component == null || component.getUuid() == null || vulnerability == null || vulnerability.getUuid() == null) {
+                return null;
+            }
+            final int end = matrix.indexOf(':');
+            if (end < 0) {
+                return null;
+            }
+            final String project = matrix.substring(0, end);
+            return matrix.equals(matrix(project, component, vulnerability)) ? project : null;
+        }
+
+        private int ref(@Nullable final String value) {
+            if (value == null) {
+                return 0;
+            }
+            return strings.computeIfAbsent(value, v -> {
+                final byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+                stringTable.varint(bytes.length);
+                stringTable.write(bytes, bytes.length);
+                return strings.size();
+            }) + 1;
+        }
+
+        private int component(final Component component) {
+            final List<Object> key = Arrays.asList(component.getUuid(), component.getName(), component.getGroup(), component.getVersion(), component.getPurl());
+            final Integer index = components.get(key);
+            if (index != null) {
+                return index;
+            }
+            componentTable.varint(ref(component.getUuid()));
+            componentTable.varint(ref(component.getName()));
+            componentTable.varint(ref(component.getGroup()));
+            componentTable.varint(ref(component.getVersion()));
+            componentTable.varint(ref(component.getPurl()));
+            components.put(key, components.size());
+            return components.size() - 1;
+        }
+
+        private int vulnerability(final Vulnerability vulnerability) {
+            final List<Object> key = Arrays.asList(vulnerability.getUuid(), vulnerability.getSource(), vulnerability.getVulnId(),
+                    vulnerability.getTitle(), vulnerability.getSubtitle(), vulnerability.getDescription(), vulnerability.getRecommendation(),
+                    vulnerability.getSeverity(), vulnerability.getSeverityRank(), vulnerability.getCweId(), vulnerability.getCweName(),
+                    vulnerability.getCvssScore(), vulnerability.getEpssScore(), vulnerability.getAliases());
+            final Integer index = vulnerabilities.get(key);
+            if (index != null) {
+                return index;
+            }
+            final var table = vulnerabilityTable;
+            table.varint(ref(vulnerability.getUuid()));
+            table.varint(ref(vulnerability.getSource()));
+            table.varint(ref(vulnerability.getVulnId()));
+            table.varint(ref(vulnerability.getTitle()));
+            table.varint(ref(vulnerability.getSubtitle()));
+            table.varint(ref(vulnerability.getDescription()));
+            table.varint(ref(vulnerability.getRecommendation()));
+            table.varint(ref(vulnerability.getCweName()));
+            table.varint(vulnerability.getSeverity() != null ? vulnerability.getSeverity().ordinal() + 1 : 0);
+            final List<String> aliases = vulnerability.getAliases();
+            int flags = 0;
+            flags |= vulnerability.getSeverityRank() != null ? SEVERITY_RANK : 0;
+            flags |= vulnerability.getCweId() != null ? CWE_ID : 0;
+            flags |= vulnerability.getCvssScore() != null ? CVSS_SCORE : 0;
+            flags |= vulnerability.getEpssScore() != null ? EPSS_SCORE : 0;
+            flags |= aliases != null ? ALIASES : 0;
+            table.write(flags);
+            if (vulnerability.getSeverityRank() != null) {
+                table.zigzag(vulnerability.getSeverityRank());
+            }
+            if (vulnerability.getCweId() != null) {
+                table.zigzag(vulnerability.getCweId());
+            }
+            if (vulnerability.getCvssScore() != null) {
+                table.float64(vulnerability.getCvssScore());
+            }
+            if (vulnerability.getEpssScore() != null) {
+                table.float64(vulnerability.getEpssScore());
+            }
+            if (aliases != null) {
+                table.varint(aliases.size());
+                aliases.forEach(alias -> table.varint(ref(alias)));
+            }
+            vulnerabilities.put(key, vulnerabilities.size());
+            return vulnerabilities.size() - 1;
+        }
+    }
+
+    private static final class Reader {
+
+        private static final Severity[] SEVERITIES = Severity.values();
+
+        private final ByteBuffer in;
+        private String[] strings;
+
+        Reader(final ByteBuffer in) {
+            this.in = in;
+        }
+
+        List<Finding> read() throws IOException {
+            strings = new String[count()];
+            for (int i = 0; i < strings.length; i++) {
+                final byte[] bytes = new byte[count()];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            final var components = new Component[count()];
+            for (int i = 0; i < components.length; i++) {
+                components[i] = new Component(string(), string(), string(), string(), string());
+            }
+            final var vulnerabilities = new Vulnerability[count()];
+            for (int i = 0; i < vulnerabilities.length; i++) {
+                vulnerabilities[i] = vulnerability();
+            }
+            final int size = count();
+            final List<Finding> findings = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final int component = varint();
+                final int vulnerability = varint();
+                final int analysis = varint();
+                final Component c = component != 0 ? components[component - 1] : null;
+                final Vulnerability v = vulnerability != 0 ? vulnerabilities[vulnerability - 1] : null;
+                final Analysis a = analysis != 0 ? new Analysis(string((analysis - 1) >>> 1), ((analysis - 1) & 1) != 0) : null;
+                final String matrix = switch (varint()) {
+                    case 0 ->
+                        null;
+                    case MATRIX_DERIVED -> {
+                        final String project = string();
+                        if (project == null || c == null || v == null) {
+                            throw new IOException("corrupt list of findings");
+                        }
+                        yield matrix(project, c, v);
+                    }
+                    case MATRIX_EXPLICIT ->
+                        string();
+                    default ->
+                        throw new IOException("unknown kind of matrix");
+                };
+                findings.add(new Finding(c, v, a, matrix));
+            }
+            if (in.hasRemaining()) {
+                throw new IOException("trailing data");
+            }
+            return findings;
+        }
+
+        private Vulnerability vulnerability() throws IOException {
+            final String uuid = string();
+            final String source = string();
+            final String vulnId = string();
+            final String title = string();
+            final String subtitle = string();
+            final String description = string();
+            final String recommendation = string();
+            final String cweName = string();
+            final int severity = varint();
+            final int flags = in.get();
+            final Integer severityRank = (flags & SEVERITY_RANK) != 0 ? zigzag() : null;
+            final Integer cweId = (flags & CWE_ID) != 0 ? zigzag() : null;
+            final Double cvssScore = (flags & CVSS_SCORE) != 0 ? in.getDouble() : null;
+            final Double epssScore = (flags & EPSS_SCORE) != 0 ? in.getDouble() : null;
+            List<String> aliases = null;
+            if ((flags & ALIASES) != 0) {
+                final int size = count();
+                aliases = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    aliases.add(string());
+                }
+            }
+            return new Vulnerability(uuid, source, vulnId, title, subtitle, description, recommendation,
+                    severity != 0 ? SEVERITIES[severity - 1] : null, severityRank, cweId, cweName, cvssScore, epssScore, aliases);
+        }
+
+        @Nullable
+        private String string() throws IOException {
+            return string(varint());
+        }
+
+        @Nullable
+        private String string(final int ref) {
+            return ref != 0 ? strings[ref - 1] : null;
+        }
+
+        /**
+         * reads the number of elements that follow, each taking at least one
+         * byte, so that corrupt data does not cause huge allocations
+         */
+        private int count() throws IOException {
+            final int count = varint();
+            if (count < 0 || count > in.remaining()) {
+                throw new IOException("corrupt list of findings");
+            }
+            return count;
+        }
+
+        private int varint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final byte b = in.get();
+                value |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        private int zigzag() throws IOException {
+            final int value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static String matrix(@Nonnull final String project, @Nonnull final Component component, @Nonnull final Vulnerability vulnerability) {
+        return project + ':' + component.getUuid() + ':' + vulnerability.getUuid();
+    }
+
+    /**
+     * a growable byte array with the primitive encodings of the format
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        void varint(final int value) {
+            int v = value;
+            while ((v & ~0x7f) != 0) {
+                write((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            write(v);
+        }
+
+        void zigzag(final int value) {
+            varint((value << 1) ^ (value >> 31));
+        }
+
+        void float64(final double value) {
+            final long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (bits >>> shift));
+            }
+        }
+
+        void write(final byte[] bytes, final int length) {
+            write(bytes, 0, length);
+        }
+
+        void append(final Output other) {
+            write(other.buf, 0, other.count);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import hudson.model.Result;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A single rule of a risk gate. The rule fires if the number of findings (or
+ * violations) matching all of its criteria reaches the {@link #threshold}.
+ * Criteria that are {@code null} match everything.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Value
+@Builder
+public class GateRule implements Serializable {
+
+    private static final long serialVersionUID = -3358915744281302791L;
+
+    public enum Scope {
+        /**
+         * all findings of the current build are counted
+         */
+        TOTAL,
+        /**
+         * only findings that were added since the previous build are counted
+         */
+        NEW
+    }
+
+    public enum Target {
+        FINDINGS,
+        VIOLATIONS
+    }
+
+    /**
+     * the result of the build if the rule fires, either
+     * {@link Result#UNSTABLE} or {@link Result#FAILURE}
+     */
+    @NonNull
+    Result result;
+
+    @NonNull
+    @Builder.Default
+    Scope scope = Scope.TOTAL;
+
+    @NonNull
+    @Builder.Default
+    Target target = Target.FINDINGS;
+
+    /**
+     * minimum number of matches to fire, at least 1
+     */
+    int threshold;
+
+    @Nullable
+    Set<Severity> severities;
+
+    /**
+     * minimum CVSS score of the vulnerability
+     */
+    @Nullable
+    Double minCvss;
+
+    /**
+     * minimum EPSS score of the vulnerability
+     */
+    @Nullable
+    Double minEpss;
+
+    /**
+     * the group of the affected component
+     */
+    @Nullable
+    String componentGroup;
+
+    /**
+     * the analysis states of the finding, e.g. {@code NOT_SET} or
+     * {@code EXPLOITABLE}
+     */
+    @Nullable
+    Set<String> analysisStates;
+
+    /**
+     * whether the rule counts suppressed findings instead of the findings that
+     * are not suppressed. {@code null} is the same as {@code false}.
+     */
+    @Nullable
+    Boolean suppressed;
+
+    @Nullable
+    Set<ViolationType> violationTypes;
+
+    @Nullable
+    Set<ViolationState> violationStates;
+
+    /**
+     * checks whether the rule only filters by severity
+     *
+     * @return {@code true} if no other criteria than {@link #severities} are
+     * set
+     */
+    public boolean isSeverityOnly() {
+        return minCvss == null && minEpss == null && componentGroup == null && analysisStates == null && !Boolean.TRUE.equals(suppressed) && violationTypes == null && violationStates == null;
+    }
+
+    /**
+     * returns the rule in the notation understood by {@link GateRuleParser}
+     *
+     * @return the rule as text
+     */
+    @Nonnull
+    @Override
+    public String toString() {
+        final List<String> parts = new ArrayList<>();
+        parts.add(result.toString());
+        parts.add(scope.name().toLowerCase(Locale.ENGLISH));
+        parts.add(target.name().toLowerCase(Locale.ENGLISH));
+        parts.add(">=");
+        parts.add(String.valueOf(threshold));
+        if (severities != null) {
+            parts.add("severity=" + join(severities));
+        }
+        if (minCvss != null) {
+            parts.add("cvss=" + minCvss);
+        }
+        if (minEpss != null) {
+            parts.add("epss=" + minEpss);
+        }
+        if (componentGroup != null) {
+            parts.add("group=" + componentGroup);
+        }
+        if (analysisStates != null) {
+            parts.add("analysis=" + join(analysisStates));
+        }
+        if (suppressed != null) {
+            parts.add("suppressed=" + suppressed);
+        }
+        if (violationTypes != null) {
+            parts.add("type=" + join(violationTypes));
+        }
+        if (violationStates != null) {
+            parts.add("state=" + join(violationStates));
+        }
+        return String.join(" ", parts);
+    }
+
+    private static String join(final Set<?> values) {
+        return values.stream().map(Object::toString).sorted().collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import hudson.model.Result;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Parses risk gate rules, one rule per line:
+ * <pre>
+ * &lt;UNSTABLE|FAILURE&gt; &lt;total|new&gt; [findings|violations] &gt;= &lt;count&gt; [key=value[,value...]]...
+ * </pre> Keys for findings are {@code severity}, {@code cvss} (minimum
+ * score), {@code epss} (minimum score), {@code group}, {@code analysis} and
+ * {@code suppressed}. Keys for violations are {@code type} and {@code state}.
+ * Empty lines and lines starting with {@code #} are ignored.
+ * <p>
+ * Example: {@code FAILURE total findings >= 1 severity=CRITICAL,HIGH cvss=9.0}
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@UtilityClass
+public class GateRuleParser {
+
+    /**
+     * parses all rules of the text
+     *
+     * @param text the rules, one per line
+     * @return the parsed rules
+     * @throws IllegalArgumentException if a rule is invalid. the message
+     * contains the number of the offending line.
+     */
+    @Nonnull
+    public List<GateRule> parse(@Nullable final String text) {
+        final List<GateRule> rules = new ArrayList<>();
+        if (text == null) {
+            return rules;
+        }
+        final String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            final String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(parseRule(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("line %d: %s", i + 1, e.getMessage()), e);
+            }
+        }
+        return rules;
+    }
+
+    private GateRule parseRule(final String line) {
+        final List<String> tokens = new ArrayList<>(Arrays.asList(line.split("\\s+")));
+        final var builder = GateRule.builder();
+        // Result.fromString falls back to FAILURE for unknown values
+        final Result result = switch (next(tokens).toUpperCase(Locale.ENGLISH)) {
+            case "UNSTABLE" -> Result.UNSTABLE;
+            case "FAILURE" -> Result.FAILURE;
+            default -> throw new IllegalArgumentException("result must be UNSTABLE or FAILURE");
+        };
+        builder.result(result);
+        final GateRule.Scope scope = parseEnum(GateRule.Scope.class, next(tokens));
+        builder.scope(scope);
+        String token = next(tokens);
+        GateRule.Target target = GateRule.Target.FINDINGS;
+        if (!">=".equals(token)) {
+            target = parseEnum(GateRule.Target.class, token);
+            token = next(tokens);
+        }
+        builder.target(target);
+        if (!">=".equals(token)) {
+            throw new IllegalArgumentException(String.format("expected '>=' but got '%s'", token));
+        }
+        final int threshold = parseInt(next(tokens));
+        if (threshold < 1) {
+            throw new IllegalArgumentException(String.format("threshold must be at least 1 but was %d", threshold));
+        }
+        builder.threshold(threshold);
+        for (final String criterion : tokens) {
+            final int eq = criterion.indexOf('=');
+            if (eq <= 0 || eq == criterion.length() - 1) {
+                throw new IllegalArgumentException(String.format("expected key=value but got '%s'", criterion));
+            }
+            final String key = criterion.substring(0, eq).toLowerCase(Locale.ENGLISH);
+            final String value = criterion.substring(eq + 1);
+            if (target == GateRule.Target.FINDINGS) {
+                switch (key) {
+                    case "severity" -> builder.severities(parseEnums(Severity.class, value));
+                    case "cvss" -> builder.minCvss(parseDouble(value));
+                    case "epss" -> builder.minEpss(parseDouble(value));
+                    case "group" -> builder.componentGroup(value);
+                    case "analysis" -> builder.analysisStates(parseSet(value, v -> v.toUpperCase(Locale.ENGLISH)));
+                    case "suppressed" -> builder.suppressed(Boolean.valueOf(value));
+                    default -> throw new IllegalArgumentException(String.format("unknown key '%s' for %s", key, target.name().toLowerCase(Locale.ENGLISH)));
+                }
+            } else {
+                switch (key) {
+                    case "type" -> builder.violationTypes(parseEnums(ViolationType.class, value));
+                    case "state" -> builder.violationStates(parseEnums(ViolationState.class, value));
+                    default -> throw new IllegalArgumentException(String.format("unknown key '%s' for %s", key, target.name().toLowerCase(Locale.ENGLISH)));
+                }
+            }
+        }
+        final GateRule rule = builder.build();
+        if (rule.getScope() == GateRule.Scope.NEW && (target != GateRule.Target.FINDINGS || !rule.isSeverityOnly())) {
+            // the previous build only provides the number of findings per severity
+            throw new IllegalArgumentException("new rules are only supported for findings and may only filter by severity");
+        }
+        return rule;
+    }
+
+    private String next(final List<String> tokens) {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("incomplete rule");
+        }
+        return tokens.remove(0);
+    }
+
+    private int parseInt(final String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not a number", value), e);
+        }
+    }
+
+    private double parseDouble(final String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not a number", value), e);
+        }
+    }
+
+    private <T extends Enum<T>> T parseEnum(final Class<T> type, final String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not one of %s", value, Arrays.toString(type.getEnumConstants())), e);
+        }
+    }
+
+    private <T extends Enum<T>> Set<T> parseEnums(final Class<T> type, final String value) {
+        return Arrays.stream(value.split(","))
+                .map(v -> parseEnum(type, v))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(type)));
+    }
+
+    private Set<String> parseSet(final String value, final Function<String, String> mapper) {
+        return Arrays.stream(value.split(",")).map(mapper).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A hash index over the {@link Finding#getMatrix() matrix} of findings. Each
+ * matrix is reduced to a 64 bit FNV-1a hash and the hashes are kept in an
+ * open-addressing table of primitives, so that a finding can be looked up in
+ * constant time without keeping the findings themselves.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public final class MatrixIndex {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * the hashes in the order of the findings
+     */
+    private final long[] hashes;
+
+    /**
+     * slot to ordinal + 1, 0 marks an empty slot
+     */
+    private final int[] table;
+    private final int mask;
+
+    public MatrixIndex(@Nonnull final long[] hashes) {
+        this.hashes = hashes;
+        int capacity = 2;
+        while (capacity < hashes.length * 2) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < hashes.length; i++) {
+            int slot = slot(hashes[i]);
+            while (table[slot] != 0 && this.hashes[table[slot] - 1] != hashes[i]) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == 0) {
+                table[slot] = i + 1;
+            }
+        }
+    }
+
+    /**
+     * creates the index for the findings
+     *
+     * @param findings the findings
+     * @return the index
+     */
+    @Nonnull
+    public static MatrixIndex of(@Nonnull final List<Finding> findings) {
+        return new MatrixIndex(hashes(findings));
+    }
+
+    /**
+     * hashes the matrix of each finding
+     *
+     * @param findings the findings
+     * @return the hashes in the order of the findings
+     */
+    @Nonnull
+    public static long[] hashes(@Nonnull final List<Finding> findings) {
+        final long[] hashes = new long[findings.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = hash(findings.get(i));
+        }
+        return hashes;
+    }
+
+    /**
+     * hashes the matrix of the finding. findings without a matrix are
+     * identified by their component and vulnerability instead.
+     *
+     * @param finding the finding
+     * @return the hash
+     */
+    public static long hash(@Nonnull final Finding finding) {
+        if (finding.getMatrix() != null) {
+            return hash(finding.getMatrix());
+        }
+        final String component = finding.getComponent() != null ? finding.getComponent().getUuid() : null;
+        final String vulnerability = finding.getVulnerability() != null ? finding.getVulnerability().getUuid() : null;
+        return hash(component + ":" + vulnerability);
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the UTF-8 bytes of the value
+     *
+     * @param value the value to hash
+     * @return the hash
+     */
+    public static long hash(@Nonnull final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * @param hash the hash to look up
+     * @return the ordinal of the (first) finding with that hash or -1 if there
+     * is none
+     */
+    public int indexOf(final long hash) {
+        int slot = slot(hash);
+        while (table[slot] != 0) {
+            if (hashes[table[slot] - 1] == hash) {
+                return table[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(@Nullable final Finding finding) {
+        return finding != null && indexOf(hash(finding)) >= 0;
+    }
+
+    /**
+     * @return the number of indexed findings
+     */
+    public int size() {
+        return hashes.length;
+    }
+
+    /**
+     * @param ordinal the ordinal of the finding
+     * @return the hash of the finding
+     */
+    public long hashAt(final int ordinal) {
+        return hashes[ordinal];
+    }
+
+    private int slot(final long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
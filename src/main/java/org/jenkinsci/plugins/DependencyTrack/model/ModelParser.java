@@ -40,6 +40,15 @@ abstract class ModelParser {
                 .orElse(null);
     }
 
+    protected static final Double getDoubleOrNull(final JSONObject json, final String key) {
+        final var value = getKeyOrNull(json, key);
+        try {
+            return value != null ? Double.valueOf(value) : null;
+        } catch (NumberFormatException ignore) {
+            return null;
+        }
+    }
+
     protected static final <T extends Enum<T>> T getEnum(final JSONObject json, final String key, final Class<T> enumType) {
         final var value = getKeyOrNull(json, key);
         try {
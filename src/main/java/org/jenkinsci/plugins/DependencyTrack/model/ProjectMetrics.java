@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import java.io.Serializable;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * the current vulnerability metrics of a project as calculated by
+ * Dependency-Track. suppressed findings are not counted.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Value
+@Builder
+public class ProjectMetrics implements Serializable {
+
+    private static final long serialVersionUID = 7316209651472893105L;
+
+
+    private int critical;
+    private int high;
+    private int medium;
+    private int low;
+    private int unassigned;
+
+    /**
+     * epoch millis of the last time the metrics were calculated
+     */
+    private long lastOccurrence;
+
+    /**
+     * converts the metrics into a severity distribution. Dependency-Track does
+     * not count findings with severity INFO separately, so they are missing.
+     *
+     * @param buildNumber the build to which the distribution belongs
+     * @return the severity distribution
+     */
+    public SeverityDistribution toSeverityDistribution(final int buildNumber) {
+        final SeverityDistribution distribution = new SeverityDistribution(buildNumber);
+        distribution.add(Severity.CRITICAL, critical);
+        distribution.add(Severity.HIGH, high);
+        distribution.add(Severity.MEDIUM, medium);
+        distribution.add(Severity.LOW, low);
+        distribution.add(Severity.UNASSIGNED, unassigned);
+        return distribution;
+    }
+}
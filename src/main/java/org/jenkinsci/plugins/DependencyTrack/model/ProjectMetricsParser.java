@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import lombok.experimental.UtilityClass;
+import net.sf.json.JSONObject;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@UtilityClass
+public class ProjectMetricsParser {
+
+    public ProjectMetrics parse(final JSONObject json) {
+        return ProjectMetrics.builder()
+                .critical(json.optInt("critical"))
+                .high(json.optInt("high"))
+                .medium(json.optInt("medium"))
+                .low(json.optInt("low"))
+                .unassigned(json.optInt("unassigned"))
+                .lastOccurrence(json.optLong("lastOccurrence"))
+                .build();
+    }
+}
@@ -33,6 +33,10 @@ public class RiskGate implements Serializable {
     @Nonnull
     private final Thresholds thresholds;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient CompiledGate gate;
+
     /**
      * Evaluates if the current results meet or exceed the defined threshold.
      *
@@ -41,44 +45,9 @@ public class RiskGate implements Serializable {
      * @return a Result
      */
     public Result evaluate(@Nonnull final SeverityDistribution currentDistribution, @Nullable final SeverityDistribution previousDistribution) {
-
-        Result result = Result.SUCCESS;
-        if ((thresholds.totalFindings.failedCritical != null && currentDistribution.getCritical() > 0 && currentDistribution.getCritical() >= thresholds.totalFindings.failedCritical)
-                || (thresholds.totalFindings.failedHigh != null && currentDistribution.getHigh() > 0 && currentDistribution.getHigh() >= thresholds.totalFindings.failedHigh)
-                || (thresholds.totalFindings.failedMedium != null && currentDistribution.getMedium() > 0 && currentDistribution.getMedium() >= thresholds.totalFindings.failedMedium)
-                || (thresholds.totalFindings.failedLow != null && currentDistribution.getLow() > 0 && currentDistribution.getLow() >= thresholds.totalFindings.failedLow)
-                || (thresholds.totalFindings.failedUnassigned != null && currentDistribution.getUnassigned()> 0 && currentDistribution.getUnassigned()>= thresholds.totalFindings.failedUnassigned)) {
-
-            return Result.FAILURE;
-        }
-        if ((thresholds.totalFindings.unstableCritical != null && currentDistribution.getCritical() > 0 && currentDistribution.getCritical() >= thresholds.totalFindings.unstableCritical)
-                || (thresholds.totalFindings.unstableHigh != null && currentDistribution.getHigh() > 0 && currentDistribution.getHigh() >= thresholds.totalFindings.unstableHigh)
-                || (thresholds.totalFindings.unstableMedium != null && currentDistribution.getMedium() > 0 && currentDistribution.getMedium() >= thresholds.totalFindings.unstableMedium)
-                || (thresholds.totalFindings.unstableLow != null && currentDistribution.getLow() > 0 && currentDistribution.getLow() >= thresholds.totalFindings.unstableLow)
-                || (thresholds.totalFindings.unstableUnassigned != null && currentDistribution.getUnassigned()> 0 && currentDistribution.getUnassigned()>= thresholds.totalFindings.unstableUnassigned)) {
-
-            result = Result.UNSTABLE;
-        }
-        
-        if (previousDistribution != null) {
-            if ((thresholds.newFindings.failedCritical != null && currentDistribution.getCritical() > 0 && currentDistribution.getCritical() >= previousDistribution.getCritical() + thresholds.newFindings.failedCritical)
-                    || (thresholds.newFindings.failedHigh != null && currentDistribution.getHigh() > 0 && currentDistribution.getHigh() >= previousDistribution.getHigh() + thresholds.newFindings.failedHigh)
-                    || (thresholds.newFindings.failedMedium != null && currentDistribution.getMedium() > 0 && currentDistribution.getMedium() >= previousDistribution.getMedium() + thresholds.newFindings.failedMedium)
-                    || (thresholds.newFindings.failedLow != null && currentDistribution.getLow() > 0 && currentDistribution.getLow() >= previousDistribution.getLow() + thresholds.newFindings.failedLow)
-                    || (thresholds.newFindings.failedUnassigned != null && currentDistribution.getUnassigned() > 0 && currentDistribution.getUnassigned() >= previousDistribution.getUnassigned() + thresholds.newFindings.failedUnassigned)) {
-
-                return Result.FAILURE;
-            }
-            if ((thresholds.newFindings.unstableCritical != null && currentDistribution.getCritical() > 0 && currentDistribution.getCritical() >= previousDistribution.getCritical() + thresholds.newFindings.unstableCritical)
-                    || (thresholds.newFindings.unstableHigh != null && currentDistribution.getHigh() > 0 && currentDistribution.getHigh() >= previousDistribution.getHigh() + thresholds.newFindings.unstableHigh)
-                    || (thresholds.newFindings.unstableMedium != null && currentDistribution.getMedium() > 0 && currentDistribution.getMedium() >= previousDistribution.getMedium() + thresholds.newFindings.unstableMedium)
-                    || (thresholds.newFindings.unstableLow != null && currentDistribution.getLow() > 0 && currentDistribution.getLow() >= previousDistribution.getLow() + thresholds.newFindings.unstableLow)
-                    || (thresholds.newFindings.unstableUnassigned != null && currentDistribution.getUnassigned() > 0 && currentDistribution.getUnassigned() >= previousDistribution.getUnassigned() + thresholds.newFindings.unstableUnassigned)) {
-
-                result = Result.UNSTABLE;
-            }
+        if (gate == null) {
+            gate = CompiledGate.compile(thresholds, null);
         }
-    
-        return result;
+        return gate.evaluate(currentDistribution, previousDistribution).result();
     }
 }
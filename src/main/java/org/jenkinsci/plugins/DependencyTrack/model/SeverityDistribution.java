@@ -38,18 +38,22 @@ public class SeverityDistribution implements Serializable {
     private int unassigned;
 
     public void add(Severity severity) {
+        add(severity, 1);
+    }
+
+    public void add(Severity severity, int count) {
         if (Severity.CRITICAL == severity) {
-            critical++;
+            critical += count;
         } else if (Severity.HIGH == severity) {
-            high++;
+            high += count;
         } else if (Severity.MEDIUM == severity) {
-            medium++;
+            medium += count;
         } else if (Severity.LOW == severity) {
-            low++;
+            low += count;
         } else if (Severity.INFO == severity) {
-            info++;
+            info += count;
         } else if (Severity.UNASSIGNED == severity) {
-            unassigned++;
+            unassigned += count;
         }
     }
 }
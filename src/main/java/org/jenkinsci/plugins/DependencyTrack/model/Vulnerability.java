@@ -19,10 +19,12 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.Serializable;
 import java.util.List;
+import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 
 @Value
+@AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Vulnerability implements Serializable {
 
@@ -41,9 +43,25 @@ public class Vulnerability implements Serializable {
     private final Integer cweId;
     private final String cweName;
 
+    /**
+     * the CVSS v3 base score or the CVSS v2 base score if there is no v3 score
+     */
+    @Nullable
+    private final Double cvssScore;
+
+    /**
+     * the EPSS score (probability of exploitation)
+     */
+    @Nullable
+    private final Double epssScore;
+
     @Nullable
     private List<String> aliases;
 
+    public Vulnerability(String uuid, String source, String vulnId, String title, String subtitle, String description, String recommendation, Severity severity, Integer severityRank, Integer cweId, String cweName, List<String> aliases) {
+        this(uuid, source, vulnId, title, subtitle, description, recommendation, severity, severityRank, cweId, cweName, null, null, aliases);
+    }
+
     /**
      * checks whether this vulnerability is an alias of the given other
      * vulnerability
@@ -66,4 +84,29 @@ public class Vulnerability implements Serializable {
     public boolean hasAlias(@Nonnull final Vulnerability alias) {
         return aliases != null && aliases.contains(alias.vulnId);
     }
+
+    /**
+     * extracts the long text fields of this vulnerability
+     *
+     * @return the {@link #description} and {@link #recommendation} of this
+     * vulnerability
+     */
+    @Nonnull
+    public VulnerabilityDetails toDetails() {
+        return new VulnerabilityDetails(description, recommendation);
+    }
+
+    /**
+     * creates a copy of this vulnerability without the long text fields
+     *
+     * @return this vulnerability if it has neither a {@link #description} nor
+     * a {@link #recommendation}, else a copy of it without them
+     */
+    @Nonnull
+    public Vulnerability withoutDetails() {
+        if (description == null && recommendation == null) {
+            return this;
+        }
+        return new Vulnerability(uuid, source, vulnId, title, subtitle, null, null, severity, severityRank, cweId, cweName, cvssScore, epssScore, aliases);
+    }
 }
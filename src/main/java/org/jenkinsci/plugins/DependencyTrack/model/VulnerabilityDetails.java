@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import java.io.Serializable;
+import lombok.Value;
+
+/**
+ * The long text fields of a {@link Vulnerability}. They are stored once per
+ * vulnerability instead of once per finding and are only sent to the browser
+ * when a finding is expanded.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Value
+public class VulnerabilityDetails implements Serializable {
+
+    private static final long serialVersionUID = -3312709158464541875L;
+
+    private final String description;
+    private final String recommendation;
+
+    public boolean isEmpty() {
+        return description == null && recommendation == null;
+    }
+}
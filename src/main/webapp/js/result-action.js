@@ -63,9 +63,47 @@
                 LOW: 0,
                 INFO: 0,
                 UNASSIGNED: 0
-            }
+            },
+            details: {}
         },
         methods: {
+            toggleDetails(row) {
+                row.toggleDetails();
+                const uuid = row.item.vulnerability?.uuid;
+                // details that failed to load are requested again
+                if (!row.detailsShowing && uuid && (!this.details[uuid] || this.details[uuid].failed)) {
+                    this.loadDetails(uuid);
+                }
+            },
+            loadDetails(uuid) {
+                this.$delete(this.details, uuid);
+                return window.fetch(`${actionUrl.href}/getVulnerabilityDetailsJson`, {
+                    method: 'POST',
+                    mode: 'same-origin',
+                    credentials: 'same-origin',
+                    cache: 'default',
+                    body: JSON.stringify([uuid]),
+                    headers: new Headers([
+                        ['Content-Type', 'application/x-stapler-method-invocation;charset=UTF-8'],
+                        ['Crumb', crumbValue],
+                        [crumbHeaderName, crumbValue],
+                    ]),
+                })
+                .then(response => {
+                    if (response.ok) {
+                        return response.json();
+                    } else {
+                        throw new Error(`HTTP error! status: ${response.status}`);
+                    }
+                })
+                .then(details => {
+                    this.$set(this.details, uuid, details || {});
+                })
+                .catch(() => {
+                    // shown instead of the details until the finding is expanded again
+                    this.$set(this.details, uuid, { failed: true });
+                });
+            },
             items(ctx, callback) {
                 return window.fetch(`${actionUrl.href}/getFindingsJson`, {
                     method: 'POST',
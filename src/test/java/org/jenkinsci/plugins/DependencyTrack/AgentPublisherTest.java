@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
+import org.jenkinsci.plugins.DependencyTrack.api.PageSizing;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.api.UploadResult;
+import org.jenkinsci.plugins.DependencyTrack.model.Analysis;
+import org.jenkinsci.plugins.DependencyTrack.model.Component;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetrics;
+import org.jenkinsci.plugins.DependencyTrack.model.Severity;
+import org.jenkinsci.plugins.DependencyTrack.model.Team;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AgentPublisherTest {
+
+    @Mock
+    private ApiClient client;
+
+    @TempDir
+    private Path tmpWork;
+
+    private FilePath workspace;
+
+    private final ProjectData projectData = new ProjectData("uuid-1", null, null, true, null);
+
+    @BeforeEach
+    void setup() throws IOException {
+        Files.writeString(tmpWork.resolve("bom.json"), "{}");
+        Files.writeString(tmpWork.resolve("vex.json"), "[]");
+        workspace = new FilePath(tmpWork.toFile());
+    }
+
+    private AgentPublisher.AgentPublisherBuilder builder() {
+        return AgentPublisher.builder()
+                .listener(TaskListener.NULL)
+                .url("http://localhost")
+                .apiKey("api-key")
+                .connectionTimeout(1)
+                .readTimeout(1)
+                .pageSizing(PageSizing.DEFAULT)
+                .pollingTimeout(1)
+                .pollingInterval(0)
+                .artifact("bom.json")
+                .projectData(projectData)
+                .query(FindingsQuery.DEFAULT)
+                .clientFactory((url, apiKey, logger, httpClient) -> client);
+    }
+
+    @Test
+    void uploadsBomAndVex() throws IOException, InterruptedException {
+        when(client.uploadBom(projectData, "{}")).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.uploadVex(projectData, "[]")).thenReturn(new UploadResult(true, "token-2"));
+
+        final var uploaded = workspace.act(builder().step(AgentPublisher.Step.UPLOAD_BOM).vex("vex.json").build());
+
+        assertThat(uploaded.state().hasReached(UploadState.Progress.BOM_UPLOADED)).isTrue();
+        assertThat(uploaded.state().getToken()).isEqualTo("token-1");
+        assertThat(uploaded.timer().toAction().getPhases()).extracting(TimingAction.PhaseTiming::getPhase)
+                .containsExactly("readArtifact", "uploadBom");
+        verify(client, never()).isTokenBeingProcessed(anyString());
+
+        final var outcome = workspace.act(builder().step(AgentPublisher.Step.UPLOAD_VEX).vex("vex.json").state(uploaded.state()).build());
+
+        assertThat(outcome.state().hasReached(UploadState.Progress.VEX_UPLOADED)).isTrue();
+        assertThat(outcome.state().getToken()).isEqualTo("token-2");
+        assertThat(outcome.findings()).isNull();
+        assertThat(outcome.violations()).isNull();
+        assertThat(outcome.timer().toAction().getPhases()).extracting(TimingAction.PhaseTiming::getPhase)
+                .containsExactly("readArtifact", "waitWhileTokenIsBeingProcessed", "uploadVex");
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class));
+    }
+
+    @Test
+    void failedUploadAborts() {
+        when(client.uploadBom(projectData, "{}")).thenReturn(new UploadResult(false, null));
+
+        assertThatCode(() -> workspace.act(builder().step(AgentPublisher.Step.UPLOAD_BOM).build())).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Upload_Failed());
+    }
+
+    @Test
+    void retrievesResultsOfRecordedUpload() throws IOException, InterruptedException {
+        final var recorded = UploadState.resume(List.of(), "http://localhost", projectData, "{}");
+        recorded.uploaded(UploadState.Progress.BOM_UPLOADED, "token-1");
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        final var resumed = workspace.act(builder().step(AgentPublisher.Step.UPLOAD_BOM).recorded(List.of(recorded)).build());
+        final var outcome = workspace.act(builder().step(AgentPublisher.Step.RETRIEVE).state(resumed.state()).synchronous(true).build());
+
+        assertThat(resumed.state().isResumed()).isTrue();
+        verify(client, never()).uploadBom(any(ProjectData.class), anyString());
+        assertThat(outcome.state().getProjectUuid()).isEqualTo("uuid-1");
+        assertThat(outcome.findings()).isEqualTo(new DependencyTrackPublisher.RetrievedFindings(List.of(), false));
+        assertThat(outcome.metrics()).isNull();
+        // the team may not view policy violations
+        assertThat(outcome.violations()).isNull();
+    }
+
+    @Test
+    void retrievesMetricsOnly() throws IOException, InterruptedException {
+        when(client.uploadBom(projectData, "{}")).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        final var metrics = ProjectMetrics.builder().critical(1).lastOccurrence(2).build();
+        when(client.getCurrentMetrics("uuid-1")).thenReturn(null).thenReturn(metrics);
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        final var uploaded = workspace.act(builder().step(AgentPublisher.Step.UPLOAD_BOM).build());
+        final var outcome = workspace.act(builder().step(AgentPublisher.Step.RETRIEVE).state(uploaded.state()).synchronous(true).metricsOnly(true).build());
+
+        assertThat(outcome.findings()).isNull();
+        assertThat(outcome.metrics()).isEqualTo(metrics);
+        verify(client).refreshMetrics("uuid-1");
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class));
+    }
+
+    @Test
+    void findingsAreTransferredEncoded() throws IOException, ClassNotFoundException {
+        final var c1 = new Component("uuid-1", "name-1", "group-1", "version-1", "purl-1");
+        final var v1 = new Vulnerability("uuid-1", "NVD", "vulnId-1", "title-1", "subtitle-1", "description-1", "recommendation-1", Severity.HIGH, 1, 2, "cweName-1", null);
+        final var findings = new DependencyTrackPublisher.RetrievedFindings(List.of(new Finding(c1, v1, new Analysis("state-1", false), "project:uuid-1:uuid-1")), true);
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(findings);
+        }
+
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject()).isInstanceOfSatisfying(DependencyTrackPublisher.RetrievedFindings.class, transferred -> {
+                assertThat(transferred.partial()).isTrue();
+                assertThat(transferred.findings()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(findings.findings());
+            });
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.Launcher;
+import hudson.XmlFile;
+import hudson.model.AbstractBuild;
+import hudson.model.BuildListener;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import java.io.File;
+import java.util.List;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestBuilder;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@WithJenkins
+class BaselineIndexTest {
+
+    @Test
+    void baselineIsIndexedOnCompletion(JenkinsRule r) throws Exception {
+        final FreeStyleProject job = r.createFreeStyleProject();
+        job.getBuildersList().add(new AddResultAction());
+        final File index = new File(job.getRootDir(), BaselineIndex.FILE_NAME);
+
+        final FreeStyleBuild b1 = r.buildAndAssertSuccess(job);
+        assertThat(index).exists();
+        assertThat(BaselineIndex.getBaseline(b1)).isNull();
+
+        final FreeStyleBuild b2 = r.buildAndAssertSuccess(job);
+        // the index points to the build itself, so it must be looked up the slow way
+        assertThat(BaselineIndex.getBaseline(b2)).returns(1, Baseline::getBuildNumber);
+
+        r.buildAndAssertSuccess(job);
+        final FreeStyleBuild b4 = r.buildAndAssertSuccess(job);
+        assertThat(BaselineIndex.getBaseline(b4)).returns(3, Baseline::getBuildNumber).returns(true, Baseline::hasFindings);
+        // deleting a build that is not the baseline keeps the index
+        b2.delete();
+        assertThat(index).exists();
+    }
+
+    @Test
+    void deletingBaselineRemovesIndex(JenkinsRule r) throws Exception {
+        final FreeStyleProject job = r.createFreeStyleProject();
+        job.getBuildersList().add(new AddResultAction());
+        final File index = new File(job.getRootDir(), BaselineIndex.FILE_NAME);
+        final FreeStyleBuild b1 = r.buildAndAssertSuccess(job);
+        final FreeStyleBuild b2 = r.buildAndAssertSuccess(job);
+        final FreeStyleBuild b3 = r.buildAndAssertSuccess(job);
+
+        b3.delete();
+        assertThat(index).doesNotExist();
+
+        // walks back once and indexes the result again
+        assertThat(BaselineIndex.getBaseline(b3)).returns(2, Baseline::getBuildNumber);
+        assertThat(index).exists();
+        b1.delete();
+        assertThat(index).exists();
+        assertThat(BaselineIndex.getBaseline(b3)).returns(2, Baseline::getBuildNumber);
+    }
+
+    @Test
+    void legacyIndexIsReplaced(JenkinsRule r) throws Exception {
+        final FreeStyleProject job = r.createFreeStyleProject();
+        job.getBuildersList().add(new AddResultAction());
+        final XmlFile index = new XmlFile(new File(job.getRootDir(), BaselineIndex.FILE_NAME));
+        // older versions only stored the severity distribution
+        index.write(new SeverityDistribution(1));
+
+        final FreeStyleBuild b1 = r.buildAndAssertSuccess(job);
+        assertThat(index.read()).isInstanceOfSatisfying(Baseline.class, baseline -> {
+            assertThat(baseline.getBuildNumber()).isEqualTo(b1.getNumber());
+            assertThat(baseline.hasFindings()).isTrue();
+        });
+    }
+
+    @Test
+    void countsOnlyResultsHaveNoFindings() {
+        final var action = new ResultAction(null, new SeverityDistribution(1));
+        action.setCountsOnly(true);
+        assertThat(Baseline.of(action)).returns(false, Baseline::hasFindings).returns(null, Baseline::getIndex);
+    }
+
+    @Test
+    void aggregatedResultsAreNoBaseline(JenkinsRule r) throws Exception {
+        final FreeStyleProject job = r.createFreeStyleProject();
+        job.getBuildersList().add(new AddResultAction());
+        final FreeStyleBuild b1 = r.buildAndAssertSuccess(job);
+        job.getBuildersList().replace(new AddAggregatedResultAction());
+        final FreeStyleBuild b2 = r.buildAndAssertSuccess(job);
+        final FreeStyleBuild b3 = r.buildAndAssertSuccess(job);
+
+        assertThat(BaselineIndex.getBaseline(b3)).returns(b1.getNumber(), Baseline::getBuildNumber);
+        assertThat(b2.getAction(ResultAction.class).isAggregated()).isTrue();
+    }
+
+    @Test
+    void baselineOfAnotherProjectHasNoFindings() {
+        final var action = new ResultAction(List.of(), new SeverityDistribution(1));
+        action.setProjectId("uuid-1");
+        final var baseline = Baseline.of(action);
+
+        assertThat(baseline.forProject("uuid-1")).isSameAs(baseline);
+        assertThat(baseline.forProject("uuid-2")).returns(false, Baseline::hasFindings).returns(1, Baseline::getBuildNumber);
+        assertThat(baseline.forProject(null)).returns(false, Baseline::hasFindings);
+    }
+
+    private static final class AddAggregatedResultAction extends TestBuilder {
+
+        @Override
+        public boolean perform(AbstractBuild<?, ?> build, Launcher launcher, BuildListener listener) {
+            final var action = new ResultAction(List.of(), new SeverityDistribution(build.getNumber()));
+            action.setAggregated(true);
+            build.addAction(action);
+            return true;
+        }
+    }
+
+    private static final class AddResultAction extends TestBuilder {
+
+        @Override
+        public boolean perform(AbstractBuild<?, ?> build, Launcher launcher, BuildListener listener) {
+            build.addAction(new ResultAction(List.of(), new SeverityDistribution(build.getNumber())));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.FilePath;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.sf.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class BomMergerTest {
+
+    private static final String XML_A = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <bom xmlns="http://cyclonedx.org/schema/bom/1.4" serialNumber="urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79" version="1">
+              <metadata>
+                <timestamp>2026-01-01T00:00:00Z</timestamp>
+                <component type="application" bom-ref="app-a"><name>a</name></component>
+              </metadata>
+              <components>
+                <component type="library" bom-ref="pkg:maven/org.acme/lib@1.0"><name>lib</name><purl>pkg:maven/org.acme/lib@1.0</purl></component>
+                <component type="library" bom-ref="1"><name>one</name><purl>pkg:maven/org.acme/one@1.0</purl></component>
+              </components>
+              <dependencies>
+                <dependency ref="app-a"><dependency ref="pkg:maven/org.acme/lib@1.0"/><dependency ref="1"/></dependency>
+              </dependencies>
+            </bom>
+            """;
+
+    private static final String XML_B = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <bom xmlns="http://cyclonedx.org/schema/bom/1.5" version="1">
+              <metadata>
+                <component type="application" bom-ref="app-b"><name>b</name></component>
+              </metadata>
+              <components>
+                <component type="library" bom-ref="lib-b"><name>lib</name><purl>pkg:maven/org.acme/lib@1.0</purl></component>
+                <component type="library" bom-ref="1"><name>two</name><purl>pkg:maven/org.acme/two@1.0</purl></component>
+              </components>
+              <services>
+                <service><name>ignored</name></service>
+              </services>
+              <dependencies>
+                <dependency ref="app-b"><dependency ref="lib-b"/><dependency ref="1"/></dependency>
+              </dependencies>
+            </bom>
+            """;
+
+    private static final String JSON_A = """
+            {"bomFormat":"CycloneDX","specVersion":"1.5","version":1,
+             "metadata":{"component":{"type":"application","bom-ref":"app-a","name":"a"}},
+             "components":[{"type":"library","bom-ref":"pkg:npm/lib@1.0","name":"lib","purl":"pkg:npm/lib@1.0"}],
+             "dependencies":[{"ref":"app-a","dependsOn":["pkg:npm/lib@1.0"]}]}
+            """;
+
+    private static final String JSON_B = """
+            {"bomFormat":"CycloneDX","specVersion":"1.6","version":1,
+             "metadata":{"component":{"type":"application","bom-ref":"app-b","name":"b"}},
+             "components":[{"type":"library","bom-ref":"lib","name":"lib","purl":"pkg:npm/lib@1.0"},{"type":"library","name":"no-ref"}],
+             "dependencies":[{"ref":"app-b","dependsOn":["lib"]},{"ref":"lib"}]}
+            """;
+
+    private static List<Path> write(final Path dir, final String... contents) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        for (int i = 0; i < contents.length; i++) {
+            files.add(Files.writeString(dir.resolve("bom-" + i), contents[i]));
+        }
+        return files;
+    }
+
+    @Test
+    void isPattern() {
+        assertThat(BomMerger.isPattern("target/bom.xml")).isFalse();
+        assertThat(BomMerger.isPattern(null)).isFalse();
+        assertThat(BomMerger.isPattern("**/bom.xml")).isTrue();
+        assertThat(BomMerger.isPattern("a/bom-?.xml")).isTrue();
+        assertThat(BomMerger.isPattern("a/bom.xml,b/bom.xml")).isTrue();
+    }
+
+    @Test
+    void mergeXml(@TempDir Path tmp) throws IOException {
+        final var result = new BomMerger().merge(write(tmp, XML_A, XML_B));
+
+        assertThat(result.files()).isEqualTo(2);
+        assertThat(result.components()).isEqualTo(5);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.bom())
+                .startsWith("<?xml")
+                .contains("<bom xmlns=\"http://cyclonedx.org/schema/bom/1.4\" version=\"1\">")
+                .doesNotContain("serialNumber", "timestamp", "lib-b", "ignored", "1.5")
+                .contains("bom-ref=\"app-a\"", "bom-ref=\"app-b\"", "bom-ref=\"1\"", "bom-ref=\"1-2\"")
+                // the duplicate is referenced by the bom-ref of the component that was kept
+                .contains("<dependency ref=\"app-b\"><dependency ref=\"pkg:maven/org.acme/lib@1.0\"></dependency><dependency ref=\"1-2\"></dependency></dependency>");
+        assertThat(result.bom().split("<purl>pkg:maven/org.acme/lib@1.0</purl>", -1)).hasSize(2);
+    }
+
+    @Test
+    void mergeJson(@TempDir Path tmp) throws IOException {
+        final var result = new BomMerger().merge(write(tmp, JSON_A, JSON_B));
+
+        assertThat(result.files()).isEqualTo(2);
+        assertThat(result.components()).isEqualTo(4);
+        assertThat(result.duplicates()).isEqualTo(1);
+        final var bom = JSONObject.fromObject(result.bom());
+        assertThat(bom.getString("bomFormat")).isEqualTo("CycloneDX");
+        assertThat(bom.getString("specVersion")).isEqualTo("1.5");
+        assertThat(bom.has("serialNumber")).isFalse();
+        assertThat(bom.getJSONArray("components").stream().map(JSONObject.class::cast).map(c -> c.getString("name")))
+                .containsExactly("a", "lib", "b", "no-ref");
+        final var dependencies = bom.getJSONArray("dependencies");
+        assertThat(dependencies).hasSize(3);
+        assertThat(dependencies.getJSONObject(0).getString("ref")).isEqualTo("app-a");
+        // the duplicate is referenced by the bom-ref of the component that was kept
+        assertThat(dependencies.getJSONObject(1).getString("ref")).isEqualTo("app-b");
+        assertThat(dependencies.getJSONObject(1).getJSONArray("dependsOn")).containsExactly("pkg:npm/lib@1.0");
+        assertThat(dependencies.getJSONObject(2).getString("ref")).isEqualTo("pkg:npm/lib@1.0");
+    }
+
+    @Test
+    void mergeIsRepeatable(@TempDir Path tmp) throws IOException {
+        final var files = write(tmp, XML_A, XML_B);
+        assertThat(new BomMerger().merge(files).bom()).isEqualTo(new BomMerger().merge(files).bom());
+    }
+
+    @Test
+    void mixedFormatsAreRejected(@TempDir Path tmp) throws IOException {
+        final var files = write(tmp, XML_A, JSON_B);
+        assertThatCode(() -> new BomMerger().merge(files)).isInstanceOf(IOException.class).hasMessage(Messages.Builder_Merge_MixedFormats("bom-1"));
+    }
+
+    @Test
+    void invalidBomIsRejected(@TempDir Path tmp) throws IOException {
+        final var files = write(tmp, XML_A, "<project/>");
+        assertThatCode(() -> new BomMerger().merge(files)).isInstanceOf(IOException.class).hasMessageContaining("bom-1");
+    }
+
+    @Test
+    void mergeCallable(@TempDir Path tmp) throws IOException, InterruptedException {
+        Files.createDirectories(tmp.resolve("a"));
+        Files.createDirectories(tmp.resolve("b"));
+        Files.writeString(tmp.resolve("a/bom.xml"), XML_A);
+        final var workspace = new FilePath(tmp.toFile());
+
+        assertThat(workspace.act(new BomMerger.MergeCallable("*/none.xml", false)).bom()).isNull();
+        // a single match is passed on as it is
+        assertThat(workspace.act(new BomMerger.MergeCallable("*/bom.xml", false))).isEqualTo(new BomMerger.Result(XML_A, 1, 0, 0));
+
+        Files.writeString(tmp.resolve("b/bom.xml"), XML_B);
+        final var result = workspace.act(new BomMerger.MergeCallable("*/bom.xml", false));
+        assertThat(result.files()).isEqualTo(2);
+        assertThat(result.bom()).isEqualTo(new BomMerger().merge(List.of(tmp.resolve("a/bom.xml"), tmp.resolve("b/bom.xml"))).bom());
+
+        // validated and minified
+        final var validated = workspace.act(new BomMerger.MergeCallable("*/bom.xml", true));
+        assertThat(validated.files()).isEqualTo(2);
+        assertThat(validated.bom()).doesNotContain("\n").hasSizeLessThan(result.bom().length());
+
+        Files.writeString(tmp.resolve("b/bom.xml"), "<bom xmlns=\"http://cyclonedx.org/schema/bom/1.5\"><components><component><name>x</name></component></components></bom>");
+        assertThatCode(() -> workspace.act(new BomMerger.MergeCallable("*/bom.xml", true)))
+                .isInstanceOf(BomValidator.InvalidBomException.class).hasMessageStartingWith(Path.of("b", "bom.xml") + ": ");
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.FilePath;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class BomValidatorTest {
+
+    private static final String XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!-- generated -->
+            <bom xmlns="http://cyclonedx.org/schema/bom/1.4">
+              <components>
+                <component type="library">
+                  <name>lib</name>
+                  <description> &lt;b&gt; </description>
+                  <hashes></hashes>
+                  <components>
+                    <component type="library"><name>nested</name></component>
+                  </components>
+                </component>
+              </components>
+            </bom>
+            """;
+
+    private static final String JSON = """
+            {
+              "bomFormat" : "CycloneDX",
+              "specVersion": "1.5",
+              "metadata": { "component": { "type": "application", "name": "app" } },
+              "components": [
+                { "type": "library", "name": "a\\"b \\u00e4", "version": 1.0e3, "x": [ true, false, null, -0.5 ] }
+              ]
+            }
+            """;
+
+    private static BomValidator.Result validate(final String bom) throws IOException {
+        final byte[] bytes = bom.getBytes(StandardCharsets.UTF_8);
+        return BomValidator.validate(new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    @Test
+    void minifiesXml() throws IOException {
+        final var result = validate(XML);
+        assertThat(result.bom()).isEqualTo("""
+                <?xml version="1.0" encoding="UTF-8"?><bom xmlns="http://cyclonedx.org/schema/bom/1.4"><components>\
+                <component type="library"><name>lib</name><description> &lt;b&gt; </description><hashes/><components>\
+                <component type="library"><name>nested</name></component></components></component></components></bom>""");
+        assertThat(result.originalSize()).isEqualTo(XML.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(result.size()).isEqualTo(result.bom().length()).isLessThan(result.originalSize());
+    }
+
+    @Test
+    void minifiesJson() throws IOException {
+        final var result = validate("\uFEFF" + JSON);
+        assertThat(result.bom()).isEqualTo("""
+                {"bomFormat":"CycloneDX","specVersion":"1.5","metadata":{"component":{"type":"application","name":"app"}},\
+                "components":[{"type":"library","name":"a\\"b \\u00e4","version":1.0e3,"x":[true,false,null,-0.5]}]}""");
+        assertThat(result.size()).isLessThan(result.originalSize());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        // not a BOM at all
+        "plain text",
+        "",
+        // not CycloneDX
+        """
+        <bom xmlns="urn:other"><components/></bom>""",
+        """
+        {"spdxVersion":"SPDX-2.3"}""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"2.0"}""",
+        // incomplete components
+        """
+        <bom xmlns="http://cyclonedx.org/schema/bom/1.5"><components><component><name>a</name></component></components></bom>""",
+        """
+        <bom xmlns="http://cyclonedx.org/schema/bom/1.5"><components><component type="library"><version>1</version></component></components></bom>""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"1.5","components":[{"name":"a"}]}""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"1.5","metadata":{"component":{"type":"application"}}}""",
+        // malformed
+        """
+        <bom xmlns="http://cyclonedx.org/schema/bom/1.5"><components></bom>""",
+        """
+        <!DOCTYPE bom [<!ENTITY x "x">]><bom xmlns="http://cyclonedx.org/schema/bom/1.5"/>""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"1.5",}""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"1.5","version":01}""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"1.5"} {}""",
+        """
+        {"bomFormat":"CycloneDX","specVersion":"1.5","name":"\\x"}"""
+    })
+    void rejectsInvalidBoms(final String bom) {
+        assertThatCode(() -> validate(bom)).isInstanceOf(BomValidator.InvalidBomException.class);
+    }
+
+    @Test
+    void rejectsTooDeeplyNestedJson() {
+        final String bom = "{\"bomFormat\":\"CycloneDX\",\"specVersion\":\"1.5\",\"x\":"
+                + "[".repeat(BomValidator.MAX_DEPTH + 1) + "]".repeat(BomValidator.MAX_DEPTH + 1) + "}";
+        assertThatCode(() -> validate(bom)).isInstanceOf(BomValidator.InvalidBomException.class);
+    }
+
+    @Test
+    void validateCallable(@TempDir Path tmp) throws IOException, InterruptedException {
+        final var workspace = new FilePath(tmp.toFile());
+        assertThat(workspace.act(new BomValidator.ValidateCallable("bom.json"))).isEqualTo(new BomValidator.Result(null, 0, 0));
+
+        Files.writeString(tmp.resolve("bom.json"), JSON);
+        final var result = workspace.act(new BomValidator.ValidateCallable("bom.json"));
+        assertThat(result.originalSize()).isEqualTo(Files.size(tmp.resolve("bom.json")));
+        assertThat(result.bom()).startsWith("{\"bomFormat\":\"CycloneDX\",");
+
+        Files.writeString(tmp.resolve("bom.json"), "{\"bomFormat\":\"CycloneDX\",\"specVersion\":\"1.5\",\"components\":[{}]}");
+        assertThatCode(() -> workspace.act(new BomValidator.ValidateCallable("bom.json"))).isInstanceOf(BomValidator.InvalidBomException.class);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.domains.Domain;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.util.Secret;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jenkinsci.plugins.plaincredentials.impl.StringCredentialsImpl;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@WithJenkins
+class CredentialsCacheTest {
+
+    @Test
+    void resolvesOncePerItemAndCredential(JenkinsRule r) throws IOException {
+        final var uut = new CredentialsCache();
+        final var calls = new AtomicInteger();
+        final Supplier<Secret> resolver = () -> {
+            calls.incrementAndGet();
+            return Secret.fromString("api-key");
+        };
+        final FreeStyleProject job = r.createFreeStyleProject();
+
+        assertThat(uut.getApiKey("cred-id", null, resolver)).isEqualTo("api-key");
+        assertThat(uut.getApiKey("cred-id", null, resolver)).isEqualTo("api-key");
+        assertThat(calls).hasValue(1);
+
+        assertThat(uut.getApiKey("cred-id", job, resolver)).isEqualTo("api-key");
+        assertThat(uut.getApiKey("other-id", null, () -> null)).isEmpty();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void credentialChangesInvalidateCache(JenkinsRule r) throws Exception {
+        final var uut = new CredentialsCache();
+        final var calls = new AtomicInteger();
+        final Supplier<Secret> resolver = () -> {
+            calls.incrementAndGet();
+            return null;
+        };
+        final FreeStyleProject job = r.createFreeStyleProject();
+        final FreeStyleBuild build = r.buildAndAssertSuccess(job);
+
+        uut.getApiKey("cred-id", null, resolver);
+        build.save();
+        uut.getApiKey("cred-id", null, resolver);
+        assertThat(calls).hasValue(1);
+
+        CredentialsProvider.lookupStores(r.jenkins).iterator().next().addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, "cred-id", "test", Secret.fromString("api-key")));
+        uut.getApiKey("cred-id", null, resolver);
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.api.UploadResult;
+import org.jenkinsci.plugins.DependencyTrack.model.Component;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.jenkinsci.plugins.DependencyTrack.model.Severity;
+import org.jenkinsci.plugins.DependencyTrack.model.Team;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.jenkinsci.plugins.DependencyTrack.model.Permissions.VIEW_POLICY_VIOLATION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@WithJenkins
+class DependencyTrackBatchPublisherTest {
+
+    @Mock
+    private Run build;
+
+    @Mock
+    private TaskListener listener;
+
+    @Mock
+    private Launcher launcher;
+
+    @Mock
+    private Job job;
+
+    @Mock
+    private ApiClient client;
+
+    private final EnvVars env = new EnvVars("my.version", "1.0");
+
+    private final ApiClientFactory clientFactory = (url, apiKey, logger, f) -> client;
+
+    @BeforeEach
+    void setup(JenkinsRule r) {
+        when(listener.getLogger()).thenReturn(System.err);
+        r.jenkins.getDescriptorByType(DescriptorImpl.class).setDependencyTrackPollingInterval(1);
+        when(job.getParent()).thenReturn(r.jenkins);
+        when(build.getParent()).thenReturn(job);
+        when(build.getNumber()).thenReturn(1);
+    }
+
+    private static FilePath workspace(final Path tmpWork, final String... boms) throws IOException {
+        for (final String bom : boms) {
+            final var file = tmpWork.resolve(bom);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "<bom name=\"%s\" />".formatted(bom));
+        }
+        return new FilePath(tmpWork.toFile());
+    }
+
+    private static Finding finding(final String id, final Severity severity) {
+        final var vulnerability = new Vulnerability("v-" + id, "NVD", "CVE-" + id, null, null, null, null, severity, severity.ordinal(), null, null, null);
+        return new Finding(new Component("c-" + id, "name", "org.acme", "1.0", "pkg:maven/org.acme/name@1.0"), vulnerability, null, "p:c-" + id + ":v-" + id);
+    }
+
+    private static BatchArtifact artifact(final String artifact, final String projectName, final String projectVersion) {
+        final var batchArtifact = new BatchArtifact(artifact);
+        batchArtifact.setProjectName(projectName);
+        batchArtifact.setProjectVersion(projectVersion);
+        return batchArtifact;
+    }
+
+    @Test
+    void performPrechecks(@TempDir Path tmpWork) throws IOException {
+        final var workDir = workspace(tmpWork, "a/bom.xml");
+
+        // nothing to publish
+        final var uut1 = new DependencyTrackBatchPublisher(false, clientFactory);
+        uut1.setArtifactPattern("*/none.xml");
+        assertThatCode(() -> uut1.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Batch_NoArtifacts());
+
+        // version missing
+        final var uut2 = new DependencyTrackBatchPublisher(false, clientFactory);
+        uut2.setArtifactPattern("*/bom.xml");
+        assertThatCode(() -> uut2.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Result_InvalidArguments());
+
+        // two BOMs of the same project
+        final var uut3 = new DependencyTrackBatchPublisher(false, clientFactory);
+        uut3.setArtifacts(List.of(artifact("a/bom.xml", "a", "1.0")));
+        uut3.setArtifactPattern("*/bom.xml");
+        uut3.setProjectVersion("${my.version}");
+        assertThatCode(() -> uut3.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Batch_DuplicateProject("a 1.0"));
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void defaults() {
+        final var uut = new DependencyTrackBatchPublisher(true, clientFactory);
+        assertThat(uut.getArtifacts()).isEmpty();
+        assertThat(uut.getProjectNameTemplate()).isEqualTo(DependencyTrackBatchPublisher.DIR_PLACEHOLDER);
+        assertThat(uut.getParallelism()).isEqualTo(4);
+        uut.setParallelism(2);
+        assertThat(uut.getParallelism()).isEqualTo(2);
+    }
+
+    @Test
+    void publishesAsynchronously(@TempDir Path tmpWork) throws IOException {
+        final var workDir = workspace(tmpWork, "a/bom.xml", "b/bom.xml", "c/bom.xml");
+        final var uut = new DependencyTrackBatchPublisher(false, clientFactory);
+        uut.setArtifactPattern("*/bom.xml");
+        uut.setProjectNameTemplate("svc-{dir}");
+        uut.setProjectVersion("${my.version}");
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token"));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).uploadBom(new ProjectData(null, "svc-a", "1.0", true, null), "<bom name=\"a/bom.xml\" />");
+        verify(client).uploadBom(new ProjectData(null, "svc-b", "1.0", true, null), "<bom name=\"b/bom.xml\" />");
+        verify(client).uploadBom(new ProjectData(null, "svc-c", "1.0", true, null), "<bom name=\"c/bom.xml\" />");
+        verify(client, never()).isTokenBeingProcessed(anyString());
+        verify(build, never()).addOrReplaceAction(any(ResultAction.class));
+    }
+
+    @Test
+    void publishesSynchronouslyAndAggregatesResults(@TempDir Path tmpWork) throws IOException {
+        final var workDir = workspace(tmpWork, "a/bom.xml", "b/sbom.json");
+        final var uut = new DependencyTrackBatchPublisher(true, clientFactory);
+        final var explicit = new BatchArtifact("a/bom.xml");
+        explicit.setProjectId("uuid-a");
+        uut.setArtifacts(List.of(explicit));
+        uut.setArtifactPattern("b/*.json");
+        uut.setProjectNameTemplate("{file}");
+        uut.setProjectVersion("2.0");
+
+        when(client.uploadBom(argThat(p -> p != null && "uuid-a".equals(p.id())), anyString())).thenReturn(new UploadResult(true, "token-a"));
+        when(client.uploadBom(argThat(p -> p != null && "sbom".equals(p.name())), anyString())).thenReturn(new UploadResult(true, "token-b"));
+        when(client.isTokenBeingProcessed("token-a")).thenReturn(Boolean.FALSE);
+        when(client.isTokenBeingProcessed("token-b")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
+        when(client.lookupProject("sbom", "2.0")).thenReturn(Project.builder().uuid("uuid-b").build());
+        when(client.getFindings("uuid-a", FindingsQuery.DEFAULT)).thenReturn(List.of(finding("1", Severity.CRITICAL), finding("2", Severity.LOW)));
+        when(client.getFindings("uuid-b", FindingsQuery.DEFAULT)).thenReturn(List.of(finding("3", Severity.CRITICAL)));
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of(VIEW_POLICY_VIOLATION.toString())).build());
+        when(client.getViolations(anyString())).thenReturn(List.of());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        // each upload is polled on its own: token-a is not checked again while token-b is still being processed
+        verify(client).isTokenBeingProcessed("token-a");
+        verify(client, times(2)).isTokenBeingProcessed("token-b");
+        verify(client, times(1)).lookupProject(anyString(), anyString());
+        verify(client).getViolations("uuid-a");
+        verify(client).getViolations("uuid-b");
+        final var actions = ArgumentCaptor.forClass(Action.class);
+        verify(build, times(3)).addOrReplaceAction(actions.capture());
+        assertThat(actions.getAllValues()).filteredOn(ResultAction.class::isInstance).singleElement().asInstanceOf(InstanceOfAssertFactories.type(ResultAction.class)).satisfies(action -> {
+            assertThat(action.getFindings()).hasSize(3);
+            assertThat(action.getSeverityDistribution().getCritical()).isEqualTo(2);
+            assertThat(action.getSeverityDistribution().getLow()).isEqualTo(1);
+            assertThat(action.getProjectName()).isEqualTo(Messages.Builder_Batch_ProjectName(2));
+            assertThat(action.isAggregated()).isTrue();
+        });
+        assertThat(actions.getAllValues()).hasAtLeastOneElementOfType(ViolationsRunAction.class).hasAtLeastOneElementOfType(TimingAction.class);
+        verify(build).addAction(argThat(action -> action instanceof ResultLinkAction link && "uuid-a".equals(link.getProjectId())));
+        verify(build).addAction(argThat(action -> action instanceof ResultLinkAction link && "uuid-b".equals(link.getProjectId()) && "sbom".equals(link.getProjectName())));
+    }
+
+    @Test
+    void invalidBomIsNotUploaded(@TempDir Path tmpWork) throws IOException {
+        // the BOMs of the workspace lack the namespace of CycloneDX
+        final var workDir = workspace(tmpWork, "a/bom.xml");
+        final var uut = new DependencyTrackBatchPublisher(false, clientFactory);
+        uut.setArtifacts(List.of(artifact("a/bom.xml", "a", "1.0")));
+        uut.setValidateBom(true);
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class)
+                .hasMessage(Messages.Builder_Bom_Invalid("a/bom.xml", Messages.BomValidator_NotCycloneDx()));
+        verify(client, never()).uploadBom(any(ProjectData.class), anyString());
+    }
+
+    @Test
+    void uploadsAreBounded(@TempDir Path tmpWork) throws IOException {
+        final var workDir = workspace(tmpWork, "a/bom.xml", "b/bom.xml", "c/bom.xml", "d/bom.xml", "e/bom.xml");
+        final var uut = new DependencyTrackBatchPublisher(false, clientFactory);
+        uut.setArtifactPattern("*/bom.xml");
+        uut.setProjectVersion("1.0");
+        uut.setParallelism(2);
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return new UploadResult(true, "token");
+        });
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client, times(5)).uploadBom(any(ProjectData.class), anyString());
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void failedUploadAbortsAfterAllUploads(@TempDir Path tmpWork) throws IOException {
+        final var workDir = workspace(tmpWork, "a/bom.xml", "b/bom.xml", "c/bom.xml");
+        final var uut = new DependencyTrackBatchPublisher(true, clientFactory);
+        uut.setArtifactPattern("*/bom.xml");
+        uut.setProjectVersion("1.0");
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token"));
+        when(client.uploadBom(argThat(p -> p != null && "b".equals(p.name())), anyString())).thenReturn(new UploadResult(false));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Batch_Upload_Failed("b/bom.xml"));
+        verify(client, times(3)).uploadBom(any(ProjectData.class), anyString());
+        verify(client, never()).isTokenBeingProcessed(anyString());
+    }
+}
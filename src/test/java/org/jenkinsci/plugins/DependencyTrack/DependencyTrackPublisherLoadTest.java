@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.domains.Domain;
+import hudson.Launcher;
+import hudson.model.AbstractBuild;
+import hudson.model.BuildListener;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.queue.QueueTaskFuture;
+import hudson.util.Secret;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.jenkinsci.plugins.DependencyTrack.simulator.DependencyTrackSimulator;
+import org.jenkinsci.plugins.plaincredentials.impl.StringCredentialsImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestBuilder;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishes from many concurrent builds to a {@link DependencyTrackSimulator}.
+ * Only runs if the system property
+ * {@code DependencyTrackPublisherLoadTest.enabled} is {@code true}. The number of builds and findings can be raised via the system properties
+ * {@code DependencyTrackPublisherLoadTest.builds} and
+ * {@code DependencyTrackPublisherLoadTest.findings}.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@Slf4j
+@WithJenkins
+@EnabledIfSystemProperty(named = "DependencyTrackPublisherLoadTest.enabled", matches = "true")
+class DependencyTrackPublisherLoadTest {
+
+    private static final int BUILDS = Integer.getInteger(DependencyTrackPublisherLoadTest.class.getSimpleName() + ".builds", 8);
+    private static final int FINDINGS = Integer.getInteger(DependencyTrackPublisherLoadTest.class.getSimpleName() + ".findings", 5_000);
+
+    @Test
+    void publishFromConcurrentBuilds(JenkinsRule r) throws Exception {
+        try (var simulator = new DependencyTrackSimulator("api-key", FINDINGS, FINDINGS / 10)) {
+            simulator.setProcessingTime(Duration.ofSeconds(2));
+            simulator.setLatency(Duration.ofMillis(5));
+            simulator.setJitter(Duration.ofMillis(20));
+            CredentialsProvider.lookupStores(r.jenkins).iterator().next().addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, "api-key-id", "DependencyTrackPublisherLoadTest", Secret.fromString("api-key")));
+            final var descriptor = r.jenkins.getDescriptorByType(DescriptorImpl.class);
+            descriptor.setDependencyTrackUrl(simulator.getUrl());
+            descriptor.setDependencyTrackApiKey("api-key-id");
+            descriptor.setDependencyTrackPollingInterval(1);
+            r.jenkins.setNumExecutors(BUILDS);
+
+            final List<FreeStyleProject> jobs = new ArrayList<>(BUILDS);
+            for (int i = 0; i < BUILDS; i++) {
+                final FreeStyleProject job = r.createFreeStyleProject("load-" + i);
+                job.getBuildersList().add(new WriteBom());
+                final var publisher = new DependencyTrackPublisher("bom.xml", true);
+                publisher.setProjectName(job.getName());
+                publisher.setProjectVersion("1.0");
+                job.getPublishersList().add(publisher);
+                jobs.add(job);
+            }
+            final List<QueueTaskFuture<FreeStyleBuild>> builds = new ArrayList<>(BUILDS);
+            final long start = System.nanoTime();
+            jobs.forEach(job -> builds.add(job.scheduleBuild2(0)));
+            for (final var future : builds) {
+                final FreeStyleBuild build = r.assertBuildStatusSuccess(future);
+                assertThat(build.getAction(ResultAction.class).getFindings()).hasSize(simulator.getUnsuppressedFindingCount());
+                assertThat(build.getAction(ViolationsRunAction.class).getViolations()).hasSize(FINDINGS / 10);
+                assertThat(build.getAction(TimingAction.class)).isNotNull();
+            }
+            final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(simulator.getProjectCount()).isEqualTo(BUILDS);
+            assertThat(simulator.getRequestCount("bom")).isEqualTo(BUILDS);
+            log.info("{} builds with {} findings each published in {} ms ({} builds/s)", BUILDS, FINDINGS, elapsed.toMillis(), String.format(Locale.ENGLISH, "%.2f", BUILDS * 1000.0 / Math.max(1, elapsed.toMillis())));
+        }
+    }
+
+    private static final class WriteBom extends TestBuilder {
+
+        @Override
+        public boolean perform(AbstractBuild<?, ?> build, Launcher launcher, BuildListener listener) throws InterruptedException, IOException {
+            build.getWorkspace().child("bom.xml").write("<bom />", StandardCharsets.UTF_8.name());
+            return true;
+        }
+    }
+}
@@ -36,24 +36,36 @@ import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
 import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
 import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.api.PageSizing;
 import org.jenkinsci.plugins.DependencyTrack.api.UploadResult;
+import org.jenkinsci.plugins.DependencyTrack.model.Analysis;
+import org.jenkinsci.plugins.DependencyTrack.model.Component;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
 import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetrics;
+import org.jenkinsci.plugins.DependencyTrack.model.Severity;
 import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
 import org.jenkinsci.plugins.DependencyTrack.model.Team;
 import org.jenkinsci.plugins.DependencyTrack.model.Violation;
 import org.jenkinsci.plugins.DependencyTrack.model.ViolationState;
 import org.jenkinsci.plugins.DependencyTrack.model.ViolationType;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
 import org.jenkinsci.plugins.plaincredentials.impl.StringCredentialsImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
 import org.mockito.Mock;
@@ -66,12 +78,14 @@ import static org.awaitility.Awaitility.await;
 import static org.jenkinsci.plugins.DependencyTrack.model.Permissions.VIEW_POLICY_VIOLATION;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.assertArg;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -163,6 +177,26 @@ class DependencyTrackPublisherTest {
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Error_Processing("foo", "fileReadErrorTest"));
     }
 
+    @Test
+    void failFastIfServerIsDown(JenkinsRule r, @TempDir Path tmpWork) throws IOException {
+        final String url = "http://down.tld";
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        final DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), false, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackUrl(url);
+        final var monitor = HealthMonitor.get();
+        monitor.register(url);
+        for (int i = 0; i < ServerHealth.FAILURE_THRESHOLD; i++) {
+            monitor.getHealth(url).recordFailure("down", 1);
+        }
+        r.jenkins.getDescriptorByType(DescriptorImpl.class).setDependencyTrackUnavailableAction(UnavailableAction.FAIL);
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Health_Unavailable(url));
+        verifyNoInteractions(client);
+    }
+
     @Test
     void doNotThrowNPEinGetEffectiveApiKey(@TempDir Path tmpWork) throws IOException {
         File tmp = tmpWork.resolve("bom.xml").toFile();
@@ -190,7 +224,7 @@ class DependencyTrackPublisherTest {
                 .thenReturn(new UploadResult(false));
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
-        verify(client, never()).getFindings(anyString());
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class));
         verify(client, never()).getTeamPermissions();
         verify(client, never()).getViolations(anyString());
         verify(client, never()).lookupProject(anyString(), anyString());
@@ -224,7 +258,7 @@ class DependencyTrackPublisherTest {
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
-        verify(client, never()).getFindings(anyString());
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class));
         verify(client, never()).getTeamPermissions();
         verify(client, never()).getViolations(anyString());
         verify(client, never()).lookupProject(anyString(), anyString());
@@ -259,7 +293,7 @@ class DependencyTrackPublisherTest {
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
         verify(client, never()).lookupProject(anyString(), anyString());
-        verify(client, never()).getFindings(anyString());
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class));
         verify(client, never()).getTeamPermissions();
         verify(client, never()).getViolations(anyString());
         verify(client, never()).isTokenBeingProcessed(anyString());
@@ -271,6 +305,64 @@ class DependencyTrackPublisherTest {
         }), anyString());
     }
 
+    @Test
+    void mergesArtifactsMatchingPattern(@TempDir Path tmpWork) throws IOException {
+        Files.createDirectories(tmpWork.resolve("a"));
+        Files.createDirectories(tmpWork.resolve("b"));
+        Files.writeString(tmpWork.resolve("a/bom.json"), """
+                {"bomFormat":"CycloneDX","specVersion":"1.5","components":[{"name":"lib","purl":"pkg:npm/lib@1.0"}]}""");
+        Files.writeString(tmpWork.resolve("b/bom.json"), """
+                {"bomFormat":"CycloneDX","specVersion":"1.5","components":[{"name":"lib","purl":"pkg:npm/lib@1.0"},{"name":"other","purl":"pkg:npm/other@1.0"}]}""");
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        final DependencyTrackPublisher uut = new DependencyTrackPublisher("*/bom.json", false, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).uploadBom(any(ProjectData.class), assertArg(bom -> assertThat(bom).isEqualTo("""
+                {"bomFormat":"CycloneDX","specVersion":"1.5","version":1,"components":[{"name":"lib","purl":"pkg:npm/lib@1.0"},{"name":"other","purl":"pkg:npm/other@1.0"}],"dependencies":[]}""")));
+
+        // nothing matches
+        final DependencyTrackPublisher uut2 = new DependencyTrackPublisher("*/none.json", false, clientFactory);
+        uut2.setProjectId("uuid-1");
+        assertThatCode(() -> uut2.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Artifact_NonExist("*/none.json"));
+    }
+
+    @Test
+    void validatesAndMinifiesBom(@TempDir Path tmpWork) throws IOException {
+        Files.writeString(tmpWork.resolve("bom.json"), """
+                {
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.5",
+                  "components": [ { "type": "library", "name": "lib" } ]
+                }
+                """);
+        Files.writeString(tmpWork.resolve("invalid.json"), """
+                {"bomFormat":"CycloneDX","specVersion":"1.5","components":[{"name":"lib"}]}""");
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        final DependencyTrackPublisher uut = new DependencyTrackPublisher("bom.json", false, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setValidateBom(true);
+
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).uploadBom(any(ProjectData.class), eq("""
+                {"bomFormat":"CycloneDX","specVersion":"1.5","components":[{"type":"library","name":"lib"}]}"""));
+
+        // an invalid BOM is rejected before anything is sent
+        final DependencyTrackPublisher uut2 = new DependencyTrackPublisher("invalid.json", false, clientFactory);
+        uut2.setProjectId("uuid-1");
+        uut2.setDependencyTrackApiKey(apikeyId);
+        uut2.setValidateBom(true);
+        assertThatCode(() -> uut2.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class)
+                .hasMessageStartingWith("The artifact \"invalid.json\" is not a valid CycloneDX BOM");
+        verify(client, times(1)).uploadBom(any(ProjectData.class), anyString());
+    }
+
     @Test
     void testPerformSyncNoVex(@TempDir Path tmpWork) throws IOException {
         File tmp = tmpWork.resolve("bom.xml").toFile();
@@ -283,7 +375,7 @@ class DependencyTrackPublisherTest {
 
         when(client.uploadBom(any(ProjectData.class), eq(""))).thenReturn(new UploadResult(true, "token-1"));
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
-        when(client.getFindings("uuid-1")).thenReturn(List.of());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
         when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
 
         Run buildWithResultAction = mock(Run.class);
@@ -299,7 +391,7 @@ class DependencyTrackPublisherTest {
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
         verify(client, times(2)).isTokenBeingProcessed("token-1");
-        verify(client).getFindings("uuid-1");
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
         verify(client).getTeamPermissions();
         verify(buildWithResultAction, times(2)).getAction(ResultAction.class);
         verify(client, never()).uploadVex(any(ProjectData.class), anyString());
@@ -312,6 +404,192 @@ class DependencyTrackPublisherTest {
         verify(build).addOrReplaceAction(any(ResultAction.class));
         verify(build).addOrReplaceAction(any(ResultLinkAction.class));
         verify(build, never()).addOrReplaceAction(any(ViolationsRunAction.class));
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof TimingAction timing
+                && timing.getPhases().stream().map(TimingAction.PhaseTiming::getPhase).toList().equals(List.of("readArtifact", "uploadBom", "waitWhileTokenIsBeingProcessed", "getFindings", "getViolations", "evaluateRiskGates"))));
+    }
+
+    @Test
+    void publishesOnAgent(@TempDir Path tmpWork) throws IOException {
+        Files.writeString(tmpWork.resolve("bom.xml"), "<bom/>");
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher("bom.xml", true, clientFactory);
+        uut.setProjectName("name-1");
+        uut.setProjectVersion("version-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setUnstableTotalCritical(1);
+        uut.setRunOnAgent(true);
+
+        when(client.uploadBom(any(ProjectData.class), eq("<bom/>"))).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.lookupProject("name-1", "version-1")).thenReturn(Project.builder().name("name-1").version("version-1").uuid("uuid-1").build());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of(VIEW_POLICY_VIOLATION.toString())).build());
+        when(client.getViolations("uuid-1")).thenReturn(List.of());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).lookupProject("name-1", "version-1");
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result && "uuid-1".equals(result.getProjectId())));
+        verify(build).addOrReplaceAction(any(ViolationsRunAction.class));
+        verify(build).addOrReplaceAction(any(ResultLinkAction.class));
+        verify(build, times(2)).addAction(any(UploadState.class));
+        verify(build).removeAction(any(UploadState.class));
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof TimingAction timing
+                && timing.getPhases().stream().map(TimingAction.PhaseTiming::getPhase).toList().equals(List.of("readArtifact", "uploadBom", "waitWhileTokenIsBeingProcessed", "lookupProjectId", "getFindings", "getViolations", "evaluateRiskGates"))));
+    }
+
+    @Test
+    void tokenIsRecordedBeforeWaitingOnAgent(@TempDir Path tmpWork) throws IOException {
+        Files.writeString(tmpWork.resolve("bom.xml"), "<bom/>");
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher("bom.xml", true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setRunOnAgent(true);
+
+        when(client.uploadBom(any(ProjectData.class), eq("<bom/>"))).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenAnswer(invocation -> {
+            verify(build).addAction(argThat(action -> action instanceof UploadState state && "token-1".equals(state.getToken())));
+            verify(build).save();
+            return Boolean.FALSE;
+        });
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).isTokenBeingProcessed("token-1");
+        verify(build, times(2)).save();
+    }
+
+    @Test
+    void uploadStateIsSavedUntilPublishingIsComplete(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+
+        when(client.uploadBom(any(ProjectData.class), eq(""))).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(build, times(2)).addAction(argThat(action -> action instanceof UploadState state
+                && "token-1".equals(state.getToken())));
+        verify(build, times(2)).save();
+        verify(build).removeAction(argThat(action -> action instanceof UploadState state
+                && state.hasReached(UploadState.Progress.PROCESSED) && "uuid-1".equals(state.getProjectUuid())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void uploadStateIsRemovedWhenEvaluationAborts(final boolean runOnAgent, @TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setFailOnViolationFail(true);
+        uut.setRunOnAgent(runOnAgent);
+
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of(VIEW_POLICY_VIOLATION.toString())).build());
+        when(client.getViolations("uuid-1")).thenReturn(List.of(new Violation("uuid-1", ViolationType.SECURITY, ViolationState.FAIL, "rule-1", null)));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Violations_Exceed());
+        verify(build).removeAction(argThat(action -> action instanceof UploadState state && "token-1".equals(state.getToken())));
+    }
+
+    @Test
+    void uploadStatesOfOtherUploadsAreKept(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), false, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        final var other = UploadState.resume(List.of(), "", new ProjectData("uuid-2", null, null, true, null), "");
+        other.uploaded(UploadState.Progress.BOM_UPLOADED, "token-2");
+
+        when(build.getActions(UploadState.class)).thenReturn(List.of(other));
+        when(client.uploadBom(any(ProjectData.class), eq(""))).thenReturn(new UploadResult(true, "token-1"));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(build).addAction(argThat(action -> action instanceof UploadState state && "token-1".equals(state.getToken())));
+        verify(build, never()).addOrReplaceAction(any(UploadState.class));
+        verify(build, never()).removeAction(other);
+    }
+
+    @Test
+    void resumeWaitingForProcessing(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectName("my-project");
+        uut.setProjectVersion("1.0");
+        uut.setDependencyTrackApiKey(apikeyId);
+        final var state = UploadState.resume(List.of(), "", new ProjectData(null, "my-project", "1.0", true, null), "");
+        state.uploaded(UploadState.Progress.BOM_UPLOADED, "token-1");
+
+        when(build.getActions(UploadState.class)).thenReturn(List.of(state));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.lookupProject("my-project", "1.0")).thenReturn(Project.builder().uuid("uuid-1").build());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client, never()).uploadBom(any(ProjectData.class), anyString());
+        verify(client).isTokenBeingProcessed("token-1");
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
+        assertThat(state.getProjectUuid()).isEqualTo("uuid-1");
+        verify(build).removeAction(state);
+    }
+
+    @Test
+    void resumeRetrievingResults(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectName("my-project");
+        uut.setProjectVersion("1.0");
+        uut.setDependencyTrackApiKey(apikeyId);
+        final var state = UploadState.resume(List.of(), "", new ProjectData(null, "my-project", "1.0", true, null), "");
+        state.uploaded(UploadState.Progress.BOM_UPLOADED, "token-1");
+        state.processed("uuid-1");
+
+        when(build.getActions(UploadState.class)).thenReturn(List.of(state));
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client, never()).uploadBom(any(ProjectData.class), anyString());
+        verify(client, never()).isTokenBeingProcessed(anyString());
+        verify(client, never()).lookupProject(anyString(), anyString());
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
+    }
+
+    @Test
+    void changedBomIsUploadedAgain(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), false, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        final var state = UploadState.resume(List.of(), "", new ProjectData("uuid-1", null, null, true, null), "<old />");
+        state.uploaded(UploadState.Progress.BOM_UPLOADED, "token-1");
+
+        when(build.getActions(UploadState.class)).thenReturn(List.of(state));
+        when(client.uploadBom(any(ProjectData.class), eq(""))).thenReturn(new UploadResult(true, "token-2"));
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).uploadBom(any(ProjectData.class), eq(""));
     }
 
     @Test
@@ -331,7 +609,7 @@ class DependencyTrackPublisherTest {
         when(client.uploadVex(any(ProjectData.class), eq("<vex />"))).thenReturn(new UploadResult(true, "token-2"));
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
         when(client.isTokenBeingProcessed("token-2")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
-        when(client.getFindings("uuid-1")).thenReturn(List.of());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
         when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
 
         Run buildWithResultAction = mock(Run.class);
@@ -348,7 +626,7 @@ class DependencyTrackPublisherTest {
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
         verify(client, times(2)).isTokenBeingProcessed("token-1");
         verify(client, times(2)).isTokenBeingProcessed("token-2");
-        verify(client).getFindings("uuid-1");
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
         verify(client).getTeamPermissions();
         verify(buildWithResultAction, times(2)).getAction(ResultAction.class);
         verify(client).uploadBom(assertArg(data -> {
@@ -363,6 +641,8 @@ class DependencyTrackPublisherTest {
             assertThat(data.version()).isNull();
             assertThat(data.properties()).isNull();
         }), eq("<vex />"));
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof TimingAction timing
+                && timing.getPhases().stream().filter(phase -> phase.getCount() == 2).map(TimingAction.PhaseTiming::getPhase).toList().equals(List.of("readArtifact", "waitWhileTokenIsBeingProcessed"))));
     }
 
     @Test
@@ -376,7 +656,7 @@ class DependencyTrackPublisherTest {
 
         when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
-        when(client.getFindings("uuid-1")).thenReturn(List.of());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
         when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
 
         Run abortedBuild = mock(Run.class);
@@ -385,11 +665,190 @@ class DependencyTrackPublisherTest {
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
         verify(client, times(2)).isTokenBeingProcessed("token-1");
-        verify(client).getFindings("uuid-1");
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
         verify(client).getTeamPermissions();
         verify(abortedBuild, never()).getAction(ResultAction.class);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPerformSyncFailFast(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setFailedTotalCritical(1);
+        uut.setFailFast(true);
+
+        final var component = new Component("c-1", "name", "group", "1.0", "purl");
+        final var vulnerability = new Vulnerability("v-1", "NVD", "CVE-1", null, null, null, null, Severity.CRITICAL, 0, null, null, null);
+        final var firstPage = List.of(new Finding(component, vulnerability, null, "matrix-1"));
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings(eq("uuid-1"), eq(FindingsQuery.DEFAULT), any(Predicate.class))).thenAnswer(invocation -> {
+            final Predicate<List<Finding>> continueFetching = invocation.getArgument(2);
+            assertThat(continueFetching.test(firstPage)).isFalse();
+            return firstPage;
+        });
+        Run abortedBuild = mock(Run.class);
+        when(abortedBuild.getResult()).thenReturn(Result.NOT_BUILT);
+        when(build.getPreviousSuccessfulBuild()).thenReturn(abortedBuild);
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Threshold_Exceed());
+        verify(client, never()).getFindings("uuid-1", FindingsQuery.DEFAULT);
+        verify(client, never()).getTeamPermissions();
+        verify(client, never()).getViolations(anyString());
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result && result.isPartial() && result.getFindings().size() == 1));
+        // the timings are recorded even if the build fails
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof TimingAction timing
+                && timing.getPhases().stream().anyMatch(phase -> phase.getPhase().equals("evaluateRiskGates"))));
+    }
+
+    @Test
+    void findingsAreComparedExactlyToBaselineOfSameProject(@TempDir Path tmpWork) throws IOException {
+        // same severities as in the baseline but another vulnerability, so only the exact comparison detects it as new
+        assertThatCode(() -> performWithBaseline(tmpWork, "version-1", "uuid-1", "v-2")).isInstanceOf(AbortException.class);
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result && result.getDiff() != null));
+    }
+
+    @Test
+    void findingsOfAnotherProjectVersionAreComparedByCounts(@TempDir Path tmpWork) throws IOException {
+        // the same finding is reported with another matrix in every version of the project
+        assertThatCode(() -> performWithBaseline(tmpWork, "version-2", "uuid-2", "v-1")).doesNotThrowAnyException();
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result && result.getDiff() == null));
+    }
+
+    private void performWithBaseline(Path tmpWork, String version, String projectUuid, String vulnerabilityUuid) throws IOException, InterruptedException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectName("name-1");
+        uut.setProjectVersion(version);
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setRiskGateRules("FAILURE new >= 1");
+
+        final var component = new Component("c-1", "name", "group", "1.0", "purl");
+        final var previousFinding = new Finding(component, new Vulnerability("v-1", "NVD", "CVE-1", null, null, null, null, Severity.HIGH, 0, null, null, null), null, "uuid-1:c-1:v-1");
+        final var previousDistribution = new SeverityDistribution(0);
+        previousDistribution.add(Severity.HIGH);
+        final var previousResult = new ResultAction(List.of(previousFinding), previousDistribution);
+        previousResult.setProjectId("uuid-1");
+        Run previousBuild = mock(Run.class);
+        when(previousBuild.getResult()).thenReturn(Result.SUCCESS);
+        when(previousBuild.getAction(ResultAction.class)).thenReturn(previousResult);
+        when(build.getPreviousSuccessfulBuild()).thenReturn(previousBuild);
+
+        final var currentFinding = new Finding(component, new Vulnerability(vulnerabilityUuid, "NVD", "CVE-1", null, null, null, null, Severity.HIGH, 0, null, null, null), null, projectUuid + ":c-1:" + vulnerabilityUuid);
+        when(client.lookupProject("name-1", version)).thenReturn(Project.builder().uuid(projectUuid).build());
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings(projectUuid, FindingsQuery.DEFAULT)).thenReturn(List.of(currentFinding));
+
+        uut.perform(build, workDir, env, launcher, listener);
+    }
+
+    @Test
+    void invalidRiskGateRulesAbortBeforeUpload(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setRiskGateRules("FAILURE total findings > 1");
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessageStartingWith(Messages.Builder_Threshold_InvalidRules("").trim());
+        verify(client, never()).uploadBom(any(ProjectData.class), anyString());
+        verify(client, never()).updateProjectProperties(anyString(), any());
+    }
+
+    @Test
+    void testPerformSyncSuppressedFindings(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setRiskGateRules("FAILURE total findings >= 1 suppressed=true");
+        uut.setCompactFindings(true);
+
+        final var component = new Component("c-1", "name", "group", "1.0", "purl");
+        final var vulnerability = new Vulnerability("v-1", "NVD", "CVE-1", null, null, null, null, Severity.HIGH, 1, null, null, null);
+        final var otherVulnerability = new Vulnerability("v-2", "NVD", "CVE-2", null, null, null, null, Severity.LOW, 3, null, null, null);
+        final var suppressed = new Finding(component, vulnerability, new Analysis("FALSE_POSITIVE", true), "matrix-1");
+        final var unsuppressed = new Finding(component, otherVulnerability, null, "matrix-2");
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings("uuid-1", new FindingsQuery(true, false))).thenReturn(List.of(suppressed, unsuppressed));
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Threshold_Exceed());
+        // the suppressed finding is evaluated but not recorded
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result
+                && result.getFindings().equals(List.of(unsuppressed))
+                && result.getSeverityDistribution().getLow() == 1 && result.getSeverityDistribution().getHigh() == 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPerformSyncCountsOnly(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setUnstableTotalHigh(1);
+        uut.setCountsOnly(true);
+
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        // the metrics of the previous upload first, then those calculated after the refresh
+        when(client.getCurrentMetrics("uuid-1")).thenReturn(
+                ProjectMetrics.builder().critical(5).lastOccurrence(1).build(),
+                ProjectMetrics.builder().critical(5).lastOccurrence(1).build(),
+                ProjectMetrics.builder().high(2).lastOccurrence(2).build());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).refreshMetrics("uuid-1");
+        verify(client, times(3)).getCurrentMetrics("uuid-1");
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class));
+        verify(client, never()).getFindings(anyString(), any(FindingsQuery.class), any(Predicate.class));
+        verify(build).setResult(Result.UNSTABLE);
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result
+                && result.isCountsOnly() && result.getFindings() == null
+                && result.getSeverityDistribution().getHigh() == 2 && result.getSeverityDistribution().getCritical() == 0
+                && apikeyId.equals(result.getApiKeyCredentialsId())));
+    }
+
+    @Test
+    void testPerformSyncCountsOnlyNotApplicable(@TempDir Path tmpWork) throws IOException {
+        File tmp = tmpWork.resolve("bom.xml").toFile();
+        tmp.createNewFile();
+        FilePath workDir = new FilePath(tmpWork.toFile());
+        DependencyTrackPublisher uut = new DependencyTrackPublisher(tmp.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setRiskGateRules("UNSTABLE total findings >= 1 cvss=9.0");
+        uut.setCountsOnly(true);
+
+        when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+
+        assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
+        verify(client, never()).refreshMetrics(anyString());
+        verify(client, never()).getCurrentMetrics(anyString());
+        verify(build).addOrReplaceAction(argThat(action -> action instanceof ResultAction result && !result.isCountsOnly()));
+    }
+
     @Test
     void testPerformSyncNoThresholdsWarnOnViolationWarn(@TempDir Path tmpWork) throws IOException {
         File tmp = tmpWork.resolve("bom.xml").toFile();
@@ -402,13 +861,13 @@ class DependencyTrackPublisherTest {
 
         when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
-        when(client.getFindings("uuid-1")).thenReturn(List.of());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
         when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of(VIEW_POLICY_VIOLATION.toString())).build());
         when(client.getViolations("uuid-1")).thenReturn(List.of(new Violation("uuid-1", ViolationType.SECURITY, ViolationState.WARN, "rule-1", null)));
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
         verify(client).isTokenBeingProcessed("token-1");
-        verify(client).getFindings("uuid-1");
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
         verify(client).getTeamPermissions();
         verify(client).getViolations("uuid-1");
         verify(build).setResult(Result.UNSTABLE);
@@ -429,7 +888,7 @@ class DependencyTrackPublisherTest {
 
         when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.FALSE);
-        when(client.getFindings("uuid-1")).thenReturn(List.of());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
         when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of(VIEW_POLICY_VIOLATION.toString())).build());
         when(client.getViolations("uuid-1")).thenReturn(List.of(new Violation("uuid-1", ViolationType.SECURITY, ViolationState.FAIL, "rule-1", null)));
 
@@ -462,7 +921,7 @@ class DependencyTrackPublisherTest {
 
         when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(true, "token-1"));
         when(client.isTokenBeingProcessed("token-1")).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
-        when(client.getFindings("uuid-1")).thenReturn(List.of());
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
         when(client.getTeamPermissions()).thenReturn(team);
         when(client.getViolations("uuid-1")).thenReturn(List.of());
         when(client.lookupProject("name-1", "version-1")).thenReturn(Project.builder().uuid("uuid-1").build());
@@ -470,7 +929,7 @@ class DependencyTrackPublisherTest {
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException();
         assertThat(uut.getProjectId()).isNullOrEmpty();
         verify(client, times(2)).isTokenBeingProcessed("token-1");
-        verify(client).getFindings("uuid-1");
+        verify(client).getFindings("uuid-1", FindingsQuery.DEFAULT);
         verify(client).getTeamPermissions();
         verify(client).getViolations("uuid-1");
         verify(client).updateProjectProperties(eq("uuid-1"), assertArg(actualProps -> {
@@ -508,10 +967,13 @@ class DependencyTrackPublisherTest {
         uut.setDependencyTrackPollingTimeout(1);
         uut.setDependencyTrackConnectionTimeout(1);
         uut.setDependencyTrackReadTimeout(1);
+        uut.setDependencyTrackPageSize(250);
+        uut.setDependencyTrackAdaptivePaging(true);
 
         when(client.uploadBom(any(ProjectData.class), anyString())).thenReturn(new UploadResult(false));
 
         assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).isInstanceOf(AbortException.class).hasMessage(Messages.Builder_Upload_Failed());
+        verify(client).setPageSizing(new PageSizing(250, true));
     }
 
     @Test
@@ -526,6 +988,8 @@ class DependencyTrackPublisherTest {
         uut.setDependencyTrackPollingTimeout(1);
         uut.setDependencyTrackConnectionTimeout(1);
         uut.setDependencyTrackReadTimeout(1);
+        uut.setDependencyTrackPageSize(250);
+        uut.setDependencyTrackAdaptivePaging(true);
         uut.setOverrideGlobals(false);
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -542,6 +1006,8 @@ class DependencyTrackPublisherTest {
                 assertThat(actual.getDependencyTrackPollingTimeout()).isNull();
                 assertThat(actual.getDependencyTrackConnectionTimeout()).isNull();
                 assertThat(actual.getDependencyTrackReadTimeout()).isNull();
+                assertThat(actual.getDependencyTrackPageSize()).isNull();
+                assertThat(actual.getDependencyTrackAdaptivePaging()).isNull();
                 assertThat(actual.isOverrideGlobals()).isFalse();
             });
         }
@@ -582,6 +1048,31 @@ class DependencyTrackPublisherTest {
         }
     }
 
+    @Test
+    void notificationEndsWaitingEarly(JenkinsRule r, @TempDir Path tmpWork) throws IOException {
+        CredentialsProvider.lookupStores(r.jenkins).iterator().next().addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, "webhook-secret-id", "DependencyTrackPublisherTest", Secret.fromString("webhook-secret")));
+        final var descriptor = r.jenkins.getDescriptorByType(DescriptorImpl.class);
+        descriptor.setDependencyTrackWebhookSecret("webhook-secret-id");
+        var bom = tmpWork.resolve("bom.xml").toFile();
+        bom.createNewFile();
+        var workDir = new FilePath(tmpWork.toFile());
+        var uut = new DependencyTrackPublisher(bom.getName(), true, clientFactory);
+        uut.setProjectId("uuid-1");
+        uut.setDependencyTrackApiKey(apikeyId);
+        uut.setDependencyTrackPollingInterval(60);
+
+        when(client.uploadBom(any(ProjectData.class), eq(""))).thenReturn(new UploadResult(true, "token-1"));
+        when(client.isTokenBeingProcessed("token-1")).thenReturn(false);
+        when(client.getFindings("uuid-1", FindingsQuery.DEFAULT)).thenReturn(List.of());
+        when(client.getTeamPermissions()).thenReturn(Team.builder().name("test-team").permissions(Set.of()).build());
+        // the notification may arrive before the build starts to wait for it
+        NotificationReceiver.get().accept(new NotificationReceiver.Notification("BOM_PROCESSED", "token-1", "uuid-1", null, null, Instant.now()));
+
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThatCode(() -> uut.perform(build, workDir, env, launcher, listener)).doesNotThrowAnyException());
+        verify(client).isTokenBeingProcessed("token-1");
+    }
+
     @Test
     void verifyPollingTimeout(@TempDir Path tmpWork) throws IOException {
         var bom = tmpWork.resolve("bom.xml").toFile();
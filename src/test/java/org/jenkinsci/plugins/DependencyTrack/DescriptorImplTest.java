@@ -102,12 +102,63 @@ class DescriptorImplTest {
                     new ListBoxModel.Option("Project 2 1.2.3", "uuid-2", false)
             );
 
+            // served from the catalogue
             assertThat(uut.doFillProjectIdItems(null, null, null)).usingRecursiveFieldByFieldElementComparatorOnFields("name", "value", "selected").containsExactly(
+                    new ListBoxModel.Option(Messages.Publisher_ProjectList_Placeholder(), "", false),
+                    new ListBoxModel.Option("Project 1", "uuid-1", false),
+                    new ListBoxModel.Option("Project 2 1.2.3", "uuid-2", false)
+            );
+            verify(client).getProjects();
+
+            // other server is not cached yet
+            assertThat(uut.doFillProjectIdItems("http://other.tld", null, null)).usingRecursiveFieldByFieldElementComparatorOnFields("name", "value", "selected").containsExactly(
                     new ListBoxModel.Option(Messages.Builder_Error_Projects("test failure"), "", false)
             );
         }
     }
 
+    @Test
+    void doAutoCompleteProjectNameTest() throws ApiClientException {
+        when(client.searchProjects("proj", 20)).thenReturn(List.of(
+                Project.builder().name("Project 1").uuid("uuid-1").build(),
+                Project.builder().name("Project 1").uuid("uuid-2").version("1.2.3").build(),
+                Project.builder().name("Project 2").uuid("uuid-3").build()
+        ));
+
+        try (ACLContext ignored = ACL.as(User.getOrCreateByIdOrFullName(ACL.SYSTEM_USERNAME))) {
+            assertThat(uut.doAutoCompleteProjectName("p", null, null, null).getValues()).isEmpty();
+            assertThat(uut.doAutoCompleteProjectName(" proj ", null, null, null).getValues()).containsExactly("Project 1", "Project 2");
+        }
+        verify(client).searchProjects("proj", 20);
+    }
+
+    @Test
+    void doAutoCompleteProjectNameUsesOverridesOfJob() throws IOException {
+        final List<String> servers = new ArrayList<>();
+        final var descriptor = new DescriptorImpl((url, apiKey, logger, factory) -> {
+            servers.add(url + " " + apiKey);
+            return client;
+        });
+        descriptor.setDependencyTrackUrl("http://global.tld");
+        descriptor.setDependencyTrackApiKey("global-credentials");
+        when(client.searchProjects("proj", 20)).thenReturn(List.of(Project.builder().name("Project 1").uuid("uuid-1").build()));
+
+        try (ACLContext ignored = ACL.as(User.getOrCreateByIdOrFullName(ACL.SYSTEM_USERNAME))) {
+            final var store = CredentialsProvider.lookupStores(r.jenkins).iterator().next();
+            store.addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, "global-credentials", "test", Secret.fromString("global-key")));
+            store.addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, "job-credentials", "test", Secret.fromString("job-key")));
+            final FreeStyleProject project = r.createFreeStyleProject();
+            final var publisher = new DependencyTrackPublisher("bom.xml", false);
+            publisher.setDependencyTrackUrl("http://job.tld");
+            publisher.setDependencyTrackApiKey("job-credentials");
+            project.getPublishersList().add(publisher);
+
+            assertThat(descriptor.doAutoCompleteProjectName("proj", null, null, project).getValues()).containsExactly("Project 1");
+            assertThat(descriptor.doAutoCompleteProjectName("proj", null, null, r.createFreeStyleProject()).getValues()).containsExactly("Project 1");
+        }
+        assertThat(servers).containsExactly("http://job.tld job-key", "http://global.tld global-key");
+    }
+
     @Test
     void doFillDependencyTrackApiKeyItems() throws IOException {
         final String apikey = "api-key";
@@ -125,6 +176,13 @@ class DescriptorImplTest {
         }
     }
 
+    /**
+     * @return the text of the response times in front of the first number
+     */
+    private static String latencyPrefix() {
+        return Messages.Publisher_ConnectionTest_Latency("\0", "\0", "\0").split("\0")[0];
+    }
+
     @Test
     void doTestConnectionTest() throws IOException {
         final String apikey = "api-key";
@@ -144,17 +202,20 @@ class DescriptorImplTest {
 
             assertThat(uut.doTestConnectionGlobal("http:///url.tld", credentialsid, null))
                     .hasFieldOrPropertyWithValue("kind", FormValidation.Kind.ERROR)
-                    .hasMessage(Messages.Publisher_ConnectionTest_VersionWarning("3.8.0", "4.12.0"))
+                    .hasMessageStartingWith(Messages.Publisher_ConnectionTest_VersionWarning("3.8.0", "4.12.0"))
+                    .hasMessageContaining(latencyPrefix())
                     .hasNoCause();
 
             assertThat(uut.doTestConnectionGlobal("http:///url.tld/", credentialsid, null))
                     .hasFieldOrPropertyWithValue("kind", FormValidation.Kind.ERROR)
                     .hasMessageStartingWith(Messages.Publisher_ConnectionTest_Error("test"))
+                    .hasMessageContaining(latencyPrefix())
                     .hasNoCause();
 
             assertThat(uut.doTestConnectionGlobal("http:///url.tld/", credentialsid, null))
                     .hasFieldOrPropertyWithValue("kind", FormValidation.Kind.ERROR)
                     .hasMessageStartingWith(Messages.Publisher_ConnectionTest_Error(null))
+                    .hasMessageContaining(latencyPrefix())
                     .hasMessageContaining(ApiClientException.class.getCanonicalName())
                     .hasNoCause();
 
@@ -251,6 +312,35 @@ class DescriptorImplTest {
         }
     }
 
+    @Test
+    void doTestConnectionTestIsRemembered() throws IOException, ApiClientException {
+        final String apikey = "api-key";
+        final String credentialsid = "credentials-id";
+        final Team team = Team.builder().name("test-team").permissions(requiredPermissions).build();
+        final var poweredBy = "Dependency-Track v4.12.0";
+        when(client.testConnection()).thenReturn(poweredBy);
+        when(client.getVersion()).thenReturn("4.12.0");
+        when(client.getTeamPermissions()).thenReturn(team);
+        try (ACLContext ignored = ACL.as(User.getOrCreateByIdOrFullName(ACL.SYSTEM_USERNAME))) {
+            CredentialsProvider.lookupStores(r.jenkins).iterator().next().addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, credentialsid, "test", Secret.fromString(apikey)));
+
+            assertThat(uut.doTestConnectionJob("http:///url.tld", credentialsid, false, false, null))
+                    .hasFieldOrPropertyWithValue("kind", FormValidation.Kind.OK)
+                    .extracting(FormValidation::renderHtml).asString()
+                    .contains("class=\"latency\"")
+                    .doesNotContain(Messages.Publisher_ConnectionTest_Remembered(0));
+            // permissions are evaluated again for the remembered team
+            assertThat(uut.doTestConnectionJob("http:///url.tld", credentialsid, true, false, null))
+                    .hasFieldOrPropertyWithValue("kind", FormValidation.Kind.ERROR)
+                    .extracting(FormValidation::renderHtml).asString()
+                    .contains(Messages.Publisher_PermissionTest_Missing(VIEW_VULNERABILITY))
+                    .contains(Messages.Publisher_ConnectionTest_Remembered(0));
+        }
+        verify(client).testConnection();
+        verify(client).getVersion();
+        verify(client).getTeamPermissions();
+    }
+
     @Test
     void doTestConnectionTestWithMissingRequiredPermission() throws IOException {
         final String apikey = "api-key";
@@ -342,6 +432,17 @@ class DescriptorImplTest {
         }
     }
 
+    @Test
+    void doCheckRiskGateRulesTest() {
+        try (ACLContext ignored = ACL.as(User.getOrCreateByIdOrFullName(ACL.SYSTEM_USERNAME))) {
+            assertThat(uut.doCheckRiskGateRules("", null)).isEqualTo(FormValidation.ok());
+            assertThat(uut.doCheckRiskGateRules("# comment\nFAILURE total >= 1 severity=CRITICAL cvss=9", null)).isEqualTo(FormValidation.ok());
+            assertThat(uut.doCheckRiskGateRules("FAILURE total >= 1\nFOO total >= 1", null))
+                    .hasFieldOrPropertyWithValue("kind", FormValidation.Kind.ERROR)
+                    .hasMessage("Invalid risk gate rules: line 2: result must be UNSTABLE or FAILURE");
+        }
+    }
+
     @Test
     void doCheckDependencyTrackUrlPermissionTest() throws IOException {
         final User anonymous = User.getOrCreateByIdOrFullName(ACL.ANONYMOUS_USERNAME);
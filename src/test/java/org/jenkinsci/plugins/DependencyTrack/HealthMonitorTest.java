@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.ExtensionList;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@ExtendWith(MockitoExtension.class)
+@WithJenkins
+class HealthMonitorTest {
+
+    @Mock
+    private ApiClient client;
+
+    @Test
+    void probeTracksAvailability(JenkinsRule r) throws ApiClientException {
+        final var uut = new HealthMonitor((url, apiKey, logger, httpClient) -> client);
+        doThrow(new ApiClientException("oops")).doThrow(new ApiClientException("oops")).doNothing().when(client).checkAvailability();
+
+        assertThat(uut.probe("http://dt.tld")).returns(false, ServerHealth::isDown).returns("oops", ServerHealth::getLastError);
+        assertThat(uut.probe("http://dt.tld")).returns(true, ServerHealth::isDown).satisfies(h -> assertThat(h.getDownSince()).isNotNull());
+        assertThat(uut.getServersDown()).extracting(ServerHealth::getUrl).containsExactly("http://dt.tld");
+        assertThat(uut.probe("http://dt.tld")).returns(false, ServerHealth::isDown).returns(null, ServerHealth::getLastError);
+        assertThat(uut.getServersDown()).isEmpty();
+    }
+
+    @Test
+    void registerIgnoresBlankUrls(JenkinsRule r) {
+        final var uut = new HealthMonitor((url, apiKey, logger, httpClient) -> client);
+        uut.register(null);
+        uut.register(" ");
+        uut.register("http://dt.tld");
+        uut.register("http://dt.tld");
+
+        assertThat(uut.getServers()).extracting(ServerHealth::getUrl).containsExactly("http://dt.tld");
+    }
+
+    @Test
+    void serversNoLongerRequestedAreEvicted(JenkinsRule r) {
+        final var uut = new HealthMonitor((url, apiKey, logger, httpClient) -> client);
+        uut.register("http://old.tld");
+        uut.register("http://dt.tld");
+
+        uut.evictUnrequested(System.nanoTime());
+        assertThat(uut.getServers()).extracting(ServerHealth::getUrl).containsExactly("http://dt.tld", "http://old.tld");
+
+        uut.evictUnrequested(System.nanoTime() + HealthMonitor.EXPIRY.toNanos() + 1);
+        assertThat(uut.getServers()).isEmpty();
+        assertThat(uut.getHealth("http://old.tld")).isNull();
+    }
+
+    @Test
+    void administrativeMonitorIsActivatedIfServerIsDown(JenkinsRule r) {
+        final var adminMonitor = ExtensionList.lookupSingleton(HealthAdministrativeMonitor.class);
+        assertThat(adminMonitor.isActivated()).isFalse();
+
+        final var monitor = HealthMonitor.get();
+        monitor.register("http://dt.tld");
+        monitor.getHealth("http://dt.tld").recordFailure("oops", 1);
+        assertThat(adminMonitor.isActivated()).isFalse();
+        monitor.getHealth("http://dt.tld").recordFailure("oops", 1);
+        assertThat(adminMonitor.isActivated()).isTrue();
+    }
+
+    @Test
+    void latencyPercentiles() {
+        final var uut = new ServerHealth("http://dt.tld");
+        assertThat(uut.getLatencyPercentile(50)).isEqualTo(-1);
+        for (int i = 1; i <= 100; i++) {
+            uut.recordSuccess(i);
+        }
+        // only the last 60 samples are kept
+        assertThat(uut.getLatencyPercentile(0)).isEqualTo(41);
+        assertThat(uut.getLatencyPercentile(50)).isEqualTo(70);
+        assertThat(uut.getLatencyPercentile(95)).isEqualTo(97);
+        assertThat(uut.getLatencyPercentile(100)).isEqualTo(100);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class HistogramTest {
+
+    @Test
+    void recordCountsValuesPerBucket() {
+        final var uut = new Histogram(new long[]{10, 100});
+        uut.record(0);
+        uut.record(10);
+        uut.record(11);
+        uut.record(1000);
+
+        assertThat(uut.getCount()).isEqualTo(4);
+        assertThat(uut.getSum()).isEqualTo(1021);
+
+        final var sb = new StringBuilder();
+        uut.appendPrometheus(sb, "m", "a=\"b\"", 1000);
+        assertThat(sb.toString().lines()).containsExactly(
+                "m_bucket{a=\"b\",le=\"0.01\"} 2",
+                "m_bucket{a=\"b\",le=\"0.1\"} 3",
+                "m_bucket{a=\"b\",le=\"+Inf\"} 4",
+                "m_sum{a=\"b\"} 1.021",
+                "m_count{a=\"b\"} 4"
+        );
+        // the exposition format requires \n as line separator on every platform
+        assertThat(sb.toString()).doesNotContain("\r").endsWith("\n");
+    }
+
+    @Test
+    void recordIsThreadSafe() throws InterruptedException {
+        final var uut = new Histogram(Histogram.DURATION_BOUNDS);
+        final var threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    uut.record(i);
+                }
+            });
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+        assertThat(uut.getCount()).isEqualTo(40_000);
+        assertThat(uut.getSum()).isEqualTo(4L * 49_995_000);
+    }
+}
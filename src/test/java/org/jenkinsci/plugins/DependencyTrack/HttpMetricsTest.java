@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.io.IOException;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@WithJenkins
+class HttpMetricsTest {
+
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void normalize() {
+        assertThat(HttpMetrics.normalize(HttpUrl.get("http://dt.tld/api/v1/bom"))).isEqualTo("/bom");
+        assertThat(HttpMetrics.normalize(HttpUrl.get("http://dt.tld/ctx/api/v1/finding/project/fc1a9f4b-1d9c-4a17-a5d7-a7c2d2ab1cd3?pageNumber=1"))).isEqualTo("/finding/project/{uuid}");
+        assertThat(HttpMetrics.normalize(HttpUrl.get("http://dt.tld/api/v1/metrics/project/FC1A9F4B-1D9C-4A17-A5D7-A7C2D2AB1CD3/current"))).isEqualTo("/metrics/project/{uuid}/current");
+        assertThat(HttpMetrics.normalize(HttpUrl.get("http://dt.tld/api/version"))).isEqualTo("/version");
+    }
+
+    @Test
+    void recordsCallsPerEndpoint(JenkinsRule r) throws IOException {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/api/v1/event/token/{uuid}", (request, response) -> response.sendString(Mono.just("{\"processing\":false}"))))
+                .bindNow();
+        final var httpClient = PluginUtil.newHttpClient(1, 1);
+        final var request = new Request.Builder().url("http://%s:%d/api/v1/event/token/fc1a9f4b-1d9c-4a17-a5d7-a7c2d2ab1cd3".formatted(server.host(), server.port())).build();
+        try (var response = httpClient.newCall(request).execute()) {
+            assertThat(response.body().string()).isNotEmpty();
+        }
+        // executing the same request again is a retry
+        try (var response = httpClient.newCall(request).execute()) {
+            assertThat(response.isSuccessful()).isTrue();
+        }
+
+        final var metrics = HttpMetrics.get().toPrometheus();
+        assertThat(metrics.lines())
+                .contains("dependency_track_http_calls_total{endpoint=\"/event/token/{uuid}\"} 2")
+                .contains("dependency_track_http_retries_total{endpoint=\"/event/token/{uuid}\"} 1")
+                .contains("dependency_track_http_failures_total{endpoint=\"/event/token/{uuid}\"} 0")
+                .contains("dependency_track_http_duration_seconds_count{endpoint=\"/event/token/{uuid}\",phase=\"ttfb\"} 2")
+                .contains("dependency_track_http_duration_seconds_count{endpoint=\"/event/token/{uuid}\",phase=\"total\"} 2")
+                .contains("dependency_track_http_body_bytes_count{endpoint=\"/event/token/{uuid}\",direction=\"response\"} 2")
+                // the connection is reused
+                .contains("dependency_track_http_duration_seconds_count{endpoint=\"/event/token/{uuid}\",phase=\"connect\"} 1");
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.domains.Domain;
+import hudson.util.Secret;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.Semaphore;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.DependencyTrack.NotificationReceiver.Notification;
+import org.jenkinsci.plugins.plaincredentials.impl.StringCredentialsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@WithJenkins
+class NotificationReceiverTest {
+
+    private static final String SECRET = "webhook-secret";
+
+    private JenkinsRule r;
+    private NotificationReceiver uut;
+
+    @BeforeEach
+    void setup(JenkinsRule r) throws IOException {
+        this.r = r;
+        uut = NotificationReceiver.get();
+        CredentialsProvider.lookupStores(r.jenkins).iterator().next().addCredentials(Domain.global(), new StringCredentialsImpl(CredentialsScope.GLOBAL, "webhook-secret-id", "NotificationReceiverTest", Secret.fromString(SECRET)));
+    }
+
+    private void enable() {
+        r.jenkins.getDescriptorByType(DescriptorImpl.class).setDependencyTrackWebhookSecret("webhook-secret-id");
+    }
+
+    private HttpResponse<String> post(final String body, final String header, final String value) throws IOException, InterruptedException {
+        final var request = HttpRequest.newBuilder(URI.create(r.getURL() + NotificationReceiver.URL_NAME + "/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (header != null) {
+            request.header(header, value);
+        }
+        try (var client = HttpClient.newHttpClient()) {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    private static String signature(final String body) {
+        return "sha256=" + HexFormat.of().formatHex(NotificationReceiver.sign(SECRET, body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String notification(final String group, final String token, final String projectId) {
+        final var subject = new JSONObject().element("project", new JSONObject().element("uuid", projectId).element("name", "my-project").element("version", "1.0"));
+        if (token != null) {
+            subject.element("token", token);
+        }
+        return new JSONObject().element("notification", new JSONObject()
+                .element("level", "INFORMATIONAL")
+                .element("scope", "PORTFOLIO")
+                .element("group", group)
+                .element("subject", subject))
+                .toString();
+    }
+
+    @Test
+    void notAvailableWithoutSecret() throws Exception {
+        final var body = notification("BOM_PROCESSED", "token-1", "uuid-1");
+
+        assertThat(post(body, NotificationReceiver.SIGNATURE_HEADER, signature(body)).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void rejectsUnsignedNotifications() throws Exception {
+        enable();
+        final var body = notification("BOM_PROCESSED", "token-1", "uuid-1");
+        final var waiter = uut.register("token-1", "uuid-1", null, null);
+
+        assertThat(post(body, null, null).statusCode()).isEqualTo(403);
+        assertThat(post(body, NotificationReceiver.SIGNATURE_HEADER, "sha256=0000").statusCode()).isEqualTo(403);
+        assertThat(post(body, "Authorization", "Bearer wrong").statusCode()).isEqualTo(403);
+        assertThat(post(body + " ", NotificationReceiver.SIGNATURE_HEADER, signature(body)).statusCode()).isEqualTo(403);
+        assertThat(waiter.await(Duration.ZERO)).isFalse();
+        waiter.close();
+    }
+
+    @Test
+    void rejectsMalformedNotifications() throws Exception {
+        enable();
+        final var body = "[not json";
+
+        assertThat(post(body, NotificationReceiver.SIGNATURE_HEADER, signature(body)).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void readBodyUpdatesMac() throws Exception {
+        final var body = notification("BOM_PROCESSED", "token-1", "uuid-1").getBytes(StandardCharsets.UTF_8);
+        final var mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        assertThat(NotificationReceiver.readBody(new ByteArrayInputStream(body), mac)).isEqualTo(body);
+        assertThat(mac.doFinal()).isEqualTo(NotificationReceiver.sign(SECRET, body));
+        assertThat(NotificationReceiver.readBody(new ByteArrayInputStream(new byte[NotificationReceiver.MAX_BODY_SIZE + 1]), null)).isNull();
+    }
+
+    @Test
+    void signedNotificationWakesWaiter() throws Exception {
+        enable();
+        final var body = notification("BOM_PROCESSED", "token-1", "uuid-1");
+        try (var waiter = uut.register("token-1", null, "my-project", "1.0"); var other = uut.register("token-2", "uuid-1", null, null)) {
+            assertThat(post(body, NotificationReceiver.SIGNATURE_HEADER, signature(body)).statusCode()).isEqualTo(204);
+
+            assertThat(waiter.await(Duration.ofSeconds(5))).isTrue();
+            // the signal is consumed
+            assertThat(waiter.await(Duration.ZERO)).isFalse();
+            // the notification is about the upload of another build
+            assertThat(other.await(Duration.ZERO)).isFalse();
+        }
+    }
+
+    @Test
+    void bearerTokenNotificationWakesWaiterOfProject() throws Exception {
+        enable();
+        final var body = notification("PROJECT_VULN_ANALYSIS_COMPLETE", null, "uuid-1");
+        try (var waiter = uut.register("token-1", "uuid-1", "my-project", "1.0"); var other = uut.register("token-2", "uuid-2", "other", "1.0")) {
+            assertThat(post(body, "Authorization", "Bearer " + SECRET).statusCode()).isEqualTo(204);
+
+            assertThat(waiter.await(Duration.ofSeconds(5))).isTrue();
+            assertThat(other.await(Duration.ZERO)).isFalse();
+        }
+    }
+
+    @Test
+    void ignoresOtherGroups() throws Exception {
+        enable();
+        final var body = notification("NEW_VULNERABILITY", null, "uuid-1");
+        try (var waiter = uut.register("token-1", "uuid-1", null, null)) {
+            assertThat(post(body, NotificationReceiver.SIGNATURE_HEADER, signature(body)).statusCode()).isEqualTo(204);
+
+            assertThat(waiter.await(Duration.ZERO)).isFalse();
+        }
+    }
+
+    @Test
+    void matchesNotificationsReceivedBeforeRegistration() throws Exception {
+        final var before = Instant.now().minusSeconds(1);
+        uut.accept(new Notification("BOM_PROCESSED", "token-1", "uuid-1", "my-project", "1.0", before));
+        uut.accept(new Notification("PROJECT_VULN_ANALYSIS_COMPLETE", null, "uuid-2", "other", "1.0", before));
+
+        try (var waiter = uut.register("token-1", "uuid-1", null, null)) {
+            assertThat(waiter.await(Duration.ZERO)).isTrue();
+        }
+        // notifications without token only count if they were received while waiting
+        try (var waiter = uut.register("token-2", "uuid-2", null, null)) {
+            assertThat(waiter.await(Duration.ZERO)).isFalse();
+        }
+    }
+
+    @Test
+    void waitersShareSignal() throws Exception {
+        final var signal = new Semaphore(0);
+        try (var first = uut.register("token-1", "uuid-1", null, null, signal); var second = uut.register("token-2", "uuid-2", null, null, signal)) {
+            uut.accept(new Notification("BOM_PROCESSED", "token-2", "uuid-2", null, null, Instant.now()));
+
+            assertThat(signal.tryAcquire()).isTrue();
+            assertThat(first.await(Duration.ZERO)).isFalse();
+        }
+    }
+
+    @Test
+    void closedWaiterIsNotWoken() throws Exception {
+        final var waiter = uut.register("token-1", null, "my-project", "1.0");
+        waiter.close();
+
+        uut.accept(new Notification("PROJECT_VULN_ANALYSIS_COMPLETE", null, null, "my-project", "1.0", Instant.now()));
+
+        assertThat(waiter.await(Duration.ZERO)).isFalse();
+    }
+
+    @Test
+    void parseTest() {
+        final var notification = Notification.parse(JSONObject.fromObject(notification("BOM_PROCESSED", "token-1", "uuid-1")), Instant.EPOCH);
+
+        assertThat(notification).isEqualTo(new Notification("BOM_PROCESSED", "token-1", "uuid-1", "my-project", "1.0", Instant.EPOCH));
+        assertThat(Notification.parse(new JSONObject(), Instant.EPOCH)).isNull();
+    }
+}
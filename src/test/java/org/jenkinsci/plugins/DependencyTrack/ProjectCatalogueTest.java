@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.jenkinsci.plugins.DependencyTrack.ProjectCatalogue.ProjectRef;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.PagedResult;
+import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectCatalogueTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 1, 1, 10, 0);
+    private static final LocalDateTime T2 = T1.plusHours(1);
+    private static final LocalDateTime T3 = T2.plusHours(1);
+
+    @Mock
+    private ApiClient client;
+
+    @Test
+    void loadsOnceAndKeepsCompactEntries() throws ApiClientException {
+        when(client.getProjects()).thenReturn(List.of(
+                Project.builder().name("Project 2").uuid("uuid-2").version("1.2.3").description("foo").build(),
+                Project.builder().name("Project 1").uuid("uuid-1").build()
+        ));
+        final var uut = new ProjectCatalogue();
+
+        assertThat(uut.getProjects("http://dt", "key", client)).containsExactly(
+                new ProjectRef("uuid-1", "Project 1", null),
+                new ProjectRef("uuid-2", "Project 2", "1.2.3")
+        );
+        assertThat(uut.getProjects("http://dt", "key", client)).extracting(ProjectRef::displayName).containsExactly("Project 1", "Project 2 1.2.3");
+        verify(client).getProjects();
+    }
+
+    @Test
+    void refreshMergesRecentlyImportedProjects() throws ApiClientException {
+        when(client.getProjects()).thenReturn(List.of(
+                Project.builder().name("Project 1").uuid("uuid-1").lastBomImport(T1).build(),
+                Project.builder().name("Project 2").uuid("uuid-2").lastBomImport(T2).build()
+        ));
+        when(client.getProjectsImportedAfter(T2)).thenReturn(new PagedResult<>(List.of(
+                Project.builder().name("Project 0").uuid("uuid-0").lastBomImport(T3).build(),
+                Project.builder().name("Project 1").uuid("uuid-1").version("2.0").lastBomImport(T3).build()
+        ), 3));
+        final var uut = new ProjectCatalogue();
+        uut.getProjects("http://dt", "key", client);
+
+        uut.refresh("http://dt", "key", client);
+
+        assertThat(uut.getProjects("http://dt", "key", client)).containsExactly(
+                new ProjectRef("uuid-0", "Project 0", null),
+                new ProjectRef("uuid-1", "Project 1", "2.0"),
+                new ProjectRef("uuid-2", "Project 2", null)
+        );
+        verify(client).getProjects();
+        verify(client).getProjectsImportedAfter(T2);
+    }
+
+    @Test
+    void refreshReloadsAllProjectsIfCountDiffers() throws ApiClientException {
+        when(client.getProjects()).thenReturn(
+                List.of(
+                        Project.builder().name("Project 1").uuid("uuid-1").lastBomImport(T1).build(),
+                        Project.builder().name("Project 2").uuid("uuid-2").build()
+                ),
+                List.of(
+                        Project.builder().name("Project 1").uuid("uuid-1").lastBomImport(T1).build()
+                )
+        );
+        when(client.getProjectsImportedAfter(T1)).thenReturn(new PagedResult<>(List.of(), 1));
+        final var uut = new ProjectCatalogue();
+        uut.getProjects("http://dt", "key", client);
+
+        uut.refresh("http://dt", "key", client);
+
+        assertThat(uut.getProjects("http://dt", "key", client)).containsExactly(new ProjectRef("uuid-1", "Project 1", null));
+        verify(client, times(2)).getProjects();
+    }
+
+    @Test
+    void failedRefreshKeepsProjects() throws ApiClientException {
+        when(client.getProjects()).thenReturn(List.of(Project.builder().name("Project 1").uuid("uuid-1").build()));
+        when(client.getProjectsImportedAfter(LocalDateTime.MIN)).thenThrow(new ApiClientException("oops"));
+        final var uut = new ProjectCatalogue();
+        uut.getProjects("http://dt", "key", client);
+
+        assertThatCode(() -> uut.refresh("http://dt", "key", client)).doesNotThrowAnyException();
+
+        assertThat(uut.getProjects("http://dt", "key", client)).containsExactly(new ProjectRef("uuid-1", "Project 1", null));
+    }
+
+    @Test
+    void uncheckedFailureOfRefreshAllowsNextRefresh() throws ApiClientException {
+        when(client.getProjects()).thenReturn(List.of(Project.builder().name("Project 1").uuid("uuid-1").build()));
+        when(client.getProjectsImportedAfter(LocalDateTime.MIN))
+                .thenThrow(new IllegalStateException("malformed project"))
+                .thenReturn(new PagedResult<>(List.of(Project.builder().name("Project 2").uuid("uuid-2").lastBomImport(T1).build()), 2));
+        final var uut = new ProjectCatalogue();
+        uut.getProjects("http://dt", "key", client);
+
+        assertThatCode(() -> uut.refresh("http://dt", "key", client)).doesNotThrowAnyException();
+        assertThat(uut.getProjects("http://dt", "key", client)).containsExactly(new ProjectRef("uuid-1", "Project 1", null));
+
+        uut.refresh("http://dt", "key", client);
+
+        assertThat(uut.getProjects("http://dt", "key", client)).containsExactly(
+                new ProjectRef("uuid-1", "Project 1", null),
+                new ProjectRef("uuid-2", "Project 2", null)
+        );
+        verify(client, times(2)).getProjectsImportedAfter(LocalDateTime.MIN);
+    }
+
+    @Test
+    void isBounded() throws ApiClientException {
+        when(client.getProjects()).thenReturn(List.of(
+                Project.builder().name("Project 2").uuid("uuid-2").build(),
+                Project.builder().name("Project 1").uuid("uuid-1").build()
+        ));
+        final var uut = new ProjectCatalogue(1, 1);
+
+        assertThat(uut.getProjects("http://dt1", "key", client)).containsExactly(new ProjectRef("uuid-1", "Project 1", null));
+        uut.getProjects("http://dt2", "key", client);
+        // first server was evicted
+        uut.getProjects("http://dt1", "key", client);
+        verify(client, times(3)).getProjects();
+    }
+}
@@ -22,12 +22,21 @@ import hudson.model.User;
 import hudson.security.ACL;
 import hudson.security.ACLContext;
 import hudson.security.AccessDeniedException3;
+import hudson.util.XStream2;
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.List;
 import net.sf.json.JSONArray;
 import org.assertj.core.api.Assertions;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.DependencyTrack.model.Analysis;
+import org.jenkinsci.plugins.DependencyTrack.model.Component;
 import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.FindingDiff;
+import org.jenkinsci.plugins.DependencyTrack.model.Severity;
 import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.jenkinsci.plugins.DependencyTrack.model.VulnerabilityDetails;
 import org.junit.jupiter.api.Test;
 import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.MockAuthorizationStrategy;
@@ -89,6 +98,130 @@ class ResultActionTest {
         Assertions.<JSONArray>assertThat(uut.getFindingsJson()).isEqualTo(JSONArray.fromObject(testFindings));
     }
 
+    @Test
+    void vulnerabilityDetailsAreStoredOutOfLine(JenkinsRule j) throws IOException {
+        final var c1 = new Component("uuid-1", "name-1", "group-1", "version-1", "purl-1");
+        final var c2 = new Component("uuid-2", "name-2", "group-2", "version-2", "purl-2");
+        final var v1 = new Vulnerability("uuid-1", "NVD", "vulnId-1", "title-1", "subtitle-1", "description-1", "recommendation-1", Severity.CRITICAL, 1, 2, "cweName-1", null);
+        final var a1 = new Analysis("state-1", false);
+        final var findings = List.of(new Finding(c1, v1, a1, "matrix-1"), new Finding(c2, v1, a1, "matrix-2"));
+        final FreeStyleProject project = j.createFreeStyleProject();
+        final FreeStyleBuild b1 = new FreeStyleBuild(project);
+        final ResultAction uut = new ResultAction(findings, new SeverityDistribution(1));
+        uut.onLoad(b1);
+
+        assertThat(uut.getFindings()).hasSize(2).allSatisfy(finding -> {
+            assertThat(finding.getVulnerability().getDescription()).isNull();
+            assertThat(finding.getVulnerability().getRecommendation()).isNull();
+            assertThat(finding.getVulnerability().getVulnId()).isEqualTo("vulnId-1");
+        });
+        assertThat(uut.getVulnerabilityDetails()).containsOnlyKeys("uuid-1").containsEntry("uuid-1", new VulnerabilityDetails("description-1", "recommendation-1"));
+        assertThat(uut.getFindingsJson().getJSONObject(0).getJSONObject("vulnerability").has("description")).isFalse();
+        final JSONObject details = uut.getVulnerabilityDetailsJson("uuid-1");
+        assertThat(details.getString("description")).isEqualTo("description-1");
+        assertThat(details.getString("recommendation")).isEqualTo("recommendation-1");
+        assertThat(uut.getVulnerabilityDetailsJson("unknown").isEmpty()).isTrue();
+    }
+
+    @Test
+    void getFindingsJsonMarksNewFindings(JenkinsRule j) throws IOException {
+        final var c1 = new Component("uuid-1", "name-1", "group-1", "version-1", "purl-1");
+        final var v1 = new Vulnerability("uuid-1", "NVD", "vulnId-1", "title-1", "subtitle-1", null, null, Severity.HIGH, 1, 2, "cweName-1", null);
+        final var findings = List.of(new Finding(c1, v1, null, "matrix-1"), new Finding(c1, v1, null, "matrix-2"));
+        final FreeStyleProject project = j.createFreeStyleProject();
+        final FreeStyleBuild b1 = new FreeStyleBuild(project);
+        final ResultAction uut = new ResultAction(findings, new SeverityDistribution(1));
+        uut.onLoad(b1);
+        final var added = new BitSet();
+        added.set(1);
+        uut.setDiff(new FindingDiff(0, added, new BitSet(), new SeverityDistribution(1), new SeverityDistribution(0)));
+
+        final JSONArray json = uut.getFindingsJson();
+        assertThat(json.getJSONObject(0).has("isNew")).isFalse();
+        assertThat(json.getJSONObject(1).getBoolean("isNew")).isTrue();
+    }
+
+    @Test
+    void findingsAreStoredEncoded() {
+        final var c1 = new Component("uuid-1", "name-1", "group-1", "version-1", "purl-1");
+        final var v1 = new Vulnerability("uuid-1", "NVD", "vulnId-1", "title-1", "subtitle-1", "description-1", "recommendation-1", Severity.HIGH, 1, 2, "cweName-1", null);
+        final var findings = List.of(new Finding(c1, v1, new Analysis("state-1", true), "matrix-1"));
+        final var xstream = new XStream2();
+
+        final String xml = xstream.toXML(new ResultAction(findings, new SeverityDistribution(1)));
+        final var uut = (ResultAction) xstream.fromXML(xml);
+
+        assertThat(xml).contains("<encodedFindings>").doesNotContain("vulnId-1</vulnId>");
+        assertThat(uut.getFindings()).singleElement().satisfies(finding -> {
+            assertThat(finding.getMatrix()).isEqualTo("matrix-1");
+            assertThat(finding.getComponent()).usingRecursiveComparison().isEqualTo(c1);
+            assertThat(finding.getVulnerability().getVulnId()).isEqualTo("vulnId-1");
+            assertThat(finding.getVulnerability().getDescription()).isNull();
+            assertThat(finding.getAnalysis().isSuppressed()).isTrue();
+        });
+        assertThat(uut.getVulnerabilityDetails()).containsEntry("uuid-1", new VulnerabilityDetails("description-1", "recommendation-1"));
+    }
+
+    @Test
+    void findingsOfOlderVersionsAreMigrated() {
+        final String xml = """
+                <org.jenkinsci.plugins.DependencyTrack.ResultAction>
+                  <findings>
+                    <org.jenkinsci.plugins.DependencyTrack.model.Finding>
+                      <component>
+                        <uuid>uuid-1</uuid>
+                        <name>name-1</name>
+                      </component>
+                      <vulnerability>
+                        <uuid>uuid-2</uuid>
+                        <vulnId>vulnId-1</vulnId>
+                        <description>description-1</description>
+                        <severity>LOW</severity>
+                      </vulnerability>
+                      <matrix>matrix-1</matrix>
+                    </org.jenkinsci.plugins.DependencyTrack.model.Finding>
+                  </findings>
+                  <partial>false</partial>
+                  <countsOnly>false</countsOnly>
+                </org.jenkinsci.plugins.DependencyTrack.ResultAction>
+                """;
+        final var xstream = new XStream2();
+
+        final var uut = (ResultAction) xstream.fromXML(xml);
+
+        assertThat(uut.hasFindings()).isTrue();
+        assertThat(uut.getFindings()).singleElement().satisfies(finding -> {
+            assertThat(finding.getComponent().getName()).isEqualTo("name-1");
+            assertThat(finding.getVulnerability().getDescription()).isEqualTo("description-1");
+            assertThat(finding.getVulnerability().getSeverity()).isEqualTo(Severity.LOW);
+        });
+        assertThat(xstream.toXML(uut)).contains("<encodedFindings>").doesNotContain("<findings>");
+    }
+
+    @Test
+    void canFetchFindingsTest() {
+        final ResultAction uut = new ResultAction(null, new SeverityDistribution(1));
+        uut.setProjectId("uuid-1");
+        uut.setApiUrl("http://dt.tld");
+        uut.setApiKeyCredentialsId("cred-id");
+        assertThat(uut.canFetchFindings()).isFalse();
+        uut.setCountsOnly(true);
+        assertThat(uut.canFetchFindings()).isTrue();
+        uut.setApiKeyCredentialsId(null);
+        assertThat(uut.canFetchFindings()).isFalse();
+    }
+
+    @Test
+    void fetchedFindingsExpire() {
+        final var fetched = new ResultAction.Fetched(List.of(), 0, false);
+        assertThat(fetched.isExpired(ResultAction.FETCHED_TTL.toNanos())).isFalse();
+        assertThat(fetched.isExpired(ResultAction.FETCHED_TTL.toNanos() + 1)).isTrue();
+        // failures are retried sooner
+        final var failed = new ResultAction.Fetched(List.of(), 0, true);
+        assertThat(failed.isExpired(ResultAction.FETCH_FAILURE_TTL.toNanos())).isFalse();
+        assertThat(failed.isExpired(ResultAction.FETCH_FAILURE_TTL.toNanos() + 1)).isTrue();
+    }
+
     @Test
     void hasFindingsTest() {
         assertThat(new ResultAction(null, new SeverityDistribution(1)).hasFindings()).isFalse();
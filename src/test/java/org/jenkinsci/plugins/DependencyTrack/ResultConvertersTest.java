@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.util.XStream2;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.jenkinsci.plugins.DependencyTrack.model.Analysis;
+import org.jenkinsci.plugins.DependencyTrack.model.Component;
+import org.jenkinsci.plugins.DependencyTrack.model.Finding;
+import org.jenkinsci.plugins.DependencyTrack.model.Severity;
+import org.jenkinsci.plugins.DependencyTrack.model.SeverityDistribution;
+import org.jenkinsci.plugins.DependencyTrack.model.Violation;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationState;
+import org.jenkinsci.plugins.DependencyTrack.model.ViolationType;
+import org.jenkinsci.plugins.DependencyTrack.model.Vulnerability;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+@WithJenkins
+class ResultConvertersTest {
+
+    private final XStream2 legacy = new XStream2();
+    private final XStream2 uut = new XStream2();
+
+    private final Component component = new Component("uuid-1", "name-1", "group-1", "version-1", "pkg:maven/group-1/name-1@version-1?type=jar&classifier=a");
+    private final Vulnerability vulnerability = new Vulnerability("uuid-2", "NVD", "vulnId-1", "title \"1\"", null, "line 1\nline 2", "recommendation-1", Severity.HIGH, 1, 79, "cweName-1", 7.5, 0.125, new ArrayList<>(List.of("GHSA-abcd-abcd-abcd")));
+
+    @BeforeEach
+    void setup() {
+        ResultConverters.register(uut);
+    }
+
+    @Test
+    void findingsAreWrittenAsAttributes() {
+        final var findings = new ArrayList<>(List.of(new Finding(component, vulnerability, new Analysis("NOT_SET", true), "matrix-1"), new Finding(null, null, null, null)));
+
+        final String xml = uut.toXML(findings);
+
+        assertThat(xml).contains("<component uuid=\"uuid-1\"").contains("severity=\"HIGH\"").contains("matrix=\"matrix-1\"")
+                .doesNotContain("<vulnId>").doesNotContain("<matrix>");
+        assertThat(xml.length()).isLessThan(legacy.toXML(findings).length());
+        assertThat((List<?>) uut.fromXML(xml)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(findings);
+    }
+
+    @Test
+    void readsFindingsOfOlderVersions() {
+        final var findings = new ArrayList<>(List.of(new Finding(component, vulnerability, new Analysis("NOT_SET", true), "matrix-1"), new Finding(component, null, null, "matrix-2")));
+
+        final Object read = uut.fromXML(legacy.toXML(findings));
+
+        assertThat((List<?>) read).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(findings);
+    }
+
+    @Test
+    void violations() {
+        final var violations = new ArrayList<>(List.of(new Violation("uuid-3", ViolationType.LICENSE, ViolationState.FAIL, "policy-1", component), new Violation("uuid-4", null, null, null, null)));
+        final var action = new ViolationsRunAction(violations);
+
+        final String xml = uut.toXML(action);
+
+        assertThat(xml).contains("type=\"LICENSE\"").contains("state=\"FAIL\"").doesNotContain("<policyName>");
+        assertThat(((ViolationsRunAction) uut.fromXML(xml)).getViolations()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(violations);
+        assertThat(((ViolationsRunAction) uut.fromXML(legacy.toXML(action))).getViolations()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(violations);
+    }
+
+    @Test
+    void severityDistribution() {
+        final var distribution = new SeverityDistribution(42);
+        distribution.add(Severity.CRITICAL, 3);
+        distribution.add(Severity.LOW);
+        distribution.add(Severity.UNASSIGNED, 7);
+
+        final String xml = uut.toXML(distribution);
+
+        assertThat(xml).contains("buildNumber=\"42\"").contains("critical=\"3\"").doesNotContain("high=");
+        assertThat(uut.fromXML(xml)).isEqualTo(distribution);
+        assertThat(uut.fromXML(legacy.toXML(distribution))).isEqualTo(distribution);
+    }
+
+    @Test
+    void resultAction() {
+        final var action = new ResultAction(List.of(new Finding(component, vulnerability, null, "matrix-1")), new SeverityDistribution(1));
+
+        final var read = (ResultAction) uut.fromXML(uut.toXML(action));
+
+        assertThat(read.getSeverityDistribution()).isEqualTo(action.getSeverityDistribution());
+        assertThat(read.getFindings()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(action.getFindings());
+        assertThat(read.getVulnerabilityDetails()).isEqualTo(action.getVulnerabilityDetails());
+    }
+
+    @Test
+    void loadsBuildOfOlderVersions(JenkinsRule j) throws Exception {
+        final FreeStyleProject project = j.createFreeStyleProject("legacy");
+        final FreeStyleBuild build = j.buildAndAssertSuccess(project);
+        final Path buildXml = build.getRootDir().toPath().resolve("build.xml");
+        try (var fixture = getClass().getResourceAsStream("ResultConvertersTest/build.xml")) {
+            Files.copy(fixture, buildXml, StandardCopyOption.REPLACE_EXISTING);
+        }
+        j.jenkins.reload();
+
+        final FreeStyleBuild read = j.jenkins.getItemByFullName("legacy", FreeStyleProject.class).getBuildByNumber(1);
+
+        final var legacyComponent = new Component("uuid-2", "component-1", "group-1", "version-1", "pkg:maven/group-1/component-1@version-1?type=jar");
+        final var legacyVulnerability = new Vulnerability("uuid-3", "NVD", "CVE-2026-0001", "title-1", null, "line 1\nline 2", "recommendation-1", Severity.HIGH, 1, 79, "cweName-1", null, null, List.of("GHSA-abcd-abcd-abcd"));
+        final var distribution = new SeverityDistribution(1);
+        distribution.add(Severity.HIGH);
+        final ResultAction findingsAction = read.getAction(ResultAction.class);
+        assertThat(findingsAction.getProjectId()).isEqualTo("uuid-1");
+        assertThat(findingsAction.getSeverityDistribution()).isEqualTo(distribution);
+        assertThat(findingsAction.getFindings()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(new Finding(legacyComponent, legacyVulnerability, new Analysis("NOT_SET", false), "uuid-1:uuid-2:uuid-3"));
+        assertThat(read.getAction(ViolationsRunAction.class).getViolations()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(new Violation("uuid-4", ViolationType.LICENSE, ViolationState.FAIL, "policy-1", legacyComponent));
+
+        read.save();
+
+        assertThat(Files.readString(buildXml)).contains("high=\"1\"").contains("type=\"LICENSE\"").doesNotContain("<policyName>").doesNotContain("<high>");
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.util.List;
+import org.jenkinsci.plugins.DependencyTrack.TimingAction.Phase;
+import org.jenkinsci.plugins.DependencyTrack.TimingAction.PhaseTiming;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class TimingActionTest {
+
+    @Test
+    void phaseTimerSumsUpPhasesInOrderOfFirstEntry() throws InterruptedException {
+        final var timer = new PhaseTimer();
+        assertThat(timer.isEmpty()).isTrue();
+        try (var split = timer.start(Phase.UPLOAD_BOM)) {
+            Thread.sleep(5);
+        }
+        try (var split = timer.start(Phase.READ_ARTIFACT)) {
+            Thread.sleep(5);
+        }
+        try (var split = timer.start(Phase.UPLOAD_BOM)) {
+            Thread.sleep(5);
+        }
+        assertThat(timer.isEmpty()).isFalse();
+
+        final var uut = timer.toAction();
+        assertThat(uut.getPhases()).extracting(PhaseTiming::getPhase).containsExactly("uploadBom", "readArtifact");
+        assertThat(uut.getPhases()).extracting(PhaseTiming::getCount).containsExactly(2, 1);
+        assertThat(uut.getPhases().get(0).getMillis()).isGreaterThanOrEqualTo(10);
+        assertThat(uut.getTotalMillis()).isGreaterThanOrEqualTo(uut.getPhases().stream().mapToLong(PhaseTiming::getMillis).sum());
+    }
+
+    @Test
+    void phaseTimerRecordsPhasesThatFailed() {
+        final var timer = new PhaseTimer();
+        try (var split = timer.start(Phase.GET_FINDINGS)) {
+            throw new IllegalStateException();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertThat(timer.toAction().getPhases()).extracting(PhaseTiming::getPhase).containsExactly("getFindings");
+    }
+
+    @Test
+    void getSummary() {
+        final var uut = new TimingAction(List.of(new PhaseTiming("uploadBom", 1234, 1), new PhaseTiming("getFindings", 56, 1)), 1500);
+        assertThat(uut.getSummary()).isEqualTo("uploadBom 1234 ms, getFindings 56 ms");
+        assertThat(uut.getUrlName()).isNull();
+    }
+}
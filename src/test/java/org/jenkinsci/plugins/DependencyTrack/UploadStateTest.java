@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack;
+
+import java.util.List;
+import org.jenkinsci.plugins.DependencyTrack.UploadState.Progress;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class UploadStateTest {
+
+    private static final String URL = "http://localhost:8080";
+    private static final ProjectData BY_ID = new ProjectData("uuid-1", null, null, true, null);
+    private static final ProjectData BY_NAME = new ProjectData(null, "my-project", "1.0", true, null);
+
+    @Test
+    void newStateIsNotResumed() {
+        final var uut = UploadState.resume(List.of(), URL, BY_ID, "<bom />");
+
+        assertThat(uut.isResumed()).isFalse();
+        assertThat(uut.hasReached(Progress.BOM_UPLOADED)).isFalse();
+        assertThat(uut.getBomDigest()).isEqualTo(UploadState.digest("<bom />")).hasSize(64);
+    }
+
+    @Test
+    void resumesSameUpload() {
+        final var recorded = UploadState.resume(List.of(), URL, BY_NAME, "<bom />");
+        recorded.uploaded(Progress.BOM_UPLOADED, "token-1");
+
+        final var uut = UploadState.resume(List.of(recorded), URL, BY_NAME, "<bom />");
+
+        assertThat(uut).isSameAs(recorded);
+        assertThat(uut.isResumed()).isTrue();
+        assertThat(uut.getToken()).isEqualTo("token-1");
+        assertThat(uut.hasReached(Progress.BOM_UPLOADED)).isTrue();
+        assertThat(uut.hasReached(Progress.VEX_UPLOADED)).isFalse();
+
+        uut.processed("uuid-1");
+        assertThat(uut.hasReached(Progress.VEX_UPLOADED)).isTrue();
+        assertThat(uut.hasReached(Progress.PROCESSED)).isTrue();
+        assertThat(uut.getProjectUuid()).isEqualTo("uuid-1");
+    }
+
+    @Test
+    void doesNotResumeOtherUploads() {
+        final var recorded = UploadState.resume(List.of(), URL, BY_NAME, "<bom />");
+
+        // nothing was uploaded yet
+        assertThat(UploadState.resume(List.of(recorded), URL, BY_NAME, "<bom />")).isNotSameAs(recorded);
+
+        recorded.uploaded(Progress.BOM_UPLOADED, "token-1");
+        assertThat(UploadState.resume(List.of(recorded), URL, BY_NAME, "<other />").isResumed()).isFalse();
+        assertThat(UploadState.resume(List.of(recorded), URL, BY_ID, "<bom />").isResumed()).isFalse();
+        assertThat(UploadState.resume(List.of(recorded), "http://other", BY_NAME, "<bom />").isResumed()).isFalse();
+        assertThat(UploadState.resume(List.of(recorded), URL, new ProjectData(null, "my-project", "2.0", true, null), "<bom />").isResumed()).isFalse();
+    }
+
+    @Test
+    void resumesMatchingUploadOfSeveral() {
+        final var other = UploadState.resume(List.of(), URL, BY_ID, "<bom />");
+        other.uploaded(Progress.BOM_UPLOADED, "token-1");
+        final var recorded = UploadState.resume(List.of(), URL, BY_NAME, "<bom />");
+        recorded.uploaded(Progress.BOM_UPLOADED, "token-2");
+
+        assertThat(UploadState.resume(List.of(other, recorded), URL, BY_NAME, "<bom />")).isSameAs(recorded);
+        assertThat(UploadState.resume(List.of(other, recorded), URL, BY_ID, "<bom />")).isSameAs(other);
+        assertThat(recorded.isSameUpload(other)).isFalse();
+        assertThat(recorded.isSameUpload(UploadState.resume(List.of(), URL, BY_NAME, "<bom />"))).isTrue();
+    }
+}
@@ -24,18 +24,23 @@ import io.netty.handler.codec.http.multipart.HttpData;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import net.sf.json.JSONObject;
 import okhttp3.OkHttpClient;
 import org.apache.commons.io.function.Uncheck;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.jenkinsci.plugins.DependencyTrack.model.ProjectMetrics;
 import org.jenkinsci.plugins.DependencyTrack.model.ProjectParser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -200,6 +205,113 @@ class ApiClientTest {
         );
     }
 
+    @Test
+    void getProjectsWithAdaptivePageSizeTest() throws ApiClientException {
+        final int totalCount = 100;
+        final List<String> requestedPages = new ArrayList<>();
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(ApiClient.PROJECT_URL, (request, response) -> {
+            QueryStringDecoder query = new QueryStringDecoder(request.uri());
+            int page = Integer.parseInt(query.parameters().get(ApiClient.PAGINATED_REQ_PAGE_PARAM).get(0));
+            int pageSize = Integer.parseInt(query.parameters().get(ApiClient.PAGINATED_REQ_PAGESIZE_PARAM).get(0));
+            requestedPages.add(page + "x" + pageSize);
+            final var projects = IntStream.range((page - 1) * pageSize, Math.min(page * pageSize, totalCount))
+                    .mapToObj(i -> String.format("{\"name\":\"Project %d\",\"uuid\":\"uuid-%d\"}", i, i))
+                    .collect(Collectors.joining(",", "[", "]"));
+            // pages of 40 projects are too slow
+            final var delay = pageSize < 40 ? Duration.ZERO : Duration.ofSeconds(1);
+            return response
+                    .header(ApiClient.PAGINATED_RES_TOTAL_COUNT_HEADER, String.valueOf(totalCount))
+                    .sendString(Mono.delay(delay).map(ignored -> projects));
+        }))
+                .bindNow();
+
+        ApiClient uut = new ApiClient(String.format("http://%s:%d", server.host(), server.port()), API_KEY, logger, new OkHttpClient.Builder().readTimeout(Duration.ofMillis(200)).build());
+        uut.setPageSizing(new PageSizing(20, true));
+
+        assertThat(uut.getProjects()).extracting(Project::getName)
+                .containsExactlyElementsOf(IntStream.range(0, totalCount).mapToObj(i -> "Project " + i).toList());
+        // the page size is only doubled at offsets that are a multiple of it and every timed out page is requested twice before it is halved
+        assertThat(requestedPages).containsExactly("1x20", "2x20", "2x40", "2x40", "3x20", "4x20", "3x40", "3x40", "5x20");
+        verify(logger, times(2)).log(Messages.ApiClient_PageSize_Reduced(20));
+        verify(logger).log(Messages.ApiClient_PageSize_Chosen(20, totalCount));
+    }
+
+    @Test
+    void getViolationsWithPageSizeTest() throws ApiClientException {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(ApiClient.PROJECT_VIOLATIONS_URL + "/{uuid}", (request, response) -> {
+            QueryStringDecoder query = new QueryStringDecoder(request.uri());
+            assertThat(query.parameters()).containsEntry(ApiClient.PAGINATED_REQ_PAGESIZE_PARAM, List.of("250"));
+            return response.sendString(Mono.just("[]"));
+        }))
+                .bindNow();
+
+        ApiClient uut = createClient();
+        uut.setPageSizing(new PageSizing(250, false));
+
+        assertThat(uut.getViolations("uuid-1")).isEmpty();
+        verify(logger, never()).log(any());
+    }
+
+    @Test
+    void searchProjectsTest() throws ApiClientException {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(ApiClient.PROJECT_URL, (request, response) -> {
+            assertCommonHeaders(request);
+            QueryStringDecoder query = new QueryStringDecoder(request.uri());
+            assertThat(query.parameters())
+                    .containsEntry(ApiClient.PAGINATED_REQ_PAGE_PARAM, List.of("1"))
+                    .containsEntry(ApiClient.PAGINATED_REQ_PAGESIZE_PARAM, List.of("20"))
+                    .containsEntry(ApiClient.PROJECT_SEARCH_TEXT_PARAM, List.of("proj"));
+            return response
+                    .header(ApiClient.PAGINATED_RES_TOTAL_COUNT_HEADER, "100")
+                    .sendString(Mono.just("[{\"name\":\"Project 1\",\"uuid\":\"uuid-1\",\"version\":null}]"));
+        }))
+                .bindNow();
+
+        ApiClient uut = createClient();
+
+        assertThat(uut.searchProjects("proj", 20)).containsExactly(
+                Project.builder().name("Project 1").uuid("uuid-1").tags(List.of()).build()
+        );
+    }
+
+    @Test
+    void getProjectsImportedAfterTest() throws ApiClientException {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(ApiClient.PROJECT_URL, (request, response) -> {
+            assertCommonHeaders(request);
+            QueryStringDecoder query = new QueryStringDecoder(request.uri());
+            assertThat(query.parameters())
+                    .containsEntry("sortName", List.of("lastBomImport"))
+                    .containsEntry("sortOrder", List.of("desc"))
+                    .containsEntry(ApiClient.PAGINATED_REQ_PAGE_PARAM, List.of("1"));
+            return response
+                    .header(ApiClient.PAGINATED_RES_TOTAL_COUNT_HEADER, "4")
+                    .sendString(Mono.just("[{\"name\":\"Project 0\",\"uuid\":\"uuid-0\"},"
+                            + "{\"name\":\"Project 1\",\"uuid\":\"uuid-1\",\"lastBomImportStr\":\"2007-12-03T10:15:31\"},"
+                            + "{\"name\":\"Project 2\",\"uuid\":\"uuid-2\",\"lastBomImportStr\":\"2007-12-03T10:15:30\"}]"));
+        }))
+                .bindNow();
+
+        ApiClient uut = createClient();
+        final var projects = uut.getProjectsImportedAfter(LocalDateTime.of(2007, Month.DECEMBER, 3, 10, 15, 30));
+
+        assertThat(projects.totalSize()).isEqualTo(4);
+        assertThat(projects.result()).containsExactly(
+                Project.builder().name("Project 1").uuid("uuid-1").tags(List.of()).lastBomImport(LocalDateTime.of(2007, Month.DECEMBER, 3, 10, 15, 31)).build()
+        );
+    }
+
     @Test
     void getProjectsTestWithErrors() throws IOException {
         final var httpClient = mock(OkHttpClient.class);
@@ -263,6 +375,7 @@ class ApiClientTest {
 
     @Test
     void getFindingsTest() throws ApiClientException {
+        final List<String> suppressedParams = new ArrayList<>();
         server = HttpServer.create()
                 .host("localhost")
                 .port(0)
@@ -270,12 +383,13 @@ class ApiClientTest {
             assertCommonHeaders(request);
             QueryStringDecoder query = new QueryStringDecoder(request.uri());
             assertThat(query.parameters())
-                    .containsOnlyKeys(ApiClient.PAGINATED_REQ_PAGE_PARAM, ApiClient.PAGINATED_REQ_PAGESIZE_PARAM)
+                    .containsOnlyKeys(ApiClient.PAGINATED_REQ_PAGE_PARAM, ApiClient.PAGINATED_REQ_PAGESIZE_PARAM, ApiClient.FINDINGS_SUPPRESSED_PARAM)
                     .containsEntry(ApiClient.PAGINATED_REQ_PAGESIZE_PARAM, List.of("100"))
                     .extractingByKey(ApiClient.PAGINATED_REQ_PAGE_PARAM, as(InstanceOfAssertFactories.list(String.class)))
                     .hasSize(1).first().satisfies(p -> {
                 assertThat(Integer.valueOf(p)).isBetween(1, 2);
             });
+            suppressedParams.add(query.parameters().get(ApiClient.FINDINGS_SUPPRESSED_PARAM).get(0));
             assertThat(request.param("uuid")).isNotEmpty();
             String uuid = request.param("uuid");
             return switch (uuid) {
@@ -363,7 +477,27 @@ class ApiClientTest {
                 .hasNoCause()
                 .hasMessage(Messages.ApiClient_Error_RetrieveFindings(HttpResponseStatus.NOT_FOUND.code(), HttpResponseStatus.NOT_FOUND.reasonPhrase()));
 
-        assertThat(uut.getFindings("uuid-1")).hasSize(2);
+        suppressedParams.clear();
+        assertThat(uut.getFindings("uuid-1")).hasSize(2).allSatisfy(finding -> {
+            assertThat(finding.getVulnerability().getDescription()).isEqualTo("description-1");
+            assertThat(finding.getVulnerability().getRecommendation()).isEqualTo("recommendation-1");
+        });
+        assertThat(suppressedParams).containsOnly("false");
+
+        suppressedParams.clear();
+        assertThat(uut.getFindings("uuid-1", new FindingsQuery(true, false))).hasSize(2).allSatisfy(finding -> {
+            assertThat(finding.getVulnerability().getDescription()).isNull();
+            assertThat(finding.getVulnerability().getRecommendation()).isNull();
+        });
+        assertThat(suppressedParams).containsOnly("true");
+
+        // stop after the first page
+        final List<Integer> pageSizes = new ArrayList<>();
+        assertThat(uut.getFindings("uuid-1", FindingsQuery.DEFAULT, added -> {
+            pageSizes.add(added.size());
+            return false;
+        })).hasSize(1);
+        assertThat(pageSizes).containsExactly(1);
     }
 
     @Test
@@ -688,6 +822,65 @@ class ApiClientTest {
         verify(httpClient, times(2)).newCall(any(okhttp3.Request.class));
     }
 
+    @Test
+    void getCurrentMetricsTest() throws ApiClientException {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(ApiClient.PROJECT_METRICS_URL + "/{uuid}/current", (request, response) -> {
+            assertCommonHeaders(request);
+            return switch (request.param("uuid")) {
+                case "uuid-1" ->
+                    response.sendString(Mono.just("{\"critical\":1,\"high\":2,\"medium\":3,\"low\":4,\"unassigned\":5,\"vulnerabilities\":15,\"lastOccurrence\":1700000000000}"));
+                case "uuid-2" ->
+                    response.send();
+                default ->
+                    response.sendNotFound();
+            };
+        }))
+                .bindNow();
+
+        ApiClient uut = createClient();
+
+        assertThatCode(() -> uut.getCurrentMetrics("foo")).isInstanceOf(ApiClientException.class)
+                .hasNoCause()
+                .hasMessage(Messages.ApiClient_Error_RetrieveMetrics(HttpResponseStatus.NOT_FOUND.code(), HttpResponseStatus.NOT_FOUND.reasonPhrase()));
+        verify(logger).log("");
+
+        assertThat(uut.getCurrentMetrics("uuid-1")).isEqualTo(ProjectMetrics.builder()
+                .critical(1).high(2).medium(3).low(4).unassigned(5).lastOccurrence(1700000000000L).build());
+        assertThat(uut.getCurrentMetrics("uuid-2")).isNull();
+    }
+
+    @Test
+    void refreshMetricsTest() throws ApiClientException {
+        final List<String> refreshed = new ArrayList<>();
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(ApiClient.PROJECT_METRICS_URL + "/{uuid}/refresh", (request, response) -> {
+            assertCommonHeaders(request);
+            return switch (request.param("uuid")) {
+                case "uuid-1" -> {
+                    refreshed.add("uuid-1");
+                    yield response.send();
+                }
+                default ->
+                    response.status(HttpResponseStatus.FORBIDDEN).send();
+            };
+        }))
+                .bindNow();
+
+        ApiClient uut = createClient();
+
+        assertThatCode(() -> uut.refreshMetrics("foo")).isInstanceOf(ApiClientException.class)
+                .hasNoCause()
+                .hasMessage(Messages.ApiClient_Error_RetrieveMetrics(HttpResponseStatus.FORBIDDEN.code(), HttpResponseStatus.FORBIDDEN.reasonPhrase()));
+
+        uut.refreshMetrics("uuid-1");
+        assertThat(refreshed).containsExactly("uuid-1");
+    }
+
     @Test
     void updateProjectPropertiesTest() throws InterruptedException {
         final AtomicReference<String> requestBody = new AtomicReference<>();
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.api;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class PageCursorTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = PageCursor.TARGET_LATENCY;
+
+    @Test
+    void fixedSizeNeverChanges() {
+        final var uut = PageSizing.DEFAULT.cursor(100);
+        assertThat(uut.page()).isEqualTo(1);
+        assertThat(uut.getSize()).isEqualTo(100);
+        uut.advance(100, FAST);
+        uut.advance(100, FAST);
+        assertThat(uut.page()).isEqualTo(3);
+        assertThat(uut.getSize()).isEqualTo(100);
+        assertThat(uut.shrink()).isFalse();
+        assertThat(uut.getOffset()).isEqualTo(200);
+    }
+
+    @Test
+    void configuredSizeIsUsed() {
+        assertThat(new PageSizing(250, false).cursor(100).getSize()).isEqualTo(250);
+        assertThat(new PageSizing(-1, false).cursor(100).getSize()).isEqualTo(100);
+    }
+
+    @Test
+    void growsOnlyWhileFastAndAligned() {
+        final var uut = new PageSizing(100, true).cursor(500);
+        uut.advance(100, FAST);
+        // 100 is not a multiple of 200
+        assertThat(uut.getSize()).isEqualTo(100);
+        uut.advance(100, SLOW);
+        assertThat(uut.getSize()).isEqualTo(100);
+        uut.advance(100, FAST);
+        assertThat(uut.getSize()).isEqualTo(100);
+        uut.advance(100, FAST);
+        assertThat(uut.getSize()).isEqualTo(200);
+        assertThat(uut.page()).isEqualTo(3);
+        uut.advance(200, FAST);
+        assertThat(uut.getSize()).isEqualTo(400);
+        assertThat(uut.page()).isEqualTo(3);
+        uut.advance(400, FAST);
+        assertThat(uut.getSize()).isEqualTo(800);
+        assertThat(uut.page()).isEqualTo(3);
+        uut.advance(800, FAST);
+        // would exceed the maximum
+        assertThat(uut.getSize()).isEqualTo(800);
+        assertThat(uut.page()).isEqualTo(4);
+    }
+
+    @Test
+    void shrinksDownToMinimum() {
+        final var uut = new PageSizing(40, true).cursor(100);
+        assertThat(uut.shrink()).isTrue();
+        assertThat(uut.getSize()).isEqualTo(20);
+        assertThat(uut.shrink()).isTrue();
+        assertThat(uut.getSize()).isEqualTo(PageCursor.MIN_SIZE);
+        assertThat(uut.shrink()).isFalse();
+        assertThat(uut.getSize()).isEqualTo(PageCursor.MIN_SIZE);
+    }
+
+    @Test
+    void shrinksOnlyIfAligned() {
+        final var uut = new PageSizing(50, true).cursor(100);
+        uut.advance(50, FAST);
+        assertThat(uut.shrink()).isTrue();
+        assertThat(uut.getSize()).isEqualTo(25);
+        assertThat(uut.page()).isEqualTo(3);
+        uut.advance(25, FAST);
+        // 75 is not a multiple of 12
+        assertThat(uut.shrink()).isFalse();
+        assertThat(uut.getSize()).isEqualTo(25);
+        assertThat(uut.page()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import hudson.model.Result;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class CompiledGateTest {
+
+    private static final Component COMPONENT = new Component("c-1", "name", "org.acme", "1.0", "pkg:maven/org.acme/name@1.0");
+    private static final Component OTHER_COMPONENT = new Component("c-2", "other", "com.example", "1.0", "pkg:maven/com.example/other@1.0");
+
+    private static Finding finding(final int id, final Severity severity, final Double cvss, final Double epss, final Component component, final Analysis analysis) {
+        final var vulnerability = new Vulnerability("v-" + id, "NVD", "CVE-" + id, null, null, null, null, severity, severity.ordinal(), null, null, cvss, epss, null);
+        return new Finding(component, vulnerability, analysis, "p:" + component.getUuid() + ":v-" + id);
+    }
+
+    private static final List<Finding> FINDINGS = List.of(
+            finding(1, Severity.CRITICAL, 9.8, 0.9, COMPONENT, null),
+            finding(2, Severity.CRITICAL, 9.1, 0.01, OTHER_COMPONENT, new Analysis("EXPLOITABLE", false)),
+            finding(3, Severity.HIGH, 7.5, null, COMPONENT, new Analysis("FALSE_POSITIVE", true)),
+            finding(4, Severity.LOW, null, null, OTHER_COMPONENT, new Analysis("NOT_SET", false))
+    );
+
+    private static final List<Violation> VIOLATIONS = List.of(
+            new Violation("p-1", ViolationType.LICENSE, ViolationState.FAIL, "policy", COMPONENT),
+            new Violation("p-2", ViolationType.SECURITY, ViolationState.WARN, "policy", COMPONENT),
+            new Violation("p-3", ViolationType.LICENSE, ViolationState.WARN, "policy", OTHER_COMPONENT)
+    );
+
+    @Test
+    void emptyGate() {
+        final var uut = CompiledGate.compile(new Thresholds(), " ");
+        assertThat(uut.isEmpty()).isTrue();
+        assertThat(uut.evaluate(FINDINGS, VIOLATIONS, null).result()).isEqualTo(Result.SUCCESS);
+    }
+
+    @Test
+    void thresholdsAreMappedToRules() {
+        final var thresholds = new Thresholds();
+        thresholds.totalFindings.failedCritical = 3;
+        thresholds.newFindings.unstableHigh = 1;
+        assertThat(CompiledGate.toRules(thresholds)).extracting(GateRule::toString).containsExactly(
+                "FAILURE total findings >= 3 severity=CRITICAL",
+                "UNSTABLE new findings >= 1 severity=HIGH"
+        );
+    }
+
+    @Test
+    void evaluateFindingCriteria() {
+        assertThat(evaluate("FAILURE total >= 2 severity=CRITICAL cvss=9.0")).isEqualTo(Result.FAILURE);
+        assertThat(evaluate("FAILURE total >= 2 severity=CRITICAL cvss=9.5")).isEqualTo(Result.SUCCESS);
+        assertThat(evaluate("FAILURE total >= 1 epss=0.5")).isEqualTo(Result.FAILURE);
+        // the suppressed finding of the group is not counted
+        assertThat(evaluate("FAILURE total >= 2 group=org.acme")).isEqualTo(Result.SUCCESS);
+        assertThat(evaluate("FAILURE total >= 1 group=org.acme")).isEqualTo(Result.FAILURE);
+        // a missing analysis counts as NOT_SET
+        assertThat(evaluate("FAILURE total >= 2 analysis=NOT_SET")).isEqualTo(Result.FAILURE);
+        assertThat(evaluate("FAILURE total >= 2 analysis=EXPLOITABLE")).isEqualTo(Result.SUCCESS);
+        assertThat(evaluate("FAILURE total >= 1 suppressed=true severity=HIGH")).isEqualTo(Result.FAILURE);
+        assertThat(evaluate("FAILURE total >= 1 suppressed=false severity=HIGH")).isEqualTo(Result.SUCCESS);
+        assertThat(evaluate("FAILURE total >= 1 severity=HIGH")).isEqualTo(Result.SUCCESS);
+    }
+
+    @Test
+    void evaluateViolationCriteria() {
+        assertThat(evaluate("UNSTABLE total violations >= 2 type=LICENSE")).isEqualTo(Result.UNSTABLE);
+        assertThat(evaluate("UNSTABLE total violations >= 1 type=OPERATIONAL")).isEqualTo(Result.SUCCESS);
+        assertThat(evaluate("UNSTABLE total violations >= 1 type=LICENSE state=INFO")).isEqualTo(Result.SUCCESS);
+        assertThat(CompiledGate.compile(new Thresholds(), "FAILURE total violations >= 1").evaluate(FINDINGS, null, null).result()).isEqualTo(Result.SUCCESS);
+    }
+
+    @Test
+    void evaluateReturnsWorstResultAndFiredRules() {
+        final var thresholds = new Thresholds();
+        thresholds.totalFindings.unstableLow = 1;
+        final var outcome = CompiledGate.compile(thresholds, "FAILURE total violations >= 1 state=FAIL\nFAILURE total >= 10").evaluate(FINDINGS, VIOLATIONS, null);
+        assertThat(outcome.result()).isEqualTo(Result.FAILURE);
+        assertThat(outcome.fired()).extracting(fired -> fired.rule().toString(), CompiledGate.Fired::count).containsExactly(
+                tuple("UNSTABLE total findings >= 1 severity=LOW", 1),
+                tuple("FAILURE total violations >= 1 state=FAIL", 1)
+        );
+    }
+
+    @Test
+    void evaluateNewFindings() {
+        final var uut = CompiledGate.compile(new Thresholds(), "FAILURE new >= 1 severity=CRITICAL,HIGH");
+        final var previous = new SeverityDistribution(1);
+        previous.add(Severity.CRITICAL);
+        // no baseline
+        assertThat(uut.evaluate(FINDINGS, null, null).result()).isEqualTo(Result.SUCCESS);
+        // 2 now (the suppressed one does not count), 1 before
+        assertThat(uut.evaluate(FINDINGS, null, previous).result()).isEqualTo(Result.FAILURE);
+        previous.add(Severity.HIGH);
+        assertThat(uut.evaluate(FINDINGS, null, previous).result()).isEqualTo(Result.SUCCESS);
+    }
+
+    @Test
+    void evaluateExactNewFindings() {
+        final var uut = CompiledGate.compile(new Thresholds(), "FAILURE new >= 1 severity=CRITICAL");
+        // same number of critical findings but one of them was replaced
+        final var baselineFindings = List.of(FINDINGS.get(0), finding(5, Severity.CRITICAL, null, null, COMPONENT, null));
+        final var previous = new SeverityDistribution(1);
+        previous.add(Severity.CRITICAL);
+        previous.add(Severity.CRITICAL);
+        assertThat(uut.evaluate(FINDINGS, null, previous).result()).isEqualTo(Result.SUCCESS);
+        final var outcome = uut.evaluate(FINDINGS, null, previous, MatrixIndex.of(baselineFindings));
+        assertThat(outcome.result()).isEqualTo(Result.FAILURE);
+        assertThat(outcome.fired()).singleElement().returns(1, CompiledGate.Fired::count);
+        // nothing new
+        assertThat(uut.evaluate(FINDINGS, null, previous, MatrixIndex.of(FINDINGS)).result()).isEqualTo(Result.SUCCESS);
+    }
+
+    @Test
+    void evaluateDistributionMatchesFindings() {
+        final var current = new SeverityDistribution(2);
+        FINDINGS.stream().filter(f -> f.getAnalysis() == null || !f.getAnalysis().isSuppressed()).forEach(f -> current.add(f.getVulnerability().getSeverity()));
+        final var uut = CompiledGate.compile(new Thresholds(), "UNSTABLE total >= 1 severity=LOW\nFAILURE total >= 2 severity=CRITICAL,HIGH");
+        assertThat(uut.evaluate(current, null)).isEqualTo(uut.evaluate(FINDINGS, List.of(), null));
+        assertThat(uut.evaluate(current, null).result()).isEqualTo(Result.FAILURE);
+    }
+
+    @Test
+    void incrementalEvaluation() {
+        final var uut = CompiledGate.compile(new Thresholds(), "UNSTABLE total >= 1 severity=LOW\nFAILURE total >= 2 severity=CRITICAL");
+        final var evaluation = uut.newEvaluation(null);
+        assertThat(evaluation.isFailureCertain(null)).isFalse();
+        evaluation.add(FINDINGS.get(0));
+        assertThat(evaluation.isFailureCertain(null)).isFalse();
+        evaluation.add(FINDINGS.get(1));
+        assertThat(evaluation.isFailureCertain(null)).isTrue();
+        evaluation.add(FINDINGS.get(2));
+        evaluation.add(FINDINGS.get(3));
+        assertThat(evaluation.outcome(null)).isEqualTo(uut.evaluate(FINDINGS, null, null));
+    }
+
+    @Test
+    void isSeverityOnly() {
+        final var thresholds = new Thresholds();
+        thresholds.totalFindings.failedCritical = 1;
+        thresholds.newFindings.unstableHigh = 1;
+        assertThat(CompiledGate.compile(thresholds, null).isSeverityOnly()).isTrue();
+        assertThat(CompiledGate.compile(thresholds, "UNSTABLE total findings >= 2 severity=LOW").isSeverityOnly()).isTrue();
+        assertThat(CompiledGate.compile(thresholds, "UNSTABLE total findings >= 1 cvss=9.0").isSeverityOnly()).isFalse();
+        assertThat(CompiledGate.compile(thresholds, "FAILURE total violations >= 1").isSeverityOnly()).isFalse();
+    }
+
+    @Test
+    void needsSuppressedFindings() {
+        assertThat(CompiledGate.compile(new Thresholds(), "FAILURE total >= 1 suppressed=false").needsSuppressedFindings()).isFalse();
+        assertThat(CompiledGate.compile(new Thresholds(), "FAILURE total >= 1 suppressed=true").needsSuppressedFindings()).isTrue();
+    }
+
+    @Test
+    void isCompiledFrom() {
+        final var thresholds = new Thresholds();
+        thresholds.totalFindings.failedCritical = 1;
+        final var uut = CompiledGate.compile(thresholds, "FAILURE total >= 1");
+        final var same = new Thresholds();
+        same.totalFindings.failedCritical = 1;
+        assertThat(uut.isCompiledFrom(same, "FAILURE total >= 1")).isTrue();
+        assertThat(uut.isCompiledFrom(same, "FAILURE total >= 2")).isFalse();
+        assertThat(uut.isCompiledFrom(new Thresholds(), "FAILURE total >= 1")).isFalse();
+    }
+
+    private static Result evaluate(final String rules) {
+        return CompiledGate.compile(new Thresholds(), rules).evaluate(FINDINGS, VIOLATIONS, null).result();
+    }
+}
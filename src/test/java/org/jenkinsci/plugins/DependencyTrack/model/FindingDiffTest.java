@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class FindingDiffTest {
+
+    private static Finding finding(final String id, final Severity severity) {
+        final var component = new Component("c-" + id, "name", "group", "1.0", "purl");
+        final var vulnerability = new Vulnerability("v-" + id, "NVD", "CVE-" + id, null, null, null, null, severity, severity.ordinal(), null, null, null);
+        return new Finding(component, vulnerability, null, "p:c-" + id + ":v-" + id);
+    }
+
+    @Test
+    void compute() {
+        // a fixed critical finding and a new critical finding must not cancel each other out
+        final var baseline = List.of(finding("1", Severity.CRITICAL), finding("2", Severity.HIGH), finding("3", Severity.LOW));
+        final var current = List.of(finding("2", Severity.HIGH), finding("4", Severity.CRITICAL), finding("3", Severity.LOW));
+        final byte[] severities = {(byte) Severity.CRITICAL.ordinal(), (byte) Severity.HIGH.ordinal(), (byte) Severity.LOW.ordinal()};
+
+        final var uut = FindingDiff.compute(2, current, 1, MatrixIndex.of(baseline), severities);
+
+        assertThat(uut.getBaselineBuildNumber()).isEqualTo(1);
+        assertThat(uut.getAddedCount()).isEqualTo(1);
+        assertThat(uut.isAdded(1)).isTrue();
+        assertThat(uut.isAdded(0)).isFalse();
+        assertThat(uut.getFixedCount()).isEqualTo(1);
+        assertThat(uut.getFixed().get(0)).isTrue();
+        assertThat(uut.getAddedDistribution().getCritical()).isEqualTo(1);
+        assertThat(uut.getFixedDistribution().getCritical()).isEqualTo(1);
+        assertThat(uut.getFixedDistribution().getHigh()).isZero();
+    }
+
+    @Test
+    void computeWithoutBaselineFindings() {
+        final var current = List.of(finding("1", Severity.MEDIUM));
+        final var uut = FindingDiff.compute(2, current, 1, MatrixIndex.of(List.of()), new byte[0]);
+        assertThat(uut.getAddedCount()).isEqualTo(1);
+        assertThat(uut.getFixedCount()).isZero();
+        assertThat(uut.getAddedDistribution().getMedium()).isEqualTo(1);
+    }
+}
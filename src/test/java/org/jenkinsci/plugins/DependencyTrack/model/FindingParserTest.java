@@ -17,7 +17,10 @@ package org.jenkinsci.plugins.DependencyTrack.model;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
 import org.assertj.core.util.Files;
 import org.junit.jupiter.api.Test;
 
@@ -47,9 +50,42 @@ class FindingParserTest {
         var f2 = new Finding(c2, v2, a1, "matrix-3");
 
         var c3 = new Component("uuid-3", "name-3", "group-3", "version-3", "purl-3");
-        var v3 = new Vulnerability("uuid-3", "FOO", "FOO-78945", "title-3", "subtitle-3", "description-3", "recommendation-3", Severity.CRITICAL, 1, null, null, null);
+        var v3 = new Vulnerability("uuid-3", "FOO", "FOO-78945", "title-3", "subtitle-3", "description-3", "recommendation-3", Severity.CRITICAL, 1, null, null, 5.0, 0.125, null);
         var f3 = new Finding(c3, v3, a1, "matrix-4");
 
         assertThat(FindingParser.parse(Files.contentOf(findings, StandardCharsets.UTF_8))).usingRecursiveFieldByFieldElementComparator().containsExactly(f1, f2, f3);
     }
+
+    @Test
+    void parseIntoTest() {
+        final var json = JSONArray.fromObject(Files.contentOf(new File("src/test/resources/findings.json"), StandardCharsets.UTF_8));
+        final List<JSONObject> jsonObjects = json.stream().map(JSONObject.class::cast).toList();
+        final var expected = FindingParser.parse(jsonObjects);
+
+        // parsing one finding after another must filter aliases exactly like parsing all at once
+        final List<Finding> findings = new ArrayList<>();
+        final List<Finding> added = new ArrayList<>();
+        for (final JSONObject jsonObject : jsonObjects) {
+            added.addAll(FindingParser.parseInto(findings, List.of(jsonObject)));
+        }
+        assertThat(findings).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+        assertThat(added).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+        assertThat(FindingParser.parseInto(findings, jsonObjects)).isEmpty();
+    }
+
+    @Test
+    void parseIntoWithoutDetailsTest() {
+        final var json = JSONArray.fromObject(Files.contentOf(new File("src/test/resources/findings.json"), StandardCharsets.UTF_8));
+        final List<JSONObject> jsonObjects = json.stream().map(JSONObject.class::cast).toList();
+        final var expected = FindingParser.parse(jsonObjects);
+
+        final List<Finding> findings = new ArrayList<>();
+        assertThat(FindingParser.parseInto(findings, jsonObjects, false)).hasSameSizeAs(expected);
+        assertThat(findings).extracting(Finding::getMatrix).containsExactlyElementsOf(expected.stream().map(Finding::getMatrix).toList());
+        assertThat(findings).extracting(Finding::getVulnerability).allSatisfy(vulnerability -> {
+            assertThat(vulnerability.getDescription()).isNull();
+            assertThat(vulnerability.getRecommendation()).isNull();
+            assertThat(vulnerability.getTitle()).isNotNull();
+        });
+    }
 }
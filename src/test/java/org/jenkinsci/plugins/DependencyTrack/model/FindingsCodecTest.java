@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import hudson.util.XStream2;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jenkinsci.plugins.DependencyTrack.simulator.SyntheticData;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FindingsCodecTest {
+
+    private final Component c1 = new Component("c-uuid-1", "name-1", "group-1", "version-1", "purl-1");
+    private final Vulnerability v1 = new Vulnerability("v-uuid-1", "NVD", "vulnId-1", "title-1", "subtitle-1", "description-1", "recommendation-1", Severity.CRITICAL, 1, -2, "cweName-1", 9.8, 0.25, List.of("GHSA-abcd-abcd-abcd", "Ümlaut ✓"));
+    private final Vulnerability v2 = new Vulnerability("v-uuid-2", null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+    private List<Finding> findings() {
+        final var findings = new ArrayList<Finding>();
+        findings.add(new Finding(c1, v1, new Analysis("EXPLOITABLE", true), "p-uuid:c-uuid-1:v-uuid-1"));
+        findings.add(new Finding(c1, v2, new Analysis(null, false), "not-a-matrix"));
+        findings.add(new Finding(new Component("c-uuid-1", "name-1", "group-1", "version-1", "purl-1"), v2, null, "p-uuid:c-uuid-1:v-uuid-2"));
+        findings.add(new Finding(null, null, null, null));
+        return findings;
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        final var findings = findings();
+
+        final var decoded = FindingsCodec.decode(FindingsCodec.encode(findings));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(findings);
+        assertThat(FindingsCodec.decode(FindingsCodec.encode(List.of()))).isEmpty();
+    }
+
+    @Test
+    void sharesComponentsAndVulnerabilities() throws IOException {
+        final var decoded = FindingsCodec.decode(FindingsCodec.encode(findings()));
+
+        assertThat(decoded.get(2).getComponent()).isSameAs(decoded.get(0).getComponent());
+        assertThat(decoded.get(2).getVulnerability()).isSameAs(decoded.get(1).getVulnerability());
+    }
+
+    @Test
+    void rejectsUnknownData() {
+        final byte[] encoded = FindingsCodec.encode(findings());
+        final byte[] newerVersion = encoded.clone();
+        newerVersion[3] = FindingsCodec.VERSION + 1;
+
+        assertThatThrownBy(() -> FindingsCodec.decode("<list/>".getBytes(StandardCharsets.UTF_8))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> FindingsCodec.decode(newerVersion)).isInstanceOf(IOException.class).hasMessageContaining("version");
+        assertThatThrownBy(() -> FindingsCodec.decode(new byte[0])).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsCorruptData() {
+        final byte[] encoded = FindingsCodec.encode(findings());
+        for (int length = 0; length < encoded.length; length++) {
+            final byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> FindingsCodec.decode(truncated)).isInstanceOf(IOException.class);
+        }
+        final byte[] trailing = Arrays.copyOf(encoded, encoded.length + 1);
+        assertThatThrownBy(() -> FindingsCodec.decode(trailing)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void isSmallerThanXml() throws IOException {
+        final List<Finding> findings = FindingParser.parse(new SyntheticData(1).findings(1000).toString());
+
+        final byte[] encoded = FindingsCodec.encode(findings);
+
+        assertThat(encoded.length).isLessThan(new XStream2().toXML(findings).length() / 5);
+        assertThat(FindingsCodec.decode(encoded)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(findings);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import hudson.model.Result;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class GateRuleParserTest {
+
+    @Test
+    void parseEmpty() {
+        assertThat(GateRuleParser.parse(null)).isEmpty();
+        assertThat(GateRuleParser.parse("")).isEmpty();
+        assertThat(GateRuleParser.parse("  \n# comment\n\n")).isEmpty();
+    }
+
+    @Test
+    void parseFindingRule() {
+        assertThat(GateRuleParser.parse("failure total findings >= 2 severity=critical,HIGH cvss=9 epss=0.5 group=org.acme analysis=not_set,exploitable suppressed=false"))
+                .singleElement()
+                .satisfies(rule -> {
+                    assertThat(rule.getResult()).isEqualTo(Result.FAILURE);
+                    assertThat(rule.getScope()).isEqualTo(GateRule.Scope.TOTAL);
+                    assertThat(rule.getTarget()).isEqualTo(GateRule.Target.FINDINGS);
+                    assertThat(rule.getThreshold()).isEqualTo(2);
+                    assertThat(rule.getSeverities()).containsExactlyInAnyOrder(Severity.CRITICAL, Severity.HIGH);
+                    assertThat(rule.getMinCvss()).isEqualTo(9.0);
+                    assertThat(rule.getMinEpss()).isEqualTo(0.5);
+                    assertThat(rule.getComponentGroup()).isEqualTo("org.acme");
+                    assertThat(rule.getAnalysisStates()).containsExactlyInAnyOrder("NOT_SET", "EXPLOITABLE");
+                    assertThat(rule.getSuppressed()).isFalse();
+                    assertThat(rule.isSeverityOnly()).isFalse();
+                });
+    }
+
+    @Test
+    void parseDefaultsAndViolationRule() {
+        assertThat(GateRuleParser.parse("UNSTABLE new >= 1 severity=LOW\r\n  FAILURE total violations >= 3 type=LICENSE state=FAIL,WARN  "))
+                .satisfiesExactly(rule -> {
+                    assertThat(rule.getResult()).isEqualTo(Result.UNSTABLE);
+                    assertThat(rule.getScope()).isEqualTo(GateRule.Scope.NEW);
+                    assertThat(rule.getTarget()).isEqualTo(GateRule.Target.FINDINGS);
+                    assertThat(rule.isSeverityOnly()).isTrue();
+                }, rule -> {
+                    assertThat(rule.getTarget()).isEqualTo(GateRule.Target.VIOLATIONS);
+                    assertThat(rule.getThreshold()).isEqualTo(3);
+                    assertThat(rule.getViolationTypes()).containsExactly(ViolationType.LICENSE);
+                    assertThat(rule.getViolationStates()).containsExactlyInAnyOrder(ViolationState.FAIL, ViolationState.WARN);
+                });
+    }
+
+    @Test
+    void toStringRoundTrip() {
+        final GateRule rule = GateRule.builder().result(Result.FAILURE).threshold(1).severities(Set.of(Severity.HIGH, Severity.CRITICAL)).minCvss(7.5).build();
+        assertThat(rule).hasToString("FAILURE total findings >= 1 severity=CRITICAL,HIGH cvss=7.5");
+        assertThat(GateRuleParser.parse(rule.toString())).containsExactly(rule);
+    }
+
+    @Test
+    void parseInvalid() {
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total >= 1\nSUCCESS total >= 1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("line 2: result must be UNSTABLE or FAILURE");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total"))
+                .hasMessage("line 1: incomplete rule");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total findings > 1"))
+                .hasMessage("line 1: expected '>=' but got '>'");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total >= 0"))
+                .hasMessage("line 1: threshold must be at least 1 but was 0");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total >= x"))
+                .hasMessage("line 1: 'x' is not a number");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total >= 1 severity=FOO"))
+                .hasMessage("line 1: 'FOO' is not one of [CRITICAL, HIGH, MEDIUM, LOW, INFO, UNASSIGNED]");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total >= 1 type=LICENSE"))
+                .hasMessage("line 1: unknown key 'type' for findings");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total violations >= 1 cvss=5"))
+                .hasMessage("line 1: unknown key 'cvss' for violations");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE total >= 1 cvss"))
+                .hasMessage("line 1: expected key=value but got 'cvss'");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE new >= 1 cvss=5"))
+                .hasMessage("line 1: new rules are only supported for findings and may only filter by severity");
+        assertThatThrownBy(() -> GateRuleParser.parse("FAILURE new violations >= 1"))
+                .hasMessage("line 1: new rules are only supported for findings and may only filter by severity");
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.model;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class MatrixIndexTest {
+
+    @Test
+    void hashIsFnv1a() {
+        // reference values of the 64 bit FNV-1a hash
+        assertThat(MatrixIndex.hash("")).isEqualTo(0xcbf29ce484222325L);
+        assertThat(MatrixIndex.hash("a")).isEqualTo(0xaf63dc4c8601ec8cL);
+        assertThat(MatrixIndex.hash("foobar")).isEqualTo(0x85944171f73967e8L);
+    }
+
+    @Test
+    void hashOfFinding() {
+        final var component = new Component("c-1", "name", "group", "1.0", "purl");
+        final var vulnerability = new Vulnerability("v-1", "NVD", "CVE-1", null, null, null, null, Severity.LOW, 3, null, null, null);
+        assertThat(MatrixIndex.hash(new Finding(component, vulnerability, null, "p:c-1:v-1"))).isEqualTo(MatrixIndex.hash("p:c-1:v-1"));
+        assertThat(MatrixIndex.hash(new Finding(component, vulnerability, null, null))).isEqualTo(MatrixIndex.hash("c-1:v-1"));
+    }
+
+    @Test
+    void indexOf() {
+        final long[] hashes = IntStream.range(0, 1000).mapToLong(i -> MatrixIndex.hash("matrix-" + i)).toArray();
+        final var uut = new MatrixIndex(hashes);
+        assertThat(uut.size()).isEqualTo(1000);
+        for (int i = 0; i < hashes.length; i++) {
+            assertThat(uut.indexOf(hashes[i])).isEqualTo(i);
+            assertThat(uut.hashAt(i)).isEqualTo(hashes[i]);
+        }
+        assertThat(uut.indexOf(MatrixIndex.hash("matrix-1000"))).isEqualTo(-1);
+        assertThat(uut.contains(null)).isFalse();
+    }
+
+    @Test
+    void emptyIndexAndDuplicates() {
+        assertThat(MatrixIndex.of(List.of()).indexOf(42)).isEqualTo(-1);
+        final var uut = new MatrixIndex(new long[]{7, 7, 15});
+        assertThat(uut.indexOf(7)).isZero();
+        assertThat(uut.indexOf(15)).isEqualTo(2);
+    }
+}
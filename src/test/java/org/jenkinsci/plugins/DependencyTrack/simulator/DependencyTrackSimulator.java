@@ -0,0 +1,382 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.simulator;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.multipart.HttpData;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import lombok.Setter;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.apache.commons.io.function.Uncheck;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServerRoutes;
+
+/**
+ * Emulates the endpoints of Dependency-Track that are used by the plugin, so
+ * that the plugin can be tested end-to-end under load and with a slow or
+ * unreliable server.
+ * <p>
+ * Projects are created on upload (if {@code autoCreate} is set) and all of
+ * them share the same synthetic findings and policy violations. The
+ * processing of an upload takes {@link #setProcessingTime(Duration)}. Every
+ * response is delayed by {@link #setLatency(Duration)} plus a random
+ * {@link #setJitter(Duration)}, and requests fail with status 503 or a reset
+ * connection at the configured rates.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public final class DependencyTrackSimulator implements AutoCloseable {
+
+    public static final String VERSION = "4.12.0";
+    private static final String API_URL = "/api/v1";
+    private static final String API_KEY_HEADER = "X-Api-Key";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final JSONObject TEAM = new JSONObject()
+            .element("name", "Automation")
+            .element("permissions", JSONArray.fromObject(List.of("BOM_UPLOAD", "PROJECT_CREATION_UPLOAD", "VIEW_PORTFOLIO", "VIEW_VULNERABILITY", "VIEW_POLICY_VIOLATION", "PORTFOLIO_MANAGEMENT").stream()
+                    .map(name -> new JSONObject().element("name", name))
+                    .toList()));
+
+    private final String apiKey;
+    private final List<Object> findings;
+    private final List<Object> unsuppressedFindings;
+    private final List<Object> violations;
+    private final Map<String, SimulatedProject> projects = new ConcurrentHashMap<>();
+    private final Map<String, String> projectIds = new ConcurrentHashMap<>();
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final LongAdder injectedFaults = new LongAdder();
+    private final DisposableServer server;
+
+    /**
+     * the time it takes to process an upload
+     */
+    @Setter
+    private volatile Duration processingTime = Duration.ZERO;
+
+    /**
+     * the fixed delay of every response
+     */
+    @Setter
+    private volatile Duration latency = Duration.ZERO;
+
+    /**
+     * the upper bound of a random delay that is added to the latency
+     */
+    @Setter
+    private volatile Duration jitter = Duration.ZERO;
+
+    /**
+     * the rate (0 to 1) of requests that are answered with status 503
+     */
+    @Setter
+    private volatile double errorRate;
+
+    /**
+     * the rate (0 to 1) of requests whose connection is closed without any
+     * response
+     */
+    @Setter
+    private volatile double resetRate;
+
+    /**
+     * starts a simulator on a random port of localhost
+     *
+     * @param apiKey the API key that every request must provide
+     * @param findingCount the number of findings of every project
+     * @param violationCount the number of policy violations of every project
+     */
+    @SuppressWarnings("unchecked")
+    public DependencyTrackSimulator(final String apiKey, final int findingCount, final int violationCount) {
+        this.apiKey = apiKey;
+        final var data = new SyntheticData(findingCount);
+        findings = data.findings(findingCount);
+        unsuppressedFindings = findings.stream()
+                .filter(finding -> !((JSONObject) finding).getJSONObject("analysis").optBoolean("isSuppressed"))
+                .toList();
+        violations = data.violations(violationCount);
+        server = HttpServer.create()
+                // no ipv6 due to https://bugs.openjdk.java.net/browse/JDK-8220663
+                .host("localhost")
+                .port(0)
+                .route(this::routes)
+                .bindNow();
+    }
+
+    private void routes(final HttpServerRoutes routes) {
+        routes.get("/api/version", handle("version", false, (request, response) -> json(response, new JSONObject().element("version", VERSION))))
+                .post(API_URL + "/bom", handle("bom", true, this::upload))
+                .post(API_URL + "/vex", handle("vex", true, this::upload))
+                .get(API_URL + "/event/token/{token}", handle("token", true, this::token))
+                .get(API_URL + "/project/lookup", handle("lookup", true, this::lookup))
+                .get(API_URL + "/project", handle("projects", true, this::projects))
+                .route(request -> request.method() == HttpMethod.PATCH && request.fullPath().startsWith(API_URL + "/project/"), handle("patch", true, this::patch))
+                .get(API_URL + "/finding/project/{uuid}", handle("findings", true, this::findings))
+                .get(API_URL + "/violation/project/{uuid}", handle("violations", true, this::violations))
+                .get(API_URL + "/metrics/project/{uuid}/current", handle("metrics", true, this::metrics))
+                .get(API_URL + "/metrics/project/{uuid}/refresh", handle("refresh", true, (request, response) -> response.send()))
+                .get(API_URL + "/team/self", handle("team", true, (request, response) -> json(response, TEAM)));
+    }
+
+    /**
+     * @return the base URL of the simulator
+     */
+    public String getUrl() {
+        return String.format("http://%s:%d", server.host(), server.port());
+    }
+
+    /**
+     * @return the number of findings that are not suppressed
+     */
+    public int getUnsuppressedFindingCount() {
+        return unsuppressedFindings.size();
+    }
+
+    /**
+     * @param endpoint the name of the endpoint, e.g. {@code bom} or
+     * {@code findings}
+     * @return the number of requests to the endpoint, including those that
+     * failed by intention
+     */
+    public long getRequestCount(final String endpoint) {
+        return Optional.ofNullable(requests.get(endpoint)).map(LongAdder::sum).orElse(0L);
+    }
+
+    /**
+     * @return the number of requests that failed by intention
+     */
+    public long getInjectedFaults() {
+        return injectedFaults.sum();
+    }
+
+    /**
+     * @return the number of projects
+     */
+    public int getProjectCount() {
+        return projects.size();
+    }
+
+    /**
+     * creates a project as if it was created in the UI
+     *
+     * @param name the name of the project
+     * @param version the version of the project
+     * @return the UUID of the project
+     */
+    public String createProject(final String name, final String version) {
+        return projectIds.computeIfAbsent(key(name, version), key -> {
+            final var project = new SimulatedProject(UUID.randomUUID().toString(), name, version);
+            projects.put(project.uuid, project);
+            return project.uuid;
+        });
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handle(final String endpoint, final boolean authenticated, final BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler) {
+        return (request, response) -> {
+            requests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+            response.header("X-Powered-By", "Dependency-Track v" + VERSION);
+            if (authenticated && !apiKey.equals(request.requestHeaders().get(API_KEY_HEADER))) {
+                return response.status(HttpResponseStatus.UNAUTHORIZED).send();
+            }
+            final var random = ThreadLocalRandom.current();
+            final var delay = jitter.isZero() ? latency : latency.plusMillis(random.nextLong(jitter.toMillis() + 1));
+            if (random.nextDouble() < resetRate) {
+                injectedFaults.increment();
+                return Mono.delay(delay).then(Mono.<Void>fromRunnable(() -> response.withConnection(Connection::dispose)));
+            }
+            if (random.nextDouble() < errorRate) {
+                injectedFaults.increment();
+                return Mono.delay(delay).then(Mono.defer(() -> Mono.from(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).sendString(Mono.just("Service Unavailable")))));
+            }
+            return delay.isZero() ? handler.apply(request, response) : Mono.delay(delay).then(Mono.defer(() -> Mono.from(handler.apply(request, response))));
+        };
+    }
+
+    private Publisher<Void> upload(final HttpServerRequest request, final HttpServerResponse response) {
+        return request.receiveForm()
+                .collectMap(HttpData::getName, v -> Uncheck.apply(HttpData::getString, v))
+                .flatMap(form -> {
+                    final SimulatedProject project = resolve(form);
+                    if (project == null) {
+                        return Mono.from(response.status(HttpResponseStatus.NOT_FOUND).sendString(Mono.just("The project could not be found.")));
+                    }
+                    final var token = UUID.randomUUID().toString();
+                    final var processed = Instant.now().plus(processingTime);
+                    tokens.put(token, processed);
+                    project.lastBomImport = LocalDateTime.ofInstant(processed, ZoneOffset.UTC);
+                    return Mono.from(json(response, new JSONObject().element("token", token)));
+                });
+    }
+
+    private SimulatedProject resolve(final Map<String, String> form) {
+        if (form.containsKey("project")) {
+            return projects.get(form.get("project"));
+        }
+        final var name = form.get("projectName");
+        final var version = form.get("projectVersion");
+        final var id = Boolean.parseBoolean(form.get("autoCreate")) ? createProject(name, version) : projectIds.get(key(name, version));
+        return id != null ? projects.get(id) : null;
+    }
+
+    private Publisher<Void> token(final HttpServerRequest request, final HttpServerResponse response) {
+        final var processed = tokens.getOrDefault(request.param("token"), Instant.MIN);
+        return json(response, new JSONObject().element("processing", Instant.now().isBefore(processed)));
+    }
+
+    private Publisher<Void> lookup(final HttpServerRequest request, final HttpServerResponse response) {
+        final var query = new QueryStringDecoder(request.uri()).parameters();
+        final var id = projectIds.get(key(first(query, "name"), first(query, "version")));
+        if (id == null) {
+            return response.status(HttpResponseStatus.NOT_FOUND).sendString(Mono.just("The project could not be found."));
+        }
+        return json(response, projects.get(id).toJson());
+    }
+
+    private Publisher<Void> projects(final HttpServerRequest request, final HttpServerResponse response) {
+        final var query = new QueryStringDecoder(request.uri()).parameters();
+        final var searchText = first(query, "searchText");
+        final Comparator<SimulatedProject> order = "lastBomImport".equals(first(query, "sortName"))
+                ? Comparator.comparing((SimulatedProject p) -> p.lastBomImport, Comparator.nullsFirst(Comparator.naturalOrder())).reversed()
+                : Comparator.comparing((SimulatedProject p) -> p.name).thenComparing(p -> p.version);
+        final List<Object> matching = projects.values().stream()
+                .filter(p -> searchText == null || p.name.contains(searchText))
+                .sorted(order)
+                .map(SimulatedProject::toJson)
+                .map(Object.class::cast)
+                .toList();
+        return page(query, response, matching);
+    }
+
+    private Publisher<Void> patch(final HttpServerRequest request, final HttpServerResponse response) {
+        final var project = projects.get(request.fullPath().substring((API_URL + "/project/").length()));
+        if (project == null) {
+            return response.status(HttpResponseStatus.NOT_FOUND).sendString(Mono.just("The project could not be found."));
+        }
+        return request.receive().aggregate().asString()
+                .flatMap(body -> {
+                    project.update(JSONObject.fromObject(body));
+                    return Mono.from(json(response, project.toJson()));
+                });
+    }
+
+    private Publisher<Void> findings(final HttpServerRequest request, final HttpServerResponse response) {
+        if (!projects.containsKey(request.param("uuid"))) {
+            return response.status(HttpResponseStatus.NOT_FOUND).sendString(Mono.just("The project could not be found."));
+        }
+        final var query = new QueryStringDecoder(request.uri()).parameters();
+        return page(query, response, Boolean.parseBoolean(first(query, "suppressed")) ? findings : unsuppressedFindings);
+    }
+
+    private Publisher<Void> violations(final HttpServerRequest request, final HttpServerResponse response) {
+        if (!projects.containsKey(request.param("uuid"))) {
+            return response.status(HttpResponseStatus.NOT_FOUND).sendString(Mono.just("The project could not be found."));
+        }
+        return page(new QueryStringDecoder(request.uri()).parameters(), response, violations);
+    }
+
+    private Publisher<Void> metrics(final HttpServerRequest request, final HttpServerResponse response) {
+        final var project = projects.get(request.param("uuid"));
+        if (project == null || project.lastBomImport == null) {
+            return response.send();
+        }
+        final var metrics = new JSONObject();
+        unsuppressedFindings.stream()
+                .map(finding -> ((JSONObject) finding).getJSONObject("vulnerability").getString("severity").toLowerCase())
+                .forEach(severity -> metrics.element(severity, metrics.optInt(severity) + 1));
+        metrics.element("lastOccurrence", project.lastBomImport.toInstant(ZoneOffset.UTC).toEpochMilli());
+        return json(response, metrics);
+    }
+
+    private static Publisher<Void> page(final Map<String, List<String>> query, final HttpServerResponse response, final List<Object> items) {
+        final int pageSize = Optional.ofNullable(first(query, "pageSize")).map(Integer::parseInt).orElse(Math.max(1, items.size()));
+        final int pageNumber = Optional.ofNullable(first(query, "pageNumber")).map(Integer::parseInt).orElse(1);
+        final int from = Math.min((pageNumber - 1) * pageSize, items.size());
+        final int to = Math.min(from + pageSize, items.size());
+        response.header(TOTAL_COUNT_HEADER, String.valueOf(items.size()));
+        return json(response, JSONArray.fromObject(items.subList(from, to)));
+    }
+
+    private static Publisher<Void> json(final HttpServerResponse response, final Object json) {
+        return response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .sendString(Mono.just(json.toString()));
+    }
+
+    private static String first(final Map<String, List<String>> query, final String name) {
+        return Optional.ofNullable(query.get(name)).filter(values -> !values.isEmpty()).map(values -> values.get(0)).orElse(null);
+    }
+
+    private static String key(final String name, final String version) {
+        return name + '\n' + version;
+    }
+
+    private static final class SimulatedProject {
+
+        private final String uuid;
+        private final String name;
+        private final String version;
+        private final JSONObject updates = new JSONObject();
+        private volatile LocalDateTime lastBomImport;
+
+        private SimulatedProject(final String uuid, final String name, final String version) {
+            this.uuid = uuid;
+            this.name = name;
+            this.version = version;
+        }
+
+        private synchronized void update(final JSONObject changes) {
+            updates.putAll(changes);
+        }
+
+        private synchronized JSONObject toJson() {
+            final var json = new JSONObject()
+                    .element("uuid", uuid)
+                    .element("name", name)
+                    .element("version", version)
+                    .element("active", true);
+            Optional.ofNullable(lastBomImport).ifPresent(value -> json.element("lastBomImportStr", value.toString()));
+            json.putAll(updates);
+            return json;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.simulator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import okhttp3.OkHttpClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClient;
+import org.jenkinsci.plugins.DependencyTrack.api.ApiClientException;
+import org.jenkinsci.plugins.DependencyTrack.api.FindingsQuery;
+import org.jenkinsci.plugins.DependencyTrack.api.PageSizing;
+import org.jenkinsci.plugins.DependencyTrack.api.ProjectData;
+import org.jenkinsci.plugins.DependencyTrack.model.Project;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+class DependencyTrackSimulatorTest {
+
+    private static final String API_KEY = "api-key";
+
+    private DependencyTrackSimulator uut;
+    private ApiClient client;
+
+    @BeforeEach
+    void setup() {
+        uut = new DependencyTrackSimulator(API_KEY, 1_234, 321);
+        client = new ApiClient(uut.getUrl(), API_KEY, msg -> {}, new OkHttpClient());
+    }
+
+    @AfterEach
+    void tearDown() {
+        uut.close();
+    }
+
+    @Test
+    void uploadCreatesProjectAndProcessesToken() throws Exception {
+        uut.setProcessingTime(Duration.ofMillis(300));
+        final var result = client.uploadBom(new ProjectData(null, "my-project", "1.0", true, null), "<bom />");
+
+        assertThat(result.success()).isTrue();
+        assertThat(client.isTokenBeingProcessed(result.token())).isTrue();
+        Thread.sleep(400);
+        assertThat(client.isTokenBeingProcessed(result.token())).isFalse();
+        final Project project = client.lookupProject("my-project", "1.0");
+        assertThat(project.getUuid()).isNotBlank();
+        assertThat(client.getProjects()).extracting(Project::getName).containsExactly("my-project");
+        assertThat(client.getCurrentMetrics(project.getUuid())).isNotNull();
+    }
+
+    @Test
+    void uploadWithoutAutoCreateFailsForUnknownProject() throws ApiClientException {
+        assertThat(client.uploadBom(new ProjectData(null, "unknown", "1.0", false, null), "<bom />").success()).isFalse();
+        assertThat(uut.getProjectCount()).isZero();
+    }
+
+    @Test
+    void pagesFindingsAndViolations() throws ApiClientException {
+        final var projectId = uut.createProject("my-project", "1.0");
+        client.setPageSizing(new PageSizing(100, false));
+
+        assertThat(client.getFindings(projectId)).hasSize(uut.getUnsuppressedFindingCount());
+        assertThat(client.getFindings(projectId, new FindingsQuery(true, true))).hasSize(1_234);
+        assertThat(uut.getRequestCount("findings")).isEqualTo((uut.getUnsuppressedFindingCount() + 99) / 100 + 13);
+        assertThat(client.getViolations(projectId)).hasSize(321);
+        assertThat(uut.getRequestCount("violations")).isEqualTo(4);
+    }
+
+    @Test
+    void updatesProjectProperties() throws ApiClientException {
+        final var projectId = uut.createProject("my-project", "1.0");
+
+        client.updateProjectProperties(projectId, new ProjectData.Properties(List.of("tag1"), null, "my-group", null, null, null, null, null));
+
+        assertThat(client.getProjects()).singleElement().satisfies(project -> {
+            assertThat(project.getGroup()).isEqualTo("my-group");
+            assertThat(project.getTags()).containsExactly("tag1");
+        });
+    }
+
+    @Test
+    void rejectsWrongApiKey() {
+        final var other = new ApiClient(uut.getUrl(), "wrong", msg -> {}, new OkHttpClient());
+
+        assertThatCode(() -> other.lookupProject("my-project", "1.0")).isInstanceOf(ApiClientException.class);
+    }
+
+    @Test
+    void injectsLatency() throws ApiClientException {
+        uut.setLatency(Duration.ofMillis(200));
+        final long start = System.nanoTime();
+
+        client.getProjects();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void injectsFaults() {
+        uut.setErrorRate(1);
+        assertThatCode(() -> assertThat(client.uploadBom(new ProjectData(null, "my-project", "1.0", true, null), "<bom />").success()).isFalse())
+                .doesNotThrowAnyException();
+
+        uut.setErrorRate(0);
+        uut.setResetRate(1);
+        assertThatCode(() -> client.isTokenBeingProcessed("token"))
+                .isInstanceOf(ApiClientException.class)
+                .hasCauseInstanceOf(IOException.class);
+        // the client retries at least once
+        assertThat(uut.getRequestCount("token")).isGreaterThanOrEqualTo(2);
+        assertThat(uut.getInjectedFaults()).isEqualTo(1 + uut.getRequestCount("token"));
+    }
+}
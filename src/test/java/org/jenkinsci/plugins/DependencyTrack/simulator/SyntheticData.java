@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 OWASP.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jenkinsci.plugins.DependencyTrack.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Generates deterministic datasets that resemble the responses of
+ * Dependency-Track for a project of the given size. Used by the
+ * {@link DependencyTrackSimulator} and the benchmarks.
+ *
+ * @author Ronny "Sephiroth" Perinke <sephiroth@sephiroth-j.de>
+ */
+public final class SyntheticData {
+
+    private static final String[] SEVERITIES = {"CRITICAL", "HIGH", "HIGH", "MEDIUM", "MEDIUM", "MEDIUM", "LOW", "LOW", "UNASSIGNED", "INFO"};
+    private static final String[] SOURCES = {"NVD", "NVD", "NVD", "GITHUB", "OSV"};
+    private static final String[] ANALYSIS_STATES = {"NOT_SET", "NOT_SET", "NOT_SET", "EXPLOITABLE", "IN_TRIAGE", "FALSE_POSITIVE", "NOT_AFFECTED"};
+    private static final String[] VIOLATION_TYPES = {"SECURITY", "LICENSE", "OPERATIONAL"};
+    private static final String[] VIOLATION_STATES = {"INFO", "WARN", "FAIL"};
+    private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua. ";
+
+    private final Random random;
+    private final String projectUuid;
+
+    public SyntheticData(final long seed) {
+        random = new Random(seed);
+        projectUuid = nextUuid();
+    }
+
+    /**
+     * Generates the findings of a project with about three vulnerabilities per
+     * component. About 10% of the vulnerabilities are aliases of others and 5%
+     * of the findings are suppressed.
+     *
+     * @param count the number of findings
+     * @return the findings as returned by {@code /api/v1/finding/project/{uuid}}
+     */
+    public JSONArray findings(final int count) {
+        final var findings = new JSONArray();
+        final List<JSONObject> components = components(Math.max(1, count / 3));
+        for (int i = 0; i < count; i++) {
+            final JSONObject component = components.get(i % components.size());
+            final JSONObject vulnerability = vulnerability(i);
+            findings.add(new JSONObject()
+                    .element("component", component)
+                    .element("vulnerability", vulnerability)
+                    .element("analysis", new JSONObject()
+                            .element("state", pick(ANALYSIS_STATES))
+                            .element("isSuppressed", random.nextInt(20) == 0))
+                    .element("attribution", new JSONObject()
+                            .element("analyzerIdentity", "INTERNAL_ANALYZER")
+                            .element("attributedOn", 1_700_000_000_000L + random.nextInt(1_000_000_000)))
+                    .element("matrix", "%s:%s:%s".formatted(projectUuid, component.getString("uuid"), vulnerability.getString("uuid"))));
+        }
+        return findings;
+    }
+
+    /**
+     * Generates the policy violations of a project.
+     *
+     * @param count the number of violations
+     * @return the violations as returned by
+     * {@code /api/v1/violation/project/{uuid}}
+     */
+    public JSONArray violations(final int count) {
+        final var violations = new JSONArray();
+        final List<JSONObject> components = components(Math.max(1, count / 2));
+        final List<JSONObject> policies = IntStream.range(0, 20)
+                .mapToObj(i -> new JSONObject()
+                .element("name", "policy-" + i)
+                .element("operator", "ANY")
+                .element("violationState", pick(VIOLATION_STATES))
+                .element("uuid", nextUuid())
+                .element("includeChildren", false)
+                .element("global", true))
+                .toList();
+        for (int i = 0; i < count; i++) {
+            violations.add(new JSONObject()
+                    .element("type", pick(VIOLATION_TYPES))
+                    .element("component", components.get(i % components.size()))
+                    .element("policyCondition", new JSONObject()
+                            .element("policy", policies.get(random.nextInt(policies.size())))
+                            .element("operator", "IS")
+                            .element("subject", "SEVERITY")
+                            .element("value", pick(SEVERITIES))
+                            .element("uuid", nextUuid()))
+                    .element("timestamp", 1_700_000_000_000L + random.nextInt(1_000_000_000))
+                    .element("uuid", nextUuid()));
+        }
+        return violations;
+    }
+
+    /**
+     * Generates projects as returned by {@code /api/v1/project}. Every tenth
+     * project is a child of the project before it.
+     *
+     * @param count the number of projects
+     * @return the projects
+     */
+    public List<JSONObject> projects(final int count) {
+        final List<JSONObject> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final var project = new JSONObject()
+                    .element("name", "project-" + i / 5)
+                    .element("version", "1.%d.0".formatted(i % 5))
+                    .element("uuid", nextUuid())
+                    .element("description", LOREM)
+                    .element("group", "org.example")
+                    .element("tags", JSONArray.fromObject(List.of(new JSONObject().element("name", "team-" + i % 7), new JSONObject().element("name", "env-prod"))))
+                    .element("lastBomImportStr", "2024-%02d-%02dT10:15:30".formatted(1 + i % 12, 1 + i % 28))
+                    .element("lastBomImportFormat", "CycloneDX 1.5")
+                    .element("lastInheritedRiskScore", random.nextDouble() * 100)
+                    .element("active", i % 13 != 0);
+            if (i % 10 == 9) {
+                project.element("parent", projects.get(i - 1));
+            }
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    private List<JSONObject> components(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new JSONObject()
+                .element("uuid", nextUuid())
+                .element("name", "component-" + i)
+                .element("group", "org.example.group" + i % 50)
+                .element("version", "%d.%d.%d".formatted(i % 7, i % 11, i % 13))
+                .element("purl", "pkg:maven/org.example.group%d/component-%d@%d.%d.%d".formatted(i % 50, i, i % 7, i % 11, i % 13)))
+                .toList();
+    }
+
+    private JSONObject vulnerability(final int i) {
+        final String severity = pick(SEVERITIES);
+        final var vulnerability = new JSONObject()
+                .element("uuid", nextUuid())
+                .element("source", pick(SOURCES))
+                .element("vulnId", "CVE-2024-%05d".formatted(i))
+                .element("title", "Vulnerability " + i)
+                .element("subtitle", "component-" + i)
+                .element("description", LOREM.repeat(1 + random.nextInt(8)))
+                .element("recommendation", "Upgrade to a fixed version. " + LOREM)
+                .element("severity", severity)
+                .element("severityRank", severityRank(severity))
+                .element("cwes", JSONArray.fromObject(List.of(new JSONObject().element("cweId", 20 + random.nextInt(900)).element("name", "Improper Input Validation"))))
+                .element("cvssV3BaseScore", Math.round(random.nextDouble() * 100) / 10.0)
+                .element("epssScore", random.nextDouble())
+                .element("epssPercentile", random.nextDouble());
+        if (i % 10 == 0) {
+            vulnerability.element("aliases", JSONArray.fromObject(List.of(new JSONObject()
+                    .element("cveId", vulnerability.getString("vulnId"))
+                    .element("ghsaId", "GHSA-%04x-%04x-%04x".formatted(i & 0xffff, random.nextInt(0x10000), random.nextInt(0x10000))))));
+        }
+        return vulnerability;
+    }
+
+    private static int severityRank(final String severity) {
+        return switch (severity) {
+            case "CRITICAL" -> 0;
+            case "HIGH" -> 1;
+            case "MEDIUM" -> 2;
+            case "LOW" -> 3;
+            case "INFO" -> 4;
+            default -> 5;
+        };
+    }
+
+    private String pick(final String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String nextUuid() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}